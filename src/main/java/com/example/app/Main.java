@@ -1,14 +1,16 @@
 package com.example.app;
 
 import com.formdev.flatlaf.FlatDarculaLaf;
+import com.example.app.model.DataRefreshManager;
 import com.example.app.ui.LoginFrame;
 import com.example.app.ui.CurrencyManager;
+import com.example.app.viewmodel.RefreshScheduler;
 import javax.swing.*;
 
 /**
  * Main entry point for the financial application.
  * <p>
- * Initializes the look and feel, currency manager, and launches the login page.
+ * Initializes the look and feel, currency manager, and background refreshing, and launches the login page.
  
  */
 public class Main {
@@ -35,6 +37,10 @@ public class Main {
         } catch (Exception ex) {
             System.err.println("Failed to initialize FlatDarculaLaf");
         }
+
+        // Deliver change events off the caller's thread and reload view models in the background
+        DataRefreshManager.getInstance().setDispatchMode(DataRefreshManager.DispatchMode.ASYNCHRONOUS);
+        RefreshScheduler.getInstance().setMode(RefreshScheduler.Mode.BACKGROUND);
         
         // Ensure we're running on the EDT (Event Dispatch Thread)
         SwingUtilities.invokeLater(() -> {
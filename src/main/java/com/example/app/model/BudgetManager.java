@@ -23,6 +23,16 @@ public class BudgetManager {
 
     }
     
+    /**
+     * Gets the budget file in a directory.
+     *
+     * @param directory Directory path where the CSV file is located
+     * @return the budget file
+     */
+    public static File getBudgetFile(String directory) {
+        return Paths.get(directory, BUDGETS_FILE_NAME).toFile();
+    }
+
     /**
      * Saves budget data to a CSV file with the standard format.
      * The file will contain a header row followed by category,budget pairs.
@@ -31,6 +41,7 @@ public class BudgetManager {
      * @param directory Directory path where the CSV file will be saved
      */
     public static void saveBudgetsToCSV(Map<String, Double> categoryBudgets, String directory) {
+        UserDataWarmup.invalidate();
         Path filePath = Paths.get(directory, BUDGETS_FILE_NAME);
         
         try (BufferedWriter writer = Files.newBufferedWriter(filePath)) {
@@ -0,0 +1,172 @@
+package com.example.app.model;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Converts batches of parsed CSV rows into transaction records in parallel.
+ * <p>
+ * A batch is split in half until the pieces are at most one chunk long, the chunks are
+ * converted on a fork-join pool with a {@link CSVRowMapper}, and the results are merged
+ * back left to right. Transactions and row errors therefore come out in the order of the
+ * rows in the file, the same as a sequential conversion.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Chunked conversion on the common fork-join pool, which is sized to the machine's cores</li>
+ *   <li>Transactions and per-row error messages merged in their original order</li>
+ *   <li>Small batches converted on the calling thread without touching the pool</li>
+ *   <li>Row numbers continued across batches, so a file can be converted while it is streamed</li>
+ * </ul>
+ */
+public final class CSVConversionStage {
+    /** Default number of rows converted by one task */
+    public static final int DEFAULT_CHUNK_SIZE = 512;
+
+    private final CSVRowMapper mapper;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * The transactions converted from a batch of rows and the messages for its rows.
+     */
+    public static final class Result {
+        private final List<Object[]> transactions = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private int skippedRows;
+
+        /**
+         * Gets the converted transactions in row order.
+         *
+         * @return the records [date, description, category, amount, confirmed]
+         */
+        public List<Object[]> getTransactions() {
+            return transactions;
+        }
+
+        /**
+         * Gets the error and warning messages in row order.
+         *
+         * @return the messages
+         */
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        /**
+         * Gets the number of rejected rows.
+         *
+         * @return the number of rows without a transaction
+         */
+        public int getSkippedRows() {
+            return skippedRows;
+        }
+
+        /**
+         * Appends the result of the rows following this result's rows.
+         *
+         * @param next the result of the next rows
+         */
+        private void append(Result next) {
+            transactions.addAll(next.transactions);
+            errors.addAll(next.errors);
+            skippedRows += next.skippedRows;
+        }
+    }
+
+    /**
+     * Creates a stage converting on the common fork-join pool.
+     *
+     * @param mapper the row mapper; it must be safe to use from several threads
+     */
+    public CSVConversionStage(CSVRowMapper mapper) {
+        this(mapper, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a stage converting on a given pool with a given chunk size.
+     *
+     * @param mapper the row mapper
+     * @param pool the pool running the chunks
+     * @param chunkSize the largest number of rows converted by one task
+     */
+    CSVConversionStage(CSVRowMapper mapper, ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.mapper = mapper;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Converts a batch of rows.
+     *
+     * @param rows the CSV fields of each row
+     * @param firstRowNumber the 1-based data row number of the first row, used in messages
+     * @return the transactions and messages of the batch in row order
+     */
+    public Result convert(List<List<String>> rows, int firstRowNumber) {
+        ChunkTask task = new ChunkTask(rows, firstRowNumber, 0, rows.size());
+        return rows.size() <= chunkSize ? task.convertChunk() : pool.invoke(task);
+    }
+
+    /**
+     * Converts a range of a batch, splitting it while it is longer than a chunk.
+     */
+    private final class ChunkTask extends RecursiveTask<Result> {
+        private final List<List<String>> rows;
+        private final int firstRowNumber;
+        private final int from;
+        private final int to;
+
+        /**
+         * Creates a task for a range of rows.
+         *
+         * @param rows the whole batch
+         * @param firstRowNumber the row number of the first row of the batch
+         * @param from the first index of the range
+         * @param to the index after the range
+         */
+        ChunkTask(List<List<String>> rows, int firstRowNumber, int from, int to) {
+            this.rows = rows;
+            this.firstRowNumber = firstRowNumber;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= chunkSize) {
+                return convertChunk();
+            }
+            int middle = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(rows, firstRowNumber, from, middle);
+            ChunkTask right = new ChunkTask(rows, firstRowNumber, middle, to);
+            left.fork();
+            Result rightResult = right.compute();
+            Result result = left.join();
+            result.append(rightResult);
+            return result;
+        }
+
+        /**
+         * Converts the range on the current thread.
+         *
+         * @return the result of the range
+         */
+        Result convertChunk() {
+            Result result = new Result();
+            for (int i = from; i < to; i++) {
+                Object[] transaction = mapper.map(rows.get(i), firstRowNumber + i, result.errors);
+                if (transaction == null) {
+                    result.skippedRows++;
+                } else {
+                    result.transactions.add(transaction);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -8,12 +8,16 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Utility class for importing financial transaction data from CSV files.
  * Provides functionality to read, validate, and deduplicate transaction records.
  */
 public class CSVDataImporter {
+    private static final Logger LOGGER = Logger.getLogger(CSVDataImporter.class.getName());
+
     /**
      * Private constructor to prevent instantiation of this utility class.
      * This class only contains static methods and should not be instantiated.
@@ -50,7 +54,7 @@ public class CSVDataImporter {
                 // Split CSV line
                 String[] parts = line.split(",");
                 if (parts.length < 4) {
-                    System.err.println("Invalid CSV line: " + line);
+                    LOGGER.log(Level.WARNING, "Invalid CSV line: {0}", line);
                     continue;
                 }
                 
@@ -63,7 +67,7 @@ public class CSVDataImporter {
                 try {
                     amount = Double.parseDouble(parts[3].trim());
                 } catch (NumberFormatException e) {
-                    System.err.println("Invalid amount: " + parts[3]);
+                    LOGGER.log(Level.WARNING, "Invalid amount: {0}", parts[3]);
                     continue;
                 }
                 
@@ -75,13 +79,13 @@ public class CSVDataImporter {
                     Object[] transaction = new Object[] {date, description, category, amount};
                     transactions.add(transaction);
                 } else {
-                    System.out.println("Skipping duplicate transaction: " + date + " " + description + " " + amount);
+                    LOGGER.log(Level.FINE, "Skipping duplicate transaction: {0} {1} {2}",
+                            new Object[]{date, description, amount});
                 }
             }
             
         } catch (IOException e) {
-            System.err.println("Error reading CSV file: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.log(Level.SEVERE, "Error reading CSV file: " + e.getMessage(), e);
         }
         
         return transactions;
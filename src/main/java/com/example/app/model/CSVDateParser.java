@@ -0,0 +1,281 @@
+package com.example.app.model;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses the dates of imported CSV files into yyyy-MM-dd strings.
+ * <p>
+ * A file normally uses one date format throughout, so {@link #detectFormat} samples the date
+ * column once and picks the pattern that parses it. Rows are then parsed with that pattern
+ * first and only fall back to the other known patterns if it fails. Parse attempts report
+ * failure by returning null instead of throwing, so rows that miss a pattern cost a failed
+ * match rather than an exception.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Column sampling to pick the date pattern once per import</li>
+ *   <li>Compiled formatters cached per pattern and shared between threads</li>
+ *   <li>Hand-written parsing of yyyy-MM-dd and yyyy/M/d HH:mm, the formats of the bill file
+ *       and of WeChat Pay exports</li>
+ *   <li>Fallback patterns for US, European and dotted formats</li>
+ * </ul>
+ */
+public final class CSVDateParser {
+    /** ISO date pattern, parsed without a formatter */
+    public static final String ISO_DATE = "yyyy-MM-dd";
+
+    /** WeChat Pay date-time pattern, parsed without a formatter */
+    public static final String SLASH_DATE_TIME = "yyyy/M/d HH:mm";
+
+    /** Patterns tried when a date does not match the chosen pattern, in order */
+    private static final String[] FALLBACK_FORMATS = {
+        // Formats with hyphens
+        "yyyy-MM-dd", "yyyy-MM-dd HH:mm", "yyyy-MM-dd HH:mm:ss",
+        // Formats with slashes
+        "yyyy/MM/dd", "yyyy/M/d HH:mm", "yyyy/M/d HH:mm:ss",
+        "yyyy/MM/dd HH:mm", "yyyy/MM/dd HH:mm:ss",
+        // US formats
+        "MM/dd/yyyy", "MM/dd/yyyy HH:mm", "MM/dd/yyyy HH:mm:ss",
+        // European formats
+        "dd/MM/yyyy", "dd/MM/yyyy HH:mm", "dd/MM/yyyy HH:mm:ss",
+        // Other common formats
+        "yyyy.MM.dd", "dd.MM.yyyy", "MM.dd.yyyy"
+    };
+
+    /** Compiled formatters by pattern */
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     * This class only contains static methods and should not be instantiated.
+     */
+    private CSVDateParser() {
+
+    }
+
+    /**
+     * Picks the date pattern of a column from sample values. The preferred pattern is kept
+     * if it parses every sample; otherwise the first known pattern that parses the most
+     * samples is used.
+     *
+     * @param samples values of the date column; empty values are ignored
+     * @param preferred the pattern chosen by the user
+     * @return the pattern to parse the column with, the preferred one if nothing fits better
+     */
+    public static String detectFormat(Collection<String> samples, String preferred) {
+        Set<String> candidates = new LinkedHashSet<>();
+        candidates.add(preferred);
+        candidates.addAll(Arrays.asList(FALLBACK_FORMATS));
+
+        String best = preferred;
+        int bestCount = -1;
+        int sampleCount = 0;
+        for (String sample : samples) {
+            if (sample != null && !sample.isEmpty()) {
+                sampleCount++;
+            }
+        }
+        for (String candidate : candidates) {
+            int count = 0;
+            for (String sample : samples) {
+                if (sample != null && !sample.isEmpty() && tryParse(sample, candidate) != null) {
+                    count++;
+                }
+            }
+            if (count > bestCount) {
+                best = candidate;
+                bestCount = count;
+            }
+            if (count == sampleCount) {
+                break;
+            }
+        }
+        return bestCount > 0 ? best : preferred;
+    }
+
+    /**
+     * Parses a date string using multiple formats.
+     * Tries the primary format first, then falls back to other formats if needed.
+     *
+     * @param dateStr the date string to parse
+     * @param primaryFormat the primary date format to try first
+     * @return a formatted date string in 'yyyy-MM-dd' format
+     * @throws DateTimeParseException if the date cannot be parsed with any format
+     */
+    public static String parse(String dateStr, String primaryFormat) {
+        if (dateStr == null || dateStr.isEmpty()) {
+            return "";
+        }
+        LocalDate date = tryParse(dateStr, primaryFormat);
+        for (int i = 0; date == null && i < FALLBACK_FORMATS.length; i++) {
+            if (!FALLBACK_FORMATS[i].equals(primaryFormat)) {
+                date = tryParse(dateStr, FALLBACK_FORMATS[i]);
+            }
+        }
+        if (date == null) {
+            // Let the formatter describe why the primary format failed
+            parseWithFormatter(dateStr, primaryFormat);
+            throw new DateTimeParseException("Text '" + dateStr + "' could not be parsed", dateStr, 0);
+        }
+        return date.toString();
+    }
+
+    /**
+     * Parses a date with one pattern without throwing.
+     *
+     * @param text the date text
+     * @param pattern the pattern
+     * @return the date, or null if the text does not match the pattern
+     */
+    public static LocalDate tryParse(String text, String pattern) {
+        if (ISO_DATE.equals(pattern)) {
+            return parseIsoDate(text);
+        }
+        if (SLASH_DATE_TIME.equals(pattern)) {
+            return parseSlashDateTime(text);
+        }
+        return parseGeneral(text, pattern);
+    }
+
+    /**
+     * Parses a date with a compiled formatter, handling both date-only and date-time patterns.
+     *
+     * @param text the date text
+     * @param pattern the pattern
+     * @return the date
+     * @throws DateTimeParseException if the text cannot be parsed
+     */
+    private static LocalDate parseWithFormatter(String text, String pattern) {
+        TemporalAccessor parsed = formatter(pattern).parse(text);
+        return pattern.contains("HH:mm") ? LocalDateTime.from(parsed).toLocalDate() : LocalDate.from(parsed);
+    }
+
+    /**
+     * Gets the compiled formatter of a pattern.
+     *
+     * @param pattern the pattern
+     * @return the cached formatter
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    private static DateTimeFormatter formatter(String pattern) {
+        return FORMATTERS.computeIfAbsent(pattern, DateTimeFormatter::ofPattern);
+    }
+
+    /**
+     * Parses yyyy-MM-dd. Text of another shape, such as a year with more than four digits,
+     * is handed to the formatter so results match it exactly.
+     *
+     * @param text the date text
+     * @return the date, or null if the text does not match
+     */
+    static LocalDate parseIsoDate(String text) {
+        if (text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return parseGeneral(text, ISO_DATE);
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        return year < 0 || month < 0 || day < 0 ? null : toDate(year, month, day);
+    }
+
+    /**
+     * Parses yyyy/M/d HH:mm, keeping only the date. Text of another shape, and the hour 24
+     * that the formatter rolls over into the next day, is handed to the formatter.
+     *
+     * @param text the date-time text
+     * @return the date, or null if the text does not match
+     */
+    static LocalDate parseSlashDateTime(String text) {
+        int length = text.length();
+        int monthEnd = text.indexOf('/', 5);
+        int dayEnd = length - 6;
+        boolean shaped = length >= 14 && length <= 16
+                && text.charAt(4) == '/' && (monthEnd == 6 || monthEnd == 7)
+                && dayEnd - monthEnd >= 2 && dayEnd - monthEnd <= 3
+                && text.charAt(dayEnd) == ' ' && text.charAt(length - 3) == ':';
+        if (!shaped) {
+            return parseGeneral(text, SLASH_DATE_TIME);
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, monthEnd - 5);
+        int day = digits(text, monthEnd + 1, dayEnd - monthEnd - 1);
+        int hour = digits(text, length - 5, 2);
+        int minute = digits(text, length - 2, 2);
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || minute > 59) {
+            return null;
+        }
+        if (hour > 23) {
+            return parseGeneral(text, SLASH_DATE_TIME);
+        }
+        return toDate(year, month, day);
+    }
+
+    /**
+     * Builds a date the way the formatters' smart resolver does: months must be 1-12 and days
+     * 1-31, and a day past the end of a shorter month moves back to its last day.
+     *
+     * @param year the year
+     * @param month the month
+     * @param day the day of month
+     * @return the date, or null if out of range
+     */
+    private static LocalDate toDate(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        try {
+            LocalDate first = LocalDate.of(year, month, 1);
+            return first.withDayOfMonth(Math.min(day, first.lengthOfMonth()));
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a fixed number of ASCII digits.
+     *
+     * @param text the text
+     * @param start the index of the first digit
+     * @param count the number of digits
+     * @return the value, or -1 if a character is not a digit
+     */
+    private static int digits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Parses a date with the cached formatter of a pattern. The text is matched without
+     * resolving first, which fails without an exception, and only resolved if it matches.
+     *
+     * @param text the date text
+     * @param pattern the pattern
+     * @return the date, or null if the text does not match
+     */
+    private static LocalDate parseGeneral(String text, String pattern) {
+        ParsePosition position = new ParsePosition(0);
+        if (formatter(pattern).parseUnresolved(text, position) == null || position.getIndex() != text.length()) {
+            return null;
+        }
+        try {
+            return parseWithFormatter(text, pattern);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
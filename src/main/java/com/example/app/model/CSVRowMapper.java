@@ -0,0 +1,338 @@
+package com.example.app.model;
+
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Converts the rows of a bank or payment CSV export into transaction records
+ * according to a column mapping chosen in the import dialog.
+ * <p>
+ * A mapper is immutable and keeps no per-row state, so the rows of a file can be
+ * converted one at a time while the file is streamed, on any thread, or by several
+ * threads at once.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Quoted CSV field parsing</li>
+ *   <li>Date parsing with the detected format and common fallbacks through {@link CSVDateParser}</li>
+ *   <li>Amount cleanup and sign detection from a transaction type column</li>
+ *   <li>Strict conversion with per-row error messages and lenient conversion for previews</li>
+ *   <li>Optional keyword rules categorizing rows that have no category of their own</li>
+ * </ul>
+ */
+public final class CSVRowMapper {
+    /** Category used when no category column is mapped */
+    public static final String DEFAULT_CATEGORY = "Uncategorised";
+
+    /** Characters removed from amounts */
+    private static final Pattern NON_NUMERIC = Pattern.compile("[^\\d.-]");
+
+    private final int dateColumn;
+    private final int descriptionColumn;
+    private final int categoryColumn;
+    private final int amountColumn;
+    private final int typeColumn;
+    private final boolean useTypeColumn;
+    private final Set<String> incomeIdentifiers;
+    private final Set<String> expenseIdentifiers;
+    private final String dateFormat;
+    private final RuleCategorizer rules;
+
+    /**
+     * Creates a mapper.
+     *
+     * @param dateColumn index of the date column, or -1 if not mapped
+     * @param descriptionColumn index of the description column, or -1 if not mapped
+     * @param categoryColumn index of the category column, or -1 if not mapped
+     * @param amountColumn index of the amount column, or -1 if not mapped
+     * @param typeColumn index of the transaction type column, or -1 if not mapped
+     * @param useTypeColumn whether amounts are unsigned and the type column gives the sign
+     * @param incomeIdentifiers lowercase type values marking income
+     * @param expenseIdentifiers lowercase type values marking expenses
+     * @param dateFormat the date pattern tried first, normally picked by
+     *                   {@link CSVDateParser#detectFormat}
+     */
+    public CSVRowMapper(int dateColumn, int descriptionColumn, int categoryColumn, int amountColumn,
+                        int typeColumn, boolean useTypeColumn, Set<String> incomeIdentifiers,
+                        Set<String> expenseIdentifiers, String dateFormat) {
+        this.dateColumn = dateColumn;
+        this.descriptionColumn = descriptionColumn;
+        this.categoryColumn = categoryColumn;
+        this.amountColumn = amountColumn;
+        this.typeColumn = typeColumn;
+        this.useTypeColumn = useTypeColumn;
+        this.incomeIdentifiers = Set.copyOf(incomeIdentifiers);
+        this.expenseIdentifiers = Set.copyOf(expenseIdentifiers);
+        this.dateFormat = dateFormat;
+        this.rules = null;
+    }
+
+    /**
+     * Creates a copy of a mapper with categorization rules.
+     *
+     * @param mapper the mapper to copy
+     * @param rules the rules, or null for none
+     */
+    private CSVRowMapper(CSVRowMapper mapper, RuleCategorizer rules) {
+        this.dateColumn = mapper.dateColumn;
+        this.descriptionColumn = mapper.descriptionColumn;
+        this.categoryColumn = mapper.categoryColumn;
+        this.amountColumn = mapper.amountColumn;
+        this.typeColumn = mapper.typeColumn;
+        this.useTypeColumn = mapper.useTypeColumn;
+        this.incomeIdentifiers = mapper.incomeIdentifiers;
+        this.expenseIdentifiers = mapper.expenseIdentifiers;
+        this.dateFormat = mapper.dateFormat;
+        this.rules = rules;
+    }
+
+    /**
+     * Creates a mapper that categorizes rows by their description when the file gives them
+     * no category. Rows the rules do not match keep {@link #DEFAULT_CATEGORY}.
+     *
+     * @param rules the compiled keyword rules, or null for none
+     * @return a mapper with the same column mapping and the given rules
+     */
+    public CSVRowMapper withRules(RuleCategorizer rules) {
+        return new CSVRowMapper(this, rules);
+    }
+
+    /**
+     * Converts a row for the preview table. Values that cannot be parsed are shown as they are
+     * or as zero instead of rejecting the row.
+     *
+     * @param row the CSV fields
+     * @return the record [date, description, category, amount, confirmed]
+     */
+    public Object[] preview(List<String> row) {
+        String dateStr = field(row, dateColumn, "");
+        String formattedDate = dateStr;
+        try {
+            if (!dateStr.isEmpty()) {
+                formattedDate = parseDate(dateStr, dateFormat);
+            }
+        } catch (DateTimeParseException e) {
+            // Keep original string if parsing fails
+        }
+
+        double amount = 0.0;
+        try {
+            amount = Double.parseDouble(cleanAmount(field(row, amountColumn, "0.0")));
+            Boolean income = typeOf(row);
+            if (income != null) {
+                amount = income ? Math.abs(amount) : -Math.abs(amount);
+            }
+        } catch (NumberFormatException e) {
+            // Use 0.0 if parsing fails
+        }
+
+        String description = field(row, descriptionColumn, "");
+        return new Object[]{formattedDate, description, category(row, description), amount, false};
+    }
+
+    /**
+     * Converts a row for import.
+     *
+     * @param row the CSV fields
+     * @param rowNumber the 1-based data row number used in messages
+     * @param errors receives a message for a rejected row, or a warning for an accepted row
+     *               whose type could not be determined
+     * @return the record [date, description, category, amount, confirmed], or null if the row
+     *         is rejected
+     */
+    public Object[] map(List<String> row, int rowNumber, List<String> errors) {
+        String dateStr = field(row, dateColumn, "");
+        String amountStr = field(row, amountColumn, "0.0");
+
+        if (dateStr.isEmpty()) {
+            errors.add("Row " + rowNumber + ": Empty date field");
+            return null;
+        }
+        String formattedDate;
+        try {
+            formattedDate = parseDate(dateStr, dateFormat);
+        } catch (DateTimeParseException e) {
+            errors.add("Row " + rowNumber + ": Failed to parse date '" + dateStr
+                    + "' using format '" + dateFormat + "' - " + e.getMessage());
+            return null;
+        }
+
+        String cleanAmount = cleanAmount(amountStr);
+        if (cleanAmount.isEmpty()) {
+            errors.add("Row " + rowNumber + ": Empty amount field");
+            return null;
+        }
+        double amount;
+        try {
+            amount = Double.parseDouble(cleanAmount);
+        } catch (NumberFormatException e) {
+            errors.add("Row " + rowNumber + ": Failed to parse amount '" + amountStr + "'");
+            return null;
+        }
+        if (useTypeColumn && typeColumn >= 0 && typeColumn < row.size()) {
+            Boolean income = typeOf(row);
+            if (income == null) {
+                errors.add("Row " + rowNumber + ": Could not determine transaction type from '"
+                        + row.get(typeColumn).trim() + "'");
+            } else {
+                amount = income ? Math.abs(amount) : -Math.abs(amount);
+            }
+        }
+
+        String description = field(row, descriptionColumn, "");
+        return new Object[]{formattedDate, description, category(row, description), amount, false};
+    }
+
+    /**
+     * Determines from the type column whether a row is income or an expense.
+     *
+     * @param row the CSV fields
+     * @return true for income, false for an expense, null if the type column is not used
+     *         or matches neither list
+     */
+    private Boolean typeOf(List<String> row) {
+        if (!useTypeColumn || typeColumn < 0 || typeColumn >= row.size()) {
+            return null;
+        }
+        String typeValue = row.get(typeColumn).trim();
+        // Expense identifiers win if a value matches both lists
+        if (matchesAnyIdentifier(typeValue, expenseIdentifiers)) {
+            return false;
+        }
+        if (matchesAnyIdentifier(typeValue, incomeIdentifiers)) {
+            return true;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the category of a row: the mapped category column if it has a value, otherwise
+     * the category of the first matching rule, otherwise {@link #DEFAULT_CATEGORY}.
+     *
+     * @param row the CSV fields
+     * @param description the description of the row
+     * @return the category
+     */
+    private String category(List<String> row, String description) {
+        String category = field(row, categoryColumn, "");
+        if (!category.isEmpty() && !DEFAULT_CATEGORY.equals(category)) {
+            return category;
+        }
+        String matched = rules == null ? null : rules.categorize(description);
+        return matched != null ? matched : DEFAULT_CATEGORY;
+    }
+
+    /**
+     * Gets a mapped field of a row.
+     *
+     * @param row the CSV fields
+     * @param column the column index, or -1 if not mapped
+     * @param fallback the value used if the column is not mapped or missing
+     * @return the field value
+     */
+    private static String field(List<String> row, int column, String fallback) {
+        return column >= 0 && column < row.size() ? row.get(column) : fallback;
+    }
+
+    /**
+     * Removes currency symbols, thousands separators and other non-numeric characters.
+     *
+     * @param amountStr the raw amount
+     * @return the digits, sign and decimal point
+     */
+    private static String cleanAmount(String amountStr) {
+        return NON_NUMERIC.matcher(amountStr).replaceAll("");
+    }
+
+    /**
+     * Parses a CSV line into a list of fields.
+     * Handles quoted fields and commas within quotes.
+     *
+     * @param line the CSV line to parse
+     * @return a list of trimmed fields extracted from the line
+     */
+    public static List<String> parseLine(String line) {
+        List<String> result = new ArrayList<>();
+        boolean inQuotes = false;
+        StringBuilder currentField = new StringBuilder();
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            } else if (c == ',' && !inQuotes) {
+                result.add(currentField.toString().trim());
+                currentField = new StringBuilder();
+            } else {
+                currentField.append(c);
+            }
+        }
+
+        // Add the last field
+        result.add(currentField.toString().trim());
+
+        return result;
+    }
+
+    /**
+     * Parses a comma-separated string of identifiers into a set.
+     *
+     * @param identifiersString comma-separated list of identifiers
+     * @return a set of lowercase identifiers
+     */
+    public static Set<String> parseIdentifiers(String identifiersString) {
+        Set<String> result = new HashSet<>();
+        if (identifiersString == null || identifiersString.trim().isEmpty()) {
+            return result;
+        }
+
+        for (String part : identifiersString.split(",")) {
+            String trimmed = part.trim();
+            if (!trimmed.isEmpty()) {
+                result.add(trimmed.toLowerCase());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks if a value matches any of the provided identifiers.
+     * Performs both exact and partial matching.
+     *
+     * @param value the value to check
+     * @param identifiers the set of identifiers to match against
+     * @return true if the value matches any identifier, false otherwise
+     */
+    private static boolean matchesAnyIdentifier(String value, Set<String> identifiers) {
+        if (value == null || value.isEmpty() || identifiers.isEmpty()) {
+            return false;
+        }
+
+        String lowerValue = value.toLowerCase();
+        if (identifiers.contains(lowerValue)) {
+            return true;
+        }
+        for (String identifier : identifiers) {
+            if (lowerValue.contains(identifier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses a date string using multiple formats.
+     * Tries the primary format first, then falls back to other formats if needed.
+     *
+     * @param dateStr the date string to parse
+     * @param primaryFormat the primary date format to try first
+     * @return a formatted date string in 'yyyy-MM-dd' format
+     * @throws DateTimeParseException if the date cannot be parsed with any format
+     * @see CSVDateParser#parse(String, String)
+     */
+    public static String parseDate(String dateStr, String primaryFormat) {
+        return CSVDateParser.parse(dateStr, primaryFormat);
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.app.model;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Remembers the categories the AI service gave to transaction descriptions.
+ * <p>
+ * Bills repeat the same merchant strings, such as "商户消费" or "微信转账", many times, so a
+ * category the service gave once is reused for every later row with the same description
+ * instead of being asked for again. Entries are keyed by the normalized description and the
+ * sign of the amount, since the same text can be a payment or a refund. The cache keeps the
+ * most recently used entries up to a fixed size, is stored per user in
+ * {@code category_cache.tsv} next to the bill file, and takes the category the user confirms
+ * for a transaction as the answer for its description.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Case and whitespace insensitive description keys, split by amount sign</li>
+ *   <li>Least recently used eviction above a fixed number of entries</li>
+ *   <li>Persistence in recency order, so eviction order survives a restart</li>
+ *   <li>Entries updated with the categories the user confirmed, saved only if one changed</li>
+ *   <li>One shared, thread-safe cache per user</li>
+ * </ul>
+ */
+public final class ClassificationCache {
+    private static final Logger LOGGER = Logger.getLogger(ClassificationCache.class.getName());
+    private static final Map<String, ClassificationCache> INSTANCES = new HashMap<>();
+    private static final String CACHE_FILENAME = "category_cache.tsv";
+
+    /** Default largest number of entries */
+    public static final int DEFAULT_CAPACITY = 5000;
+
+    private final File file;
+    private final int capacity;
+    private final LinkedHashMap<String, String> entries;
+    private boolean dirty;
+
+    /**
+     * Creates an empty cache. The application uses {@link #getInstance(String)}.
+     *
+     * @param file the cache file, or null to keep the cache in memory only
+     * @param capacity the largest number of entries
+     */
+    ClassificationCache(File file, int capacity) {
+        this.file = file;
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > ClassificationCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cache of a user, loading it from the user's data directory on first use.
+     *
+     * @param username the username
+     * @return the shared cache of the user
+     */
+    public static synchronized ClassificationCache getInstance(String username) {
+        return INSTANCES.computeIfAbsent(username, name -> {
+            ClassificationCache cache = new ClassificationCache(
+                    new File(".\\user_data\\" + name, CACHE_FILENAME), DEFAULT_CAPACITY);
+            cache.load();
+            return cache;
+        });
+    }
+
+    /**
+     * Builds the key of a description.
+     *
+     * @param description the description
+     * @param income whether the amount is income
+     * @return the key, or null if the description is blank
+     */
+    static String key(String description, boolean income) {
+        if (description == null) {
+            return null;
+        }
+        String normalized = description.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : (income ? "+" : "-") + normalized;
+    }
+
+    /**
+     * Looks up the category of a description, marking the entry as recently used.
+     *
+     * @param description the description
+     * @param income whether the amount is income
+     * @return the cached category, or null if there is none
+     */
+    public synchronized String get(String description, boolean income) {
+        String key = key(description, income);
+        return key == null ? null : entries.get(key);
+    }
+
+    /**
+     * Remembers the category of a description. Call {@link #save()} to persist it.
+     *
+     * @param description the description
+     * @param income whether the amount is income
+     * @param category the category
+     */
+    public synchronized void put(String description, boolean income, String category) {
+        String key = key(description, income);
+        if (key != null && category != null && !category.trim().isEmpty()
+                && !category.equals(entries.put(key, category.trim()))) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Remembers the categories the user confirmed and saves the cache if an entry changed.
+     * A confirmed category that matches the cached one keeps the entry, so a correct answer
+     * is not asked for again; a different one replaces it.
+     *
+     * @param transactions confirmed records [date, description, category, amount, ...]
+     * @return the number of entries added or changed
+     */
+    public synchronized int confirm(List<Object[]> transactions) {
+        int changed = 0;
+        for (Object[] transaction : transactions) {
+            boolean income = ((Number) transaction[3]).doubleValue() >= 0;
+            String key = key(transaction[1] == null ? null : transaction[1].toString(), income);
+            String category = transaction[2] == null ? "" : transaction[2].toString().trim();
+            if (key != null && !category.isEmpty() && !category.equals(entries.put(key, category))) {
+                changed++;
+            }
+        }
+        if (changed > 0) {
+            dirty = true;
+            save();
+        }
+        return changed;
+    }
+
+    /**
+     * Gets the number of entries.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes the cache file if entries changed since it was loaded or last saved.
+     * Entries are written from least to most recently used.
+     */
+    public synchronized void save() {
+        if (file == null || !dirty) {
+            return;
+        }
+        File directory = file.getParentFile();
+        if (!directory.exists() && !directory.mkdirs()) {
+            LOGGER.log(Level.SEVERE, "Could not create cache directory at: {0}", directory.getAbsolutePath());
+            return;
+        }
+        File temp = new File(directory, CACHE_FILENAME + ".tmp");
+        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(
+                new FileOutputStream(temp), StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                // Keys have no tabs or line breaks after normalization
+                writer.println(entry.getKey() + "\t" + entry.getValue().replaceAll("\\s+", " "));
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error saving classification cache: " + e.getMessage(), e);
+            return;
+        }
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Could not replace classification cache at: " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Loads the cache file if there is one.
+     */
+    private void load() {
+        if (file == null || !file.exists()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab > 1 && tab < line.length() - 1) {
+                    entries.put(line.substring(0, tab), line.substring(tab + 1));
+                }
+            }
+            LOGGER.log(Level.INFO, "Loaded {0} cached categories from: {1}",
+                    new Object[]{entries.size(), file.getAbsolutePath()});
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not load classification cache, starting a new one", e);
+            entries.clear();
+        }
+    }
+
+    /**
+     * Drops all cached instances.
+     * <p>
+     * <b>For testing purposes only.</b>
+     */
+    static synchronized void _resetForTests() {
+        INSTANCES.clear();
+    }
+}
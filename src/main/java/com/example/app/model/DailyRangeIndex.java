@@ -0,0 +1,243 @@
+package com.example.app.model;
+
+import java.util.*;
+
+/**
+ * Range-sum index over daily income and expense amounts.
+ * <p>
+ * Each series is a Fenwick (binary indexed) tree over consecutive epoch days, so adding
+ * an amount to a day and summing any range of days both take O(log n) for n covered days.
+ * Besides the overall income and expense series there is one series per income category
+ * and one per expense category.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Incremental point updates as transactions are added or removed</li>
+ *   <li>Income, expense and per-category totals for any date range</li>
+ *   <li>Covered range grows on demand with headroom on the side that grew</li>
+ * </ul>
+ */
+final class DailyRangeIndex {
+    /** Number of days covered once the first amount is added */
+    private static final int MIN_CAPACITY = 32;
+
+    /** Epoch day stored at tree position 1 */
+    private int firstEpochDay;
+
+    /** Number of days covered by every tree */
+    private int capacity;
+
+    private long[] income = new long[1];
+    private long[] expense = new long[1];
+    private final Map<String, long[]> incomeByCategory = new HashMap<>();
+    private final Map<String, long[]> expenseByCategory = new HashMap<>();
+
+    /**
+     * Removes all amounts.
+     */
+    void clear() {
+        firstEpochDay = 0;
+        capacity = 0;
+        income = new long[1];
+        expense = new long[1];
+        incomeByCategory.clear();
+        expenseByCategory.clear();
+    }
+
+    /**
+     * Adds a transaction amount to a day, or takes it out again.
+     * Non-negative amounts are income, negative ones expenses.
+     *
+     * @param epochDay the day of the transaction
+     * @param category the final category of the transaction
+     * @param cents the amount in cents, as stored on the transaction
+     * @param count 1 to add the transaction, -1 to remove it
+     */
+    void add(int epochDay, String category, long cents, int count) {
+        int position = ensureDay(epochDay) + 1;
+        if (cents >= 0) {
+            update(income, position, cents * count);
+            update(incomeByCategory.computeIfAbsent(category, c -> new long[capacity + 1]), position, cents * count);
+        } else {
+            update(expense, position, -cents * count);
+            update(expenseByCategory.computeIfAbsent(category, c -> new long[capacity + 1]), position, -cents * count);
+        }
+    }
+
+    /**
+     * Sums income between two days, both inclusive.
+     *
+     * @param fromDay the first epoch day
+     * @param toDay the last epoch day
+     * @return the income in cents
+     */
+    long incomeBetween(int fromDay, int toDay) {
+        return rangeSum(income, fromDay, toDay);
+    }
+
+    /**
+     * Sums expenses between two days, both inclusive.
+     *
+     * @param fromDay the first epoch day
+     * @param toDay the last epoch day
+     * @return the expenses in cents, as a positive number
+     */
+    long expenseBetween(int fromDay, int toDay) {
+        return rangeSum(expense, fromDay, toDay);
+    }
+
+    /**
+     * Sums the income of one category between two days, both inclusive.
+     *
+     * @param category the income category
+     * @param fromDay the first epoch day
+     * @param toDay the last epoch day
+     * @return the income in cents
+     */
+    long categoryIncomeBetween(String category, int fromDay, int toDay) {
+        long[] tree = incomeByCategory.get(category);
+        return tree == null ? 0 : rangeSum(tree, fromDay, toDay);
+    }
+
+    /**
+     * Sums the expenses of one category between two days, both inclusive.
+     *
+     * @param category the expense category
+     * @param fromDay the first epoch day
+     * @param toDay the last epoch day
+     * @return the expenses in cents, as a positive number
+     */
+    long categoryExpenseBetween(String category, int fromDay, int toDay) {
+        long[] tree = expenseByCategory.get(category);
+        return tree == null ? 0 : rangeSum(tree, fromDay, toDay);
+    }
+
+    /**
+     * Gets every category that has had an expense series.
+     *
+     * @return the expense categories
+     */
+    Set<String> getExpenseCategories() {
+        return Collections.unmodifiableSet(expenseByCategory.keySet());
+    }
+
+    /**
+     * Gets every category that has had an income series.
+     *
+     * @return the income categories
+     */
+    Set<String> getIncomeCategories() {
+        return Collections.unmodifiableSet(incomeByCategory.keySet());
+    }
+
+    /**
+     * Sums a tree between two days, clamped to the covered range.
+     *
+     * @param tree the Fenwick tree
+     * @param fromDay the first epoch day
+     * @param toDay the last epoch day
+     * @return the sum
+     */
+    private long rangeSum(long[] tree, int fromDay, int toDay) {
+        long from = Math.max((long) fromDay - firstEpochDay, 0);
+        long to = Math.min((long) toDay - firstEpochDay, capacity - 1L);
+        if (capacity == 0 || from > to) {
+            return 0;
+        }
+        return prefixSum(tree, (int) to + 1) - prefixSum(tree, (int) from);
+    }
+
+    /**
+     * Makes sure the trees cover the given day, rebuilding them over a wider range if needed.
+     *
+     * @param epochDay the epoch day
+     * @return the zero-based offset of the day
+     */
+    private int ensureDay(int epochDay) {
+        if (capacity == 0) {
+            resize(epochDay, MIN_CAPACITY);
+        } else if (epochDay < firstEpochDay) {
+            int span = firstEpochDay + capacity - epochDay;
+            int start = epochDay - span / 2;
+            resize(start, firstEpochDay + capacity - start);
+        } else if (epochDay >= firstEpochDay + capacity) {
+            int span = epochDay - firstEpochDay + 1;
+            resize(firstEpochDay, span + span / 2);
+        }
+        return epochDay - firstEpochDay;
+    }
+
+    /**
+     * Moves every tree to a new covered range that contains the current one.
+     *
+     * @param startEpochDay the new first day
+     * @param days the new number of covered days
+     */
+    private void resize(int startEpochDay, int days) {
+        int shift = firstEpochDay - startEpochDay;
+        income = rebuild(income, shift, days);
+        expense = rebuild(expense, shift, days);
+        incomeByCategory.replaceAll((category, tree) -> rebuild(tree, shift, days));
+        expenseByCategory.replaceAll((category, tree) -> rebuild(tree, shift, days));
+        firstEpochDay = startEpochDay;
+        capacity = days;
+    }
+
+    /**
+     * Turns a tree back into daily values, shifts them and builds a larger tree in O(n).
+     *
+     * @param tree the current tree
+     * @param shift how many positions the days move to the right
+     * @param days the new number of covered days
+     * @return the new tree
+     */
+    private long[] rebuild(long[] tree, int shift, int days) {
+        int size = tree.length - 1;
+        long[] values = tree.clone();
+        for (int i = size; i >= 1; i--) {
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                values[parent] -= values[i];
+            }
+        }
+        long[] rebuilt = new long[days + 1];
+        if (size > 0) {
+            System.arraycopy(values, 1, rebuilt, 1 + shift, size);
+        }
+        for (int i = 1; i <= days; i++) {
+            int parent = i + (i & -i);
+            if (parent <= days) {
+                rebuilt[parent] += rebuilt[i];
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Adds a value at a one-based position.
+     *
+     * @param tree the Fenwick tree
+     * @param position the position
+     * @param delta the value to add
+     */
+    private static void update(long[] tree, int position, long delta) {
+        for (int i = position; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Sums the first positions of a tree.
+     *
+     * @param tree the Fenwick tree
+     * @param count the number of positions to sum
+     * @return the sum of positions 1 to count
+     */
+    private static long prefixSum(long[] tree, int count) {
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
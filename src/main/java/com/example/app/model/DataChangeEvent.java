@@ -0,0 +1,262 @@
+package com.example.app.model;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * A data change notification that carries what changed along with its {@link DataRefreshManager.RefreshType}.
+ * <p>
+ * A scoped event lists the categories it touches and the date range of the
+ * transactions it touches. For transaction edits it also keeps the repository change records,
+ * so listeners can patch their state with the added and removed rows instead of reloading
+ * everything. An unscoped event only says that data of its type changed and must be assumed
+ * to touch everything.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Transaction change records with the added and removed rows</li>
+ *   <li>Affected categories and date range</li>
+ *   <li>Merging of events of the same type delivered together</li>
+ *   <li>Overlap checks used by {@link DataChangeFilter}</li>
+ * </ul>
+ */
+public final class DataChangeEvent {
+    private final DataRefreshManager.RefreshType type;
+    private final boolean scoped;
+    private final Set<String> categories;
+    private final LocalDate firstDate;
+    private final LocalDate lastDate;
+    private final List<TransactionRepository.Change> changes;
+
+    /**
+     * Creates an event.
+     *
+     * @param type the type of data that changed
+     * @param scoped whether categories and dates describe everything the event touches
+     * @param categories the touched categories
+     * @param firstDate the earliest touched date, or null if no dated transaction was touched
+     * @param lastDate the latest touched date, or null if no dated transaction was touched
+     * @param changes the transaction change records
+     */
+    private DataChangeEvent(DataRefreshManager.RefreshType type, boolean scoped, Set<String> categories,
+                            LocalDate firstDate, LocalDate lastDate, List<TransactionRepository.Change> changes) {
+        this.type = type;
+        this.scoped = scoped;
+        this.categories = Collections.unmodifiableSet(categories);
+        this.firstDate = firstDate;
+        this.lastDate = lastDate;
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Creates an unscoped event that may touch any data of its type.
+     *
+     * @param type the type of data that changed
+     * @return the event
+     */
+    public static DataChangeEvent of(DataRefreshManager.RefreshType type) {
+        return new DataChangeEvent(type, false, Collections.emptySet(), null, null, Collections.emptyList());
+    }
+
+    /**
+     * Creates an event touching only the given categories, such as a budget edit.
+     *
+     * @param type the type of data that changed
+     * @param categories the touched categories
+     * @return the event
+     */
+    public static DataChangeEvent forCategories(DataRefreshManager.RefreshType type, Collection<String> categories) {
+        return new DataChangeEvent(type, true, new HashSet<>(categories), null, null, Collections.emptyList());
+    }
+
+    /**
+     * Creates a transaction event from repository change records.
+     * The categories and dates are collected from the added and removed rows.
+     *
+     * @param changes the change records, oldest first
+     * @return the event
+     */
+    public static DataChangeEvent forTransactionChanges(List<TransactionRepository.Change> changes) {
+        Set<String> categories = new HashSet<>();
+        int firstDay = Integer.MAX_VALUE;
+        int lastDay = Integer.MIN_VALUE;
+        for (TransactionRepository.Change change : changes) {
+            for (TransactionTable rows : Arrays.asList(change.getAdded(), change.getRemoved())) {
+                boolean[] used = new boolean[rows.getCategoryCount()];
+                for (int i = 0; i < rows.size(); i++) {
+                    used[rows.getCategoryId(i)] = true;
+                    if (rows.hasDate(i)) {
+                        firstDay = Math.min(firstDay, rows.getEpochDay(i));
+                        lastDay = Math.max(lastDay, rows.getEpochDay(i));
+                    }
+                }
+                for (int id = 0; id < used.length; id++) {
+                    if (used[id]) {
+                        categories.add(rows.getCategoryName(id));
+                    }
+                }
+            }
+        }
+        boolean dated = firstDay <= lastDay;
+        return new DataChangeEvent(DataRefreshManager.RefreshType.TRANSACTIONS, true, categories,
+                dated ? LocalDate.ofEpochDay(firstDay) : null, dated ? LocalDate.ofEpochDay(lastDay) : null,
+                new ArrayList<>(changes));
+    }
+
+    /**
+     * Gets the type of data that changed.
+     *
+     * @return the refresh type
+     */
+    public DataRefreshManager.RefreshType getType() {
+        return type;
+    }
+
+    /**
+     * Checks whether the event describes exactly what it touches.
+     *
+     * @return true if categories and dates are known, false if anything may have changed
+     */
+    public boolean isScoped() {
+        return scoped;
+    }
+
+    /**
+     * Gets the touched categories.
+     *
+     * @return the categories, empty for unscoped events
+     */
+    public Set<String> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Gets the earliest date of a touched transaction.
+     *
+     * @return the date, or null if unknown or no dated transaction was touched
+     */
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    /**
+     * Gets the latest date of a touched transaction.
+     *
+     * @return the date, or null if unknown or no dated transaction was touched
+     */
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    /**
+     * Gets the repository change records of a transaction event.
+     *
+     * @return the change records, oldest first; empty if not known
+     */
+    public List<TransactionRepository.Change> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Checks whether the event may touch any of the given categories.
+     *
+     * @param watched the categories of interest
+     * @return true if the event is unscoped or shares a category with the given ones
+     */
+    public boolean touchesCategories(Collection<String> watched) {
+        return touchesCategories(watched, UnaryOperator.identity());
+    }
+
+    /**
+     * Checks whether the event may touch any of the given categories once its own categories
+     * are mapped the way the listener books them, for example unbudgeted categories under "Other".
+     *
+     * @param watched the categories of interest
+     * @param fold maps a touched category to the category it is counted under
+     * @return true if the event is unscoped or a mapped category is one of the given ones
+     */
+    public boolean touchesCategories(Collection<String> watched, UnaryOperator<String> fold) {
+        if (!scoped) {
+            return true;
+        }
+        for (String category : categories) {
+            if (watched.contains(fold.apply(category))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the event may touch transactions dated within a window.
+     *
+     * @param from the first date of the window, inclusive, or null for no lower bound
+     * @param to the last date of the window, inclusive, or null for no upper bound
+     * @return true if the event is unscoped or its date range overlaps the window
+     */
+    public boolean touchesDates(LocalDate from, LocalDate to) {
+        if (!scoped) {
+            return true;
+        }
+        if (firstDate == null) {
+            return false;
+        }
+        return (from == null || !lastDate.isBefore(from)) && (to == null || !firstDate.isAfter(to));
+    }
+
+    /**
+     * Combines this event with a later event of the same type.
+     *
+     * @param later the later event
+     * @return an event covering both
+     */
+    public DataChangeEvent merge(DataChangeEvent later) {
+        if (later.type != type) {
+            throw new IllegalArgumentException("Cannot merge " + type + " with " + later.type);
+        }
+        if (!scoped || !later.scoped) {
+            return of(type);
+        }
+        Set<String> mergedCategories = new HashSet<>(categories);
+        mergedCategories.addAll(later.categories);
+        List<TransactionRepository.Change> mergedChanges = new ArrayList<>(changes);
+        mergedChanges.addAll(later.changes);
+        return new DataChangeEvent(type, true, mergedCategories,
+                earlier(firstDate, later.firstDate), laterOf(lastDate, later.lastDate), mergedChanges);
+    }
+
+    /**
+     * Picks the earlier of two optional dates.
+     *
+     * @param a the first date, may be null
+     * @param b the second date, may be null
+     * @return the earlier date, or the other one if one is null
+     */
+    private static LocalDate earlier(LocalDate a, LocalDate b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * Picks the later of two optional dates.
+     *
+     * @param a the first date, may be null
+     * @param b the second date, may be null
+     * @return the later date, or the other one if one is null
+     */
+    private static LocalDate laterOf(LocalDate a, LocalDate b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+
+    @Override
+    public String toString() {
+        if (!scoped) {
+            return type.toString();
+        }
+        return type + categories.toString() + (firstDate == null ? "" : " " + firstDate + ".." + lastDate);
+    }
+}
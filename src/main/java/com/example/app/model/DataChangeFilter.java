@@ -0,0 +1,100 @@
+package com.example.app.model;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Restricts which transaction changes reach a {@link DataRefreshListener}.
+ * <p>
+ * A listener registered with a filter only receives {@link DataRefreshManager.RefreshType#TRANSACTIONS}
+ * events that may touch its categories and its date window. All other event types, and
+ * transaction events whose scope is unknown, are always delivered. The categories and the
+ * window are read from suppliers each time an event is checked, so they follow whatever the
+ * listener currently shows without re-registering.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Subscription by category set, optionally after mapping the changed categories</li>
+ *   <li>Subscription by date window with open ends</li>
+ *   <li>Live criteria supplied by the listener</li>
+ * </ul>
+ */
+public final class DataChangeFilter {
+    private final Supplier<? extends Collection<String>> categories;
+    private final UnaryOperator<String> categoryFold;
+    private final Supplier<LocalDate> windowStart;
+    private final Supplier<LocalDate> windowEnd;
+
+    /**
+     * Creates a filter.
+     *
+     * @param categories supplier of the watched categories, or null for any category
+     * @param categoryFold maps a changed category to the category the listener counts it under
+     * @param windowStart supplier of the first watched date, or null for no lower bound
+     * @param windowEnd supplier of the last watched date, or null for no upper bound
+     */
+    private DataChangeFilter(Supplier<? extends Collection<String>> categories, UnaryOperator<String> categoryFold,
+                             Supplier<LocalDate> windowStart, Supplier<LocalDate> windowEnd) {
+        this.categories = categories;
+        this.categoryFold = categoryFold;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+    }
+
+    /**
+     * Creates a filter passing transaction changes that touch any of the supplied categories.
+     *
+     * @param categories supplier of the watched categories; a null result watches every category
+     * @return the filter
+     */
+    public static DataChangeFilter forCategories(Supplier<? extends Collection<String>> categories) {
+        return forCategories(categories, UnaryOperator.identity());
+    }
+
+    /**
+     * Creates a filter passing transaction changes that touch any of the supplied categories
+     * after each changed category is mapped to the category the listener counts it under.
+     *
+     * @param categories supplier of the watched categories; a null result watches every category
+     * @param categoryFold maps a changed category, such as an unbudgeted one to "Other"
+     * @return the filter
+     */
+    public static DataChangeFilter forCategories(Supplier<? extends Collection<String>> categories,
+                                                 UnaryOperator<String> categoryFold) {
+        return new DataChangeFilter(categories, categoryFold, null, null);
+    }
+
+    /**
+     * Creates a filter passing transaction changes dated within the supplied window.
+     *
+     * @param windowStart supplier of the first date, inclusive; a null result leaves the window open
+     * @param windowEnd supplier of the last date, inclusive; a null result leaves the window open
+     * @return the filter
+     */
+    public static DataChangeFilter forDateWindow(Supplier<LocalDate> windowStart, Supplier<LocalDate> windowEnd) {
+        return new DataChangeFilter(null, null, windowStart, windowEnd);
+    }
+
+    /**
+     * Checks whether an event should be delivered.
+     *
+     * @param event the event
+     * @return true if the event is not a transaction change or may touch the watched data
+     */
+    public boolean accepts(DataChangeEvent event) {
+        if (event.getType() != DataRefreshManager.RefreshType.TRANSACTIONS || !event.isScoped()) {
+            return true;
+        }
+        Collection<String> watched = categories == null ? null : categories.get();
+        if (watched != null && !event.touchesCategories(watched, categoryFold)) {
+            return false;
+        }
+        if (windowStart == null && windowEnd == null) {
+            return true;
+        }
+        return event.touchesDates(windowStart == null ? null : windowStart.get(),
+                windowEnd == null ? null : windowEnd.get());
+    }
+}
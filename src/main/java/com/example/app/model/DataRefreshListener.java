@@ -9,4 +9,14 @@ public interface DataRefreshListener {
      * @param type The type of data that was refreshed
      */
     void onDataRefresh(DataRefreshManager.RefreshType type);
-}
\ No newline at end of file
+
+    /**
+     * Called when data has changed, with details of what changed.
+     * Listeners that can patch their state from the event override this method;
+     * the default forwards the event type to {@link #onDataRefresh}.
+     * @param event The change that happened
+     */
+    default void onDataChanged(DataChangeEvent event) {
+        onDataRefresh(event.getType());
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.app.model;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -12,17 +18,73 @@ import java.util.logging.Logger;
  * <p>
  * This class allows components to register as listeners for data changes,
  * and coordinates refresh events to ensure data consistency throughout the application.
- 
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Synchronous dispatch on the notifying thread, the default</li>
+ *   <li>Asynchronous dispatch on a single refresh worker that merges bursts of
+ *       notifications arriving within a configurable window</li>
+ *   <li>Notifications raised by listeners during a dispatch are queued and delivered
+ *       afterwards, unless the event being delivered already covers them</li>
+ *   <li>{@link DataChangeEvent}s carrying the changed rows, categories and dates, merged
+ *       per type when several are delivered together</li>
+ *   <li>Listeners registered with a {@link DataChangeFilter} skip transaction changes
+ *       outside their categories or date window</li>
+ * </ul>
  */
 public class DataRefreshManager {
     private static final Logger LOGGER = Logger.getLogger(DataRefreshManager.class.getName());
     private static DataRefreshManager instance;
     private final List<DataRefreshListener> listeners;
     
+    /** Filters of the listeners that subscribed to part of the data */
+    private final Map<DataRefreshListener, DataChangeFilter> filters = new ConcurrentHashMap<>();
+    
+    /** Default time notifications are collected before an asynchronous dispatch */
+    public static final long DEFAULT_COALESCE_WINDOW_MILLIS = 50;
+    
+    /** Maximum number of follow-up events delivered after one notification */
+    private static final int MAX_FOLLOW_UP_EVENTS = 16;
+    
+    /**
+     * Dispatch state of the current thread, used to queue notifications raised by listeners
+     */
+    private final ThreadLocal<Dispatch> currentDispatch = new ThreadLocal<>();
+    
+    /** Notifications waiting for the refresh worker, merged per type */
+    private final Map<RefreshType, DataChangeEvent> pendingEvents = new EnumMap<>(RefreshType.class);
+    
+    /** Whether a worker dispatch of the pending notifications is scheduled */
+    private boolean flushScheduled = false;
+    
+    private volatile DispatchMode dispatchMode = DispatchMode.SYNCHRONOUS;
+    private volatile long coalesceWindowMillis = DEFAULT_COALESCE_WINDOW_MILLIS;
+    
+    /** Single refresh worker, created when asynchronous dispatch is first used */
+    private ScheduledExecutorService worker;
+    
+    /**
+     * How notifications reach the listeners
+     */
+    public enum DispatchMode {
+        /**
+         * Listeners run on the notifying thread before notifyRefresh returns
+         */
+        SYNCHRONOUS,
+        
+        /**
+         * Notifications are merged for the coalesce window and delivered on the refresh worker
+         */
+        ASYNCHRONOUS
+    }
+    
     /**
-     * Flag used to prevent recursive refresh calls
+     * Delivery in progress on one thread, with the notifications raised meanwhile
      */
-    private volatile boolean refreshInProgress = false;
+    private static final class Dispatch {
+        private DataChangeEvent current;
+        private final Map<RefreshType, DataChangeEvent> queued = new EnumMap<>(RefreshType.class);
+    }
     
     /**
      * Enum defining different types of data that could be refreshed
@@ -90,6 +152,18 @@ public class DataRefreshManager {
         }
     }
     
+    /**
+     * Adds a listener that only receives the transaction changes its filter accepts.
+     * Events of other types are always delivered.
+     *
+     * @param listener the DataRefreshListener to be added
+     * @param filter the filter for transaction changes
+     */
+    public void addListener(DataRefreshListener listener, DataChangeFilter filter) {
+        filters.put(listener, filter);
+        addListener(listener);
+    }
+    
     /**
      * Removes a listener from receiving data refresh notifications
      *
@@ -97,35 +171,172 @@ public class DataRefreshManager {
      */
     public void removeListener(DataRefreshListener listener) {
         listeners.remove(listener);
+        filters.remove(listener);
         LOGGER.log(Level.FINE, "Removed listener: {0}", listener.getClass().getName());
     }
     
     /**
-     * Notifies all registered listeners that data of the specified type has been refreshed
+     * Sets how notifications are delivered.
+     *
+     * @param mode the dispatch mode
+     */
+    public void setDispatchMode(DispatchMode mode) {
+        this.dispatchMode = mode;
+        LOGGER.log(Level.INFO, "Refresh dispatch mode set to {0}", mode);
+    }
+    
+    /**
+     * Gets how notifications are delivered.
+     *
+     * @return the dispatch mode
+     */
+    public DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+    
+    /**
+     * Sets how long asynchronous notifications are collected before they are delivered.
+     *
+     * @param window the window length, 0 to deliver as soon as the worker is free
+     * @param unit the unit of the window
+     */
+    public void setCoalesceWindow(long window, TimeUnit unit) {
+        this.coalesceWindowMillis = Math.max(0, unit.toMillis(window));
+    }
+    
+    /**
+     * Notifies all registered listeners that data of the specified type has been refreshed.
+     * The notification is delivered as an unscoped {@link DataChangeEvent}.
      *
      * @param type the type of data that has been refreshed
      */
     public void notifyRefresh(RefreshType type) {
-        // Prevent recursive refresh calls
-        if (refreshInProgress) {
-            LOGGER.log(Level.WARNING, "Recursive refresh call detected for {0}, skipping", type);
+        notifyChange(DataChangeEvent.of(type));
+    }
+    
+    /**
+     * Notifies the registered listeners of a data change.
+     * <p>
+     * A notification raised by a listener while an event is being delivered on the same
+     * thread is queued and delivered once the current event is done. It is dropped if
+     * the current event already covers it: the current event is {@link RefreshType#ALL}, or
+     * of the same type and unscoped. Only transaction changes carry rows and are filtered by
+     * their scope, so any other type raised again during its own delivery counts as covered.
+     *
+     * @param event the change
+     */
+    public void notifyChange(DataChangeEvent event) {
+        Dispatch dispatch = currentDispatch.get();
+        if (dispatch != null) {
+            DataChangeEvent current = dispatch.current;
+            boolean sameType = current.getType() == event.getType();
+            if (current.getType() == RefreshType.ALL
+                    || (sameType && (event.getType() != RefreshType.TRANSACTIONS || !current.isScoped()))) {
+                LOGGER.log(Level.FINE, "Refresh of {0} raised while delivering {1}, already covered",
+                    new Object[]{event, current});
+            } else {
+                dispatch.queued.merge(event.getType(), event, DataChangeEvent::merge);
+            }
             return;
         }
         
+        if (dispatchMode == DispatchMode.ASYNCHRONOUS) {
+            enqueue(event);
+        } else {
+            Map<RefreshType, DataChangeEvent> events = new EnumMap<>(RefreshType.class);
+            events.put(event.getType(), event);
+            dispatch(events);
+        }
+    }
+    
+    /**
+     * Adds a notification to the pending events and schedules the worker if needed.
+     *
+     * @param event the change
+     */
+    private synchronized void enqueue(DataChangeEvent event) {
+        pendingEvents.merge(event.getType(), event, DataChangeEvent::merge);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            if (worker == null) {
+                worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "data-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            worker.schedule(this::flushPending, coalesceWindowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Delivers the merged pending notifications on the refresh worker.
+     */
+    private void flushPending() {
+        Map<RefreshType, DataChangeEvent> events;
+        synchronized (this) {
+            events = new EnumMap<>(RefreshType.class);
+            events.putAll(pendingEvents);
+            pendingEvents.clear();
+            flushScheduled = false;
+        }
+        if (!events.isEmpty()) {
+            dispatch(events);
+        }
+    }
+    
+    /**
+     * Delivers a set of notifications on the current thread, followed by the notifications
+     * listeners raise meanwhile.
+     *
+     * @param events the changes, at most one per type
+     */
+    private void dispatch(Map<RefreshType, DataChangeEvent> events) {
+        Dispatch dispatch = new Dispatch();
+        dispatch.queued.putAll(events);
+        currentDispatch.set(dispatch);
         try {
-            refreshInProgress = true;
-            LOGGER.log(Level.INFO, "Notifying {0} listeners of {1} data refresh", 
-                new Object[]{listeners.size(), type});
-            
-            for (DataRefreshListener listener : new ArrayList<>(listeners)) {
-                try {
-                    listener.onDataRefresh(type);
-                } catch (Exception e) {
-                    LOGGER.log(Level.WARNING, "Error notifying listener: " + listener.getClass().getName(), e);
+            int delivered = 0;
+            while (!dispatch.queued.isEmpty()) {
+                if (delivered >= events.size() + MAX_FOLLOW_UP_EVENTS) {
+                    LOGGER.log(Level.WARNING, "Refresh events keep triggering each other, dropping {0}",
+                        dispatch.queued.keySet());
+                    break;
                 }
+                // ALL supersedes every other pending type
+                DataChangeEvent next = dispatch.queued.get(RefreshType.ALL);
+                if (next != null) {
+                    dispatch.queued.clear();
+                } else {
+                    next = dispatch.queued.remove(dispatch.queued.keySet().iterator().next());
+                }
+                dispatch.current = next;
+                deliver(next);
+                delivered++;
             }
         } finally {
-            refreshInProgress = false;
+            currentDispatch.remove();
+        }
+    }
+    
+    /**
+     * Calls every registered listener whose filter accepts a notification.
+     *
+     * @param event the change
+     */
+    private void deliver(DataChangeEvent event) {
+        LOGGER.log(Level.INFO, "Notifying {0} listeners of {1} data refresh", 
+            new Object[]{listeners.size(), event});
+        
+        for (DataRefreshListener listener : new ArrayList<>(listeners)) {
+            try {
+                DataChangeFilter filter = filters.get(listener);
+                if (filter == null || filter.accepts(event)) {
+                    listener.onDataChanged(event);
+                }
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Error notifying listener: " + listener.getClass().getName(), e);
+            }
         }
     }
     
@@ -156,7 +367,10 @@ public class DataRefreshManager {
      * <b>For testing purposes only.</b> This method allows tests to reset the singleton
      * instance so that a fresh instance can be created. It should not be used in production code.
      */
-    static void _resetForTests() {
+    static synchronized void _resetForTests() {
+        if (instance != null && instance.worker != null) {
+            instance.worker.shutdownNow();
+        }
         instance = null;
     }
 }
\ No newline at end of file
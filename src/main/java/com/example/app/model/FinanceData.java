@@ -2,6 +2,8 @@ package com.example.app.model;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Financial data model that manages transaction data, budget allocations,
@@ -9,16 +11,53 @@ import java.util.*;
  * This class serves as the central data repository for the financial application.
  */
 public class FinanceData {
+    private static final Logger LOGGER = Logger.getLogger(FinanceData.class.getName());
+    
     /** Static sample data for demonstration */
     private static final double MONTHLY_BUDGET = 4000.00;
     private static final double DAILY_BUDGET = MONTHLY_BUDGET / 30;
     
+    /** Budgets used when a user has no budget file, in display order */
+    private static final Map<String, Double> DEFAULT_BUDGETS = new LinkedHashMap<>();
+    static {
+        DEFAULT_BUDGETS.put("Housing", 1400.00);
+        DEFAULT_BUDGETS.put("Food", 800.00);
+        DEFAULT_BUDGETS.put("Transportation", 400.00);
+        DEFAULT_BUDGETS.put("Entertainment", 250.00);
+        DEFAULT_BUDGETS.put("Shopping", 400.00);
+        DEFAULT_BUDGETS.put("Service", 350.00);
+        DEFAULT_BUDGETS.put("Gift", 200.00);
+        DEFAULT_BUDGETS.put("Other", 200.00);
+    }
+    
     /** Budget allocation by category */
     private Map<String, Double> categoryBudgets;
     
-    /** Data maps for daily records */
-    private Map<LocalDate, Double> dailyIncomes;
-    private Map<LocalDate, Double> dailyExpenses;
+    /** Daily totals in cents, indexed by epoch day minus {@link #firstEpochDay} */
+    private long[] dailyIncomeCents;
+    private long[] dailyExpenseCents;
+    
+    /** Number of income and expense transactions per day, indexed like the totals */
+    private int[] dailyIncomeCounts;
+    private int[] dailyExpenseCounts;
+    
+    /** Epoch day stored at index 0 of the daily arrays */
+    private int firstEpochDay;
+    
+    /** Running totals in cents, kept in step with the daily arrays */
+    private long totalIncomeCents;
+    private long totalExpenseCents;
+    
+    /** Range-sum index over daily and per-category amounts */
+    private final DailyRangeIndex rangeIndex = new DailyRangeIndex();
+    
+    /** Totals per period granularity, period and category */
+    private final RollupCube rollupCube = new RollupCube();
+    
+    /** Views derived from the daily arrays, rebuilt on first access after a change */
+    private List<LocalDate> dateIndex;
+    private Map<LocalDate, Double> dailyIncomeView;
+    private Map<LocalDate, Double> dailyExpenseView;
     
     /** Expenses and incomes by category */
     private Map<String, Double> categoryExpenses;
@@ -32,6 +71,12 @@ public class FinanceData {
     /** List to store all transactions */
     private List<Transaction> transactions;
     
+    /** Transactions of each epoch day in the order they were added, for finding removed rows */
+    private Map<Integer, List<Transaction>> transactionsByDay;
+    
+    /** Removed transactions still in {@link #transactions}, dropped on the next read */
+    private Set<Transaction> removedTransactions;
+    
     /** Directory path for storing budget files */
     private String dataDirectory;
     
@@ -48,12 +93,13 @@ public class FinanceData {
      */
     private void initializeEmptyData() {
         // Initialize empty data structures
-        dailyIncomes = new HashMap<>();
-        dailyExpenses = new HashMap<>();
+        resetDailyTotals(0, 0);
         dailyExpenseDescriptions = new HashMap<>();
         dailyIncomeDescriptions = new HashMap<>();
         dailyExpenseCategories = new HashMap<>();
         transactions = new ArrayList<>();
+        transactionsByDay = new HashMap<>();
+        removedTransactions = Collections.newSetFromMap(new IdentityHashMap<>());
         
         // Initialize category budgets
         categoryBudgets = new LinkedHashMap<>();
@@ -72,11 +118,136 @@ public class FinanceData {
      * @param importedTransactions list of transaction records as object arrays
      */
     public void importTransactions(List<Object[]> importedTransactions) {
+        importTransactions(TransactionTable.fromRows(importedTransactions));
+    }
+
+    /**
+     * Imports transactions from a transaction table into the finance model.
+     * Processes the table columns and rebuilds all relevant data maps.
+     * Rows whose date cannot be parsed are skipped.
+     * 
+     * @param table the transactions to import
+     */
+    public void importTransactions(TransactionTable table) {
         // First, make sure we have some budget categories
+        ensureBudgetCategories();
+        
+        // Size the daily arrays for the date range of the table
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        for (int i = 0; i < table.size(); i++) {
+            if (table.hasDate(i)) {
+                minDay = Math.min(minDay, table.getEpochDay(i));
+                maxDay = Math.max(maxDay, table.getEpochDay(i));
+            }
+        }
+        
+        // Now continue with transaction import as before
+        if (minDay <= maxDay) {
+            resetDailyTotals(minDay, maxDay - minDay + 1);
+        } else {
+            resetDailyTotals(0, 0);
+        }
+        dailyIncomeDescriptions.clear();
+        dailyExpenseDescriptions.clear();
+        dailyExpenseCategories.clear();
+        categoryIncomes.clear();
+        categoryExpenses.clear();
+        transactions.clear();
+        transactionsByDay.clear();
+        removedTransactions.clear();
+        
+        // For collecting all possible categories
+        Set<String> expenseCategories = new HashSet<>();
+        
+        // Final categories are determined once per category dictionary entry
+        String[] incomeCategoryById = new String[table.getCategoryCount()];
+        String[] expenseCategoryById = new String[table.getCategoryCount()];
+        
+        // Import transaction data and collect categories
+        for (int i = 0; i < table.size(); i++) {
+            if (!table.hasDate(i)) {
+                LOGGER.log(Level.WARNING, "Error processing transaction: unparseable date (Date: {0}, Description: {1})",
+                    new Object[]{table.getDateString(i), table.getDescription(i)});
+                continue;
+            }
+            
+            // Determine final category based on transaction description and CSV category
+            int categoryId = table.getCategoryId(i);
+            String category;
+            if (table.getAmountCents(i) >= 0) {
+                if (incomeCategoryById[categoryId] == null) {
+                    incomeCategoryById[categoryId] = determineIncomeCategory(table.getDescription(i), table.getCategoryName(categoryId));
+                }
+                category = incomeCategoryById[categoryId];
+            } else {
+                if (expenseCategoryById[categoryId] == null) {
+                    expenseCategoryById[categoryId] = determineExpenseCategory(table.getDescription(i), table.getCategoryName(categoryId));
+                }
+                category = expenseCategoryById[categoryId];
+                expenseCategories.add(category);
+            }
+            
+            addTransaction(table, i, category);
+        }
+        
+        // Allocate budgets based on collected categories
+        allocateBudgets(expenseCategories);
+    }
+    
+    /**
+     * Applies added and removed transactions on top of the current data.
+     * Daily totals, category totals and with them the budget percentages are
+     * updated per changed row instead of being rebuilt from all transactions.
+     * Budget allocations are left as they are. Rows whose date cannot be parsed
+     * are skipped, as in {@link #importTransactions(TransactionTable)}.
+     * 
+     * @param added transactions that were added
+     * @param removed transactions that were removed
+     */
+    public void applyDelta(TransactionTable added, TransactionTable removed) {
+        ensureBudgetCategories();
+        
+        for (int i = 0; i < removed.size(); i++) {
+            if (removed.hasDate(i)) {
+                removeTransaction(removed, i);
+            }
+        }
+        
+        for (int i = 0; i < added.size(); i++) {
+            if (!added.hasDate(i)) {
+                LOGGER.log(Level.WARNING, "Error processing transaction: unparseable date (Date: {0}, Description: {1})",
+                    new Object[]{added.getDateString(i), added.getDescription(i)});
+                continue;
+            }
+            String description = added.getDescription(i);
+            String category = added.getAmountCents(i) >= 0
+                    ? determineIncomeCategory(description, added.getCategory(i))
+                    : determineExpenseCategory(description, added.getCategory(i));
+            addTransaction(added, i, category);
+        }
+    }
+    
+    /**
+     * Applies added and removed transaction records on top of the current data.
+     * 
+     * @param added records that were added
+     * @param removed records that were removed
+     * @see #applyDelta(TransactionTable, TransactionTable)
+     */
+    public void applyDelta(List<Object[]> added, List<Object[]> removed) {
+        applyDelta(TransactionTable.fromRows(added), TransactionTable.fromRows(removed));
+    }
+    
+    /**
+     * Makes sure budget categories exist before transactions are categorized,
+     * loading them from the data directory or falling back to defaults.
+     */
+    private void ensureBudgetCategories() {
         if (categoryBudgets.isEmpty()) {
             // Try loading from file
             if (dataDirectory != null) {
-                Map<String, Double> loadedBudgets = BudgetManager.loadBudgetsFromCSV(dataDirectory);
+                Map<String, Double> loadedBudgets = readBudgetFile();
                 if (!loadedBudgets.isEmpty()) {
                     categoryBudgets.putAll(loadedBudgets);
                 } else {
@@ -88,85 +259,255 @@ public class FinanceData {
                 initializeDefaultBudgets();
             }
         }
+    }
+    
+    /**
+     * Adds one dated table row to the transaction list and all aggregates.
+     * 
+     * @param table the table holding the row
+     * @param row the row index
+     * @param category the final category of the transaction
+     */
+    private void addTransaction(TransactionTable table, int row, String category) {
+        LocalDate date = table.getDate(row);
+        String description = table.getDescription(row);
+        double amount = table.getAmount(row);
         
-        // Now continue with transaction import as before
-        dailyIncomes.clear();
-        dailyExpenses.clear();
-        dailyIncomeDescriptions.clear();
-        dailyExpenseDescriptions.clear();
-        dailyExpenseCategories.clear();
-        transactions.clear();
-        
-        // For collecting all possible categories
-        Set<String> incomeCategories = new HashSet<>();
-        Set<String> expenseCategories = new HashSet<>();
+        // Add to transaction list
+        Transaction transaction = new Transaction(date, description, category, amount);
+        transactions.add(transaction);
+        transactionsByDay.computeIfAbsent(table.getEpochDay(row), day -> new ArrayList<>()).add(transaction);
         
-        // Import transaction data and collect categories
-        for (Object[] transaction : importedTransactions) {
-            String dateStr = (String) transaction[0];
-            String description = (String) transaction[1];
-            String csvCategory = (String) transaction[2];
-            double amount = (Double) transaction[3];
+        // Update daily data
+        addToDailyTotals(table.getEpochDay(row), table.getAmountCents(row), 1);
+        rangeIndex.add(table.getEpochDay(row), category, table.getAmountCents(row), 1);
+        rollupCube.add(date, category, table.getAmountCents(row), 1);
+        if (amount >= 0) {  // Income
+            dailyIncomeDescriptions.put(date, description);
             
-            try {
-                // Parse date
-                LocalDate date = LocalDate.parse(dateStr);
-                
-                // Determine transaction type and category
-                String category;
-                boolean isIncome = amount >= 0;
-                
-                // Determine final category based on transaction description and CSV category
-                if (isIncome) {
-                    category = determineIncomeCategory(description, csvCategory);
-                    incomeCategories.add(category);
-                } else {
-                    category = determineExpenseCategory(description, csvCategory);
-                    expenseCategories.add(category);
+            // Update income category statistics
+            categoryIncomes.put(category, categoryIncomes.getOrDefault(category, 0.0) + amount);
+        } else {  // Expense
+            double absAmount = Math.abs(amount);
+            dailyExpenseDescriptions.put(date, description);
+            dailyExpenseCategories.put(date, category);
+            
+            // Update expense category statistics
+            categoryExpenses.put(category, categoryExpenses.getOrDefault(category, 0.0) + absAmount);
+        }
+    }
+    
+    /**
+     * Removes one dated table row from the transaction list and all aggregates.
+     * The row is looked up among the transactions of its day, preferring one counted under
+     * the category the row maps to now; if budgets changed since it was added, any entry
+     * with the same description and amount is taken, and its own category is subtracted so
+     * totals stay exact. Rows without a matching entry are ignored.
+     * 
+     * @param table the table holding the row
+     * @param row the row index
+     */
+    private void removeTransaction(TransactionTable table, int row) {
+        int epochDay = table.getEpochDay(row);
+        List<Transaction> sameDay = transactionsByDay.get(epochDay);
+        if (sameDay == null) {
+            return;
+        }
+        String description = table.getDescription(row);
+        double amount = table.getAmount(row);
+        String category = amount >= 0
+                ? determineIncomeCategory(description, table.getCategory(row))
+                : determineExpenseCategory(description, table.getCategory(row));
+        
+        // Recently added transactions are the most likely to be removed
+        int matchIndex = -1;
+        for (int i = sameDay.size() - 1; i >= 0; i--) {
+            Transaction candidate = sameDay.get(i);
+            if (candidate.getAmount() == amount && candidate.getDescription().equals(description)) {
+                if (candidate.getCategory().equals(category)) {
+                    matchIndex = i;
+                    break;
                 }
-                
-                // Add to transaction list
-                Transaction newTransaction = new Transaction(date, description, category, amount);
-                transactions.add(newTransaction);
-                
-                // Update daily data maps
-                if (isIncome) {  // Income
-                    dailyIncomes.put(date, dailyIncomes.getOrDefault(date, 0.0) + amount);
-                    dailyIncomeDescriptions.put(date, description);
-                    
-                    // Update income category statistics
-                    categoryIncomes.put(category, categoryIncomes.getOrDefault(category, 0.0) + amount);
-                } else {  // Expense
-                    double absAmount = Math.abs(amount);
-                    dailyExpenses.put(date, dailyExpenses.getOrDefault(date, 0.0) + absAmount);
-                    dailyExpenseDescriptions.put(date, description);
-                    dailyExpenseCategories.put(date, category);
-                    
-                    // Update expense category statistics
-                    categoryExpenses.put(category, categoryExpenses.getOrDefault(category, 0.0) + absAmount);
+                if (matchIndex < 0) {
+                    matchIndex = i;
                 }
-            } catch (Exception e) {
-                System.err.println("Error processing transaction: " + e.getMessage() + 
-                    " (Date: " + dateStr + ", Description: " + description + ")");
             }
         }
+        if (matchIndex < 0) {
+            return;
+        }
+        Transaction match = sameDay.remove(matchIndex);
+        removedTransactions.add(match);
+        if (sameDay.isEmpty()) {
+            transactionsByDay.remove(epochDay);
+        }
         
-        // Allocate budgets based on collected categories
-        allocateBudgets(expenseCategories);
+        LocalDate date = match.getDate();
+        addToDailyTotals(epochDay, table.getAmountCents(row), -1);
+        rangeIndex.add(epochDay, match.getCategory(), table.getAmountCents(row), -1);
+        rollupCube.add(date, match.getCategory(), table.getAmountCents(row), -1);
+        if (match.isIncome()) {
+            subtractFromCategory(categoryIncomes, match.getCategory(), amount);
+        } else {
+            subtractFromCategory(categoryExpenses, match.getCategory(), Math.abs(amount));
+        }
+        refreshDailyDescriptions(date, sameDay, match.isIncome());
+    }
+    
+    /**
+     * Recomputes the description and category shown for a day from its remaining
+     * transactions. As when importing, the last recorded transaction of the day wins.
+     * 
+     * @param date the day
+     * @param sameDay the remaining transactions of the day in the order they were added
+     * @param income whether to refresh the income or the expense entries
+     */
+    private void refreshDailyDescriptions(LocalDate date, List<Transaction> sameDay, boolean income) {
+        for (int i = sameDay.size() - 1; i >= 0; i--) {
+            Transaction transaction = sameDay.get(i);
+            if (transaction.isIncome() == income) {
+                if (income) {
+                    dailyIncomeDescriptions.put(date, transaction.getDescription());
+                } else {
+                    dailyExpenseDescriptions.put(date, transaction.getDescription());
+                    dailyExpenseCategories.put(date, transaction.getCategory());
+                }
+                return;
+            }
+        }
+        if (income) {
+            dailyIncomeDescriptions.remove(date);
+        } else {
+            dailyExpenseDescriptions.remove(date);
+            dailyExpenseCategories.remove(date);
+        }
+    }
+    
+    /**
+     * Subtracts an amount from a category total, dropping the category once nothing is left.
+     * 
+     * @param totals the category totals
+     * @param category the category
+     * @param amount the amount to subtract
+     */
+    private void subtractFromCategory(Map<String, Double> totals, String category, double amount) {
+        double remaining = totals.getOrDefault(category, 0.0) - amount;
+        if (Math.abs(remaining) < 0.005) {
+            totals.remove(category);
+        } else {
+            totals.put(category, remaining);
+        }
+    }
+    
+    /**
+     * Clears the daily totals and allocates arrays for the given range of days.
+     *
+     * @param startEpochDay the first epoch day covered by the arrays
+     * @param days the number of days covered
+     */
+    private void resetDailyTotals(int startEpochDay, int days) {
+        firstEpochDay = startEpochDay;
+        dailyIncomeCents = new long[days];
+        dailyExpenseCents = new long[days];
+        dailyIncomeCounts = new int[days];
+        dailyExpenseCounts = new int[days];
+        totalIncomeCents = 0;
+        totalExpenseCents = 0;
+        rangeIndex.clear();
+        rollupCube.clear();
+        invalidateDailyViews();
+    }
+    
+    /**
+     * Adds a transaction amount to the totals of its day, growing the daily arrays
+     * if the day lies outside the current range. Non-negative amounts count as income,
+     * negative amounts as expenses.
+     *
+     * @param epochDay the day of the transaction
+     * @param cents the signed amount in cents
+     * @param count the change in the number of transactions on that day, 1 to add or -1 to remove
+     */
+    private void addToDailyTotals(int epochDay, long cents, int count) {
+        int index = ensureDay(epochDay);
+        if (cents >= 0) {
+            dailyIncomeCents[index] += cents * count;
+            dailyIncomeCounts[index] += count;
+            totalIncomeCents += cents * count;
+        } else {
+            dailyExpenseCents[index] -= cents * count;
+            dailyExpenseCounts[index] += count;
+            totalExpenseCents -= cents * count;
+        }
+        invalidateDailyViews();
+    }
+    
+    /**
+     * Makes sure the daily arrays cover the given day.
+     *
+     * @param epochDay the epoch day
+     * @return the array index of the day
+     */
+    private int ensureDay(int epochDay) {
+        int days = dailyIncomeCents.length;
+        if (days == 0) {
+            resizeDailyTotals(epochDay, 1);
+        } else if (epochDay < firstEpochDay) {
+            resizeDailyTotals(epochDay, firstEpochDay + days - epochDay);
+        } else if (epochDay >= firstEpochDay + days) {
+            resizeDailyTotals(firstEpochDay, epochDay - firstEpochDay + 1);
+        }
+        return epochDay - firstEpochDay;
+    }
+    
+    /**
+     * Moves the daily arrays to a new range that contains the current one.
+     *
+     * @param startEpochDay the new first epoch day
+     * @param days the new number of days
+     */
+    private void resizeDailyTotals(int startEpochDay, int days) {
+        int shift = firstEpochDay - startEpochDay;
+        int oldDays = dailyIncomeCents.length;
+        long[] incomes = new long[days];
+        long[] expenses = new long[days];
+        int[] incomeCounts = new int[days];
+        int[] expenseCounts = new int[days];
+        if (oldDays > 0) {
+            System.arraycopy(dailyIncomeCents, 0, incomes, shift, oldDays);
+            System.arraycopy(dailyExpenseCents, 0, expenses, shift, oldDays);
+            System.arraycopy(dailyIncomeCounts, 0, incomeCounts, shift, oldDays);
+            System.arraycopy(dailyExpenseCounts, 0, expenseCounts, shift, oldDays);
+        }
+        firstEpochDay = startEpochDay;
+        dailyIncomeCents = incomes;
+        dailyExpenseCents = expenses;
+        dailyIncomeCounts = incomeCounts;
+        dailyExpenseCounts = expenseCounts;
+    }
+    
+    /**
+     * Drops the cached date index and daily maps after the daily totals changed.
+     */
+    private void invalidateDailyViews() {
+        dateIndex = null;
+        dailyIncomeView = null;
+        dailyExpenseView = null;
+    }
+    
+    /**
+     * Gets the budget categories a user starts with when no budget file exists.
+     *
+     * @return the default budget categories in display order
+     */
+    public static Set<String> getDefaultBudgetCategories() {
+        return Collections.unmodifiableSet(DEFAULT_BUDGETS.keySet());
     }
     
     /**
      * Initializes budget categories with default values.
      */
     private void initializeDefaultBudgets() {
-        categoryBudgets.put("Housing", 1400.00);
-        categoryBudgets.put("Food", 800.00);
-        categoryBudgets.put("Transportation", 400.00);
-        categoryBudgets.put("Entertainment", 250.00);
-        categoryBudgets.put("Shopping", 400.00);
-        categoryBudgets.put("Service", 350.00);
-        categoryBudgets.put("Gift", 200.00);
-        categoryBudgets.put("Other", 200.00);
+        categoryBudgets.putAll(DEFAULT_BUDGETS);
     }
     
     /**
@@ -365,7 +706,7 @@ public class FinanceData {
      * @return the total income amount
      */
     public double getTotalIncome() {
-        return dailyIncomes.values().stream().mapToDouble(Double::doubleValue).sum();
+        return totalIncomeCents / 100.0;
     }
     
     /**
@@ -374,7 +715,7 @@ public class FinanceData {
      * @return the total expense amount
      */
     public double getTotalExpenses() {
-        return dailyExpenses.values().stream().mapToDouble(Double::doubleValue).sum();
+        return totalExpenseCents / 100.0;
     }
     
     /**
@@ -406,34 +747,272 @@ public class FinanceData {
     
     /**
      * Gets all unique dates from both income and expense records.
+     * The list is built once after each change to the data.
      *
-     * @return sorted list of dates
+     * @return unmodifiable sorted list of dates
      */
     public List<LocalDate> getDates() {
-        Set<LocalDate> allDates = new HashSet<>();
-        allDates.addAll(dailyIncomes.keySet());
-        allDates.addAll(dailyExpenses.keySet());
-        List<LocalDate> dates = new ArrayList<>(allDates);
-        dates.sort(LocalDate::compareTo);
-        return dates;
+        if (dateIndex == null) {
+            List<LocalDate> dates = new ArrayList<>();
+            for (int i = 0; i < dailyIncomeCounts.length; i++) {
+                if (dailyIncomeCounts[i] > 0 || dailyExpenseCounts[i] > 0) {
+                    dates.add(LocalDate.ofEpochDay(firstEpochDay + i));
+                }
+            }
+            dateIndex = Collections.unmodifiableList(dates);
+        }
+        return dateIndex;
     }
     
     /**
      * Gets map of daily income values.
+     * The map is built once after each change to the data.
      *
-     * @return map of income amounts by date
+     * @return unmodifiable map of income amounts by date, in date order
      */
     public Map<LocalDate, Double> getDailyIncomes() {
-        return dailyIncomes;
+        if (dailyIncomeView == null) {
+            dailyIncomeView = buildDailyView(dailyIncomeCents, dailyIncomeCounts);
+        }
+        return dailyIncomeView;
     }
     
     /**
      * Gets map of daily expense values.
+     * The map is built once after each change to the data.
      *
-     * @return map of expense amounts by date
+     * @return unmodifiable map of expense amounts by date, in date order
      */
     public Map<LocalDate, Double> getDailyExpenses() {
-        return dailyExpenses;
+        if (dailyExpenseView == null) {
+            dailyExpenseView = buildDailyView(dailyExpenseCents, dailyExpenseCounts);
+        }
+        return dailyExpenseView;
+    }
+    
+    /**
+     * Gets the total income of a single day.
+     *
+     * @param date the date
+     * @return the income on that date, or 0 if there is none
+     */
+    public double getDailyIncome(LocalDate date) {
+        int index = (int) (date.toEpochDay() - firstEpochDay);
+        return index >= 0 && index < dailyIncomeCents.length ? dailyIncomeCents[index] / 100.0 : 0.0;
+    }
+    
+    /**
+     * Gets the total expenses of a single day.
+     *
+     * @param date the date
+     * @return the expenses on that date, or 0 if there are none
+     */
+    public double getDailyExpense(LocalDate date) {
+        int index = (int) (date.toEpochDay() - firstEpochDay);
+        return index >= 0 && index < dailyExpenseCents.length ? dailyExpenseCents[index] / 100.0 : 0.0;
+    }
+    
+    /**
+     * Gets the dates with transactions between two dates, both inclusive.
+     * The range is located by binary search in {@link #getDates()}.
+     *
+     * @param from the first date
+     * @param to the last date
+     * @return sorted view of the dates in the range
+     */
+    public List<LocalDate> getDatesBetween(LocalDate from, LocalDate to) {
+        List<LocalDate> dates = getDates();
+        int start = Collections.binarySearch(dates, from);
+        start = start < 0 ? -start - 1 : start;
+        int end = Collections.binarySearch(dates, to);
+        end = end < 0 ? -end - 1 : end + 1;
+        return start < end ? dates.subList(start, end) : Collections.emptyList();
+    }
+    
+    /**
+     * Calculates the income between two dates, both inclusive, in O(log n).
+     *
+     * @param from the first date
+     * @param to the last date
+     * @return the income in the range
+     */
+    public double getIncomeBetween(LocalDate from, LocalDate to) {
+        return rangeIndex.incomeBetween(toEpochDay(from), toEpochDay(to)) / 100.0;
+    }
+    
+    /**
+     * Calculates the expenses between two dates, both inclusive, in O(log n).
+     *
+     * @param from the first date
+     * @param to the last date
+     * @return the expenses in the range
+     */
+    public double getExpensesBetween(LocalDate from, LocalDate to) {
+        return rangeIndex.expenseBetween(toEpochDay(from), toEpochDay(to)) / 100.0;
+    }
+    
+    /**
+     * Calculates income minus expenses between two dates, both inclusive.
+     *
+     * @param from the first date
+     * @param to the last date
+     * @return the net amount in the range
+     */
+    public double getNetBetween(LocalDate from, LocalDate to) {
+        int fromDay = toEpochDay(from);
+        int toDay = toEpochDay(to);
+        return (rangeIndex.incomeBetween(fromDay, toDay) - rangeIndex.expenseBetween(fromDay, toDay)) / 100.0;
+    }
+    
+    /**
+     * Calculates the expenses of one category between two dates, both inclusive, in O(log n).
+     *
+     * @param category the expense category
+     * @param from the first date
+     * @param to the last date
+     * @return the category expenses in the range
+     */
+    public double getCategoryExpenseBetween(String category, LocalDate from, LocalDate to) {
+        return rangeIndex.categoryExpenseBetween(category, toEpochDay(from), toEpochDay(to)) / 100.0;
+    }
+    
+    /**
+     * Calculates the income of one category between two dates, both inclusive, in O(log n).
+     *
+     * @param category the income category
+     * @param from the first date
+     * @param to the last date
+     * @return the category income in the range
+     */
+    public double getCategoryIncomeBetween(String category, LocalDate from, LocalDate to) {
+        return rangeIndex.categoryIncomeBetween(category, toEpochDay(from), toEpochDay(to)) / 100.0;
+    }
+    
+    /**
+     * Calculates the expenses of every category between two dates, both inclusive.
+     *
+     * @param from the first date
+     * @param to the last date
+     * @return map of category expenses in the range, leaving out categories without expenses
+     */
+    public Map<String, Double> getCategoryExpensesBetween(LocalDate from, LocalDate to) {
+        int fromDay = toEpochDay(from);
+        int toDay = toEpochDay(to);
+        Map<String, Double> expenses = new LinkedHashMap<>();
+        for (String category : rangeIndex.getExpenseCategories()) {
+            long cents = rangeIndex.categoryExpenseBetween(category, fromDay, toDay);
+            if (cents != 0) {
+                expenses.put(category, cents / 100.0);
+            }
+        }
+        return expenses;
+    }
+    
+    /**
+     * Gets income and expense totals per period between two dates, both inclusive.
+     * Whole periods come straight from the rollup cube; a period cut by either end of the
+     * range is summed from the range index over the covered days only, so the totals always
+     * match the transactions inside the range.
+     *
+     * @param granularity the period length
+     * @param from the first date
+     * @param to the last date
+     * @return totals of the periods with transactions in the range, in date order
+     */
+    public List<RollupCube.PeriodTotal> getPeriodTotals(RollupCube.Granularity granularity,
+                                                        LocalDate from, LocalDate to) {
+        List<RollupCube.PeriodTotal> periods = rollupCube.getPeriods(
+                granularity, granularity.periodStart(from), granularity.periodStart(to));
+        if (!periods.isEmpty()) {
+            clipPeriod(periods, 0, from, to);
+        }
+        if (periods.size() > 1) {
+            clipPeriod(periods, periods.size() - 1, from, to);
+        }
+        return periods;
+    }
+    
+    /**
+     * Replaces a period that reaches outside a date range with its totals inside the range,
+     * removing it if no transactions are left.
+     *
+     * @param periods the period totals
+     * @param position the position of the period to clip
+     * @param from the first date of the range
+     * @param to the last date of the range
+     */
+    private void clipPeriod(List<RollupCube.PeriodTotal> periods, int position, LocalDate from, LocalDate to) {
+        RollupCube.PeriodTotal period = periods.get(position);
+        if (!period.getStart().isBefore(from) && !period.getEnd().isAfter(to)) {
+            return;
+        }
+        LocalDate start = period.getStart().isBefore(from) ? from : period.getStart();
+        LocalDate end = period.getEnd().isAfter(to) ? to : period.getEnd();
+        int fromDay = toEpochDay(start);
+        int toDay = toEpochDay(end);
+        int incomeCount = countBetween(dailyIncomeCounts, fromDay, toDay);
+        int expenseCount = countBetween(dailyExpenseCounts, fromDay, toDay);
+        if (incomeCount == 0 && expenseCount == 0) {
+            periods.remove(position);
+            return;
+        }
+        Map<String, Long> categoryIncome = new HashMap<>();
+        for (String category : period.getIncomeCategories()) {
+            categoryIncome.put(category, rangeIndex.categoryIncomeBetween(category, fromDay, toDay));
+        }
+        Map<String, Long> categoryExpense = new HashMap<>();
+        for (String category : period.getExpenseCategories()) {
+            categoryExpense.put(category, rangeIndex.categoryExpenseBetween(category, fromDay, toDay));
+        }
+        periods.set(position, new RollupCube.PeriodTotal(start, end,
+                rangeIndex.incomeBetween(fromDay, toDay), rangeIndex.expenseBetween(fromDay, toDay),
+                incomeCount, expenseCount, categoryIncome, categoryExpense));
+    }
+    
+    /**
+     * Sums daily transaction counts between two days, clamped to the daily arrays.
+     *
+     * @param counts the daily counts
+     * @param fromDay the first epoch day
+     * @param toDay the last epoch day
+     * @return the number of transactions in the range
+     */
+    private int countBetween(int[] counts, int fromDay, int toDay) {
+        int start = (int) Math.max((long) fromDay - firstEpochDay, 0);
+        int end = (int) Math.min((long) toDay - firstEpochDay, counts.length - 1L);
+        int count = 0;
+        for (int i = start; i <= end; i++) {
+            count += counts[i];
+        }
+        return count;
+    }
+    
+    /**
+     * Converts a date to an epoch day for the range index, clamping far-off dates.
+     *
+     * @param date the date
+     * @return the epoch day as an int
+     */
+    private static int toEpochDay(LocalDate date) {
+        long day = date.toEpochDay();
+        return (int) Math.max(Integer.MIN_VALUE + 1L, Math.min(Integer.MAX_VALUE - 1L, day));
+    }
+    
+    /**
+     * Builds a date-ordered map from one pair of daily arrays.
+     *
+     * @param cents the daily totals in cents
+     * @param counts the daily transaction counts
+     * @return unmodifiable map containing the days with at least one transaction
+     */
+    private Map<LocalDate, Double> buildDailyView(long[] cents, int[] counts) {
+        Map<LocalDate, Double> view = new LinkedHashMap<>();
+        for (int i = 0; i < cents.length; i++) {
+            if (counts[i] > 0) {
+                view.put(LocalDate.ofEpochDay(firstEpochDay + i), cents[i] / 100.0);
+            }
+        }
+        return Collections.unmodifiableMap(view);
     }
     
     /**
@@ -556,10 +1135,16 @@ public class FinanceData {
     
     /**
      * Gets all transactions.
+     * Transactions removed by {@link #applyDelta(TransactionTable, TransactionTable)} are
+     * dropped from the list here, in one pass, rather than one by one.
      *
      * @return list of all transactions
      */
     public List<Transaction> getTransactions() {
+        if (!removedTransactions.isEmpty()) {
+            transactions.removeIf(removedTransactions::contains);
+            removedTransactions.clear();
+        }
         return transactions;
     }
     
@@ -577,16 +1162,44 @@ public class FinanceData {
      * Notifies listeners when budget data changes.
      */
     public void loadBudgets() {
-        if (dataDirectory != null) {
-            Map<String, Double> loadedBudgets = BudgetManager.loadBudgetsFromCSV(dataDirectory);
-            if (!loadedBudgets.isEmpty()) {
-                categoryBudgets.clear();
-                categoryBudgets.putAll(loadedBudgets);
-                System.out.println("Budget data loaded successfully");
-                // Notify listeners that budget data has changed
-                DataRefreshManager.getInstance().refreshBudgets();
-            }
+        if (replaceBudgets(readBudgetFile())) {
+            // Notify listeners that budget data has changed
+            DataRefreshManager.getInstance().refreshBudgets();
+        }
+    }
+
+    /**
+     * Reads the budget CSV file of the configured directory without changing this model,
+     * so it can be called off the Event Dispatch Thread. Budgets already read by the login
+     * {@link UserDataWarmup} are used if the file has not changed since.
+     *
+     * @return the budgets by category, empty if there is no directory or no file
+     */
+    public Map<String, Double> readBudgetFile() {
+        String directory = dataDirectory;
+        if (directory == null) {
+            return Collections.emptyMap();
         }
+        Map<String, Double> warmed = UserDataWarmup.getBudgets(directory);
+        return warmed != null ? warmed : BudgetManager.loadBudgetsFromCSV(directory);
+    }
+
+    /**
+     * Replaces the category budgets with budgets read by {@link #readBudgetFile()}.
+     * Listeners are not notified; this is meant for applying budgets reloaded in response
+     * to a budget notification.
+     *
+     * @param loadedBudgets the budgets to use; an empty map leaves the budgets unchanged
+     * @return true if the budgets were replaced
+     */
+    public boolean replaceBudgets(Map<String, Double> loadedBudgets) {
+        if (loadedBudgets.isEmpty()) {
+            return false;
+        }
+        categoryBudgets.clear();
+        categoryBudgets.putAll(loadedBudgets);
+        LOGGER.log(Level.INFO, "Loaded budgets for {0} categories", loadedBudgets.size());
+        return true;
     }
 
     /**
@@ -610,7 +1223,8 @@ public class FinanceData {
         categoryBudgets.put(category, budget);
         saveBudgets(); // Update the saved budgets
         // Notify listeners that budget data has changed
-        DataRefreshManager.getInstance().refreshBudgets();
+        DataRefreshManager.getInstance().notifyChange(
+            DataChangeEvent.forCategories(DataRefreshManager.RefreshType.BUDGETS, Collections.singleton(category)));
     }
 
     /**
@@ -625,7 +1239,8 @@ public class FinanceData {
             categoryBudgets.remove(category);
             saveBudgets(); // Save the changes
             // Notify listeners that budget data has changed
-            DataRefreshManager.getInstance().refreshBudgets();
+            DataRefreshManager.getInstance().notifyChange(
+                DataChangeEvent.forCategories(DataRefreshManager.RefreshType.BUDGETS, Collections.singleton(category)));
             return true;
         }
         return false;
@@ -1,12 +1,14 @@
 package com.example.app.model;
 
 import com.example.app.user_data.FinancialAdviceStorage;
+import com.example.app.ui.pages.AI.AIRequestScheduler;
 import com.example.app.ui.pages.AI.getRes;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A model class representing personalized financial advice for users.
@@ -15,6 +17,11 @@ import java.time.format.DateTimeFormatter;
  */
 public class FinancialAdvice implements Serializable {
     private static final long serialVersionUID = 1L;
+
+    /**
+     * Key of advice regeneration requests; a new request supersedes a pending one.
+     */
+    private static final String REGENERATE_REQUEST_KEY = "financial-advice";
     
     /**
      * The financial advice text content.
@@ -125,7 +132,20 @@ public class FinancialAdvice implements Serializable {
     }
     
     /**
-     * Regenerates financial advice using AI.
+     * Regenerates financial advice in the background through the shared {@link AIRequestScheduler}.
+     * A request made while an earlier one is still pending cancels the earlier one.
+     *
+     * @return a future completed when the regeneration ends, or cancelled if it was superseded
+     */
+    public CompletableFuture<Void> requestRegeneration() {
+        return AIRequestScheduler.getInstance().submit(username, REGENERATE_REQUEST_KEY, () -> {
+            regenerate();
+            return null;
+        });
+    }
+
+    /**
+     * Regenerates financial advice using AI, blocking until the reply arrives.
      * Makes an API call to the DeepSeek AI service to get personalized
      * financial advice based on the user's data.
      */
@@ -0,0 +1,413 @@
+package com.example.app.model;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Categorizes transactions locally first and asks a remote language model only about the rest.
+ * <p>
+ * Every transaction without a category goes through up to four stages. Keyword rules are
+ * tried first, then the categories the remote model gave the same description before, kept
+ * in the user's {@link ClassificationCache}, then the user's learned
+ * {@link NaiveBayesCategorizer}, whose prediction is used only above a confidence threshold.
+ * The remaining transactions are sent to the remote
+ * model in batches bounded by row count and prompt size. Each row carries an id, and the
+ * model answers with a JSON list of ids and categories. A reply is only applied to the row
+ * with that id, and only if the category is one of the user's categories. Rows the reply
+ * leaves out or gets wrong keep their category instead of shifting onto their neighbours.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Rule, cache and local model stages before any remote call</li>
+ *   <li>Remote answers cached, so only unseen descriptions reach the network</li>
+ *   <li>Identical descriptions of the same sign sent once and answered for all of their rows</li>
+ *   <li>Batches bounded by row count and prompt length</li>
+ *   <li>Structured replies checked against the allowed category set</li>
+ *   <li>Remaining batches skipped once a remote call fails or the caller cancels</li>
+ * </ul>
+ */
+public final class HybridCategoryClassifier {
+    private static final Logger LOGGER = Logger.getLogger(HybridCategoryClassifier.class.getName());
+
+    /** Default minimum confidence of a local model prediction */
+    public static final double DEFAULT_CONFIDENCE_THRESHOLD = 0.8;
+
+    /** Default largest number of rows in one remote request */
+    public static final int DEFAULT_BATCH_ROWS = 50;
+
+    /** Default largest length of the rows of one remote request, in characters */
+    public static final int DEFAULT_BATCH_CHARS = 6000;
+
+    /** Category given by the remote model when nothing else fits */
+    private static final String FALLBACK_CATEGORY = "Other";
+
+    private final RuleCategorizer rules;
+    private final ClassificationCache cache;
+    private final NaiveBayesCategorizer model;
+    private final RemoteClassifier remote;
+    private final Map<String, String> allowed = new LinkedHashMap<>();
+    private final double confidenceThreshold;
+    private final int batchRows;
+    private final int batchChars;
+
+    /**
+     * Sends a classification prompt to a remote model.
+     */
+    @FunctionalInterface
+    public interface RemoteClassifier {
+        /**
+         * Sends a prompt and returns the reply text.
+         *
+         * @param prompt the prompt
+         * @return the reply text
+         * @throws IOException if the request fails
+         */
+        String complete(String prompt) throws IOException;
+    }
+
+    /**
+     * Counts of the transactions each stage categorized.
+     */
+    public static final class Result {
+        private int byRules;
+        private int byCache;
+        private int byModel;
+        private int byRemote;
+        private int unresolved;
+        private int remoteRequests;
+
+        /**
+         * Gets the number of transactions categorized by keyword rules.
+         *
+         * @return the count
+         */
+        public int getByRules() {
+            return byRules;
+        }
+
+        /**
+         * Gets the number of transactions categorized by earlier remote answers.
+         *
+         * @return the count
+         */
+        public int getByCache() {
+            return byCache;
+        }
+
+        /**
+         * Gets the number of transactions categorized by the local model.
+         *
+         * @return the count
+         */
+        public int getByModel() {
+            return byModel;
+        }
+
+        /**
+         * Gets the number of transactions categorized by the remote model.
+         *
+         * @return the count
+         */
+        public int getByRemote() {
+            return byRemote;
+        }
+
+        /**
+         * Gets the number of transactions left without a category.
+         *
+         * @return the count
+         */
+        public int getUnresolved() {
+            return unresolved;
+        }
+
+        /**
+         * Gets the number of remote requests sent.
+         *
+         * @return the count
+         */
+        public int getRemoteRequests() {
+            return remoteRequests;
+        }
+    }
+
+    /**
+     * Rows with the same description and amount sign, answered together.
+     */
+    private static final class PendingGroup {
+        private final int id;
+        private final String description;
+        private final boolean income;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        /**
+         * Creates a group.
+         *
+         * @param id the id sent to the remote model
+         * @param description the description
+         * @param income whether the amounts are income
+         */
+        PendingGroup(int id, String description, boolean income) {
+            this.id = id;
+            this.description = description;
+            this.income = income;
+        }
+    }
+
+    /**
+     * Creates a classifier with the default threshold and batch limits.
+     *
+     * @param categories the categories transactions may be given
+     * @param rules keyword rules, or null to skip the rule stage
+     * @param cache earlier remote answers, or null to skip the cache stage
+     * @param model the local model, or null to skip the model stage
+     * @param remote the remote model, or null to skip the remote stage
+     */
+    public HybridCategoryClassifier(Collection<String> categories, RuleCategorizer rules, ClassificationCache cache,
+                                    NaiveBayesCategorizer model, RemoteClassifier remote) {
+        this(categories, rules, cache, model, remote,
+                DEFAULT_CONFIDENCE_THRESHOLD, DEFAULT_BATCH_ROWS, DEFAULT_BATCH_CHARS);
+    }
+
+    /**
+     * Creates a classifier.
+     *
+     * @param categories the categories transactions may be given
+     * @param rules keyword rules, or null to skip the rule stage
+     * @param cache earlier remote answers, or null to skip the cache stage
+     * @param model the local model, or null to skip the model stage
+     * @param remote the remote model, or null to skip the remote stage
+     * @param confidenceThreshold the minimum confidence of a local model prediction
+     * @param batchRows the largest number of rows in one remote request
+     * @param batchChars the largest length of the rows of one remote request
+     */
+    public HybridCategoryClassifier(Collection<String> categories, RuleCategorizer rules, ClassificationCache cache,
+                                    NaiveBayesCategorizer model, RemoteClassifier remote,
+                                    double confidenceThreshold, int batchRows, int batchChars) {
+        for (String category : categories) {
+            if (category != null && !category.trim().isEmpty()) {
+                allowed.put(category.trim().toLowerCase(Locale.ROOT), category.trim());
+            }
+        }
+        allowed.putIfAbsent(FALLBACK_CATEGORY.toLowerCase(Locale.ROOT), FALLBACK_CATEGORY);
+        this.rules = rules;
+        this.cache = cache;
+        this.model = model;
+        this.remote = remote;
+        this.confidenceThreshold = confidenceThreshold;
+        this.batchRows = Math.max(1, batchRows);
+        this.batchChars = Math.max(1, batchChars);
+    }
+
+    /**
+     * Checks whether a transaction still needs a category.
+     *
+     * @param transaction the record [date, description, category, amount, ...]
+     * @return true if the category is blank or {@link CSVRowMapper#DEFAULT_CATEGORY}
+     */
+    public static boolean needsCategory(Object[] transaction) {
+        String category = transaction[2] == null ? "" : transaction[2].toString().trim();
+        return category.isEmpty() || CSVRowMapper.DEFAULT_CATEGORY.equals(category);
+    }
+
+    /**
+     * Categorizes the transactions that need a category, setting their category in place.
+     *
+     * @param transactions records [date, description, category, amount, ...]
+     * @param cancelled checked between remote requests; remaining rows are left as they are once it is true
+     * @return the counts per stage
+     */
+    public Result classify(List<Object[]> transactions, BooleanSupplier cancelled) {
+        Result result = new Result();
+        Map<String, PendingGroup> pending = new LinkedHashMap<>();
+
+        for (Object[] transaction : transactions) {
+            if (!needsCategory(transaction)) {
+                continue;
+            }
+            String description = transaction[1] == null ? "" : transaction[1].toString().trim();
+            String category = rules == null ? null : allowedCategory(rules.categorize(description));
+            if (category != null) {
+                transaction[2] = category;
+                result.byRules++;
+                continue;
+            }
+            boolean income = ((Number) transaction[3]).doubleValue() >= 0;
+            category = cache == null ? null : allowedCategory(cache.get(description, income));
+            if (category != null) {
+                transaction[2] = category;
+                result.byCache++;
+                continue;
+            }
+            NaiveBayesCategorizer.Prediction prediction = model == null ? null : model.predict(description);
+            category = prediction == null || prediction.getConfidence() < confidenceThreshold
+                    ? null : allowedCategory(prediction.getCategory());
+            if (category != null) {
+                transaction[2] = category;
+                result.byModel++;
+                continue;
+            }
+            String key = ClassificationCache.key(description, income);
+            pending.computeIfAbsent(key == null ? "" : key, k -> new PendingGroup(pending.size() + 1, description, income))
+                    .rows.add(transaction);
+        }
+
+        if (remote != null && !pending.isEmpty()) {
+            classifyRemotely(new ArrayList<>(pending.values()), cancelled, result);
+            if (cache != null) {
+                cache.save();
+            }
+        }
+        for (PendingGroup group : pending.values()) {
+            for (Object[] transaction : group.rows) {
+                if (needsCategory(transaction)) {
+                    result.unresolved++;
+                }
+            }
+        }
+        LOGGER.log(Level.INFO, "Categorized {0} by rules, {1} from cache, {2} by model, {3} remotely in {4} requests;"
+                + " {5} unresolved", new Object[]{result.byRules, result.byCache, result.byModel, result.byRemote,
+                result.remoteRequests, result.unresolved});
+        return result;
+    }
+
+    /**
+     * Sends the pending groups to the remote model in bounded batches and applies the replies.
+     *
+     * @param groups the pending groups
+     * @param cancelled checked before each request
+     * @param result receives the counts
+     */
+    private void classifyRemotely(List<PendingGroup> groups, BooleanSupplier cancelled, Result result) {
+        int start = 0;
+        while (start < groups.size() && !cancelled.getAsBoolean()) {
+            JSONArray batch = new JSONArray();
+            Map<Integer, PendingGroup> byId = new HashMap<>();
+            int chars = 0;
+            int end = start;
+            while (end < groups.size() && byId.size() < batchRows) {
+                PendingGroup group = groups.get(end);
+                JSONObject row = new JSONObject()
+                        .put("id", group.id)
+                        .put("description", group.description)
+                        .put("type", group.income ? "income" : "expense");
+                int length = row.toString().length();
+                if (!byId.isEmpty() && chars + length > batchChars) {
+                    break;
+                }
+                batch.put(row);
+                byId.put(group.id, group);
+                chars += length;
+                end++;
+            }
+
+            String reply;
+            try {
+                result.remoteRequests++;
+                reply = remote.complete(buildPrompt(batch));
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Remote classification failed, leaving remaining rows uncategorised", e);
+                return;
+            }
+            result.byRemote += applyReply(reply, byId);
+            start = end;
+        }
+    }
+
+    /**
+     * Builds the prompt of a batch.
+     *
+     * @param batch the rows as {id, description, type} objects
+     * @return the prompt
+     */
+    private String buildPrompt(JSONArray batch) {
+        return "Categorize each financial transaction below into exactly one of these categories: "
+                + new JSONArray(allowed.values())
+                + ". Use \"" + FALLBACK_CATEGORY + "\" if none fits. "
+                + "Reply with only a JSON array of objects with the fields \"id\" and \"category\", "
+                + "one per transaction, using the ids given. Transactions: " + batch;
+    }
+
+    /**
+     * Applies a remote reply to the rows of its batch. Entries with unknown ids or categories
+     * outside the allowed set are ignored.
+     *
+     * @param reply the reply text
+     * @param byId the groups of the batch by id
+     * @return the number of rows categorized
+     */
+    private int applyReply(String reply, Map<Integer, PendingGroup> byId) {
+        JSONArray entries;
+        try {
+            entries = parseReply(reply);
+        } catch (JSONException e) {
+            LOGGER.log(Level.WARNING, "Ignoring classification reply that is not JSON: {0}", reply);
+            return 0;
+        }
+        int applied = 0;
+        for (int i = 0; i < entries.length(); i++) {
+            JSONObject entry = entries.optJSONObject(i);
+            PendingGroup group = entry == null ? null : byId.remove(entry.optInt("id", -1));
+            String category = group == null ? null : allowedCategory(entry.optString("category", null));
+            if (category == null) {
+                continue;
+            }
+            for (Object[] transaction : group.rows) {
+                transaction[2] = category;
+                applied++;
+            }
+            if (cache != null) {
+                cache.put(group.description, group.income, category);
+            }
+        }
+        if (!byId.isEmpty()) {
+            LOGGER.log(Level.FINE, "Classification reply left out {0} transactions", byId.size());
+        }
+        return applied;
+    }
+
+    /**
+     * Reads the entries of a reply, which may be wrapped in a Markdown code block or in an
+     * object holding the array.
+     *
+     * @param reply the reply text
+     * @return the entries
+     * @throws JSONException if the reply does not contain a JSON array
+     */
+    private static JSONArray parseReply(String reply) {
+        String text = reply == null ? "" : reply.trim();
+        int arrayStart = text.indexOf('[');
+        int objectStart = text.indexOf('{');
+        if (objectStart >= 0 && (arrayStart < 0 || objectStart < arrayStart)) {
+            JSONObject object = new JSONObject(text.substring(objectStart, text.lastIndexOf('}') + 1));
+            for (String key : object.keySet()) {
+                JSONArray array = object.optJSONArray(key);
+                if (array != null) {
+                    return array;
+                }
+            }
+            throw new JSONException("No array in reply");
+        }
+        if (arrayStart < 0) {
+            throw new JSONException("No array in reply");
+        }
+        return new JSONArray(text.substring(arrayStart, text.lastIndexOf(']') + 1));
+    }
+
+    /**
+     * Maps a category to its spelling in the allowed set.
+     *
+     * @param category the category
+     * @return the allowed category, or null if it is not allowed
+     */
+    private String allowedCategory(String category) {
+        return category == null ? null : allowed.get(category.trim().toLowerCase(Locale.ROOT));
+    }
+}
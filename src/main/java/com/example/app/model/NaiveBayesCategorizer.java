@@ -0,0 +1,403 @@
+package com.example.app.model;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Learns the categories a user gives their transactions and predicts categories of new ones.
+ * <p>
+ * This is a multinomial naive Bayes classifier over the features of a description: its words
+ * and its character bigrams, so descriptions without spaces, such as Chinese merchant names,
+ * are covered too. Features are hashed into a fixed number of buckets, and every category keeps
+ * one {@code int} count per bucket, so the model stays small and a prediction is a few array
+ * reads per feature. The model learns one transaction at a time whenever the user confirms a
+ * category, and is kept per user in {@code category_model.bin} next to the bill file.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Online training from confirmed transactions, persisted after each batch</li>
+ *   <li>Predictions with a confidence score, the posterior probability of the category
+ *       discounted by features never seen in training</li>
+ *   <li>Hashed word and character bigram features with Laplace smoothing</li>
+ *   <li>One shared, thread-safe model per user</li>
+ * </ul>
+ */
+public final class NaiveBayesCategorizer {
+    private static final Logger LOGGER = Logger.getLogger(NaiveBayesCategorizer.class.getName());
+    private static final Map<String, NaiveBayesCategorizer> INSTANCES = new HashMap<>();
+    private static final String MODEL_FILENAME = "category_model.bin";
+
+    /** Number of feature buckets; a power of two */
+    static final int BUCKETS = 1 << 13;
+
+    /** File format marker and version */
+    private static final int MAGIC = 0x4E424331;
+
+    private final File file;
+    private final List<String> categories = new ArrayList<>();
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    /** Feature counts by category, then bucket */
+    private final List<int[]> featureCounts = new ArrayList<>();
+    /** Number of features seen per category */
+    private final List<Long> featureTotals = new ArrayList<>();
+    /** Number of transactions learned per category */
+    private final List<Integer> documentCounts = new ArrayList<>();
+    private long documentTotal;
+
+    /**
+     * A predicted category.
+     */
+    public static final class Prediction {
+        private final String category;
+        private final double confidence;
+
+        /**
+         * Creates a prediction.
+         *
+         * @param category the category
+         * @param confidence the confidence, between 0 and 1
+         */
+        Prediction(String category, double confidence) {
+            this.category = category;
+            this.confidence = confidence;
+        }
+
+        /**
+         * Gets the predicted category.
+         *
+         * @return the category
+         */
+        public String getCategory() {
+            return category;
+        }
+
+        /**
+         * Gets the confidence of the prediction.
+         *
+         * @return the posterior probability of the category times the share of the
+         *         description's features seen in training, between 0 and 1
+         */
+        public double getConfidence() {
+            return confidence;
+        }
+    }
+
+    /**
+     * Creates an empty model. The application uses {@link #getInstance(String)}.
+     *
+     * @param file the model file, or null to keep the model in memory only
+     */
+    NaiveBayesCategorizer(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the model of a user, loading it from the user's data directory on first use.
+     *
+     * @param username the username
+     * @return the shared model of the user
+     */
+    public static synchronized NaiveBayesCategorizer getInstance(String username) {
+        return INSTANCES.computeIfAbsent(username, name -> {
+            NaiveBayesCategorizer model = new NaiveBayesCategorizer(
+                    new File(".\\user_data\\" + name, MODEL_FILENAME));
+            model.load();
+            return model;
+        });
+    }
+
+    /**
+     * Learns the categories of confirmed transactions and saves the model.
+     * Rows without a description or category are ignored.
+     *
+     * @param transactions records [date, description, category, amount, ...]
+     * @return the number of transactions learned
+     */
+    public synchronized int learn(List<Object[]> transactions) {
+        int learned = 0;
+        for (Object[] transaction : transactions) {
+            String description = transaction[1] == null ? "" : transaction[1].toString();
+            String category = transaction[2] == null ? "" : transaction[2].toString().trim();
+            if (!category.isEmpty() && !CSVRowMapper.DEFAULT_CATEGORY.equals(category)
+                    && learn(description, category)) {
+                learned++;
+            }
+        }
+        if (learned > 0) {
+            save();
+            LOGGER.log(Level.FINE, "Learned {0} confirmed categories", learned);
+        }
+        return learned;
+    }
+
+    /**
+     * Learns the category of one description without saving.
+     *
+     * @param description the description
+     * @param category the confirmed category
+     * @return true if the description had any features
+     */
+    synchronized boolean learn(String description, String category) {
+        int[] features = features(description);
+        if (features.length == 0) {
+            return false;
+        }
+        int id = categoryId(category);
+        int[] counts = featureCounts.get(id);
+        for (int feature : features) {
+            counts[feature]++;
+        }
+        featureTotals.set(id, featureTotals.get(id) + features.length);
+        documentCounts.set(id, documentCounts.get(id) + 1);
+        documentTotal++;
+        return true;
+    }
+
+    /**
+     * Predicts the category of a description.
+     *
+     * @param description the description
+     * @return the most likely category with its confidence, or null if nothing was learned yet
+     *         or the description has no features
+     */
+    public synchronized Prediction predict(String description) {
+        int[] features = features(description);
+        if (categories.isEmpty() || features.length == 0) {
+            return null;
+        }
+        double[] scores = new double[categories.size()];
+        boolean[] seen = new boolean[features.length];
+        int best = 0;
+        for (int id = 0; id < scores.length; id++) {
+            int[] counts = featureCounts.get(id);
+            for (int i = 0; i < features.length; i++) {
+                seen[i] |= counts[features[i]] > 0;
+            }
+            double denominator = Math.log(featureTotals.get(id) + (double) BUCKETS);
+            double score = Math.log((double) documentCounts.get(id) / documentTotal);
+            for (int feature : features) {
+                score += Math.log(counts[feature] + 1.0) - denominator;
+            }
+            scores[id] = score;
+            if (score > scores[best]) {
+                best = id;
+            }
+        }
+        // Posterior of the best category, computed relative to it to avoid underflow
+        double sum = 0;
+        for (double score : scores) {
+            sum += Math.exp(score - scores[best]);
+        }
+        // Unseen features carry no evidence, so they discount the confidence
+        int seenCount = 0;
+        for (boolean known : seen) {
+            if (known) {
+                seenCount++;
+            }
+        }
+        return new Prediction(categories.get(best), (1.0 / sum) * seenCount / features.length);
+    }
+
+    /**
+     * Gets the number of transactions learned.
+     *
+     * @return the number of learned transactions
+     */
+    public synchronized long getLearnedCount() {
+        return documentTotal;
+    }
+
+    /**
+     * Extracts the hashed features of a description: lowercase words and the character
+     * bigrams of the description with its ends marked.
+     *
+     * @param description the description
+     * @return feature buckets, one entry per occurrence
+     */
+    static int[] features(String description) {
+        if (description == null) {
+            return new int[0];
+        }
+        String text = description.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        if (text.isEmpty()) {
+            return new int[0];
+        }
+        List<Integer> features = new ArrayList<>();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() > 1) {
+                features.add(bucket(word.hashCode()));
+            }
+        }
+        String marked = "\u0002" + text + "\u0003";
+        for (int i = 0; i + 1 < marked.length(); i++) {
+            features.add(bucket((marked.charAt(i) << 16 | marked.charAt(i + 1)) * 0x9e3779b1));
+        }
+        int[] result = new int[features.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = features.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Spreads a hash over the buckets.
+     *
+     * @param hash the feature hash
+     * @return the bucket
+     */
+    private static int bucket(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash & (BUCKETS - 1);
+    }
+
+    /**
+     * Gets the id of a category, adding it if it is new.
+     *
+     * @param category the category
+     * @return the category id
+     */
+    private int categoryId(String category) {
+        Integer id = categoryIds.get(category);
+        if (id == null) {
+            id = categories.size();
+            categories.add(category);
+            categoryIds.put(category, id);
+            featureCounts.add(new int[BUCKETS]);
+            featureTotals.add(0L);
+            documentCounts.add(0);
+        }
+        return id;
+    }
+
+    /**
+     * Loads the model file if there is one. A missing or unreadable file leaves the model empty.
+     */
+    private void load() {
+        if (file == null || !file.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            read(in);
+            LOGGER.log(Level.INFO, "Loaded category model with {0} transactions from: {1}",
+                    new Object[]{documentTotal, file.getAbsolutePath()});
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not load category model, starting a new one", e);
+            clear();
+        }
+    }
+
+    /**
+     * Saves the model file, writing to a temporary file first so a failed write keeps the old model.
+     */
+    private void save() {
+        if (file == null) {
+            return;
+        }
+        File directory = file.getParentFile();
+        if (!directory.exists() && !directory.mkdirs()) {
+            LOGGER.log(Level.SEVERE, "Could not create model directory at: {0}", directory.getAbsolutePath());
+            return;
+        }
+        File temp = new File(directory, MODEL_FILENAME + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            write(out);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error saving category model: " + e.getMessage(), e);
+            return;
+        }
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Could not replace category model at: " + file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Writes the model. Only non-zero counts are written, as bucket and count pairs.
+     *
+     * @param out the output
+     * @throws IOException if writing fails
+     */
+    void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(BUCKETS);
+        out.writeInt(categories.size());
+        for (int id = 0; id < categories.size(); id++) {
+            out.writeUTF(categories.get(id));
+            out.writeInt(documentCounts.get(id));
+            int[] counts = featureCounts.get(id);
+            int used = 0;
+            for (int count : counts) {
+                if (count != 0) {
+                    used++;
+                }
+            }
+            out.writeInt(used);
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                if (counts[bucket] != 0) {
+                    out.writeShort(bucket);
+                    out.writeInt(counts[bucket]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a model written by {@link #write(DataOutput)}, replacing the current one.
+     *
+     * @param in the input
+     * @throws IOException if reading fails or the data is not a model of this format
+     */
+    void read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != BUCKETS) {
+            throw new IOException("Not a category model of this version");
+        }
+        clear();
+        int categoryCount = in.readInt();
+        for (int i = 0; i < categoryCount; i++) {
+            int id = categoryId(in.readUTF());
+            int documents = in.readInt();
+            documentCounts.set(id, documents);
+            documentTotal += documents;
+            int[] counts = featureCounts.get(id);
+            long total = 0;
+            int used = in.readInt();
+            for (int j = 0; j < used; j++) {
+                int bucket = in.readUnsignedShort();
+                if (bucket >= BUCKETS) {
+                    throw new IOException("Bucket out of range: " + bucket);
+                }
+                counts[bucket] = in.readInt();
+                total += counts[bucket];
+            }
+            featureTotals.set(id, total);
+        }
+    }
+
+    /**
+     * Forgets everything learned.
+     */
+    private void clear() {
+        categories.clear();
+        categoryIds.clear();
+        featureCounts.clear();
+        featureTotals.clear();
+        documentCounts.clear();
+        documentTotal = 0;
+    }
+
+    /**
+     * Drops all cached models.
+     * <p>
+     * <b>For testing purposes only.</b>
+     */
+    static synchronized void _resetForTests() {
+        INSTANCES.clear();
+    }
+}
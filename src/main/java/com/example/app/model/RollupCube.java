@@ -0,0 +1,308 @@
+package com.example.app.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.WeekFields;
+import java.util.*;
+
+/**
+ * Pre-aggregated income and expense totals by period granularity, period and category.
+ * <p>
+ * Every transaction is added to one period of each {@link Granularity}, so grouping the
+ * history by week, month or year is a lookup of ready-made cells instead of a pass over
+ * every transaction. Cells are kept per granularity in a sorted map keyed by the epoch day
+ * on which the period starts.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Day, week, fortnight, month, quarter and year granularities</li>
+ *   <li>Income and expense totals per period, overall and per category</li>
+ *   <li>Incremental updates as transactions are added or removed</li>
+ *   <li>Sorted period ranges for chart series</li>
+ * </ul>
+ */
+public final class RollupCube {
+
+    /**
+     * Period lengths the cube aggregates by. Weeks follow the first day of week of the
+     * default locale; fortnights pair weeks 1-2, 3-4 and so on of the week-based year.
+     */
+    public enum Granularity {
+        /** One calendar day */
+        DAY,
+        /** One week */
+        WEEK,
+        /** Two consecutive weeks */
+        FORTNIGHT,
+        /** One calendar month */
+        MONTH,
+        /** One calendar quarter */
+        QUARTER,
+        /** One calendar year */
+        YEAR;
+
+        /**
+         * Gets the first day of the period containing a date.
+         *
+         * @param date the date
+         * @return the start of its period
+         */
+        public LocalDate periodStart(LocalDate date) {
+            switch (this) {
+                case WEEK:
+                    return weekStart(date);
+                case FORTNIGHT: {
+                    LocalDate weekStart = weekStart(date);
+                    int week = date.get(WEEK_FIELDS.weekOfWeekBasedYear());
+                    return week % 2 == 0 ? weekStart.minusWeeks(1) : weekStart;
+                }
+                case MONTH:
+                    return date.withDayOfMonth(1);
+                case QUARTER:
+                    return LocalDate.of(date.getYear(), (date.getMonthValue() - 1) / 3 * 3 + 1, 1);
+                case YEAR:
+                    return date.withDayOfYear(1);
+                default:
+                    return date;
+            }
+        }
+
+        /**
+         * Gets the last day of the period starting on a date.
+         *
+         * @param start the start of the period
+         * @return the last day of the period
+         */
+        public LocalDate periodEnd(LocalDate start) {
+            switch (this) {
+                case WEEK:
+                    return start.plusDays(6);
+                case FORTNIGHT: {
+                    // The last week of a week-based year may be left without a partner
+                    LocalDate nextWeek = start.plusWeeks(1);
+                    return nextWeek.get(WEEK_FIELDS.weekOfWeekBasedYear()) == 1 ? start.plusDays(6) : start.plusDays(13);
+                }
+                case MONTH:
+                    return start.with(TemporalAdjusters.lastDayOfMonth());
+                case QUARTER:
+                    return start.plusMonths(3).minusDays(1);
+                case YEAR:
+                    return start.with(TemporalAdjusters.lastDayOfYear());
+                default:
+                    return start;
+            }
+        }
+
+        /**
+         * Gets the start of the locale week containing a date.
+         *
+         * @param date the date
+         * @return the first day of that week
+         */
+        private static LocalDate weekStart(LocalDate date) {
+            DayOfWeek first = WEEK_FIELDS.getFirstDayOfWeek();
+            return date.with(TemporalAdjusters.previousOrSame(first));
+        }
+    }
+
+    /**
+     * Income and expense totals of one period.
+     */
+    public static final class PeriodTotal {
+        private final LocalDate start;
+        private final LocalDate end;
+        private final long incomeCents;
+        private final long expenseCents;
+        private final int incomeCount;
+        private final int expenseCount;
+        private final Map<String, Long> categoryIncomeCents;
+        private final Map<String, Long> categoryExpenseCents;
+
+        /**
+         * Creates a period total.
+         *
+         * @param start the first day covered
+         * @param end the last day covered
+         * @param incomeCents the income in cents
+         * @param expenseCents the expenses in cents, as a positive number
+         * @param incomeCount the number of income transactions
+         * @param expenseCount the number of expense transactions
+         * @param categoryIncomeCents income in cents per category
+         * @param categoryExpenseCents expenses in cents per category
+         */
+        PeriodTotal(LocalDate start, LocalDate end, long incomeCents, long expenseCents,
+                    int incomeCount, int expenseCount,
+                    Map<String, Long> categoryIncomeCents, Map<String, Long> categoryExpenseCents) {
+            this.start = start;
+            this.end = end;
+            this.incomeCents = incomeCents;
+            this.expenseCents = expenseCents;
+            this.incomeCount = incomeCount;
+            this.expenseCount = expenseCount;
+            this.categoryIncomeCents = categoryIncomeCents;
+            this.categoryExpenseCents = categoryExpenseCents;
+        }
+
+        /**
+         * Gets the first day of the period.
+         * @return the period start
+         */
+        public LocalDate getStart() { return start; }
+
+        /**
+         * Gets the last day covered, which is earlier than the period end if the
+         * query range ended inside the period.
+         * @return the last covered day
+         */
+        public LocalDate getEnd() { return end; }
+
+        /**
+         * Gets the income of the period.
+         * @return the income
+         */
+        public double getIncome() { return incomeCents / 100.0; }
+
+        /**
+         * Gets the expenses of the period.
+         * @return the expenses, as a positive number
+         */
+        public double getExpenses() { return expenseCents / 100.0; }
+
+        /**
+         * Checks whether the period has at least one income transaction.
+         * @return true if there is income data
+         */
+        public boolean hasIncome() { return incomeCount > 0; }
+
+        /**
+         * Checks whether the period has at least one expense transaction.
+         * @return true if there is expense data
+         */
+        public boolean hasExpenses() { return expenseCount > 0; }
+
+        /**
+         * Gets the income of one category in the period.
+         * @param category the category
+         * @return the income, or 0 if there is none
+         */
+        public double getCategoryIncome(String category) {
+            return categoryIncomeCents.getOrDefault(category, 0L) / 100.0;
+        }
+
+        /**
+         * Gets the expenses of one category in the period.
+         * @param category the category
+         * @return the expenses, or 0 if there are none
+         */
+        public double getCategoryExpense(String category) {
+            return categoryExpenseCents.getOrDefault(category, 0L) / 100.0;
+        }
+
+        /**
+         * Gets the categories with income in the period.
+         * @return the income categories
+         */
+        public Set<String> getIncomeCategories() {
+            return categoryIncomeCents.keySet();
+        }
+
+        /**
+         * Gets the categories with expenses in the period.
+         * @return the expense categories
+         */
+        public Set<String> getExpenseCategories() {
+            return categoryExpenseCents.keySet();
+        }
+    }
+
+    /**
+     * Mutable totals of one period.
+     */
+    private static final class Cell {
+        long incomeCents;
+        long expenseCents;
+        int incomeCount;
+        int expenseCount;
+        final Map<String, Long> categoryIncomeCents = new HashMap<>();
+        final Map<String, Long> categoryExpenseCents = new HashMap<>();
+    }
+
+    /** Locale week definition shared by the week-based granularities */
+    private static final WeekFields WEEK_FIELDS = WeekFields.of(Locale.getDefault());
+
+    /** Cells per granularity, keyed by the epoch day the period starts on */
+    private final Map<Granularity, TreeMap<Long, Cell>> cells = new EnumMap<>(Granularity.class);
+
+    /**
+     * Creates an empty cube.
+     */
+    RollupCube() {
+        for (Granularity granularity : Granularity.values()) {
+            cells.put(granularity, new TreeMap<>());
+        }
+    }
+
+    /**
+     * Removes all totals.
+     */
+    void clear() {
+        for (TreeMap<Long, Cell> periods : cells.values()) {
+            periods.clear();
+        }
+    }
+
+    /**
+     * Adds a transaction to one period of every granularity, or takes it out again.
+     * Non-negative amounts are income, negative ones expenses.
+     *
+     * @param date the transaction date
+     * @param category the final category of the transaction
+     * @param cents the amount in cents, as stored on the transaction
+     * @param count 1 to add the transaction, -1 to remove it
+     */
+    void add(LocalDate date, String category, long cents, int count) {
+        for (Granularity granularity : Granularity.values()) {
+            TreeMap<Long, Cell> periods = cells.get(granularity);
+            long key = granularity.periodStart(date).toEpochDay();
+            Cell cell = periods.computeIfAbsent(key, k -> new Cell());
+            if (cents >= 0) {
+                cell.incomeCents += cents * count;
+                cell.incomeCount += count;
+                cell.categoryIncomeCents.merge(category, cents * count, Long::sum);
+            } else {
+                cell.expenseCents -= cents * count;
+                cell.expenseCount += count;
+                cell.categoryExpenseCents.merge(category, -cents * count, Long::sum);
+            }
+            if (cell.incomeCount <= 0 && cell.expenseCount <= 0) {
+                periods.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Gets the periods of a granularity that start between two dates, in date order.
+     *
+     * @param granularity the period length
+     * @param firstStart the earliest period start, inclusive
+     * @param lastStart the latest period start, inclusive
+     * @return the totals of the periods that have transactions
+     */
+    List<PeriodTotal> getPeriods(Granularity granularity, LocalDate firstStart, LocalDate lastStart) {
+        List<PeriodTotal> totals = new ArrayList<>();
+        if (firstStart.isAfter(lastStart)) {
+            return totals;
+        }
+        for (Map.Entry<Long, Cell> entry : cells.get(granularity)
+                .subMap(firstStart.toEpochDay(), true, lastStart.toEpochDay(), true).entrySet()) {
+            LocalDate start = LocalDate.ofEpochDay(entry.getKey());
+            Cell cell = entry.getValue();
+            totals.add(new PeriodTotal(start, granularity.periodEnd(start),
+                    cell.incomeCents, cell.expenseCents, cell.incomeCount, cell.expenseCount,
+                    Collections.unmodifiableMap(cell.categoryIncomeCents),
+                    Collections.unmodifiableMap(cell.categoryExpenseCents)));
+        }
+        return totals;
+    }
+}
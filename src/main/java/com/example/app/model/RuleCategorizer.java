@@ -0,0 +1,223 @@
+package com.example.app.model;
+
+import java.util.*;
+
+/**
+ * Categorizes transactions by matching their descriptions against keyword rules.
+ * <p>
+ * The keywords of all rules are compiled into one Aho-Corasick automaton, so a description
+ * is categorized in a single pass over its characters no matter how many rules there are.
+ * Matching ignores case. When several keywords occur in a description, the longest one wins,
+ * and among keywords of the same length the rule listed first wins, so a specific merchant
+ * name overrides a generic word such as "restaurant".
+ * <p>
+ * A keyword that starts or ends with a Latin letter or a digit only matches as a whole word on
+ * that side: the description must not continue with another Latin letter or digit there, so
+ * "rent" matches "Rent June" but not "parent" or "current". Other scripts such as Chinese are
+ * written without spaces, so their keywords match anywhere.
+ * <p>
+ * A categorizer is immutable once built and can be shared between threads.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Keyword to category rules compiled once into a trie with failure links</li>
+ *   <li>Single-pass, case-insensitive matching of descriptions</li>
+ *   <li>Whole-word matching for Latin keywords, substring matching for other scripts</li>
+ *   <li>Longest keyword first, then rule order, when several rules match</li>
+ *   <li>Optional restriction to a set of categories, such as the user's budget categories</li>
+ *   <li>No match reported as null, leaving the row to other classifiers</li>
+ * </ul>
+ */
+public final class RuleCategorizer {
+    private final Node root = new Node();
+    private final String[] categories;
+    private final int[] keywordLengths;
+    /** Whether a rule's keyword needs a word boundary before its first and after its last character */
+    private final boolean[] boundedStart;
+    private final boolean[] boundedEnd;
+
+    /**
+     * A state of the automaton: a keyword prefix.
+     */
+    private static final class Node {
+        private final Map<Character, Node> next = new HashMap<>();
+        /** The node of the longest proper suffix of this prefix that is also a prefix */
+        private Node fail;
+        /** The rule whose keyword ends exactly at this node, or -1 */
+        private int match = -1;
+        /** The nearest node along the failure links that ends a keyword, or null */
+        private Node output;
+    }
+
+    /**
+     * Compiles keyword rules.
+     *
+     * @param rules categories by keyword, in priority order; blank keywords and categories are ignored
+     */
+    public RuleCategorizer(Map<String, String> rules) {
+        this(rules, null);
+    }
+
+    /**
+     * Compiles the keyword rules whose category is one of the allowed categories. Rules for
+     * other categories are dropped, so the rows they would match are left to other classifiers
+     * instead of being given a category that is then counted as "Other".
+     *
+     * @param rules categories by keyword, in priority order; blank keywords and categories are ignored
+     * @param allowedCategories the categories rules may assign, matched ignoring case and
+     *        replaced by their spelling here; null to keep every rule
+     */
+    public RuleCategorizer(Map<String, String> rules, Collection<String> allowedCategories) {
+        Map<String, String> allowed = null;
+        if (allowedCategories != null) {
+            allowed = new HashMap<>();
+            for (String category : allowedCategories) {
+                if (category != null && !category.trim().isEmpty()) {
+                    allowed.put(category.trim().toLowerCase(Locale.ROOT), category.trim());
+                }
+            }
+        }
+        List<String> categoryList = new ArrayList<>();
+        List<String> keywordList = new ArrayList<>();
+        for (Map.Entry<String, String> rule : rules.entrySet()) {
+            String keyword = rule.getKey() == null ? "" : rule.getKey().trim();
+            String category = rule.getValue() == null ? "" : rule.getValue().trim();
+            if (allowed != null) {
+                category = allowed.getOrDefault(category.toLowerCase(Locale.ROOT), "");
+            }
+            if (keyword.isEmpty() || category.isEmpty()) {
+                continue;
+            }
+            Node node = root;
+            for (int i = 0; i < keyword.length(); i++) {
+                node = node.next.computeIfAbsent(Character.toLowerCase(keyword.charAt(i)), c -> new Node());
+            }
+            if (node.match < 0) {
+                // A repeated keyword keeps the category of its first rule
+                node.match = categoryList.size();
+                categoryList.add(category);
+                keywordList.add(keyword);
+            }
+        }
+        categories = categoryList.toArray(new String[0]);
+        keywordLengths = new int[categories.length];
+        boundedStart = new boolean[categories.length];
+        boundedEnd = new boolean[categories.length];
+        for (int rule = 0; rule < categories.length; rule++) {
+            String keyword = keywordList.get(rule);
+            keywordLengths[rule] = keyword.length();
+            boundedStart[rule] = isWordChar(keyword.charAt(0));
+            boundedEnd[rule] = isWordChar(keyword.charAt(keyword.length() - 1));
+        }
+        buildFailureLinks();
+    }
+
+    /**
+     * Finds the category of a description.
+     *
+     * @param description the transaction description
+     * @return the category of the best matching rule, or null if no keyword occurs
+     */
+    public String categorize(String description) {
+        if (description == null || categories.length == 0) {
+            return null;
+        }
+        Node node = root;
+        int best = -1;
+        for (int i = 0; i < description.length(); i++) {
+            char c = Character.toLowerCase(description.charAt(i));
+            while (node != root && !node.next.containsKey(c)) {
+                node = node.fail;
+            }
+            node = node.next.getOrDefault(c, root);
+            for (Node found = node.match >= 0 ? node : node.output; found != null; found = found.output) {
+                if (isWholeWord(description, found.match, i)) {
+                    best = better(best, found.match);
+                }
+            }
+        }
+        return best < 0 ? null : categories[best];
+    }
+
+    /**
+     * Checks the word boundaries a rule's keyword needs at one occurrence.
+     *
+     * @param description the description
+     * @param rule the rule
+     * @param end the index of the last character of the occurrence
+     * @return true if no Latin letter or digit continues the word on a bounded side
+     */
+    private boolean isWholeWord(String description, int rule, int end) {
+        int start = end - keywordLengths[rule] + 1;
+        if (boundedStart[rule] && start > 0 && isWordChar(description.charAt(start - 1))) {
+            return false;
+        }
+        return !boundedEnd[rule] || end + 1 >= description.length()
+                || !isWordChar(description.charAt(end + 1));
+    }
+
+    /**
+     * Checks whether a character continues a Latin word.
+     *
+     * @param c the character
+     * @return true for digits and letters of the Latin script
+     */
+    private static boolean isWordChar(char c) {
+        if (Character.isDigit(c)) {
+            return true;
+        }
+        return Character.isLetter(c) && Character.UnicodeScript.of(c) == Character.UnicodeScript.LATIN;
+    }
+
+    /**
+     * Gets the number of compiled rules.
+     *
+     * @return the number of rules
+     */
+    public int size() {
+        return categories.length;
+    }
+
+    /**
+     * Links every node to its longest proper suffix in the trie, breadth first, and to the
+     * nearest suffix that ends a keyword, so every keyword ending at a position can be visited.
+     */
+    private void buildFailureLinks() {
+        Deque<Node> queue = new ArrayDeque<>();
+        for (Node child : root.next.values()) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (Map.Entry<Character, Node> edge : node.next.entrySet()) {
+                char c = edge.getKey();
+                Node child = edge.getValue();
+                Node fail = node.fail;
+                while (fail != root && !fail.next.containsKey(c)) {
+                    fail = fail.fail;
+                }
+                child.fail = fail.next.getOrDefault(c, root);
+                child.output = child.fail.match >= 0 ? child.fail : child.fail.output;
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Picks the better of two rules.
+     *
+     * @param a a rule index, or -1
+     * @param b a rule index, or -1
+     * @return the rule with the longer keyword, or the earlier rule if they are equally long
+     */
+    private int better(int a, int b) {
+        if (a < 0 || b < 0) {
+            return Math.max(a, b);
+        }
+        if (keywordLengths[a] != keywordLengths[b]) {
+            return keywordLengths[a] > keywordLengths[b] ? a : b;
+        }
+        return Math.min(a, b);
+    }
+}
@@ -0,0 +1,399 @@
+package com.example.app.model;
+
+import com.example.app.user_data.UserBillStorage;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Per-user in-memory cache of the transactions stored in {@code user_bill.csv}.
+ * <p>
+ * The bill file is parsed once into a {@link TransactionTable} that is shared by every
+ * view model of the same user. Readers receive immutable snapshots; edits build a new
+ * table first and are then persisted through {@link UserBillStorage}.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>One repository instance per username</li>
+ *   <li>Lazy loading on first access</li>
+ *   <li>Automatic reload when the bill file was written through another path</li>
+ *   <li>Copy-on-write snapshots that are safe to iterate while edits happen</li>
+ *   <li>Versioned log of recent edits so dependent models can apply deltas</li>
+ * </ul>
+ */
+public class TransactionRepository {
+    private static final Logger LOGGER = Logger.getLogger(TransactionRepository.class.getName());
+    private static final Map<String, TransactionRepository> INSTANCES = new HashMap<>();
+
+    /** Number of edits kept in the change log */
+    private static final int MAX_LOGGED_CHANGES = 64;
+
+    private final String username;
+
+    /** Current snapshot, or null if not loaded yet */
+    private TransactionTable table;
+
+    /** Storage modification count observed when the snapshot was taken */
+    private long loadedModificationCount = -1;
+
+    /** Version of the current snapshot, incremented on every reload and edit */
+    private long version;
+
+    /** Recent edits, oldest first; cleared when the snapshot is replaced as a whole */
+    private final Deque<Change> changes = new ArrayDeque<>();
+
+    /**
+     * Rows added and removed by one edit of the repository.
+     */
+    public static final class Change {
+        private final long version;
+        private final TransactionTable added;
+        private final TransactionTable removed;
+
+        /**
+         * Creates a change record.
+         *
+         * @param version the snapshot version produced by the edit
+         * @param added the rows that were added
+         * @param removed the rows that were removed
+         */
+        private Change(long version, TransactionTable added, TransactionTable removed) {
+            this.version = version;
+            this.added = added;
+            this.removed = removed;
+        }
+
+        /**
+         * Gets the snapshot version produced by this edit.
+         *
+         * @return the version
+         */
+        public long getVersion() { return version; }
+
+        /**
+         * Gets the rows added by this edit.
+         *
+         * @return the added rows
+         */
+        public TransactionTable getAdded() { return added; }
+
+        /**
+         * Gets the rows removed by this edit.
+         *
+         * @return the removed rows
+         */
+        public TransactionTable getRemoved() { return removed; }
+    }
+
+    /**
+     * Private constructor, use {@link #getInstance(String)}.
+     *
+     * @param username the user whose transactions are managed
+     */
+    private TransactionRepository(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Returns the repository for the given user, creating it on first use.
+     *
+     * @param username the username
+     * @return the shared repository for this user
+     */
+    public static synchronized TransactionRepository getInstance(String username) {
+        return INSTANCES.computeIfAbsent(username, TransactionRepository::new);
+    }
+
+    /**
+     * Gets the username this repository belongs to.
+     *
+     * @return the username
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Gets the current snapshot of all transactions.
+     * The bill file is only parsed if it has not been loaded yet or was modified
+     * through {@link UserBillStorage} since the last load.
+     *
+     * @return the immutable transaction table
+     */
+    public synchronized TransactionTable getTable() {
+        if (table == null || loadedModificationCount != UserBillStorage.getModificationCount()) {
+            reload();
+        }
+        return table;
+    }
+
+    /**
+     * Gets a read-only row view of the current snapshot.
+     *
+     * @return an unmodifiable list of transaction records
+     *         [date, description, category, amount, confirmed]
+     * @see TransactionTable#asRows()
+     */
+    public synchronized List<Object[]> getTransactions() {
+        return getTable().asRows();
+    }
+
+    /**
+     * Forces the transactions to be read again from the bill file.
+     */
+    public synchronized void reload() {
+        // Read the count first; a write during the load then only causes one more reload
+        long modificationCount = UserBillStorage.getModificationCount();
+        table = UserBillStorage.loadTable(username);
+        loadedModificationCount = modificationCount;
+        version++;
+        changes.clear();
+        LOGGER.log(Level.INFO, "Loaded {0} transactions for {1}", new Object[]{table.size(), username});
+    }
+
+    /**
+     * Replaces all transactions and persists them.
+     *
+     * @param newTransactions the complete list of transactions
+     * @return true if saved successfully, false otherwise
+     */
+    public synchronized boolean saveTransactions(List<Object[]> newTransactions) {
+        boolean success = persist(() -> UserBillStorage.saveTransactions(newTransactions));
+        if (success) {
+            // A full replacement has no meaningful delta; dependents rebuild instead
+            changes.clear();
+        }
+        return commit(success ? TransactionTable.fromRows(newTransactions) : null, null, success);
+    }
+
+    /**
+     * Appends transactions to the current snapshot and persists them.
+     * Only the new rows are written to the bill journal.
+     *
+     * @param newTransactions the transactions to add
+     * @return true if saved successfully, false otherwise
+     */
+    public synchronized boolean addTransactions(List<Object[]> newTransactions) {
+        TransactionTable updated = getTable().append(newTransactions);
+        Change change = new Change(version + 1, TransactionTable.fromRows(newTransactions), TransactionTable.empty());
+        return commit(updated, change, persist(() -> UserBillStorage.addTransactions(newTransactions)));
+    }
+
+    /**
+     * Replaces the transaction at the given index and persists the change.
+     *
+     * @param index position in the current snapshot
+     * @param transaction the new transaction record
+     * @return true if saved successfully, false if the index is out of range or saving failed
+     */
+    public synchronized boolean updateTransaction(int index, Object[] transaction) {
+        TransactionTable current = getTable();
+        if (index < 0 || index >= current.size()) {
+            return false;
+        }
+        TransactionTable updated = current.withRow(index, transaction);
+        Change change = new Change(version + 1, TransactionTable.fromRows(Collections.singletonList(transaction)),
+                current.select(Collections.singletonList(index)));
+        return commit(updated, change, persist(() -> UserBillStorage.updateTransaction(index, transaction)));
+    }
+
+    /**
+     * Removes the transactions at the given indices and persists the result.
+     * Indices that are out of range are ignored.
+     *
+     * @param indices positions in the current snapshot to remove
+     * @return true if saved successfully, false otherwise
+     */
+    public synchronized boolean deleteTransactions(Collection<Integer> indices) {
+        TransactionTable current = getTable();
+        Set<Integer> toRemove = new HashSet<>();
+        for (int index : indices) {
+            if (index >= 0 && index < current.size()) {
+                toRemove.add(index);
+            }
+        }
+        TransactionTable updated = current.without(toRemove);
+        Change change = new Change(version + 1, TransactionTable.empty(), current.select(toRemove));
+        return commit(updated, change, persist(() -> UserBillStorage.deleteTransactions(toRemove)));
+    }
+
+    /**
+     * Gets the version of the current snapshot.
+     *
+     * @return the snapshot version
+     */
+    public synchronized long getVersion() {
+        getTable();
+        return version;
+    }
+
+    /**
+     * Gets the edits made after the given snapshot version.
+     *
+     * @param sinceVersion a version previously returned by {@link #getVersion()}
+     * @return the changes in order, or null if the log does not reach back that far
+     *         and the caller has to rebuild from {@link #getTable()}
+     */
+    public synchronized List<Change> getChangesSince(long sinceVersion) {
+        getTable();
+        if (sinceVersion == version) {
+            return Collections.emptyList();
+        }
+        if (changes.isEmpty() || changes.peekFirst().getVersion() > sinceVersion + 1 || sinceVersion > version) {
+            return null;
+        }
+        List<Change> result = new ArrayList<>();
+        for (Change change : changes) {
+            if (change.getVersion() > sinceVersion) {
+                result.add(change);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Brings a finance model up to date with the current snapshot. Edits logged since
+     * the given version are applied as deltas; otherwise the whole snapshot is imported.
+     * An empty snapshot is not imported, leaving the model as it is.
+     *
+     * @param financeData the model to update
+     * @param syncedVersion the version the model currently reflects, or -1 if none
+     * @return the version the model reflects afterwards
+     */
+    public long syncFinanceData(FinanceData financeData, long syncedVersion) {
+        return prepareUpdate(syncedVersion).applyTo(financeData, syncedVersion);
+    }
+
+    /**
+     * Collects what a finance model at the given version needs to catch up with the current
+     * snapshot, without touching the model. Reloading the bill file, if it changed, happens
+     * here, so this can run off the Event Dispatch Thread and the update applied on it later.
+     *
+     * @param syncedVersion the version the model currently reflects, or -1 if none
+     * @return the pending update
+     */
+    public synchronized Update prepareUpdate(long syncedVersion) {
+        TransactionTable current = getTable();
+        List<Change> pending = syncedVersion < 0 ? null : getChangesSince(syncedVersion);
+        return new Update(syncedVersion, version, current, pending);
+    }
+
+    /**
+     * The edits a finance model needs to reach one snapshot version.
+     */
+    public final class Update {
+        private final long baseVersion;
+        private final long targetVersion;
+        private final TransactionTable table;
+        private final List<Change> pending;
+
+        /**
+         * Creates an update.
+         *
+         * @param baseVersion the version the update starts from
+         * @param targetVersion the version the update leads to
+         * @param table the snapshot at the target version
+         * @param pending the edits to apply, or null to import the whole snapshot
+         */
+        private Update(long baseVersion, long targetVersion, TransactionTable table, List<Change> pending) {
+            this.baseVersion = baseVersion;
+            this.targetVersion = targetVersion;
+            this.table = table;
+            this.pending = pending;
+        }
+
+        /**
+         * Gets the snapshot the update leads to.
+         *
+         * @return the transaction table
+         */
+        public TransactionTable getTable() {
+            return table;
+        }
+
+        /**
+         * Gets the version the update leads to.
+         *
+         * @return the snapshot version
+         */
+        public long getVersion() {
+            return targetVersion;
+        }
+
+        /**
+         * Applies the update to a finance model. If the model moved on since the update was
+         * prepared, it is synchronized with the repository directly instead.
+         *
+         * @param financeData the model to update
+         * @param syncedVersion the version the model currently reflects, or -1 if none
+         * @return the version the model reflects afterwards
+         */
+        public long applyTo(FinanceData financeData, long syncedVersion) {
+            if (syncedVersion != baseVersion) {
+                return syncFinanceData(financeData, syncedVersion);
+            }
+            if (pending == null) {
+                if (!table.isEmpty()) {
+                    financeData.importTransactions(table);
+                }
+                LOGGER.log(Level.INFO, "Imported {0} transactions for {1}", new Object[]{table.size(), username});
+            } else {
+                for (Change change : pending) {
+                    financeData.applyDelta(change.getAdded(), change.getRemoved());
+                }
+            }
+            return targetVersion;
+        }
+    }
+
+    /**
+     * Runs a write of {@link UserBillStorage} against this user's files. The storage class
+     * lock is held from switching the user to the end of the write, so another thread
+     * switching the storage to a different user cannot redirect the write.
+     *
+     * @param write the write to run
+     * @return the result of the write
+     */
+    private boolean persist(BooleanSupplier write) {
+        synchronized (UserBillStorage.class) {
+            UserBillStorage.setUsername(username);
+            return write.getAsBoolean();
+        }
+    }
+
+    /**
+     * Makes the given table the current snapshot if it was persisted.
+     *
+     * @param updated the new snapshot
+     * @param change the edit to log, or null if the snapshot was replaced as a whole
+     * @param success whether the storage write succeeded
+     * @return the given success flag
+     */
+    private boolean commit(TransactionTable updated, Change change, boolean success) {
+        if (success) {
+            table = updated;
+            loadedModificationCount = UserBillStorage.getModificationCount();
+            version++;
+            if (change != null) {
+                changes.addLast(change);
+                if (changes.size() > MAX_LOGGED_CHANGES) {
+                    changes.removeFirst();
+                }
+            }
+        } else {
+            LOGGER.log(Level.SEVERE, "Failed to persist transactions for {0}", username);
+        }
+        return success;
+    }
+
+    /**
+     * Drops all cached repositories.
+     * <p>
+     * <b>For testing purposes only.</b>
+     */
+    static synchronized void _resetForTests() {
+        INSTANCES.clear();
+    }
+}
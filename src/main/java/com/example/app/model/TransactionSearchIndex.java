@@ -0,0 +1,294 @@
+package com.example.app.model;
+
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Trigram inverted index for text search over a {@link TransactionTable}.
+ * <p>
+ * Descriptions and categories are indexed once per dictionary entry rather than once per
+ * transaction: every lower-cased entry is split into overlapping three-character grams, and
+ * each gram maps to a bitmap of the dictionary ids containing it. A query intersects the
+ * bitmaps of its own grams, confirms the few candidates with a substring check and then
+ * resolves the matching ids to a bitmap of row indices with one pass over the id columns.
+ * Grams are taken over UTF-16 characters, so CJK merchant names are searched the same way
+ * as Latin ones. Two-character pairs containing a non-ASCII character are indexed as well,
+ * since CJK merchant names are often just two characters long; other queries shorter than a
+ * trigram scan the dictionary.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Case-insensitive substring search over description, category and date</li>
+ *   <li>Optional restriction to one category</li>
+ *   <li>Incremental indexing of new dictionary entries as tables are edited</li>
+ *   <li>Row-id bitmaps as query results</li>
+ * </ul>
+ */
+public final class TransactionSearchIndex {
+    /** Length of the indexed grams; shorter queries use bigrams or scan the dictionaries */
+    private static final int GRAM_LENGTH = 3;
+
+    /** Length of the grams indexed for non-ASCII text */
+    private static final int BIGRAM_LENGTH = 2;
+
+    private final TextIndex descriptions = new TextIndex();
+    private final TextIndex categories = new TextIndex();
+    private TransactionTable table = TransactionTable.empty();
+
+    /**
+     * Points the index at a new table snapshot.
+     * Tables derived from the indexed one share its dictionaries, so only entries added
+     * since the last update are indexed; any other table is indexed from scratch.
+     *
+     * @param table the table to search
+     */
+    public void update(TransactionTable table) {
+        if (!descriptions.extendsTo(table.getDescriptionCount(), table::getDescriptionText)) {
+            descriptions.clear();
+        }
+        if (!categories.extendsTo(table.getCategoryCount(), table::getCategoryName)) {
+            categories.clear();
+        }
+        for (int id = descriptions.size(); id < table.getDescriptionCount(); id++) {
+            descriptions.add(table.getDescriptionText(id));
+        }
+        for (int id = categories.size(); id < table.getCategoryCount(); id++) {
+            categories.add(table.getCategoryName(id));
+        }
+        this.table = table;
+    }
+
+    /**
+     * Gets the table the index currently covers.
+     *
+     * @return the indexed table
+     */
+    public TransactionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Finds the rows whose date, description or category contains the search text,
+     * ignoring case.
+     *
+     * @param searchText the text to search for, or null or empty to match every row
+     * @param categoryId the category id rows must have, or -1 for any category
+     * @return bitmap of matching row indices
+     */
+    public BitSet search(String searchText, int categoryId) {
+        BitSet rows = new BitSet(table.size());
+        String query = searchText == null ? "" : searchText.toLowerCase(Locale.ROOT);
+        if (query.isEmpty()) {
+            for (int i = 0; i < table.size(); i++) {
+                if (categoryId < 0 || table.getCategoryId(i) == categoryId) {
+                    rows.set(i);
+                }
+            }
+            return rows;
+        }
+
+        BitSet descriptionMatches = descriptions.find(query);
+        BitSet categoryMatches = categories.find(query);
+        DateMatcher dates = new DateMatcher(query);
+        for (int i = 0; i < table.size(); i++) {
+            int category = table.getCategoryId(i);
+            if (categoryId >= 0 && category != categoryId) {
+                continue;
+            }
+            if (categoryMatches.get(category)
+                    || descriptionMatches.get(table.getDescriptionId(i))
+                    || dates.matches(i)) {
+                rows.set(i);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Decides date matches for one query, once per distinct day and time.
+     */
+    private final class DateMatcher {
+        private final String query;
+        private final boolean dateLike;
+        /** Match results keyed by epoch day and minute of day */
+        private final Map<Long, Boolean> dateMatches = new HashMap<>();
+
+        /**
+         * Creates a matcher for a lower-cased query.
+         *
+         * @param query the query
+         */
+        DateMatcher(String query) {
+            this.query = query;
+            boolean digitsAndSeparators = true;
+            for (int i = 0; i < query.length() && digitsAndSeparators; i++) {
+                char c = query.charAt(i);
+                digitsAndSeparators = (c >= '0' && c <= '9') || c == '-' || c == ':' || c == ' ';
+            }
+            this.dateLike = digitsAndSeparators;
+        }
+
+        /**
+         * Checks whether the date text of a row contains the query.
+         *
+         * @param row the row index
+         * @return true if the date matches
+         */
+        boolean matches(int row) {
+            if (!table.hasDate(row)) {
+                // Unparsed dates keep their original text, which may contain anything
+                return table.getDateString(row).toLowerCase(Locale.ROOT).contains(query);
+            }
+            if (!dateLike) {
+                return false;
+            }
+            // NO_TIME maps to 0, so days without a time get their own key
+            long key = (long) table.getEpochDay(row) * 1441 + table.getMinuteOfDay(row) + 1;
+            return dateMatches.computeIfAbsent(key, k -> table.getDateString(row).contains(query));
+        }
+    }
+
+    /**
+     * Trigram postings over one dictionary, addressed by dictionary id, with bigram
+     * postings for pairs containing a non-ASCII character.
+     */
+    private static final class TextIndex {
+        private final List<String> entries = new ArrayList<>();
+        private final List<String> lowerEntries = new ArrayList<>();
+        private final Map<Long, BitSet> postings = new HashMap<>();
+        private final Map<Integer, BitSet> bigramPostings = new HashMap<>();
+
+        /**
+         * Gets the number of indexed entries.
+         *
+         * @return the entry count
+         */
+        int size() {
+            return entries.size();
+        }
+
+        /**
+         * Removes all entries.
+         */
+        void clear() {
+            entries.clear();
+            lowerEntries.clear();
+            postings.clear();
+            bigramPostings.clear();
+        }
+
+        /**
+         * Checks whether a dictionary starts with the indexed entries.
+         *
+         * @param count the dictionary size
+         * @param lookup the dictionary lookup by id
+         * @return true if the index is a prefix of the dictionary
+         */
+        boolean extendsTo(int count, IntFunction<String> lookup) {
+            if (count < entries.size()) {
+                return false;
+            }
+            for (int id = entries.size() - 1; id >= 0; id--) {
+                String entry = lookup.apply(id);
+                if (entry != entries.get(id) && !entry.equals(entries.get(id))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Indexes the next dictionary entry.
+         *
+         * @param text the entry text
+         */
+        void add(String text) {
+            int id = entries.size();
+            String lower = text.toLowerCase(Locale.ROOT);
+            entries.add(text);
+            lowerEntries.add(lower);
+            for (int i = 0; i + GRAM_LENGTH <= lower.length(); i++) {
+                postings.computeIfAbsent(gram(lower, i), g -> new BitSet()).set(id);
+            }
+            for (int i = 0; i + BIGRAM_LENGTH <= lower.length(); i++) {
+                if (isNonAscii(lower, i)) {
+                    bigramPostings.computeIfAbsent(bigram(lower, i), g -> new BitSet()).set(id);
+                }
+            }
+        }
+
+        /**
+         * Finds the entries containing a lower-cased query.
+         *
+         * @param query the query
+         * @return bitmap of matching dictionary ids
+         */
+        BitSet find(String query) {
+            BitSet candidates;
+            if (query.length() == BIGRAM_LENGTH && isNonAscii(query, 0)) {
+                // The posting holds exactly the entries containing the pair
+                BitSet posting = bigramPostings.get(bigram(query, 0));
+                return posting == null ? new BitSet() : (BitSet) posting.clone();
+            } else if (query.length() < GRAM_LENGTH) {
+                candidates = new BitSet(entries.size());
+                candidates.set(0, entries.size());
+            } else {
+                candidates = null;
+                for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+                    BitSet posting = postings.get(gram(query, i));
+                    if (posting == null) {
+                        return new BitSet();
+                    }
+                    if (candidates == null) {
+                        candidates = (BitSet) posting.clone();
+                    } else {
+                        candidates.and(posting);
+                    }
+                    if (candidates.isEmpty()) {
+                        return candidates;
+                    }
+                }
+            }
+            // Grams can match out of order, so confirm every candidate
+            for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+                if (!lowerEntries.get(id).contains(query)) {
+                    candidates.clear(id);
+                }
+            }
+            return candidates;
+        }
+
+        /**
+         * Packs three characters starting at an offset into one key.
+         *
+         * @param text the text
+         * @param offset the offset of the first character
+         * @return the gram key
+         */
+        private static long gram(String text, int offset) {
+            return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+        }
+
+        /**
+         * Packs two characters starting at an offset into one key.
+         *
+         * @param text the text
+         * @param offset the offset of the first character
+         * @return the bigram key
+         */
+        private static int bigram(String text, int offset) {
+            return (text.charAt(offset) << 16) | text.charAt(offset + 1);
+        }
+
+        /**
+         * Checks whether a character pair contains a non-ASCII character.
+         *
+         * @param text the text
+         * @param offset the offset of the first character
+         * @return true if either character is outside ASCII
+         */
+        private static boolean isNonAscii(String text, int offset) {
+            return text.charAt(offset) > 0x7F || text.charAt(offset + 1) > 0x7F;
+        }
+    }
+}
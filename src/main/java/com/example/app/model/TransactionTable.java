@@ -0,0 +1,687 @@
+package com.example.app.model;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Immutable column-oriented store for transaction records.
+ * <p>
+ * Instead of one {@code Object[]} per transaction holding a date string, boxed
+ * {@code Double} and {@code Boolean}, every field lives in its own primitive array.
+ * Descriptions and categories are pooled in dictionaries and referenced by id, so a
+ * row costs a few dozen bytes no matter how often the same text repeats.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Epoch-day and minute-of-day date columns</li>
+ *   <li>Amounts stored as whole cents in a {@code long[]}</li>
+ *   <li>Category and description dictionaries shared by id</li>
+ *   <li>Lazy {@code List<Object[]>} view for code that still works on rows</li>
+ *   <li>Copy-on-write edits that reuse the dictionaries of the source table</li>
+ * </ul>
+ */
+public final class TransactionTable {
+    /** Epoch day stored for rows whose date text could not be parsed */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    /** Minute of day stored for rows that only carry a date */
+    public static final int NO_TIME = -1;
+
+    private static final TransactionTable EMPTY = new Builder().build();
+
+    private final int size;
+    private final int[] epochDays;
+    private final int[] minutes;
+    private final long[] amountCents;
+    private final int[] categoryIds;
+    private final int[] descriptionIds;
+    private final boolean[] confirmed;
+    private final String[] categories;
+    private final String[] descriptions;
+
+    /** Original text of dates that could not be parsed, keyed by row */
+    private final Map<Integer, String> rawDates;
+
+    /** Lazily created row view */
+    private List<Object[]> rows;
+
+    /**
+     * Creates a table from the columns collected by a {@link Builder}.
+     *
+     * @param builder the builder holding the columns
+     */
+    private TransactionTable(Builder builder) {
+        this.size = builder.size;
+        this.epochDays = Arrays.copyOf(builder.epochDays, size);
+        this.minutes = Arrays.copyOf(builder.minutes, size);
+        this.amountCents = Arrays.copyOf(builder.amountCents, size);
+        this.categoryIds = Arrays.copyOf(builder.categoryIds, size);
+        this.descriptionIds = Arrays.copyOf(builder.descriptionIds, size);
+        this.confirmed = Arrays.copyOf(builder.confirmed, size);
+        this.categories = builder.categories.toArray(new String[0]);
+        this.descriptions = builder.descriptions.toArray(new String[0]);
+        this.rawDates = builder.rawDates.isEmpty()
+                ? Collections.emptyMap()
+                : new HashMap<>(builder.rawDates);
+    }
+
+    /**
+     * Gets the table without any rows.
+     *
+     * @return the shared empty table
+     */
+    public static TransactionTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a table from transaction records.
+     *
+     * @param transactions records [date, description, category, amount, confirmed]
+     * @return a new table holding the same data
+     */
+    public static TransactionTable fromRows(List<Object[]> transactions) {
+        Builder builder = new Builder(transactions.size());
+        for (Object[] transaction : transactions) {
+            builder.add(transaction);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the number of transactions.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the table holds no transactions.
+     *
+     * @return true if there are no rows
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the date of a transaction as an epoch day.
+     *
+     * @param row the row index
+     * @return the epoch day, or {@link #NO_DATE} if the date could not be parsed
+     */
+    public int getEpochDay(int row) {
+        return epochDays[checkRow(row)];
+    }
+
+    /**
+     * Checks whether the date of a transaction could be parsed.
+     *
+     * @param row the row index
+     * @return true if {@link #getEpochDay(int)} holds a real day
+     */
+    public boolean hasDate(int row) {
+        return epochDays[checkRow(row)] != NO_DATE;
+    }
+
+    /**
+     * Gets the date of a transaction.
+     *
+     * @param row the row index
+     * @return the date, or null if the date could not be parsed
+     */
+    public LocalDate getDate(int row) {
+        int day = epochDays[checkRow(row)];
+        return day == NO_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    /**
+     * Gets the time of day of a transaction in minutes since midnight.
+     *
+     * @param row the row index
+     * @return the minute of day, or {@link #NO_TIME} if the record only has a date
+     */
+    public int getMinuteOfDay(int row) {
+        return minutes[checkRow(row)];
+    }
+
+    /**
+     * Gets the date of a transaction as it is stored in the bill file,
+     * either "yyyy-MM-dd" or "yyyy-MM-dd HH:mm".
+     *
+     * @param row the row index
+     * @return the date text
+     */
+    public String getDateString(int row) {
+        int day = epochDays[checkRow(row)];
+        if (day == NO_DATE) {
+            return rawDates.getOrDefault(row, "");
+        }
+        String date = LocalDate.ofEpochDay(day).toString();
+        int minute = minutes[row];
+        if (minute == NO_TIME) {
+            return date;
+        }
+        int hour = minute / 60;
+        int min = minute % 60;
+        return date + ' ' + (char) ('0' + hour / 10) + (char) ('0' + hour % 10)
+                + ':' + (char) ('0' + min / 10) + (char) ('0' + min % 10);
+    }
+
+    /**
+     * Gets the amount of a transaction in cents.
+     *
+     * @param row the row index
+     * @return the amount in cents, negative for expenses
+     */
+    public long getAmountCents(int row) {
+        return amountCents[checkRow(row)];
+    }
+
+    /**
+     * Gets the amount of a transaction.
+     *
+     * @param row the row index
+     * @return the amount, negative for expenses
+     */
+    public double getAmount(int row) {
+        return amountCents[checkRow(row)] / 100.0;
+    }
+
+    /**
+     * Gets the dictionary id of the category of a transaction.
+     *
+     * @param row the row index
+     * @return the category id, see {@link #getCategoryName(int)}
+     */
+    public int getCategoryId(int row) {
+        return categoryIds[checkRow(row)];
+    }
+
+    /**
+     * Gets the category of a transaction.
+     *
+     * @param row the row index
+     * @return the category
+     */
+    public String getCategory(int row) {
+        return categories[categoryIds[checkRow(row)]];
+    }
+
+    /**
+     * Gets the number of entries in the category dictionary.
+     * Every category id is smaller than this value.
+     *
+     * @return the dictionary size
+     */
+    public int getCategoryCount() {
+        return categories.length;
+    }
+
+    /**
+     * Gets the category stored under a dictionary id.
+     *
+     * @param categoryId the category id
+     * @return the category
+     */
+    public String getCategoryName(int categoryId) {
+        return categories[categoryId];
+    }
+
+    /**
+     * Looks up the dictionary id of a category.
+     *
+     * @param category the category
+     * @return the category id, or -1 if no transaction uses this category
+     */
+    public int findCategoryId(String category) {
+        for (int i = 0; i < categories.length; i++) {
+            if (categories[i].equals(category)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the dictionary id of the description of a transaction.
+     *
+     * @param row the row index
+     * @return the description id
+     */
+    public int getDescriptionId(int row) {
+        return descriptionIds[checkRow(row)];
+    }
+
+    /**
+     * Gets the description of a transaction.
+     *
+     * @param row the row index
+     * @return the description
+     */
+    public String getDescription(int row) {
+        return descriptions[descriptionIds[checkRow(row)]];
+    }
+
+    /**
+     * Gets the number of entries in the description dictionary.
+     * Every description id is smaller than this value.
+     *
+     * @return the dictionary size
+     */
+    public int getDescriptionCount() {
+        return descriptions.length;
+    }
+
+    /**
+     * Gets the description stored under a dictionary id.
+     *
+     * @param descriptionId the description id
+     * @return the description
+     */
+    public String getDescriptionText(int descriptionId) {
+        return descriptions[descriptionId];
+    }
+
+    /**
+     * Checks whether a transaction was confirmed by the user.
+     *
+     * @param row the row index
+     * @return the confirmed flag
+     */
+    public boolean isConfirmed(int row) {
+        return confirmed[checkRow(row)];
+    }
+
+    /**
+     * Creates a transaction record for a row.
+     *
+     * @param row the row index
+     * @return a new array [date, description, category, amount, confirmed]
+     */
+    public Object[] toRow(int row) {
+        return new Object[]{
+                getDateString(row),
+                getDescription(row),
+                getCategory(row),
+                getAmount(row),
+                isConfirmed(row)
+        };
+    }
+
+    /**
+     * Gets a read-only list view of the table. Records are created on access,
+     * so changing a returned array does not change the table.
+     *
+     * @return an unmodifiable list of records [date, description, category, amount, confirmed]
+     */
+    public List<Object[]> asRows() {
+        if (rows == null) {
+            rows = new RowView();
+        }
+        return rows;
+    }
+
+    /**
+     * Creates a table with the given records appended.
+     *
+     * @param transactions the records to append
+     * @return a new table
+     */
+    public TransactionTable append(List<Object[]> transactions) {
+        Builder builder = new Builder(this, size + transactions.size());
+        for (int i = 0; i < size; i++) {
+            builder.copyRow(this, i);
+        }
+        for (Object[] transaction : transactions) {
+            builder.add(transaction);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a table with one record replaced.
+     *
+     * @param row the row index to replace
+     * @param transaction the new record
+     * @return a new table
+     */
+    public TransactionTable withRow(int row, Object[] transaction) {
+        checkRow(row);
+        Builder builder = new Builder(this, size);
+        for (int i = 0; i < size; i++) {
+            if (i == row) {
+                builder.add(transaction);
+            } else {
+                builder.copyRow(this, i);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a table without the given rows. Indices out of range are ignored.
+     *
+     * @param rowsToRemove the row indices to remove
+     * @return a new table
+     */
+    public TransactionTable without(Collection<Integer> rowsToRemove) {
+        boolean[] removed = new boolean[size];
+        for (int row : rowsToRemove) {
+            if (row >= 0 && row < size) {
+                removed[row] = true;
+            }
+        }
+        Builder builder = new Builder(this, size);
+        for (int i = 0; i < size; i++) {
+            if (!removed[i]) {
+                builder.copyRow(this, i);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a table holding only the given rows, in table order.
+     * Indices out of range are ignored.
+     *
+     * @param rowsToKeep the row indices to keep
+     * @return a new table
+     */
+    public TransactionTable select(Collection<Integer> rowsToKeep) {
+        boolean[] kept = new boolean[size];
+        for (int row : rowsToKeep) {
+            if (row >= 0 && row < size) {
+                kept[row] = true;
+            }
+        }
+        Builder builder = new Builder(this, rowsToKeep.size());
+        for (int i = 0; i < size; i++) {
+            if (kept[i]) {
+                builder.copyRow(this, i);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Validates a row index.
+     *
+     * @param row the row index
+     * @return the same index
+     */
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for size " + size);
+        }
+        return row;
+    }
+
+    /**
+     * List view creating a record for each accessed row.
+     */
+    private class RowView extends AbstractList<Object[]> implements RandomAccess {
+        @Override
+        public Object[] get(int index) {
+            return toRow(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Collects transactions column by column and pools repeated text.
+     */
+    public static final class Builder {
+        private int size;
+        private int[] epochDays;
+        private int[] minutes;
+        private long[] amountCents;
+        private int[] categoryIds;
+        private int[] descriptionIds;
+        private boolean[] confirmed;
+
+        private final List<String> categories;
+        private final Map<String, Integer> categoryLookup;
+        private final List<String> descriptions;
+        private final Map<String, Integer> descriptionLookup;
+        private final Map<Integer, String> rawDates = new HashMap<>();
+
+        /**
+         * Creates an empty builder.
+         */
+        public Builder() {
+            this(16);
+        }
+
+        /**
+         * Creates an empty builder sized for the expected number of rows.
+         *
+         * @param capacity the expected number of rows
+         */
+        public Builder(int capacity) {
+            allocate(Math.max(capacity, 1));
+            categories = new ArrayList<>();
+            categoryLookup = new HashMap<>();
+            descriptions = new ArrayList<>();
+            descriptionLookup = new HashMap<>();
+        }
+
+        /**
+         * Creates a builder starting with the dictionaries of an existing table,
+         * so its rows can be copied by id.
+         *
+         * @param base the table whose dictionaries are reused
+         * @param capacity the expected number of rows
+         */
+        private Builder(TransactionTable base, int capacity) {
+            allocate(Math.max(capacity, 1));
+            categories = new ArrayList<>(Arrays.asList(base.categories));
+            categoryLookup = new HashMap<>(base.categories.length * 2);
+            for (int i = 0; i < base.categories.length; i++) {
+                categoryLookup.put(base.categories[i], i);
+            }
+            descriptions = new ArrayList<>(Arrays.asList(base.descriptions));
+            descriptionLookup = new HashMap<>(base.descriptions.length * 2);
+            for (int i = 0; i < base.descriptions.length; i++) {
+                descriptionLookup.put(base.descriptions[i], i);
+            }
+        }
+
+        /**
+         * Adds a transaction.
+         *
+         * @param date the date as "yyyy-MM-dd" or "yyyy-MM-dd HH:mm"
+         * @param description the description
+         * @param category the category
+         * @param amount the amount, negative for expenses
+         * @param isConfirmed whether the user confirmed the transaction
+         * @return this builder
+         */
+        public Builder add(String date, String description, String category, double amount, boolean isConfirmed) {
+            int row = nextRow();
+            setDate(row, date);
+            amountCents[row] = Math.round(amount * 100);
+            categoryIds[row] = intern(category, categories, categoryLookup);
+            descriptionIds[row] = intern(description, descriptions, descriptionLookup);
+            confirmed[row] = isConfirmed;
+            return this;
+        }
+
+        /**
+         * Adds a transaction record. Amounts and flags may be given as numbers,
+         * booleans or their text form.
+         *
+         * @param transaction the record [date, description, category, amount, confirmed]
+         * @return this builder
+         */
+        public Builder add(Object[] transaction) {
+            Object amount = transaction[3];
+            double value = amount instanceof Number
+                    ? ((Number) amount).doubleValue()
+                    : Double.parseDouble(amount.toString());
+            boolean isConfirmed = transaction.length > 4 && transaction[4] != null
+                    && (transaction[4] instanceof Boolean
+                        ? (Boolean) transaction[4]
+                        : Boolean.parseBoolean(transaction[4].toString()));
+            return add(String.valueOf(transaction[0]), String.valueOf(transaction[1]),
+                    String.valueOf(transaction[2]), value, isConfirmed);
+        }
+
+        /**
+         * Gets the number of rows added so far.
+         *
+         * @return the row count
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Creates the table.
+         *
+         * @return a new immutable table
+         */
+        public TransactionTable build() {
+            return new TransactionTable(this);
+        }
+
+        /**
+         * Copies a row of the table this builder was created from.
+         *
+         * @param source the base table
+         * @param sourceRow the row to copy
+         */
+        private void copyRow(TransactionTable source, int sourceRow) {
+            int row = nextRow();
+            epochDays[row] = source.epochDays[sourceRow];
+            minutes[row] = source.minutes[sourceRow];
+            amountCents[row] = source.amountCents[sourceRow];
+            categoryIds[row] = source.categoryIds[sourceRow];
+            descriptionIds[row] = source.descriptionIds[sourceRow];
+            confirmed[row] = source.confirmed[sourceRow];
+            if (source.epochDays[sourceRow] == NO_DATE) {
+                rawDates.put(row, source.rawDates.get(sourceRow));
+            }
+        }
+
+        /**
+         * Parses "yyyy-MM-dd" or "yyyy-MM-dd HH:mm" into the date columns.
+         * Any other text is kept as is and the row gets {@link #NO_DATE}.
+         *
+         * @param row the row being filled
+         * @param date the date text
+         */
+        private void setDate(int row, String date) {
+            epochDays[row] = NO_DATE;
+            minutes[row] = NO_TIME;
+            int length = date.length();
+            if ((length == 10 || length == 16)
+                    && date.charAt(4) == '-' && date.charAt(7) == '-') {
+                int year = digits(date, 0, 4);
+                int month = digits(date, 5, 2);
+                int day = digits(date, 8, 2);
+                int minute = NO_TIME;
+                if (length == 16) {
+                    int hour = date.charAt(10) == ' ' && date.charAt(13) == ':' ? digits(date, 11, 2) : -1;
+                    int min = digits(date, 14, 2);
+                    minute = hour >= 0 && hour < 24 && min >= 0 && min < 60 ? hour * 60 + min : -2;
+                }
+                if (year >= 0 && month >= 0 && day >= 0 && minute != -2) {
+                    try {
+                        epochDays[row] = (int) LocalDate.of(year, month, day).toEpochDay();
+                        minutes[row] = minute;
+                        return;
+                    } catch (DateTimeException e) {
+                        // Fall through and keep the raw text
+                    }
+                }
+            }
+            rawDates.put(row, date);
+        }
+
+        /**
+         * Parses a run of ASCII digits.
+         *
+         * @param text the text
+         * @param start index of the first digit
+         * @param count number of digits
+         * @return the value, or -1 if a character is not a digit
+         */
+        private static int digits(String text, int start, int count) {
+            int value = 0;
+            for (int i = start; i < start + count; i++) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+            }
+            return value;
+        }
+
+        /**
+         * Gets the id of a string in a dictionary, adding it if necessary.
+         *
+         * @param value the string
+         * @param values the dictionary entries by id
+         * @param lookup the dictionary ids by entry
+         * @return the id
+         */
+        private static int intern(String value, List<String> values, Map<String, Integer> lookup) {
+            Integer id = lookup.get(value);
+            if (id == null) {
+                id = values.size();
+                values.add(value);
+                lookup.put(value, id);
+            }
+            return id;
+        }
+
+        /**
+         * Reserves the next row, growing the columns if necessary.
+         *
+         * @return the index of the new row
+         */
+        private int nextRow() {
+            if (size == epochDays.length) {
+                grow(size * 2);
+            }
+            return size++;
+        }
+
+        /**
+         * Creates empty columns.
+         *
+         * @param capacity number of rows
+         */
+        private void allocate(int capacity) {
+            epochDays = new int[capacity];
+            minutes = new int[capacity];
+            amountCents = new long[capacity];
+            categoryIds = new int[capacity];
+            descriptionIds = new int[capacity];
+            confirmed = new boolean[capacity];
+        }
+
+        /**
+         * Grows all columns to a new capacity.
+         *
+         * @param capacity number of rows
+         */
+        private void grow(int capacity) {
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            minutes = Arrays.copyOf(minutes, capacity);
+            amountCents = Arrays.copyOf(amountCents, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            descriptionIds = Arrays.copyOf(descriptionIds, capacity);
+            confirmed = Arrays.copyOf(confirmed, capacity);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.app.model;
+
+import com.example.app.user_data.FinancialAdviceStorage;
+import com.example.app.user_data.UserSettingsStorage;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads a user's data files in parallel while the login is still being checked.
+ * <p>
+ * Once the login form knows the username, {@link #start(String)} reads the bill, budget,
+ * settings and advice files on a small pool of background threads. The transaction snapshot
+ * lands in the user's {@link TransactionRepository}; the other results are kept here together
+ * with the size and modification time of the file they came from. The models that load these
+ * files ask for a kept result first and only read the file themselves if there is none or the
+ * file changed since, so a stale result is never used.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>One warm-up at a time; starting one for another user discards the previous one</li>
+ *   <li>Only reads files of users that already have a data directory</li>
+ *   <li>Bounded wait for the main window to pick up reads still in flight</li>
+ *   <li>Results checked against the file's size and modification time on use</li>
+ *   <li>Results dropped whenever the application writes one of the files</li>
+ * </ul>
+ */
+public final class UserDataWarmup {
+    private static final Logger LOGGER = Logger.getLogger(UserDataWarmup.class.getName());
+
+    /** Number of files read in parallel */
+    private static final int READERS = 4;
+
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(READERS, runnable -> {
+        Thread thread = new Thread(runnable, "user-data-warmup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static UserDataWarmup current;
+
+    private final String username;
+    private final String directory;
+    private final List<Future<?>> reads = new ArrayList<>();
+    private volatile FileResult<Map<String, Double>> budgets;
+    private volatile FileResult<Properties> settings;
+    private volatile FileResult<Object[]> advice;
+
+    /**
+     * A parsed file together with the file state it was parsed from.
+     *
+     * @param <T> the type of the parsed content
+     */
+    private static final class FileResult<T> {
+        private final File file;
+        private final long lastModified;
+        private final long length;
+        private final T value;
+
+        /**
+         * Records a parsed file. The file state is taken before parsing, so a write during
+         * parsing makes the result stale rather than silently mixing old and new content.
+         *
+         * @param file the file
+         * @param lastModified the modification time before parsing
+         * @param length the length before parsing
+         * @param value the parsed content
+         */
+        FileResult(File file, long lastModified, long length, T value) {
+            this.file = file;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.value = value;
+        }
+
+        /**
+         * Checks whether the file still looks the way it did when it was parsed.
+         *
+         * @return true if the result can be used
+         */
+        boolean isCurrent() {
+            return value != null && file.lastModified() == lastModified && file.length() == length;
+        }
+    }
+
+    /**
+     * Creates a warm-up for a user.
+     *
+     * @param username the username
+     */
+    private UserDataWarmup(String username) {
+        this.username = username;
+        this.directory = ".\\user_data\\" + username;
+    }
+
+    /**
+     * Starts reading a user's data files, unless a warm-up for the user is already running
+     * or done. A warm-up for another user is discarded.
+     *
+     * @param username the username entered at login
+     * @return the warm-up, or null if the user has no data directory
+     */
+    public static synchronized UserDataWarmup start(String username) {
+        if (username == null || username.trim().isEmpty()) {
+            return null;
+        }
+        if (current != null && current.username.equals(username)) {
+            return current;
+        }
+        discardCurrent();
+        if (!new File(".\\user_data\\" + username).isDirectory()) {
+            return null;
+        }
+        UserDataWarmup warmup = new UserDataWarmup(username);
+        warmup.submitReads();
+        current = warmup;
+        LOGGER.log(Level.FINE, "Started data warm-up for {0}", username);
+        return warmup;
+    }
+
+    /**
+     * Discards the warm-up of a user, for example after a failed login.
+     *
+     * @param username the username
+     */
+    public static synchronized void discard(String username) {
+        if (current != null && current.username.equals(username)) {
+            discardCurrent();
+        }
+    }
+
+    /**
+     * Drops the kept results. Called by the storage classes before they write a file,
+     * since a write within the file system's timestamp resolution may keep the size
+     * and modification time the same.
+     */
+    public static synchronized void invalidate() {
+        discardCurrent();
+    }
+
+    /**
+     * Waits for the reads of a user's warm-up that are still in flight.
+     * Returns immediately if there is no warm-up for the user.
+     *
+     * @param username the username
+     * @param timeout the longest time to wait
+     * @param unit the unit of the timeout
+     * @return true if all reads finished, false if there is no warm-up or it did not finish in time
+     */
+    public static boolean awaitReady(String username, long timeout, TimeUnit unit) {
+        UserDataWarmup warmup = find(username);
+        if (warmup == null) {
+            return false;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        try {
+            for (Future<?> read : warmup.reads) {
+                read.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            return true;
+        } catch (TimeoutException | CancellationException e) {
+            return false;
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.WARNING, "Data warm-up for " + username + " failed", e.getCause());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Gets budgets read by a warm-up for a data directory.
+     *
+     * @param directory the data directory
+     * @return a copy of the budgets, or null if none were read or the file changed since
+     */
+    public static Map<String, Double> getBudgets(String directory) {
+        UserDataWarmup warmup = current();
+        if (warmup == null || !warmup.directory.equals(directory)) {
+            return null;
+        }
+        FileResult<Map<String, Double>> result = warmup.budgets;
+        return result != null && result.isCurrent() ? new LinkedHashMap<>(result.value) : null;
+    }
+
+    /**
+     * Gets settings read by a warm-up for a user.
+     *
+     * @param username the username
+     * @return a copy of the settings, or null if none were read or the file changed since
+     */
+    public static Properties getSettings(String username) {
+        UserDataWarmup warmup = find(username);
+        FileResult<Properties> result = warmup == null ? null : warmup.settings;
+        if (result == null || !result.isCurrent()) {
+            return null;
+        }
+        Properties copy = new Properties();
+        copy.putAll(result.value);
+        return copy;
+    }
+
+    /**
+     * Gets advice read by a warm-up for a user.
+     *
+     * @param username the username
+     * @return [advice text, generation time], or null if none was read or the file changed since
+     */
+    public static Object[] getAdvice(String username) {
+        UserDataWarmup warmup = find(username);
+        FileResult<Object[]> result = warmup == null ? null : warmup.advice;
+        return result != null && result.isCurrent() ? result.value.clone() : null;
+    }
+
+    /**
+     * Submits the parallel file reads.
+     */
+    private void submitReads() {
+        reads.add(POOL.submit(() -> {
+            if (new File(directory, "user_bill.csv").exists()) {
+                TransactionRepository.getInstance(username).getTable();
+            }
+        }));
+        reads.add(POOL.submit(() -> {
+            File file = BudgetManager.getBudgetFile(directory);
+            budgets = read(file, () -> file.exists() ? BudgetManager.loadBudgetsFromCSV(directory) : null);
+        }));
+        reads.add(POOL.submit(() -> {
+            File file = UserSettingsStorage.getSettingsFile(username);
+            settings = read(file, () -> UserSettingsStorage.readSettings(file));
+        }));
+        reads.add(POOL.submit(() -> {
+            File file = FinancialAdviceStorage.getAdviceFile(username);
+            advice = read(file, () -> FinancialAdviceStorage.readAdvice(file));
+        }));
+    }
+
+    /**
+     * Parses a file and records the file state it was parsed from.
+     *
+     * @param file the file
+     * @param parser parses the file, returning null if it cannot be read
+     * @param <T> the type of the parsed content
+     * @return the result
+     */
+    private static <T> FileResult<T> read(File file, Supplier<T> parser) {
+        long lastModified = file.lastModified();
+        long length = file.length();
+        return new FileResult<>(file, lastModified, length, parser.get());
+    }
+
+    /**
+     * Gets the current warm-up.
+     *
+     * @return the warm-up, or null if none
+     */
+    private static synchronized UserDataWarmup current() {
+        return current;
+    }
+
+    /**
+     * Gets the current warm-up if it belongs to a user.
+     *
+     * @param username the username
+     * @return the warm-up, or null if none for the user
+     */
+    private static UserDataWarmup find(String username) {
+        UserDataWarmup warmup = current();
+        return warmup != null && warmup.username.equals(username) ? warmup : null;
+    }
+
+    /**
+     * Cancels the reads of the current warm-up that have not started and drops its results.
+     */
+    private static synchronized void discardCurrent() {
+        if (current != null) {
+            for (Future<?> read : current.reads) {
+                read.cancel(false);
+            }
+            current = null;
+        }
+    }
+
+    /**
+     * Discards the current warm-up.
+     * <p>
+     * <b>For testing purposes only.</b>
+     */
+    static synchronized void _resetForTests() {
+        discardCurrent();
+    }
+}
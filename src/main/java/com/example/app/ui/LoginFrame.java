@@ -1,5 +1,6 @@
 package com.example.app.ui;
 
+import com.example.app.model.UserDataWarmup;
 import com.example.app.user_data.UserAuthService;
 import com.example.app.user_data.UserBillStorage;
 import com.example.app.user_data.UserSettingsStorage;
@@ -12,6 +13,8 @@ import javax.swing.border.MatteBorder;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -28,6 +31,7 @@ import java.util.logging.Logger;
  *   <li>Login and registration forms with navigation toggle</li>
  *   <li>Creates user data directories and default files on registration</li>
  *   <li>Initializes user storage services on successful login</li>
+ *   <li>Starts reading the user's data files as soon as the username is entered</li>
  *   <li>Styled navigation and error handling</li>
  * </ul>
  */
@@ -197,6 +201,14 @@ public class LoginFrame extends JFrame {
         gbc.gridy = 1;
         loginPanel.add(usernameField, gbc);
 
+        // Read the user's files while the password is typed and checked
+        usernameField.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                UserDataWarmup.start(usernameField.getText());
+            }
+        });
+
         // Password label and field
         JLabel passwordLabel = new JLabel("Password:");
         gbc.gridx = 0;
@@ -223,6 +235,7 @@ public class LoginFrame extends JFrame {
             String username = usernameField.getText();
             String password = new String(passwordField.getPassword());
 
+            UserDataWarmup.start(username);
             if (UserAuthService.authenticateUser(username, password)) {
                 // On successful authentication, initialize storage services
                 UserBillStorage.setUsername(username);
@@ -233,6 +246,7 @@ public class LoginFrame extends JFrame {
                 dispose();
                 EventQueue.invokeLater(() -> new MainFrame(username).setVisible(true));
             } else {
+                UserDataWarmup.discard(username);
                 // Show error message
                 JOptionPane.showMessageDialog(this, "Invalid username or password",
                         "Login Failed", JOptionPane.ERROR_MESSAGE);
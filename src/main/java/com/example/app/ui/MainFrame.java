@@ -1,5 +1,7 @@
 package com.example.app.ui;
 
+import com.example.app.model.TransactionRepository;
+import com.example.app.model.UserDataWarmup;
 import com.example.app.ui.pages.*;
 import javax.swing.*;
 import javax.swing.border.Border;
@@ -9,8 +11,16 @@ import javax.swing.border.MatteBorder;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * The MainFrame is the main window of the financial application.
@@ -21,12 +31,17 @@ import java.util.Map;
  * <ul>
  *   <li>Navigation bar with page highlighting</li>
  *   <li>CardLayout for switching between pages</li>
+ *   <li>Uses the user data read in parallel during login</li>
+ *   <li>Pages and their view models built on first navigation</li>
+ *   <li>Background prefetch of the data of the next page, which is then built while idle</li>
  *   <li>Passes the current username to all sub-pages</li>
  *   <li>Responsive UI with consistent styling</li>
  * </ul>
  
  */
 public class MainFrame extends JFrame {
+    private static final Logger LOGGER = Logger.getLogger(MainFrame.class.getName());
+
     /** The main content panel using CardLayout */
     private JPanel contentPanel;
     /** The CardLayout for switching pages */
@@ -37,6 +52,15 @@ public class MainFrame extends JFrame {
     private String currentPage;
     /** The current logged-in user */
     private String currentUser;
+    /** Page factories keyed by page constant, in navigation order */
+    private final Map<String, Function<String, JComponent>> pageFactories = new LinkedHashMap<>();
+    /** Pages built so far, keyed by page constant */
+    private final Map<String, JComponent> pages = new HashMap<>();
+    /** The page whose data is being prefetched, or null if none */
+    private String prefetchingPage;
+
+    /** Longest time to wait for the login warm-up before reading files directly */
+    private static final long WARMUP_WAIT_MILLIS = 2000;
 
     // Page constants
     private static final String DASHBOARD_PAGE = "DASHBOARD";
@@ -73,18 +97,21 @@ public class MainFrame extends JFrame {
         cardLayout = new CardLayout();
         contentPanel = new JPanel(cardLayout);
 
-        // Add all pages to content panel
-        contentPanel.add(new DashboardPanel(username), DASHBOARD_PAGE);
-        contentPanel.add(new TransactionsPanel(username), TRANSACTIONS_PAGE);
-        contentPanel.add(new BudgetsPanel(username), BUDGETS_PAGE);
-        contentPanel.add(new ReportsPanel(username), REPORTS_PAGE);
-        contentPanel.add(new AIPanel(username), AI_PAGE);
-        contentPanel.add(new SettingsPanel(username), SETTINGS_PAGE);
+        // Register the pages; each is built when first shown or prefetched
+        pageFactories.put(DASHBOARD_PAGE, DashboardPanel::new);
+        pageFactories.put(TRANSACTIONS_PAGE, TransactionsPanel::new);
+        pageFactories.put(BUDGETS_PAGE, BudgetsPanel::new);
+        pageFactories.put(REPORTS_PAGE, ReportsPanel::new);
+        pageFactories.put(AI_PAGE, AIPanel::new);
+        pageFactories.put(SETTINGS_PAGE, SettingsPanel::new);
 
         mainPanel.add(contentPanel, BorderLayout.CENTER);
 
         add(mainPanel);
 
+        // Let the files read during login finish, so the dashboard uses them instead of reading again
+        UserDataWarmup.awaitReady(username, WARMUP_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+
         // Show dashboard by default and highlight its button
         setActivePage(DASHBOARD_PAGE);
     }
@@ -176,8 +203,88 @@ public class MainFrame extends JFrame {
             selectedButton.setForeground(SELECTED_COLOR);
         }
 
-        // Show the selected page
+        // Show the selected page, building it on first use
+        ensurePage(pageKey);
         cardLayout.show(contentPanel, pageKey);
         currentPage = pageKey;
+        prefetchNextPage();
+    }
+
+    /**
+     * Builds a page and adds it to the content panel if it has not been built yet.
+     *
+     * @param pageKey the page key
+     */
+    private void ensurePage(String pageKey) {
+        if (pages.containsKey(pageKey)) {
+            return;
+        }
+        long start = System.nanoTime();
+        JComponent page = pageFactories.get(pageKey).apply(currentUser);
+        pages.put(pageKey, page);
+        contentPanel.add(page, pageKey);
+        LOGGER.log(Level.FINE, "Built page {0} in {1} ms",
+            new Object[]{pageKey, (System.nanoTime() - start) / 1_000_000});
+    }
+
+    /**
+     * Gets the page most likely to be visited next: the first page after the current one
+     * in navigation order that has not been built yet.
+     *
+     * @return the page key, or null if every later page is built
+     */
+    String getPrefetchCandidate() {
+        List<String> order = new ArrayList<>(pageFactories.keySet());
+        for (int i = order.indexOf(currentPage) + 1; i < order.size(); i++) {
+            if (!pages.containsKey(order.get(i))) {
+                return order.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Prefetches the likely next page. The user's transaction snapshot, which the data
+     * pages read while being built, is loaded off the Event Dispatch Thread; the page
+     * itself is then built on it, so the first visit only has to show it.
+     */
+    private void prefetchNextPage() {
+        String pageKey = getPrefetchCandidate();
+        if (pageKey == null || prefetchingPage != null) {
+            return;
+        }
+        prefetchingPage = pageKey;
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                TransactionRepository.getInstance(currentUser).getTable();
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                prefetchingPage = null;
+                try {
+                    get();
+                    if (isDisplayable()) {
+                        ensurePage(pageKey);
+                    }
+                } catch (ExecutionException e) {
+                    LOGGER.log(Level.WARNING, "Prefetching page " + pageKey + " failed", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Checks whether a page has been built.
+     *
+     * @param pageKey the page key
+     * @return true if the page exists in the content panel
+     */
+    boolean isPageBuilt(String pageKey) {
+        return pages.containsKey(pageKey);
     }
 }
\ No newline at end of file
@@ -1,8 +1,18 @@
 package com.example.app.ui.dialogs;
 
+import com.example.app.model.CSVConversionStage;
+import com.example.app.model.CSVDateParser;
+import com.example.app.model.CSVRowMapper;
 import com.example.app.ui.pages.TransactionsPanel;
 import com.example.app.user_data.UserBillStorage;
+import com.example.app.model.ClassificationCache;
 import com.example.app.model.FinanceData; // Import added
+import com.example.app.model.HybridCategoryClassifier;
+import com.example.app.model.NaiveBayesCategorizer;
+import com.example.app.model.RuleCategorizer;
+import com.example.app.ui.pages.AI.classification;
+import com.example.app.user_data.CategoryRuleStorage;
+import com.example.app.user_data.UserBudgetStorage;
 
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
@@ -10,14 +20,18 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,7 +47,8 @@ import java.util.logging.Logger;
  *   <li>Template selection for common CSV formats</li>
  *   <li>Date format specification</li>
  *   <li>Transaction type identification</li>
- *   <li>Data preview</li>
+ *   <li>Data preview built from the first rows only</li>
+ *   <li>Streaming import in a background worker with progress and cancellation</li>
  *   <li>Error handling</li>
  * </ul>
  
@@ -51,8 +66,35 @@ public class CSVImportDialog extends JDialog {
     /** List of CSV column headers */
     private List<String> csvHeaders;
     
-    /** List of CSV data rows */
-    private List<List<String>> csvData;
+    /** Number of data rows kept in memory for the preview */
+    private static final int PREVIEW_ROW_LIMIT = 10;
+
+    /** Largest number of row error messages kept for the import report */
+    private static final int MAX_REPORTED_ERRORS = 50;
+
+    /** Number of rows read before they are converted together in parallel */
+    private static final int IMPORT_BATCH_ROWS = 8192;
+
+    /** The selected CSV file, read again from disk on import */
+    private File csvFile;
+
+    /** The first CSV data rows, used for the preview */
+    private List<List<String>> previewRows;
+
+    /** Number of data rows in the file, or -1 while they are being counted */
+    private int totalRows;
+
+    /** Background worker counting the rows of the selected file */
+    private SwingWorker<Integer, Void> rowCounter;
+
+    /** Background worker running the current import, or null if none */
+    private ImportWorker importWorker;
+
+    /** Progress bar shown while importing */
+    private JProgressBar progressBar;
+
+    /** Button starting the import */
+    private JButton importButton;
     
     /** Combo box for selecting the date column */
     private JComboBox<String> dateColumnCombo;
@@ -93,6 +135,9 @@ public class CSVImportDialog extends JDialog {
     /** Reference to the finance data model */
     private FinanceData financeData;
 
+    /** The user's categorization rules, compiled when first needed */
+    private RuleCategorizer ruleCategorizer;
+
     /** Logger for this class */
     private static final Logger LOGGER = Logger.getLogger(CSVImportDialog.class.getName());
     
@@ -114,7 +159,7 @@ public class CSVImportDialog extends JDialog {
         
         // Initialize with empty data until CSV is selected
         csvHeaders = new ArrayList<>();
-        csvData = new ArrayList<>();
+        previewRows = new ArrayList<>();
         
         // Top panel for file selection
         JPanel topPanel = createFileSelectionPanel();
@@ -381,11 +426,23 @@ public class CSVImportDialog extends JDialog {
         panel.setBorder(BorderFactory.createEmptyBorder(0, 10, 10, 10));
         
         JButton cancelButton = new JButton("Cancel");
-        JButton importButton = new JButton("Import");
+        importButton = new JButton("Import");
+        
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
         
-        cancelButton.addActionListener(e -> dispose());
+        // Cancel stops a running import first; a second press closes the dialog
+        cancelButton.addActionListener(e -> {
+            if (importWorker != null && !importWorker.isDone()) {
+                importWorker.cancel(true);
+            } else {
+                dispose();
+            }
+        });
         importButton.addActionListener(e -> importTransactions());
         
+        panel.add(progressBar);
         panel.add(cancelButton);
         panel.add(importButton);
         
@@ -393,31 +450,42 @@ public class CSVImportDialog extends JDialog {
     }
     
     /**
-     * Loads and parses a CSV file.
-     * Extracts headers and data rows, then updates the UI.
+     * Loads a CSV file for preview.
+     * Only the headers and the first rows are read here; the rows are counted in the
+     * background and all of them are read again when importing.
      *
      * @param file the CSV file to load
      */
     private void loadCSVFile(File file) {
+        if (rowCounter != null) {
+            rowCounter.cancel(true);
+        }
+        csvFile = file;
         csvHeaders = new ArrayList<>();
-        csvData = new ArrayList<>();
+        previewRows = new ArrayList<>();
+        totalRows = -1;
         
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String line = reader.readLine();
             if (line != null) {
                 // Parse headers
-                csvHeaders = parseCSVLine(line);
+                csvHeaders = CSVRowMapper.parseLine(line);
                 
                 // Update combo boxes with headers
                 updateComboBoxes();
                 
-                // Parse data rows
-                while ((line = reader.readLine()) != null) {
-                    List<String> rowData = parseCSVLine(line);
+                // Keep the first data rows for the preview
+                while (previewRows.size() < PREVIEW_ROW_LIMIT && (line = reader.readLine()) != null) {
+                    List<String> rowData = CSVRowMapper.parseLine(line);
                     if (rowData.size() == csvHeaders.size()) {
-                        csvData.add(rowData);
+                        previewRows.add(rowData);
                     }
                 }
+                if (line == null) {
+                    totalRows = previewRows.size();
+                } else {
+                    countRows(file);
+                }
                 
                 // Update preview
                 updatePreview();
@@ -430,34 +498,44 @@ public class CSVImportDialog extends JDialog {
     }
     
     /**
-     * Parses a CSV line into a list of fields.
-     * Handles quoted fields and commas within quotes.
+     * Counts the data rows of a file in the background and updates the record count when done.
      *
-     * @param line the CSV line to parse
-     * @return a list of fields extracted from the line
+     * @param file the CSV file
      */
-    private List<String> parseCSVLine(String line) {
-        List<String> result = new ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder currentField = new StringBuilder();
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                result.add(currentField.toString().trim());
-                currentField = new StringBuilder();
-            } else {
-                currentField.append(c);
+    private void countRows(File file) {
+        int columnCount = csvHeaders.size();
+        rowCounter = new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws IOException {
+                int count = 0;
+                try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+                    reader.readLine(); // Skip headers
+                    String line;
+                    while ((line = reader.readLine()) != null && !isCancelled()) {
+                        if (CSVRowMapper.parseLine(line).size() == columnCount) {
+                            count++;
+                        }
+                    }
+                }
+                return count;
             }
-        }
-        
-        // Add the last field
-        result.add(currentField.toString().trim());
-        
-        return result;
+
+            @Override
+            protected void done() {
+                if (isCancelled() || file != csvFile) {
+                    return;
+                }
+                try {
+                    totalRows = get();
+                    updateRecordCount();
+                } catch (ExecutionException e) {
+                    LOGGER.log(Level.WARNING, "Failed to count CSV rows", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        rowCounter.execute();
     }
     
     /**
@@ -521,133 +599,117 @@ public class CSVImportDialog extends JDialog {
         // Clear existing preview data
         previewTableModel.setRowCount(0);
         
-        if (csvData.isEmpty()) {
+        if (previewRows.isEmpty()) {
             return;
         }
         
-        // Get selected column indices
-        int dateColIdx = getSelectedIndex(dateColumnCombo);
-        int descColIdx = getSelectedIndex(descriptionColumnCombo);
-        int catColIdx = getSelectedIndex(categoryColumnCombo);
-        int amountColIdx = getSelectedIndex(amountColumnCombo);
-        int typeColIdx = getSelectedIndex(typeColumnCombo);
-        
-        // Get transaction type settings
-        boolean useTypeColumn = useTypeColumnCheckBox.isSelected();
-        Set<String> incomeIdentifiers = parseIdentifiers(incomeIdentifierField.getText());
-        Set<String> expenseIdentifiers = parseIdentifiers(expenseIdentifierField.getText());
-        
-        String dateFormat = (String) dateFormatCombo.getSelectedItem();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateFormat);
-        
-        // Add preview rows (max 10 for performance)
-        int rowCount = Math.min(csvData.size(), 10);
-        for (int i = 0; i < rowCount; i++) {
-            List<String> rowData = csvData.get(i);
-            
-            String dateStr = (dateColIdx >= 0 && dateColIdx < rowData.size()) ? 
-                             rowData.get(dateColIdx) : "";
-            String description = (descColIdx >= 0 && descColIdx < rowData.size()) ? 
-                                rowData.get(descColIdx) : "";
-            String category = (catColIdx >= 0 && catColIdx < rowData.size()) ? 
-                              rowData.get(catColIdx) : "Uncategorised";
-            String amountStr = (amountColIdx >= 0 && amountColIdx < rowData.size()) ? 
-                              rowData.get(amountColIdx) : "0.0";
-            
-            // Try to parse date
-            String formattedDate = dateStr;
-            try {
-                if (!dateStr.isEmpty()) {
-                    formattedDate = parseDate(dateStr, dateFormat);
-                }
-            } catch (DateTimeParseException e) {
-                // Keep original string if parsing fails
-            }
-            
-            // Try to parse amount and apply transaction type if needed
-            double amount = 0.0;
-            try {
-                // Remove any currency symbols and commas
-                String cleanAmount = amountStr.replaceAll("[^\\d.-]", "");
-                amount = Double.parseDouble(cleanAmount);
-                
-                // Apply transaction type if enabled
-                if (useTypeColumn && typeColIdx >= 0 && typeColIdx < rowData.size()) {
-                    String typeValue = rowData.get(typeColIdx).trim();
-                    
-                    // Check if this is an expense based on identifiers
-                    if (matchesAnyIdentifier(typeValue, expenseIdentifiers)) {
-                        amount = -Math.abs(amount); // Make negative
-                    } 
-                    // Check if this is income based on identifiers
-                    else if (matchesAnyIdentifier(typeValue, incomeIdentifiers)) {
-                        amount = Math.abs(amount); // Make positive
-                    }
-                    // If no match, keep as is (could add warning)
-                }
-            } catch (NumberFormatException e) {
-                // Use 0.0 if parsing fails
-            }
-            
-            // Add to preview table
-            Object[] tableRow = {formattedDate, description, category, amount, false};
-            previewTableModel.addRow(tableRow);
+        CSVRowMapper mapper = createMapper();
+        if (mapper == null) {
+            return;
+        }
+        for (List<String> rowData : previewRows) {
+            previewTableModel.addRow(mapper.preview(rowData));
         }
         
-        // Update record count label using the class field
-        recordCountLabel.setText(csvData.size() + " records found, showing " + rowCount);
+        updateRecordCount();
     }
     
     /**
-     * Parses a comma-separated string of identifiers into a set.
+     * Updates the record count label from the preview and the background row count.
+     */
+    private void updateRecordCount() {
+        if (totalRows < 0) {
+            recordCountLabel.setText("Counting records, showing " + previewRows.size());
+        } else {
+            recordCountLabel.setText(totalRows + " records found, showing " + previewRows.size());
+        }
+    }
+    
+    /**
+     * Creates a row mapper from the current column mapping settings.
+     * The date format is checked against the preview rows once, so a file whose dates do not
+     * match the selected format is parsed with the format that fits them.
      *
-     * @param identifiersString comma-separated list of identifiers
-     * @return a set of lowercase identifiers
+     * @return the mapper, or null if the date format is not a valid pattern
      */
-    private Set<String> parseIdentifiers(String identifiersString) {
-        Set<String> result = new HashSet<>();
-        if (identifiersString == null || identifiersString.trim().isEmpty()) {
-            return result;
+    private CSVRowMapper createMapper() {
+        String dateFormat = (String) dateFormatCombo.getSelectedItem();
+        try {
+            DateTimeFormatter.ofPattern(dateFormat);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            recordCountLabel.setText("Invalid date format: " + dateFormat);
+            return null;
         }
-        
-        String[] parts = identifiersString.split(",");
-        for (String part : parts) {
-            String trimmed = part.trim();
-            if (!trimmed.isEmpty()) {
-                result.add(trimmed.toLowerCase());
+        int dateColumn = getSelectedIndex(dateColumnCombo);
+        if (dateColumn >= 0) {
+            List<String> samples = new ArrayList<>();
+            for (List<String> row : previewRows) {
+                if (dateColumn < row.size()) {
+                    samples.add(row.get(dateColumn));
+                }
             }
+            dateFormat = CSVDateParser.detectFormat(samples, dateFormat);
         }
-        return result;
+        return new CSVRowMapper(
+            dateColumn,
+            getSelectedIndex(descriptionColumnCombo),
+            getSelectedIndex(categoryColumnCombo),
+            getSelectedIndex(amountColumnCombo),
+            getSelectedIndex(typeColumnCombo),
+            useTypeColumnCheckBox.isSelected(),
+            CSVRowMapper.parseIdentifiers(incomeIdentifierField.getText()),
+            CSVRowMapper.parseIdentifiers(expenseIdentifierField.getText()),
+            dateFormat).withRules(getRuleCategorizer());
     }
     
     /**
-     * Checks if a value matches any of the provided identifiers.
-     * Performs both exact and partial matching.
+     * Creates the classifier for the rows the rules leave uncategorised. It reuses earlier
+     * answers of the AI service and the user's learned model first, and sends only the rows
+     * both are unsure about to the AI service,
+     * restricted to the user's budget categories.
      *
-     * @param value the value to check
-     * @param identifiers the set of identifiers to match against
-     * @return true if the value matches any identifier, false otherwise
+     * @return the classifier, or null if the dialog has no user
      */
-    private boolean matchesAnyIdentifier(String value, Set<String> identifiers) {
-        if (value == null || value.isEmpty() || identifiers.isEmpty()) {
-            return false;
+    private HybridCategoryClassifier createClassifier() {
+        if (parentPanel == null) {
+            return null;
         }
-        
-        String lowerValue = value.toLowerCase();
-        
-        // Direct match
-        if (identifiers.contains(lowerValue)) {
-            return true;
+        String username = parentPanel.getUsername();
+        classification remote = new classification();
+        // Keyword rules already ran in the row mapper
+        return new HybridCategoryClassifier(getImportCategories(), null, ClassificationCache.getInstance(username),
+                NaiveBayesCategorizer.getInstance(username), remote::complete);
+    }
+    
+    /**
+     * Gets the categories imported rows may be given: the user's budget categories, or the
+     * default ones if the user has no budgets yet.
+     *
+     * @return the categories
+     */
+    private Set<String> getImportCategories() {
+        UserBudgetStorage.setUsername(parentPanel.getUsername());
+        Set<String> categories = UserBudgetStorage.loadCategories();
+        if (categories.isEmpty()) {
+            categories = FinanceData.getDefaultBudgetCategories();
         }
-        
-        // Partial match (if value contains any identifier)
-        for (String identifier : identifiers) {
-            if (lowerValue.contains(identifier)) {
-                return true;
-            }
+        return categories;
+    }
+    
+    /**
+     * Gets the current user's categorization rules, compiling them on first use.
+     * Rows without a category are categorized by these rules as they are converted.
+     * Rules for categories outside {@link #getImportCategories()} are dropped, so the
+     * rows they would match are left to the classifier instead of ending up in "Other".
+     *
+     * @return the compiled rules, or null if the dialog has no user
+     */
+    private RuleCategorizer getRuleCategorizer() {
+        if (ruleCategorizer == null && parentPanel != null) {
+            ruleCategorizer = new RuleCategorizer(CategoryRuleStorage.loadRules(parentPanel.getUsername()),
+                    getImportCategories());
         }
-        
-        return false;
+        return ruleCategorizer;
     }
     
     /**
@@ -666,26 +728,22 @@ public class CSVImportDialog extends JDialog {
     
     /**
      * Imports the transactions from the CSV file based on current settings.
-     * Validates data, handles errors, and updates the application with new transactions.
+     * Validates the mapping and starts a background worker that streams the file.
      */
     private void importTransactions() {
         // Check if we have data to import
-        if (csvData.isEmpty()) {
+        if (csvFile == null || previewRows.isEmpty()) {
             JOptionPane.showMessageDialog(this, 
                 "No data to import. Please load a CSV file first.", 
                 "Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
-        
-        // Get selected column indices
-        int dateColIdx = getSelectedIndex(dateColumnCombo);
-        int descColIdx = getSelectedIndex(descriptionColumnCombo);
-        int catColIdx = getSelectedIndex(categoryColumnCombo);
-        int amountColIdx = getSelectedIndex(amountColumnCombo);
-        int typeColIdx = getSelectedIndex(typeColumnCombo);
+        if (importWorker != null && !importWorker.isDone()) {
+            return;
+        }
         
         // Check if required columns are selected
-        if (dateColIdx < 0 || amountColIdx < 0) {
+        if (getSelectedIndex(dateColumnCombo) < 0 || getSelectedIndex(amountColumnCombo) < 0) {
             JOptionPane.showMessageDialog(this, 
                 "Please select at least Date and Amount columns.", 
                 "Error", JOptionPane.ERROR_MESSAGE);
@@ -693,108 +751,47 @@ public class CSVImportDialog extends JDialog {
         }
         
         // Check for transaction type column if it's enabled
-        boolean useTypeColumn = useTypeColumnCheckBox.isSelected();
-        if (useTypeColumn && typeColIdx < 0) {
+        if (useTypeColumnCheckBox.isSelected() && getSelectedIndex(typeColumnCombo) < 0) {
             JOptionPane.showMessageDialog(this, 
                 "Please select a Transaction Type column or disable its use.", 
                 "Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
         
-        // Get transaction type settings
-        Set<String> incomeIdentifiers = parseIdentifiers(incomeIdentifierField.getText());
-        Set<String> expenseIdentifiers = parseIdentifiers(expenseIdentifierField.getText());
-        
-        String dateFormat = (String) dateFormatCombo.getSelectedItem();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateFormat);
-        
-        List<Object[]> transactions = new ArrayList<>();
-        int skippedRows = 0;
-        StringBuilder errorMessages = new StringBuilder();
-        
-        for (int rowIndex = 0; rowIndex < csvData.size(); rowIndex++) {
-            List<String> rowData = csvData.get(rowIndex);
-            
-            String dateStr = (dateColIdx >= 0 && dateColIdx < rowData.size()) ? 
-                             rowData.get(dateColIdx) : "";
-            String description = (descColIdx >= 0 && descColIdx < rowData.size()) ? 
-                                rowData.get(descColIdx) : "";
-            String category = (catColIdx >= 0 && catColIdx < rowData.size()) ? 
-                              rowData.get(catColIdx) : "Uncategorised";
-            String amountStr = (amountColIdx >= 0 && amountColIdx < rowData.size()) ? 
-                              rowData.get(amountColIdx) : "0.0";
-            
-            // Try to parse date
-            String formattedDate = "";
-            try {
-                if (!dateStr.isEmpty()) {
-                    formattedDate = parseDate(dateStr, dateFormat);
-                } else {
-                    errorMessages.append("Row ").append(rowIndex + 1).append(": Empty date field\n");
-                    skippedRows++;
-                    continue;
-                }
-            } catch (DateTimeParseException e) {
-                // Log error and skip rows with parsing failures
-                errorMessages.append("Row ").append(rowIndex + 1)
-                              .append(": Failed to parse date '").append(dateStr)
-                              .append("' using format '").append(dateFormat).append("' - ")
-                              .append(e.getMessage()).append("\n");
-                skippedRows++;
-                continue;
-            }
-            
-            // Try to parse amount and apply transaction type if needed
-            double amount = 0.0;
-            try {
-                // Remove any currency symbols and commas
-                String cleanAmount = amountStr.replaceAll("[^\\d.-]", "");
-                if (cleanAmount.isEmpty()) {
-                    errorMessages.append("Row ").append(rowIndex + 1).append(": Empty amount field\n");
-                    skippedRows++;
-                    continue;
-                }
-                amount = Double.parseDouble(cleanAmount);
-                
-                // Apply transaction type if enabled
-                if (useTypeColumn && typeColIdx >= 0 && typeColIdx < rowData.size()) {
-                    String typeValue = rowData.get(typeColIdx).trim();
-                    
-                    // Check if this is an expense based on identifiers
-                    if (matchesAnyIdentifier(typeValue, expenseIdentifiers)) {
-                        amount = -Math.abs(amount); // Make negative
-                    } 
-                    // Check if this is income based on identifiers
-                    else if (matchesAnyIdentifier(typeValue, incomeIdentifiers)) {
-                        amount = Math.abs(amount); // Make positive
-                    } else {
-                        // Neither income nor expense identifier matched
-                        errorMessages.append("Row ").append(rowIndex + 1)
-                                  .append(": Could not determine transaction type from '")
-                                  .append(typeValue).append("'\n");
-                    }
-                }
-            } catch (NumberFormatException e) {
-                // Log error and skip row if amount parsing fails
-                errorMessages.append("Row ").append(rowIndex + 1)
-                              .append(": Failed to parse amount '").append(amountStr).append("'\n");
-                skippedRows++;
-                continue;
-            }
-            
-            // Create transaction row
-            Object[] transaction = {formattedDate, description, category, amount, false};
-            transactions.add(transaction);
-            LOGGER.log(Level.INFO, "Parsed transaction: {0}", Arrays.toString(transaction));
+        CSVRowMapper mapper = createMapper();
+        if (mapper == null) {
+            JOptionPane.showMessageDialog(this, 
+                "The date format is not a valid pattern.", 
+                "Error", JOptionPane.ERROR_MESSAGE);
+            return;
         }
         
+        importButton.setEnabled(false);
+        progressBar.setValue(0);
+        progressBar.setVisible(true);
+        importWorker = new ImportWorker(csvFile, csvHeaders.size(), mapper, createClassifier());
+        importWorker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) {
+                progressBar.setValue((Integer) e.getNewValue());
+            }
+        });
+        importWorker.execute();
+    }
+    
+    /**
+     * Finishes an import on the Event Dispatch Thread: reports skipped rows, saves the
+     * transactions and hands them to the transactions panel.
+     *
+     * @param result the conversion result
+     */
+    private void completeImport(ImportResult result) {
         // Display warning if some rows were skipped
-        if (skippedRows > 0) {
-            String message = "Warning: " + skippedRows + " of " + csvData.size() + 
+        if (result.skippedRows > 0) {
+            String message = "Warning: " + result.skippedRows + " of " + result.totalRows + 
                              " rows were skipped due to parsing errors.\n\n";
-            if (errorMessages.length() > 0) {
+            if (!result.errors.isEmpty()) {
                 // Limit the number of error messages to avoid huge dialog
-                String errors = errorMessages.toString();
+                String errors = String.join("\n", result.errors) + "\n";
                 if (errors.length() > 500) {
                     errors = errors.substring(0, 500) + "...\n(more errors not shown)";
                 }
@@ -805,6 +802,7 @@ public class CSVImportDialog extends JDialog {
                 "Import Warning", JOptionPane.WARNING_MESSAGE);
         }
         
+        List<Object[]> transactions = result.transactions;
         // Check if we have any transactions to save
         if (transactions.isEmpty()) {
             JOptionPane.showMessageDialog(this, 
@@ -823,7 +821,9 @@ public class CSVImportDialog extends JDialog {
         }
         
         // Add imported transactions to FinanceData
-        financeData.importTransactions(transactions);
+        if (financeData != null) {
+            financeData.importTransactions(transactions);
+        }
         
         // Import the transactions into the main panel
         parentPanel.addTransactionsFromCSV(transactions);
@@ -836,6 +836,173 @@ public class CSVImportDialog extends JDialog {
         // Close the dialog
         dispose();
     }
+    
+    @Override
+    public void dispose() {
+        if (importWorker != null) {
+            importWorker.cancel(true);
+        }
+        if (rowCounter != null) {
+            rowCounter.cancel(true);
+        }
+        super.dispose();
+    }
+    
+    /**
+     * The transactions converted from a CSV file and the rows that were rejected.
+     */
+    private static final class ImportResult {
+        private final List<Object[]> transactions = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private int totalRows;
+        private int skippedRows;
+    }
+    
+    /**
+     * Streams a CSV file and converts its rows in the background, reporting progress
+     * by the share of the file read so far. Rows are read in batches, and each batch is
+     * converted in parallel by a {@link CSVConversionStage}. Rows still uncategorised at the
+     * end go through the {@link HybridCategoryClassifier}.
+     */
+    private final class ImportWorker extends SwingWorker<ImportResult, Void> {
+        private final File file;
+        private final int columnCount;
+        private final CSVRowMapper mapper;
+        private final HybridCategoryClassifier classifier;
+        
+        /**
+         * Creates an import worker.
+         *
+         * @param file the CSV file
+         * @param columnCount the number of header columns; rows with another count are ignored
+         * @param mapper the row mapper
+         * @param classifier categorizes rows left uncategorised by the mapper, or null to keep them
+         */
+        ImportWorker(File file, int columnCount, CSVRowMapper mapper, HybridCategoryClassifier classifier) {
+            this.file = file;
+            this.columnCount = columnCount;
+            this.mapper = mapper;
+            this.classifier = classifier;
+        }
+        
+        @Override
+        protected ImportResult doInBackground() throws IOException {
+            ImportResult result = new ImportResult();
+            CSVConversionStage stage = new CSVConversionStage(mapper);
+            long length = Math.max(1, file.length());
+            List<List<String>> batch = new ArrayList<>(IMPORT_BATCH_ROWS);
+            
+            try (CountingInputStream in = new CountingInputStream(new FileInputStream(file));
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(in, Charset.defaultCharset()))) {
+                reader.readLine(); // Skip headers
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (isCancelled()) {
+                        return result;
+                    }
+                    List<String> rowData = CSVRowMapper.parseLine(line);
+                    if (rowData.size() != columnCount) {
+                        continue;
+                    }
+                    batch.add(rowData);
+                    if (batch.size() == IMPORT_BATCH_ROWS) {
+                        convertBatch(stage, batch, result);
+                        setProgress((int) Math.min(100, in.getCount() * 100 / length));
+                    }
+                }
+                if (!batch.isEmpty() && !isCancelled()) {
+                    convertBatch(stage, batch, result);
+                }
+            }
+            if (classifier != null && !isCancelled()) {
+                classifier.classify(result.transactions, this::isCancelled);
+            }
+            return result;
+        }
+        
+        /**
+         * Converts a batch of rows in parallel, adds the outcome to the import result
+         * and empties the batch.
+         *
+         * @param stage the conversion stage
+         * @param batch the rows read since the last batch
+         * @param result the import result
+         */
+        private void convertBatch(CSVConversionStage stage, List<List<String>> batch, ImportResult result) {
+            CSVConversionStage.Result converted = stage.convert(batch, result.totalRows + 1);
+            result.totalRows += batch.size();
+            result.skippedRows += converted.getSkippedRows();
+            result.transactions.addAll(converted.getTransactions());
+            List<String> errors = converted.getErrors();
+            int room = MAX_REPORTED_ERRORS - result.errors.size();
+            if (room > 0) {
+                result.errors.addAll(errors.subList(0, Math.min(room, errors.size())));
+            }
+            LOGGER.log(Level.FINE, "Converted {0} rows", result.totalRows);
+            batch.clear();
+        }
+        
+        @Override
+        protected void done() {
+            importButton.setEnabled(true);
+            progressBar.setVisible(false);
+            try {
+                completeImport(get());
+            } catch (CancellationException e) {
+                LOGGER.log(Level.INFO, "CSV import cancelled");
+            } catch (ExecutionException e) {
+                LOGGER.log(Level.WARNING, "CSV import failed", e.getCause());
+                JOptionPane.showMessageDialog(CSVImportDialog.this, 
+                    "Error reading CSV file: " + e.getCause().getMessage(), 
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    /**
+     * Input stream counting the bytes read through it, used for import progress.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+        
+        /**
+         * Wraps a stream.
+         *
+         * @param in the stream to count
+         */
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+        
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+        
+        /**
+         * Gets the number of bytes read so far.
+         *
+         * @return the byte count
+         */
+        long getCount() {
+            return count;
+        }
+    }
 
     /**
      * Applies a predefined template for common CSV formats.
@@ -922,76 +1089,4 @@ public class CSVImportDialog extends JDialog {
         
         // If still not found, leave as is
     }
-
-    /**
-     * Parses a date string using multiple formats.
-     * Tries the primary format first, then falls back to other formats if needed.
-     *
-     * @param dateStr the date string to parse
-     * @param primaryFormat the primary date format to try first
-     * @return a formatted date string in 'yyyy-MM-dd' format
-     * @throws DateTimeParseException if the date cannot be parsed with any format
-     */
-    private String parseDate(String dateStr, String primaryFormat) {
-        if (dateStr == null || dateStr.isEmpty()) {
-            return "";
-        }
-
-        // Try using the primary format first
-        try {
-            return parseDateWithFormat(dateStr, primaryFormat);
-        } catch (DateTimeParseException e) {
-            // Try other possible formats
-            String[] formatsToTry = {
-                // Formats with hyphens
-                "yyyy-MM-dd", "yyyy-MM-dd HH:mm", "yyyy-MM-dd HH:mm:ss",
-                // Formats with slashes
-                "yyyy/MM/dd", "yyyy/M/d HH:mm", "yyyy/M/d HH:mm:ss",
-                "yyyy/MM/dd", "yyyy/MM/dd HH:mm", "yyyy/MM/dd HH:mm:ss",
-                // US formats
-                "MM/dd/yyyy", "MM/dd/yyyy HH:mm", "MM/dd/yyyy HH:mm:ss",
-                // European formats
-                "dd/MM/yyyy", "dd/MM/yyyy HH:mm", "dd/MM/yyyy HH:mm:ss",
-                // Other common formats
-                "yyyy.MM.dd", "dd.MM.yyyy", "MM.dd.yyyy"
-            };
-            
-            for (String format : formatsToTry) {
-                if (format.equals(primaryFormat)) continue; // Skip format already tried
-                
-                try {
-                    return parseDateWithFormat(dateStr, format);
-                } catch (DateTimeParseException ignored) {
-                    // Continue to next format
-                }
-            }
-            
-            // All formats failed, throw the original exception
-            throw e;
-        }
-    }
-
-    /**
-     * Parses a date string with a specific format.
-     * Handles both date-only and date-time formats.
-     *
-     * @param dateStr the date string to parse
-     * @param format the format to use for parsing
-     * @return a formatted date string in 'yyyy-MM-dd' format
-     * @throws DateTimeParseException if the date cannot be parsed with the given format
-     */
-    private String parseDateWithFormat(String dateStr, String format) throws DateTimeParseException {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format);
-        LocalDate date;
-        
-        if (format.contains("HH:mm") || format.contains("HH:mm:ss")) {
-            // If it's a date-time format, first parse as LocalDateTime then convert to LocalDate
-            date = LocalDateTime.parse(dateStr, formatter).toLocalDate();
-        } else {
-            // Pure date format
-            date = LocalDate.parse(dateStr, formatter);
-        }
-        
-        return date.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-    }
-}
\ No newline at end of file
+}
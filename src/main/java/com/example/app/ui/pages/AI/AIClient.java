@@ -0,0 +1,350 @@
+package com.example.app.ui.pages.AI;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpEntity;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared HTTP client for the DeepSeek chat completion API.
+ * <p>
+ * All AI calls of the application go through one client, so the connections it opens are
+ * pooled and kept alive between requests instead of paying the TCP and TLS handshakes on
+ * every AI action. The JSON serializer is created once as well. The base URL and the timeouts
+ * can be set with system properties, which lets integration tests point the client at a
+ * local stub server.
+ * <p>
+ * Chat replies can also be streamed: with {@code stream: true} the API sends the reply as
+ * server-sent events carrying a few tokens each, which are parsed as they arrive so the
+ * first words can be shown long before the whole answer is ready.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>One pool of keep-alive connections shared by all AI calls</li>
+ *   <li>Configurable connect and read timeouts</li>
+ *   <li>Base URL override for stub servers</li>
+ *   <li>Streaming replies parsed incrementally from server-sent events</li>
+ *   <li>Reused JSON serializer</li>
+ *   <li>Transport errors reported as {@link IOException}</li>
+ * </ul>
+ */
+public final class AIClient {
+    private static final Logger LOGGER = Logger.getLogger(AIClient.class.getName());
+
+    /** Base URL of the DeepSeek API */
+    public static final String DEFAULT_BASE_URL = "https://api.deepseek.com";
+
+    /** System property overriding the base URL */
+    public static final String BASE_URL_PROPERTY = "finance.ai.baseUrl";
+
+    /** System property setting the connect timeout in milliseconds */
+    public static final String CONNECT_TIMEOUT_PROPERTY = "finance.ai.connectTimeoutMs";
+
+    /** System property setting the read timeout in milliseconds */
+    public static final String READ_TIMEOUT_PROPERTY = "finance.ai.readTimeoutMs";
+
+    /** Default time allowed to open a connection */
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    /** Default time allowed for a whole reply; model replies can take a while */
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(90);
+
+    /** Path of the chat completion endpoint */
+    static final String CHAT_PATH = "/v1/chat/completions";
+
+    /** Model used for all requests */
+    static final String MODEL = "deepseek-chat";
+
+    /** Data of the event that ends a streamed reply */
+    private static final String STREAM_DONE = "[DONE]";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static AIClient instance;
+
+    private final String baseUrl;
+    private final RestTemplate restTemplate;
+
+    /**
+     * Creates a client with its own connection pool. The application uses {@link #getInstance()}.
+     *
+     * @param baseUrl the base URL of the API, without the endpoint path
+     * @param connectTimeout the time allowed to open a connection
+     * @param readTimeout the time allowed for a reply
+     */
+    public AIClient(String baseUrl, Duration connectTimeout, Duration readTimeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        // The JDK client pools connections and keeps them alive between requests
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    /**
+     * Returns the shared client, configured from the system properties on first use.
+     *
+     * @return the shared client
+     */
+    public static synchronized AIClient getInstance() {
+        if (instance == null) {
+            instance = new AIClient(
+                    System.getProperty(BASE_URL_PROPERTY, DEFAULT_BASE_URL),
+                    durationProperty(CONNECT_TIMEOUT_PROPERTY, DEFAULT_CONNECT_TIMEOUT),
+                    durationProperty(READ_TIMEOUT_PROPERTY, DEFAULT_READ_TIMEOUT));
+            LOGGER.log(Level.INFO, "AI client created for: {0}", instance.baseUrl);
+        }
+        return instance;
+    }
+
+    /**
+     * Reads a duration in milliseconds from a system property.
+     *
+     * @param property the property name
+     * @param defaultValue the duration used if the property is missing or invalid
+     * @return the duration
+     */
+    private static Duration durationProperty(String property, Duration defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            long millis = Long.parseLong(value.trim());
+            if (millis > 0) {
+                return Duration.ofMillis(millis);
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the default
+        }
+        LOGGER.log(Level.WARNING, "Ignoring invalid value {0} of {1}", new Object[]{value, property});
+        return defaultValue;
+    }
+
+    /**
+     * Gets the base URL requests are sent to.
+     *
+     * @return the base URL, without a trailing slash
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Sends a prompt as a single user message to the chat completion endpoint.
+     *
+     * @param apiKey the DeepSeek API key for authentication
+     * @param prompt the prompt
+     * @return the raw JSON response
+     * @throws IOException if the request fails, times out or is answered with an error status
+     */
+    public String chat(String apiKey, String prompt) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(apiKey);
+        HttpEntity<String> httpEntity = new HttpEntity<>(requestBody(prompt, null), headers);
+
+        ResponseEntity<String> responseEntity;
+        try {
+            responseEntity = restTemplate.postForEntity(baseUrl + CHAT_PATH, httpEntity, String.class);
+        } catch (RestClientException e) {
+            throw new IOException("AI request failed: " + e.getMessage(), e);
+        } catch (CancellationException e) {
+            // Spring cancels the exchange on a read timeout and may rethrow the cancellation as is
+            throw new IOException("AI request timed out", e);
+        }
+        if (responseEntity.getStatusCode().is2xxSuccessful() && responseEntity.getBody() != null) {
+            return responseEntity.getBody();
+        }
+        throw new IOException("Unexpected status code " + responseEntity.getStatusCode().value());
+    }
+
+    /**
+     * Sends a prompt as a single user message and streams the reply.
+     * Every piece of the reply is passed to {@code onDelta} on the calling thread as soon as
+     * it is parsed. A server that answers with a complete JSON reply instead of an event
+     * stream is handled too, with the whole content passed as one piece.
+     *
+     * @param apiKey the DeepSeek API key for authentication
+     * @param prompt the prompt
+     * @param onDelta receives the reply text piece by piece
+     * @return the whole reply text
+     * @throws IOException if the request fails, times out, is answered with an error status,
+     *                     or the reply is malformed or empty
+     */
+    public String chatStream(String apiKey, String prompt, Consumer<String> onDelta) throws IOException {
+        byte[] body = requestBody(prompt, Boolean.TRUE).getBytes(StandardCharsets.UTF_8);
+        long start = System.nanoTime();
+        String text;
+        try {
+            text = restTemplate.execute(baseUrl + CHAT_PATH, HttpMethod.POST, request -> {
+                request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                request.getHeaders().setAccept(Arrays.asList(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON));
+                request.getHeaders().setBearerAuth(apiKey);
+                request.getBody().write(body);
+            }, response -> {
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(response.getBody(), StandardCharsets.UTF_8));
+                boolean[] first = {true};
+                Consumer<String> timedDelta = delta -> {
+                    if (first[0]) {
+                        first[0] = false;
+                        LOGGER.log(Level.FINE, "First AI token after {0} ms", (System.nanoTime() - start) / 1_000_000);
+                    }
+                    onDelta.accept(delta);
+                };
+                if (MediaType.TEXT_EVENT_STREAM.isCompatibleWith(response.getHeaders().getContentType())) {
+                    return readStream(reader, timedDelta);
+                }
+                String content = readContent(reader);
+                timedDelta.accept(content);
+                return content;
+            });
+        } catch (RestClientException e) {
+            throw new IOException("AI request failed: " + e.getMessage(), e);
+        } catch (CancellationException e) {
+            // Spring cancels the exchange on a read timeout and may rethrow the cancellation as is
+            throw new IOException("AI request timed out", e);
+        }
+        if (text == null || text.isEmpty()) {
+            throw new IOException("AI reply was empty");
+        }
+        return text;
+    }
+
+    /**
+     * Serializes a chat request with one user message.
+     *
+     * @param prompt the prompt
+     * @param stream whether to stream the reply, or null for the API default
+     * @return the JSON request body
+     * @throws IOException if serialization fails
+     */
+    private static String requestBody(String prompt, Boolean stream) throws IOException {
+        DeepseekRequest.Message message = DeepseekRequest.Message.builder()
+                .role("user")
+                .content(prompt)
+                .build();
+        DeepseekRequest requestBody = DeepseekRequest.builder()
+                .model(MODEL)
+                .messages(Collections.singletonList(message))
+                .stream(stream)
+                .build();
+        return MAPPER.writeValueAsString(requestBody);
+    }
+
+    /**
+     * Reads a streamed reply: server-sent events whose data is a completion chunk, ended by
+     * a {@code [DONE]} event or the end of the stream. Comment lines and other fields are ignored.
+     *
+     * @param reader the event stream
+     * @param onDelta receives the content of every chunk that has some
+     * @return the whole reply text
+     * @throws IOException if reading fails or an event is not a completion chunk
+     */
+    static String readStream(BufferedReader reader, Consumer<String> onDelta) throws IOException {
+        StringBuilder text = new StringBuilder();
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                // A blank line ends an event
+                if (dispatch(data, text, onDelta)) {
+                    return text.toString();
+                }
+            } else if (line.startsWith("data:")) {
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(line, line.startsWith("data: ") ? 6 : 5, line.length());
+            }
+        }
+        dispatch(data, text, onDelta);
+        return text.toString();
+    }
+
+    /**
+     * Handles the data of one event and clears it.
+     *
+     * @param data the data of the event
+     * @param text the reply text so far
+     * @param onDelta receives the content of the chunk
+     * @return true if the event ends the stream
+     * @throws IOException if the data is not a completion chunk
+     */
+    private static boolean dispatch(StringBuilder data, StringBuilder text, Consumer<String> onDelta)
+            throws IOException {
+        String payload = data.toString().trim();
+        data.setLength(0);
+        if (payload.isEmpty()) {
+            return false;
+        }
+        if (STREAM_DONE.equals(payload)) {
+            return true;
+        }
+        try {
+            JSONArray choices = new JSONObject(payload).getJSONArray("choices");
+            JSONObject delta = choices.length() == 0 ? null : choices.getJSONObject(0).optJSONObject("delta");
+            String content = delta == null ? "" : delta.optString("content", "");
+            if (!content.isEmpty()) {
+                text.append(content);
+                onDelta.accept(content);
+            }
+            return false;
+        } catch (JSONException e) {
+            throw new IOException("Malformed AI stream event: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the content of a complete, non-streamed reply.
+     *
+     * @param reader the reply body
+     * @return the content of the first choice
+     * @throws IOException if reading fails or the reply has no content
+     */
+    private static String readContent(BufferedReader reader) throws IOException {
+        StringBuilder body = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            body.append(line).append('\n');
+        }
+        try {
+            return new JSONObject(body.toString()).getJSONArray("choices")
+                    .getJSONObject(0).getJSONObject("message").getString("content");
+        } catch (JSONException e) {
+            throw new IOException("Malformed AI reply: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Drops the shared client, so the next {@link #getInstance()} reads the system properties again.
+     * <p>
+     * <b>For testing purposes only.</b>
+     */
+    static synchronized void _resetForTests() {
+        instance = null;
+    }
+}
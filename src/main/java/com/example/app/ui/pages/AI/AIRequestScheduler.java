@@ -0,0 +1,350 @@
+package com.example.app.ui.pages.AI;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs AI requests on a small, bounded pool of background threads.
+ * <p>
+ * Every user has a queue of requests that run one at a time in submission order, so chat
+ * replies arrive in the order the messages were sent and rapid clicks cannot pile up HTTP
+ * calls. Queues of different users run in parallel up to a fixed number of threads. A request
+ * can be given a key: submitting another request with the same key for the same user cancels
+ * the older one, whether it is still queued or already running, so only the newest
+ * "regenerate advice" or "new budget suggestions" request is answered.
+ * <p>
+ * Requests return a {@link CompletableFuture}. Cancelling it removes a queued request or
+ * interrupts a running one, and a running request that exceeds its timeout is completed with
+ * a {@link TimeoutException} and interrupted the same way. A request only frees its queue
+ * once its task has actually returned.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Per-user request queues run in order, one request at a time</li>
+ *   <li>Concurrency cap across users and a bounded number of queued requests per user</li>
+ *   <li>Keyed requests superseding older ones</li>
+ *   <li>Cancellable futures and per-request timeouts</li>
+ *   <li>Daemon threads that end when idle</li>
+ * </ul>
+ */
+public final class AIRequestScheduler {
+    private static final Logger LOGGER = Logger.getLogger(AIRequestScheduler.class.getName());
+    private static AIRequestScheduler instance;
+
+    /** Default number of requests running at once across all users */
+    public static final int DEFAULT_MAX_CONCURRENT = 4;
+
+    /** Default number of requests a user can have waiting */
+    public static final int DEFAULT_MAX_QUEUED_PER_USER = 8;
+
+    /** Default time a request may run; above the client read timeout so that one fires first */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(120);
+
+    private final int maxQueuedPerUser;
+    private final Duration defaultTimeout;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor timer;
+
+    /** Request queues by user; a queue is dropped when it is idle and empty */
+    private final Map<String, Lane> lanes = new HashMap<>();
+
+    /**
+     * Creates a scheduler. The application uses {@link #getInstance()}.
+     *
+     * @param maxConcurrent the number of requests running at once across all users
+     * @param maxQueuedPerUser the number of requests a user can have waiting
+     * @param defaultTimeout the time a request may run unless given another timeout
+     */
+    AIRequestScheduler(int maxConcurrent, int maxQueuedPerUser, Duration defaultTimeout) {
+        this.maxQueuedPerUser = maxQueuedPerUser;
+        this.defaultTimeout = defaultTimeout;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "ai-request-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "ai-request-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Returns the shared scheduler.
+     *
+     * @return the shared scheduler
+     */
+    public static synchronized AIRequestScheduler getInstance() {
+        if (instance == null) {
+            instance = new AIRequestScheduler(DEFAULT_MAX_CONCURRENT, DEFAULT_MAX_QUEUED_PER_USER, DEFAULT_TIMEOUT);
+        }
+        return instance;
+    }
+
+    /**
+     * Queues a request with the default timeout.
+     *
+     * @param user the user the request belongs to
+     * @param key the key of the request, or null if it never supersedes another
+     * @param task the request; should stop when its thread is interrupted
+     * @param <T> the type of the result
+     * @return the future result, completed with a {@link RejectedExecutionException} if the
+     *         user's queue is full
+     */
+    public <T> CompletableFuture<T> submit(String user, String key, Callable<T> task) {
+        return submit(user, key, task, defaultTimeout);
+    }
+
+    /**
+     * Queues a request, cancelling the user's older requests with the same key.
+     *
+     * @param user the user the request belongs to
+     * @param key the key of the request, or null if it never supersedes another
+     * @param task the request; should stop when its thread is interrupted
+     * @param timeout the time the request may run once started
+     * @param <T> the type of the result
+     * @return the future result, completed with a {@link RejectedExecutionException} if the
+     *         user's queue is full
+     */
+    public synchronized <T> CompletableFuture<T> submit(String user, String key, Callable<T> task, Duration timeout) {
+        Lane lane = lanes.computeIfAbsent(user == null ? "" : user, Lane::new);
+        if (key != null) {
+            for (Request<?> older : lane.requests()) {
+                if (key.equals(older.key)) {
+                    LOGGER.log(Level.FINE, "Superseding AI request {0} of {1}", new Object[]{key, lane.user});
+                    older.result.cancel(true);
+                }
+            }
+        }
+        Request<T> request = new Request<>(lane, key, task, timeout);
+        if (lane.pending.size() >= maxQueuedPerUser) {
+            request.result.completeExceptionally(new RejectedExecutionException(
+                    "Too many AI requests waiting, please try again later"));
+            return request.result;
+        }
+        lane.pending.add(request);
+        request.result.whenComplete((value, error) -> {
+            if (error != null) {
+                request.stop();
+            }
+        });
+        drain(lane);
+        return request.result;
+    }
+
+    /**
+     * Cancels all queued and running requests of a user.
+     *
+     * @param user the user
+     * @return the number of requests cancelled
+     */
+    public synchronized int cancelAll(String user) {
+        Lane lane = lanes.get(user == null ? "" : user);
+        if (lane == null) {
+            return 0;
+        }
+        int cancelled = 0;
+        for (Request<?> request : lane.requests()) {
+            if (request.result.cancel(true)) {
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Gets the number of requests of a user that are waiting or running.
+     *
+     * @param user the user
+     * @return the number of requests
+     */
+    public synchronized int getRequestCount(String user) {
+        Lane lane = lanes.get(user == null ? "" : user);
+        return lane == null ? 0 : lane.requests().size();
+    }
+
+    /**
+     * Starts the next request of a lane if none is running.
+     *
+     * @param lane the lane
+     */
+    private void drain(Lane lane) {
+        while (lane.running == null && !lane.pending.isEmpty()) {
+            Request<?> next = lane.pending.poll();
+            if (!next.result.isDone()) {
+                lane.running = next;
+                executor.execute(next);
+            }
+        }
+        if (lane.running == null) {
+            lanes.remove(lane.user, lane);
+        }
+    }
+
+    /**
+     * Called when the task of a running request has returned.
+     *
+     * @param request the request
+     */
+    private synchronized void finished(Request<?> request) {
+        Lane lane = request.lane;
+        if (lane.running == request) {
+            lane.running = null;
+        }
+        drain(lane);
+    }
+
+    /**
+     * Removes a request that was cancelled before it started.
+     *
+     * @param request the request
+     */
+    private synchronized void dequeue(Request<?> request) {
+        if (request.lane.pending.remove(request)) {
+            drain(request.lane);
+        }
+    }
+
+    /**
+     * The requests of one user.
+     */
+    private static final class Lane {
+        private final String user;
+        private final ArrayDeque<Request<?>> pending = new ArrayDeque<>();
+        private Request<?> running;
+
+        /**
+         * Creates a lane.
+         *
+         * @param user the user
+         */
+        Lane(String user) {
+            this.user = user;
+        }
+
+        /**
+         * Lists the running and waiting requests.
+         *
+         * @return a copy of the requests, the running one first
+         */
+        List<Request<?>> requests() {
+            List<Request<?>> requests = new ArrayList<>(pending.size() + 1);
+            if (running != null) {
+                requests.add(running);
+            }
+            requests.addAll(pending);
+            return requests;
+        }
+    }
+
+    /**
+     * One queued request.
+     *
+     * @param <T> the type of the result
+     */
+    private final class Request<T> implements Runnable {
+        private final Lane lane;
+        private final String key;
+        private final Callable<T> task;
+        private final Duration timeout;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        /** The thread running the task, or null if it is not running; guarded by this */
+        private Thread thread;
+
+        /**
+         * Creates a request.
+         *
+         * @param lane the lane of the user
+         * @param key the key, or null
+         * @param task the task
+         * @param timeout the time the task may run
+         */
+        Request(Lane lane, String key, Callable<T> task, Duration timeout) {
+            this.lane = lane;
+            this.key = key;
+            this.task = Objects.requireNonNull(task);
+            this.timeout = timeout;
+        }
+
+        @Override
+        public void run() {
+            boolean skipped;
+            synchronized (this) {
+                skipped = result.isDone();
+                if (!skipped) {
+                    thread = Thread.currentThread();
+                }
+            }
+            if (skipped) {
+                finished(this);
+                return;
+            }
+            ScheduledFuture<?> deadline = timer.schedule(() -> result.completeExceptionally(
+                    new TimeoutException("AI request timed out after " + timeout.toMillis() + " ms")),
+                    timeout.toMillis(), TimeUnit.MILLISECONDS);
+            try {
+                result.complete(task.call());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            } finally {
+                deadline.cancel(false);
+                synchronized (this) {
+                    thread = null;
+                }
+                // Clear an interrupt meant for this request before the thread is reused
+                Thread.interrupted();
+                finished(this);
+            }
+        }
+
+        /**
+         * Stops the request after it was cancelled or timed out: removes it from the queue if
+         * it has not started, or interrupts its task if it is running.
+         */
+        void stop() {
+            synchronized (this) {
+                if (thread != null) {
+                    thread.interrupt();
+                    return;
+                }
+            }
+            dequeue(this);
+        }
+    }
+
+    /**
+     * Stops the shared scheduler's threads and drops it.
+     * <p>
+     * <b>For testing purposes only.</b>
+     */
+    static synchronized void _resetForTests() {
+        if (instance != null) {
+            instance.executor.shutdownNow();
+            instance.timer.shutdownNow();
+        }
+        instance = null;
+    }
+}
@@ -1,4 +1,5 @@
 package com.example.app.ui.pages.AI;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.Builder;
 import java.util.List;
@@ -23,6 +24,13 @@ public class DeepseekRequest {
      */
     private List<Message> messages;
 
+    /**
+     * Whether the reply is sent incrementally as server-sent events.
+     * Left out of the request when null, which means a single complete reply.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean stream;
+
     /**
      * Represents a message in the conversation with the DeepSeek AI.
      * Each message has a role (e.g., "user", "assistant") and content.
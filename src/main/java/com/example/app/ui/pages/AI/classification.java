@@ -1,18 +1,9 @@
 package com.example.app.ui.pages.AI;
 
 import java.io.IOException;
-import java.util.Collections;
-import java.util.List;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Classification utility for financial transactions using DeepSeek AI API.
@@ -20,26 +11,29 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  */
 public class classification {
 
+    private final AIClient client;
+
     /**
-     * private constructor to prevent instantiation of this utility class.
-     * This class only contains static methods and should not be instantiated.
+     * Creates a classifier that sends requests through the shared {@link AIClient}.
      */
     public classification() {
-        // Prevent instantiation
+        this(AIClient.getInstance());
     }
 
     /**
-     * DeepSeek API endpoint URL
+     * Creates a classifier that sends requests through the given client.
+     *
+     * @param client the AI client
      */
-    private static final String API_URL = "https://api.deepseek.com/v1/chat/completions";
-    
+    public classification(AIClient client) {
+        this.client = client;
+    }
+
     /**
      * DeepSeek API Key - Keep this private and secure!
      */
     private static String API_KEY = "sk-fdf26a37926f46ab8d4884c2cd533db8";
     
-    private final RestTemplate restTemplate = new RestTemplate();
-    
     /**
      * Sends a request to the DeepSeek API to classify transaction data.
      * 
@@ -49,37 +43,36 @@ public class classification {
      * @throws IOException If there is an error in the API communication
      */
     public String getResponse(String apiKey, String prompt) throws IOException {
-        // Build request body
-        
         prompt = "请你根据以下的账单信息，将这些交易中的每一笔交易归于{Gift,Entertainment,Service,Shopping,Other,Food}中的一类。示例输入如下：2025-04-14,风味餐厅,商户消费,-15.00\r\n2025-04-14,微信转账,红包,12.00\r\n\r\n示例输出字符串如下，类别中间以逗号隔开：Food,Other，如果不属于任何类别归类为Other.除此之外不允许包含其它任何的内容" + prompt;
-        DeepseekRequest.Message message = DeepseekRequest.Message.builder()
-                .role("user")
-                .content(prompt)
-                .build();
-        DeepseekRequest requestBody = DeepseekRequest.builder()
-                .model("deepseek-chat")
-                .messages(Collections.singletonList(message))
-                .build();
-
-        // Serialize request body to JSON string
-        String jsonBody = new ObjectMapper().writeValueAsString(requestBody);
-
-        // Create HTTP headers
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(apiKey); // Equivalent to headers.add("Authorization", "Bearer " + apiKey)
-
-        // Build HttpEntity object
-        HttpEntity<String> httpEntity = new HttpEntity<>(jsonBody, headers);
-
-        // Send HTTP POST request and get response
-        ResponseEntity<String> responseEntity = restTemplate.postForEntity(API_URL, httpEntity, String.class);
+        return send(apiKey, prompt);
+    }
 
-        // Check response status code and response body validity
-        if (responseEntity.getStatusCode().is2xxSuccessful() && responseEntity.getBody() != null) {
-            return responseEntity.getBody();
+    /**
+     * Sends a complete classification prompt, such as a batch built by
+     * {@link com.example.app.model.HybridCategoryClassifier}, and returns the reply text.
+     *
+     * @param prompt The prompt including its instructions
+     * @return The content of the model's reply
+     * @throws IOException If there is an error in the API communication or the reply has no content
+     */
+    public String complete(String prompt) throws IOException {
+        String content = parseAIResponse(send(API_KEY, prompt));
+        if (content.startsWith("Error:")) {
+            throw new IOException(content);
         }
-        throw new IOException("Unexpected status code" );
+        return content;
+    }
+
+    /**
+     * Sends a prompt as a single user message to the DeepSeek API.
+     *
+     * @param apiKey The DeepSeek API key for authentication
+     * @param prompt The prompt
+     * @return The raw JSON response from the DeepSeek API
+     * @throws IOException If there is an error in the API communication
+     */
+    private String send(String apiKey, String prompt) throws IOException {
+        return client.chat(apiKey, prompt);
     }
     
     /**
@@ -17,6 +17,7 @@ import java.awt.event.ActionListener;
  * <ul>
  *   <li>Displays a chat area for AI and user messages</li>
  *   <li>Allows sending messages to the AI assistant</li>
+ *   <li>Shows AI replies word by word while they are generated</li>
  *   <li>Provides a button to regenerate financial advice</li>
  *   <li>Updates UI in response to ViewModel events</li>
  * </ul>
@@ -38,6 +39,12 @@ public class AIPanel extends JPanel implements AIViewModel.AIDataChangeListener
     /** Button to regenerate financial advice */
     private JButton regenerateButton;
 
+    /**
+     * Document offset where the next piece of the AI reply being streamed is inserted, or -1
+     * if no reply is streaming. Messages added meanwhile go below the reply; used on the EDT only.
+     */
+    private int streamingReplyEnd = -1;
+
     /**
      * Constructs a new AI panel for the specified user.
      *
@@ -143,25 +150,60 @@ public class AIPanel extends JPanel implements AIViewModel.AIDataChangeListener
         chatArea.setCaretPosition(chatArea.getDocument().getLength());
     }
 
+    /**
+     * Inserts a piece of the AI reply being streamed at the end of its line, starting the
+     * line first if needed. The line keeps its place when other messages are appended below it.
+     *
+     * @param delta the piece of the reply
+     */
+    private void appendDelta(String delta) {
+        if (streamingReplyEnd < 0) {
+            chatArea.append("AI: \n");
+            streamingReplyEnd = chatArea.getDocument().getLength() - 1;
+        }
+        chatArea.insert(delta, streamingReplyEnd);
+        streamingReplyEnd += delta.length();
+        chatArea.setCaretPosition(chatArea.getDocument().getLength());
+    }
+
     /**
      * Called when a new chat message is added in the ViewModel.
+     * A streamed reply is already shown, so it is only marked as complete.
      *
      * @param message the new chat message
      */
     @Override
     public void onMessageAdded(ChatMessage message) {
         // Ensure UI updates happen on the EDT
-        SwingUtilities.invokeLater(() -> appendMessage(message.getFormattedMessage()));
+        SwingUtilities.invokeLater(() -> {
+            if (message.isStreamed() && streamingReplyEnd >= 0) {
+                streamingReplyEnd = -1;
+            } else {
+                appendMessage(message.getFormattedMessage());
+            }
+        });
+    }
+
+    /**
+     * Called with each piece of an AI reply while it is generated.
+     *
+     * @param delta the next piece of the reply
+     */
+    @Override
+    public void onMessageDelta(String delta) {
+        SwingUtilities.invokeLater(() -> appendDelta(delta));
     }
 
     /**
      * Called when an error occurs in the ViewModel.
+     * A reply being streamed ends with the error, so the next reply starts its own line.
      *
      * @param errorMessage the error message to display
      */
     @Override
     public void onErrorOccurred(String errorMessage) {
         SwingUtilities.invokeLater(() -> {
+            streamingReplyEnd = -1;
             appendMessage("Error: " + errorMessage);
             JOptionPane.showMessageDialog(this, errorMessage, "AI Communication Error", JOptionPane.ERROR_MESSAGE);
         });
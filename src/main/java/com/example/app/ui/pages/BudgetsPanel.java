@@ -10,6 +10,7 @@ import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableCellRenderer;
 import java.awt.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A panel for managing user budget allocations and viewing AI-generated budget suggestions.
@@ -34,6 +35,8 @@ public class BudgetsPanel extends JPanel implements CurrencyChangeListener, Budg
     private final JPanel aiSuggestedPanel;
     /** Stores the last generated AI budget suggestions */
     private Map<String, Double> currentSuggestedBudgets;
+    /** AI suggestions being generated, or null; used on the EDT only */
+    private CompletableFuture<Map<String, Double>> pendingSuggestions;
     /** The current currency symbol */
     private String currencySymbol;
 
@@ -253,9 +256,12 @@ public class BudgetsPanel extends JPanel implements CurrencyChangeListener, Budg
         // Get actual budgets
         Map<String, Double> actualBudgets = viewModel.getCategoryBudgets();
         
-        // Create or use existing AI suggestions
+        // Request the first AI suggestions in the background; the table fills when they arrive
         if (currentSuggestedBudgets == null) {
-            currentSuggestedBudgets = viewModel.generateSuggestedBudgets();
+            if (pendingSuggestions == null) {
+                requestAISuggestions(table, false);
+            }
+            return;
         }
         
         // Display each category with comparison to actual budget
@@ -371,14 +377,43 @@ public class BudgetsPanel extends JPanel implements CurrencyChangeListener, Budg
      * @param aiTable the JTable to update with new suggestions
      */
     private void shuffleAISuggestions(JTable aiTable) {
+        requestAISuggestions(aiTable, true);
+    }
+
+    /**
+     * Requests AI budget suggestions in the background and shows them when they arrive.
+     * A newer request replaces one that is still pending, so repeated clicks cost one AI call.
+     *
+     * @param aiTable the JTable to update with the suggestions
+     * @param announce whether to tell the user when the suggestions are ready
+     */
+    private void requestAISuggestions(JTable aiTable, boolean announce) {
         // Generate new suggestions through view model
-        currentSuggestedBudgets = viewModel.generateSuggestedBudgets();
-        updateAISuggestedTable(aiTable);
-        
-        JOptionPane.showMessageDialog(this,
-                "New AI budget suggestions generated!",
-                "Suggestions Updated",
-                JOptionPane.INFORMATION_MESSAGE);
+        CompletableFuture<Map<String, Double>> request = viewModel.requestSuggestedBudgets();
+        pendingSuggestions = request;
+        request.whenComplete((suggested, error) -> SwingUtilities.invokeLater(() -> {
+            if (pendingSuggestions != request) {
+                // Superseded by a newer request
+                return;
+            }
+            pendingSuggestions = null;
+            if (error != null) {
+                JOptionPane.showMessageDialog(this,
+                        "Could not generate AI budget suggestions: " + error.getMessage(),
+                        "AI Suggestions",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            currentSuggestedBudgets = suggested;
+            updateAISuggestedTable(aiTable);
+
+            if (announce) {
+                JOptionPane.showMessageDialog(this,
+                        "New AI budget suggestions generated!",
+                        "Suggestions Updated",
+                        JOptionPane.INFORMATION_MESSAGE);
+            }
+        }));
     }
     
     /**
@@ -386,6 +421,14 @@ public class BudgetsPanel extends JPanel implements CurrencyChangeListener, Budg
      * Shows a confirmation dialog before applying.
      */
     private void applyAISuggestions() {
+        if (currentSuggestedBudgets == null) {
+            JOptionPane.showMessageDialog(this,
+                    "AI budget suggestions are still being generated.",
+                    "Apply AI Suggestions",
+                    JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
         int result = JOptionPane.showConfirmDialog(
                 this,
                 "Are you sure you want to apply AI suggested budget allocations to your budget?",
@@ -2,6 +2,7 @@ package com.example.app.ui.pages;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableModel;
 
 import com.example.app.viewmodel.SettingsViewModel;
 import com.example.app.viewmodel.SettingsViewModel.SettingsChangeListener;
@@ -12,6 +13,8 @@ import java.awt.*;
 import java.awt.event.HierarchyEvent;
 import java.awt.event.HierarchyListener;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -26,6 +29,7 @@ import java.util.logging.Logger;
  *   <li>Edit profile information (name, email, phone)</li>
  *   <li>Change default currency and application theme</li>
  *   <li>Enable or disable budget and transaction notifications</li>
+ *   <li>Edit the keyword rules that categorize imported transactions</li>
  *   <li>Change password and reset all settings to defaults</li>
  *   <li>Responsive to ViewModel changes</li>
  * </ul>
@@ -70,6 +74,12 @@ public class SettingsPanel extends JPanel implements SettingsChangeListener {
     /** Checkbox for enabling/disabling transaction alerts */
     private JCheckBox transactionAlertsCheckBox;
 
+    // Category rule fields
+    /** Table model holding the keyword and category of each rule, in priority order */
+    private DefaultTableModel rulesTableModel;
+    /** Table for editing the category rules */
+    private JTable rulesTable;
+
     // Security fields
     /** Password field for entering the current password */
     private JPasswordField currentPasswordField;
@@ -109,6 +119,7 @@ public class SettingsPanel extends JPanel implements SettingsChangeListener {
         JButton profileButton = createNavButton("Profile", "PROFILE");
         JButton preferencesButton = createNavButton("Preferences", "PREFERENCES");
         JButton notificationsButton = createNavButton("Notifications", "NOTIFICATIONS");
+        JButton rulesButton = createNavButton("Category Rules", "RULES");
         JButton securityButton = createNavButton("Security", "SECURITY");
         navPanel.add(profileButton);
         navPanel.add(Box.createHorizontalStrut(10));
@@ -116,6 +127,8 @@ public class SettingsPanel extends JPanel implements SettingsChangeListener {
         navPanel.add(Box.createHorizontalStrut(10));
         navPanel.add(notificationsButton);
         navPanel.add(Box.createHorizontalStrut(10));
+        navPanel.add(rulesButton);
+        navPanel.add(Box.createHorizontalStrut(10));
         navPanel.add(securityButton);
 
         add(navPanel);
@@ -131,6 +144,7 @@ public class SettingsPanel extends JPanel implements SettingsChangeListener {
         contentPanel.add(createProfilePanel(), "PROFILE");
         contentPanel.add(createPreferencesPanel(), "PREFERENCES");
         contentPanel.add(createNotificationsPanel(), "NOTIFICATIONS");
+        contentPanel.add(createRulesPanel(), "RULES");
         contentPanel.add(createSecurityPanel(), "SECURITY");
 
         add(contentPanel);
@@ -442,6 +456,114 @@ public class SettingsPanel extends JPanel implements SettingsChangeListener {
         return panel;
     }
 
+    /**
+     * Creates the category rules panel, where the keyword rules applied to imported
+     * transactions without a category can be edited.
+     *
+     * @return the category rules panel
+     */
+    private JPanel createRulesPanel() {
+        JPanel panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        JLabel hintLabel = new JLabel("<html>Imported transactions whose description contains a keyword get its category. "
+                + "Longer keywords win, then rules higher in the list. English keywords match whole words only.</html>");
+        hintLabel.setAlignmentX(LEFT_ALIGNMENT);
+        panel.add(hintLabel);
+        panel.add(Box.createVerticalStrut(10));
+
+        rulesTableModel = new DefaultTableModel(new Object[]{"Keyword", "Category"}, 0);
+        rulesTable = new JTable(rulesTableModel);
+        rulesTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        loadRulesIntoTable(viewModel.getCategoryRules());
+        JScrollPane scrollPane = new JScrollPane(rulesTable);
+        scrollPane.setAlignmentX(LEFT_ALIGNMENT);
+        scrollPane.setPreferredSize(new Dimension(450, 220));
+        panel.add(scrollPane);
+
+        // Buttons
+        panel.add(Box.createVerticalStrut(10));
+        JPanel buttonPanel = new JPanel();
+        buttonPanel.setLayout(new BoxLayout(buttonPanel, BoxLayout.X_AXIS));
+        buttonPanel.setAlignmentX(LEFT_ALIGNMENT);
+
+        JButton addButton = new JButton("Add Rule");
+        addButton.addActionListener(e -> {
+            rulesTableModel.addRow(new Object[]{"", ""});
+            int row = rulesTableModel.getRowCount() - 1;
+            rulesTable.changeSelection(row, 0, false, false);
+            rulesTable.editCellAt(row, 0);
+        });
+
+        JButton removeButton = new JButton("Remove Selected");
+        removeButton.addActionListener(e -> {
+            stopRuleEditing();
+            int[] selected = rulesTable.getSelectedRows();
+            for (int i = selected.length - 1; i >= 0; i--) {
+                rulesTableModel.removeRow(rulesTable.convertRowIndexToModel(selected[i]));
+            }
+        });
+
+        JButton defaultsButton = new JButton("Restore Defaults");
+        defaultsButton.addActionListener(e -> {
+            stopRuleEditing();
+            loadRulesIntoTable(viewModel.getDefaultCategoryRules());
+        });
+
+        JButton saveButton = new JButton("Save Rules");
+        saveButton.addActionListener(e -> {
+            stopRuleEditing();
+            Map<String, String> rules = new LinkedHashMap<>();
+            for (int row = 0; row < rulesTableModel.getRowCount(); row++) {
+                Object keyword = rulesTableModel.getValueAt(row, 0);
+                Object category = rulesTableModel.getValueAt(row, 1);
+                rules.putIfAbsent(keyword == null ? "" : keyword.toString(),
+                        category == null ? "" : category.toString());
+            }
+
+            if (viewModel.updateCategoryRules(rules)) {
+                JOptionPane.showMessageDialog(this, "Category rules saved! They apply to your next import.",
+                                            "Success", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, "Failed to save category rules.",
+                                            "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+
+        buttonPanel.add(addButton);
+        buttonPanel.add(Box.createHorizontalStrut(8));
+        buttonPanel.add(removeButton);
+        buttonPanel.add(Box.createHorizontalStrut(8));
+        buttonPanel.add(defaultsButton);
+        buttonPanel.add(Box.createHorizontalStrut(8));
+        buttonPanel.add(saveButton);
+        panel.add(buttonPanel);
+
+        return panel;
+    }
+
+    /**
+     * Replaces the rows of the rules table.
+     *
+     * @param rules categories by keyword, in priority order
+     */
+    private void loadRulesIntoTable(Map<String, String> rules) {
+        rulesTableModel.setRowCount(0);
+        for (Map.Entry<String, String> rule : rules.entrySet()) {
+            rulesTableModel.addRow(new Object[]{rule.getKey(), rule.getValue()});
+        }
+    }
+
+    /**
+     * Commits a cell of the rules table that is still being edited.
+     */
+    private void stopRuleEditing() {
+        if (rulesTable.isEditing()) {
+            rulesTable.getCellEditor().stopCellEditing();
+        }
+    }
+
     /**
      * Creates the security settings panel (password change, reset).
      *
@@ -618,6 +740,9 @@ public class SettingsPanel extends JPanel implements SettingsChangeListener {
         budgetAlertsCheckBox.setSelected(viewModel.isBudgetAlertsEnabled());
         transactionAlertsCheckBox.setSelected(viewModel.isTransactionAlertsEnabled());
 
+        // Category rules
+        loadRulesIntoTable(viewModel.getCategoryRules());
+
         // Security
         currentPasswordField.setText("");
         newPasswordField.setText("");
@@ -660,6 +785,10 @@ public class SettingsPanel extends JPanel implements SettingsChangeListener {
                         budgetAlertsCheckBox.setSelected(viewModel.isBudgetAlertsEnabled());
                         transactionAlertsCheckBox.setSelected(viewModel.isTransactionAlertsEnabled());
                         break;
+                    case CATEGORY_RULES:
+                        stopRuleEditing();
+                        loadRulesIntoTable(viewModel.getCategoryRules());
+                        break;
                     case SECURITY:
                         // No UI update needed for security
                         break;
@@ -0,0 +1,250 @@
+package com.example.app.ui.pages;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * Row sorter for {@link TransactionTableModel} working on index arrays.
+ * <p>
+ * Sorting computes one primitive key per row with {@link TransactionTableModel#getSortKeys(int)}
+ * and orders an int array of model rows with a stable merge sort, instead of comparing boxed
+ * cell values the way {@code TableRowSorter} does. The sorted order is kept until the model
+ * rows change, so changing the filter only walks that order once. Without a sort column or a
+ * filter the view maps one to one onto the model and no arrays are allocated.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Single-column ascending and descending sort toggled from the table header</li>
+ *   <li>Row filter given as a predicate over model rows</li>
+ *   <li>Stable order for equal keys</li>
+ *   <li>Cell edits keep the current order, like {@code DefaultRowSorter}</li>
+ * </ul>
+ */
+public class TransactionRowSorter extends RowSorter<TransactionTableModel> {
+    private final TransactionTableModel model;
+    private List<SortKey> sortKeys = Collections.emptyList();
+    private IntPredicate filter;
+
+    /** Model rows in sorted order, or null if the order is stale or unsorted */
+    private int[] sortedRows;
+
+    /** Visible model rows in view order, or null when every row shows in model order */
+    private int[] viewToModel;
+
+    /** View row of each model row, -1 if filtered out; null together with viewToModel */
+    private int[] modelToView;
+
+    /**
+     * Creates a sorter for a transaction table model.
+     *
+     * @param model the table model
+     */
+    public TransactionRowSorter(TransactionTableModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Sets the rows to show.
+     *
+     * @param filter predicate over model rows, or null to show every row
+     */
+    public void setRowFilter(IntPredicate filter) {
+        // A null previous mapping tells listeners the old view was in model order
+        int[] oldViewToModel = viewToModel;
+        this.filter = filter;
+        updateView();
+        fireRowSorterChanged(oldViewToModel);
+    }
+
+    @Override
+    public TransactionTableModel getModel() {
+        return model;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        SortOrder order = SortOrder.ASCENDING;
+        if (!sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column
+                && sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING) {
+            order = SortOrder.DESCENDING;
+        }
+        setSortKeys(Collections.singletonList(new SortKey(column, order)));
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (viewToModel == null) {
+            if (index < 0 || index >= model.getRowCount()) {
+                throw new IndexOutOfBoundsException("Invalid index");
+            }
+            return index;
+        }
+        return viewToModel[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (modelToView == null) {
+            if (index < 0 || index >= model.getRowCount()) {
+                throw new IndexOutOfBoundsException("Invalid index");
+            }
+            return index;
+        }
+        return modelToView[index];
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> newKeys = keys == null || keys.isEmpty()
+                ? Collections.emptyList()
+                : Collections.singletonList(keys.get(0));
+        if (newKeys.equals(sortKeys)) {
+            return;
+        }
+        int[] oldViewToModel = viewToModel;
+        sortKeys = newKeys;
+        sortedRows = null;
+        fireSortOrderChanged();
+        updateView();
+        fireRowSorterChanged(oldViewToModel);
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return viewToModel == null ? model.getRowCount() : viewToModel.length;
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        allRowsChanged();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        rowsChanged();
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        rowsChanged();
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        rowsChanged();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        // Keep the order while cells are edited; it is rebuilt on the next sort or row change
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        rowsUpdated(firstRow, endRow);
+    }
+
+    /**
+     * Rebuilds the view after rows were added, removed or replaced.
+     */
+    private void rowsChanged() {
+        int[] oldViewToModel = viewToModel;
+        sortedRows = null;
+        updateView();
+        fireRowSorterChanged(oldViewToModel);
+    }
+
+    /**
+     * Recomputes the view mapping from the sort order and the filter.
+     */
+    private void updateView() {
+        int rowCount = model.getRowCount();
+        if (sortKeys.isEmpty() && filter == null) {
+            viewToModel = null;
+            modelToView = null;
+            return;
+        }
+        if (!sortKeys.isEmpty() && (sortedRows == null || sortedRows.length != rowCount)) {
+            sortedRows = sort(sortKeys.get(0));
+        }
+
+        int[] visible = new int[rowCount];
+        int count = 0;
+        for (int i = 0; i < rowCount; i++) {
+            int modelRow = sortKeys.isEmpty() ? i : sortedRows[i];
+            if (filter == null || filter.test(modelRow)) {
+                visible[count++] = modelRow;
+            }
+        }
+        viewToModel = count == rowCount ? visible : Arrays.copyOf(visible, count);
+        modelToView = new int[rowCount];
+        Arrays.fill(modelToView, -1);
+        for (int i = 0; i < count; i++) {
+            modelToView[viewToModel[i]] = i;
+        }
+    }
+
+    /**
+     * Orders all model rows by one sort key.
+     *
+     * @param key the column and direction
+     * @return model rows in sorted order
+     */
+    private int[] sort(SortKey key) {
+        long[] keys = model.getSortKeys(key.getColumn());
+        if (key.getSortOrder() == SortOrder.DESCENDING) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = ~keys[i];
+            }
+        }
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, new int[order.length], 0, order.length, keys);
+        return order;
+    }
+
+    /**
+     * Stable merge sort of row indices by their keys.
+     *
+     * @param rows the rows to sort
+     * @param buffer scratch space of the same length
+     * @param from the first position, inclusive
+     * @param to the last position, exclusive
+     * @param keys the key of each row
+     */
+    private static void mergeSort(int[] rows, int[] buffer, int from, int to, long[] keys) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(rows, buffer, from, middle, keys);
+        mergeSort(rows, buffer, middle, to, keys);
+        if (keys[rows[middle - 1]] <= keys[rows[middle]]) {
+            return;
+        }
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && keys[buffer[left]] <= keys[buffer[right]])) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.example.app.ui.pages;
+
+import com.example.app.model.TransactionTable;
+
+import javax.swing.table.AbstractTableModel;
+import java.text.Collator;
+import java.util.*;
+
+/**
+ * Table model showing a {@link TransactionTable} snapshot without copying it.
+ * <p>
+ * Cells of untouched rows are read straight from the snapshot columns when the table
+ * paints them. Rows edited, inserted or imported in the panel live in a small overlay until
+ * the changes are saved, and the visible row order is a plain array of source ids. Changes
+ * are reported with one event per operation rather than one per row.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Lazy cell access to the shared transaction snapshot</li>
+ *   <li>Copy-on-edit overlay for edited, inserted and imported rows</li>
+ *   <li>Delete checkbox column kept apart from the transaction data</li>
+ *   <li>Categories set by the user marked as confirmed when saved</li>
+ *   <li>Primitive sort keys for {@link TransactionRowSorter}</li>
+ * </ul>
+ */
+public class TransactionTableModel extends AbstractTableModel {
+    /** Column names shown in the table header */
+    private static final String[] COLUMNS = {"Date", "Description", "Category", "Amount", "Delete"};
+
+    /** Column indices */
+    public static final int DATE_COLUMN = 0;
+    public static final int DESCRIPTION_COLUMN = 1;
+    public static final int CATEGORY_COLUMN = 2;
+    public static final int AMOUNT_COLUMN = 3;
+    public static final int DELETE_COLUMN = 4;
+
+    /** Snapshot the unedited rows are read from */
+    private TransactionTable table = TransactionTable.empty();
+
+    /** Source id of each model row; ids from the table size up refer to added rows */
+    private int[] rows = new int[0];
+    private int rowCount;
+
+    /** Edited copies of snapshot rows, by source id */
+    private final Map<Integer, Object[]> edits = new HashMap<>();
+
+    /** Rows inserted or imported since the last snapshot, by source id minus the table size */
+    private final List<Object[]> addedRows = new ArrayList<>();
+
+    /** Source ids with a ticked delete checkbox */
+    private final BitSet checked = new BitSet();
+
+    /** Source ids whose category the user set since the last snapshot */
+    private final BitSet confirmed = new BitSet();
+
+    /**
+     * Shows a new snapshot, dropping every unsaved edit.
+     *
+     * @param table the transaction snapshot
+     */
+    public void setTable(TransactionTable table) {
+        this.table = table;
+        edits.clear();
+        addedRows.clear();
+        checked.clear();
+        confirmed.clear();
+        rowCount = table.size();
+        rows = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = i;
+        }
+        fireTableDataChanged();
+    }
+
+    /**
+     * Gets the snapshot the model is based on.
+     *
+     * @return the transaction snapshot
+     */
+    public TransactionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Checks whether the model rows are exactly the snapshot rows in snapshot order,
+     * so that snapshot row indices can be used as model row indices.
+     *
+     * @return true if nothing was edited, added, removed or ticked
+     */
+    public boolean mirrorsTable() {
+        return edits.isEmpty() && addedRows.isEmpty() && checked.isEmpty() && confirmed.isEmpty()
+                && rowCount == table.size();
+    }
+
+    /**
+     * Inserts one transaction at a model position.
+     *
+     * @param row the model row to insert at
+     * @param transaction the record {date, description, category, amount}
+     */
+    public void insertRow(int row, Object[] transaction) {
+        int id = addRecord(transaction);
+        ensureCapacity(rowCount + 1);
+        System.arraycopy(rows, row, rows, row + 1, rowCount - row);
+        rows[row] = id;
+        rowCount++;
+        fireTableRowsInserted(row, row);
+    }
+
+    /**
+     * Appends transactions at the end of the model.
+     *
+     * @param transactions the records {date, description, category, amount}
+     */
+    public void addRows(List<Object[]> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        int first = rowCount;
+        ensureCapacity(rowCount + transactions.size());
+        for (Object[] transaction : transactions) {
+            rows[rowCount++] = addRecord(transaction);
+        }
+        fireTableRowsInserted(first, rowCount - 1);
+    }
+
+    /**
+     * Removes every row whose delete checkbox is ticked.
+     *
+     * @return the number of removed rows
+     */
+    public int removeCheckedRows() {
+        if (checked.isEmpty()) {
+            return 0;
+        }
+        int kept = 0;
+        for (int i = 0; i < rowCount; i++) {
+            if (!checked.get(rows[i])) {
+                rows[kept++] = rows[i];
+            }
+        }
+        int removed = rowCount - kept;
+        rowCount = kept;
+        checked.clear();
+        fireTableDataChanged();
+        return removed;
+    }
+
+    /**
+     * Collects the current rows as records for saving. A row is marked confirmed if the user
+     * set its category since the last snapshot or it was already confirmed in the snapshot.
+     *
+     * @return records {date, description, category, amount, confirmed} in model order
+     */
+    public List<Object[]> getRecords() {
+        List<Object[]> records = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            int id = rows[i];
+            records.add(toRecord(i, confirmed.get(id) || (id < table.size() && table.isConfirmed(id))));
+        }
+        return records;
+    }
+
+    /**
+     * Collects the rows whose category the user set since the last snapshot.
+     * Rows confirmed in earlier sessions are not included, so they are not learned again.
+     *
+     * @return records {date, description, category, amount, true} in model order
+     */
+    public List<Object[]> getNewlyConfirmedRecords() {
+        List<Object[]> records = new ArrayList<>();
+        if (confirmed.isEmpty()) {
+            return records;
+        }
+        for (int i = 0; i < rowCount; i++) {
+            if (confirmed.get(rows[i])) {
+                records.add(toRecord(i, true));
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Builds the record of a model row.
+     *
+     * @param row the model row
+     * @param isConfirmed whether the category is confirmed
+     * @return the record {date, description, category, amount, confirmed}
+     */
+    private Object[] toRecord(int row, boolean isConfirmed) {
+        return new Object[]{getValueAt(row, DATE_COLUMN).toString(),
+                getValueAt(row, DESCRIPTION_COLUMN).toString(),
+                getValueAt(row, CATEGORY_COLUMN).toString(),
+                getValueAt(row, AMOUNT_COLUMN), isConfirmed};
+    }
+
+    /**
+     * Computes a sort key for every model row of one column.
+     * Keys of text columns are ranks in collation order, dates sort chronologically,
+     * amounts by value and the checkbox column by its state.
+     *
+     * @param column the column
+     * @return one key per model row
+     */
+    long[] getSortKeys(int column) {
+        long[] keys = new long[rowCount];
+        if (column == AMOUNT_COLUMN) {
+            for (int i = 0; i < rowCount; i++) {
+                int id = rows[i];
+                Object[] record = getRecord(id);
+                keys[i] = record == null ? table.getAmountCents(id)
+                        : Math.round(((Number) record[AMOUNT_COLUMN]).doubleValue() * 100);
+            }
+        } else if (column == DELETE_COLUMN) {
+            for (int i = 0; i < rowCount; i++) {
+                keys[i] = checked.get(rows[i]) ? 1 : 0;
+            }
+        } else {
+            rankText(column, keys);
+        }
+        return keys;
+    }
+
+    /**
+     * Fills sort keys of a text column with the collation rank of each value.
+     * Snapshot values are resolved once per dictionary entry or per day, so only the
+     * distinct values are compared.
+     *
+     * @param column the text column
+     * @param keys the keys to fill
+     */
+    private void rankText(int column, long[] keys) {
+        Map<String, Integer> slots = new HashMap<>();
+        List<String> values = new ArrayList<>();
+        Map<Long, Integer> slotCache = new HashMap<>();
+        int[] rowSlots = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            int id = rows[i];
+            Object[] record = getRecord(id);
+            Long cacheKey = record == null ? snapshotValueKey(id, column) : null;
+            Integer slot = cacheKey == null ? null : slotCache.get(cacheKey);
+            if (slot == null) {
+                String value = String.valueOf(getValue(id, column));
+                slot = slots.get(value);
+                if (slot == null) {
+                    slot = values.size();
+                    slots.put(value, slot);
+                    values.add(value);
+                }
+                if (cacheKey != null) {
+                    slotCache.put(cacheKey, slot);
+                }
+            }
+            rowSlots[i] = slot;
+        }
+
+        Integer[] order = new Integer[values.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Collator collator = Collator.getInstance();
+        if (column == DATE_COLUMN) {
+            // Dates are stored as yyyy-MM-dd, where text order is chronological order
+            Arrays.sort(order, Comparator.comparing(values::get));
+        } else {
+            Arrays.sort(order, (a, b) -> collator.compare(values.get(a), values.get(b)));
+        }
+        int[] ranks = new int[order.length];
+        for (int rank = 0; rank < order.length; rank++) {
+            ranks[order[rank]] = rank;
+        }
+        for (int i = 0; i < rowCount; i++) {
+            keys[i] = ranks[rowSlots[i]];
+        }
+    }
+
+    /**
+     * Gets a key identifying the value of an unedited snapshot cell without building it.
+     *
+     * @param id the snapshot row
+     * @param column the text column
+     * @return the value key, or null if the value has to be built
+     */
+    private Long snapshotValueKey(int id, int column) {
+        switch (column) {
+            case DESCRIPTION_COLUMN:
+                return (long) table.getDescriptionId(id);
+            case CATEGORY_COLUMN:
+                return (long) table.getCategoryId(id);
+            default:
+                if (!table.hasDate(id)) {
+                    return null;
+                }
+                return (long) table.getEpochDay(id) * 1441 + table.getMinuteOfDay(id) + 1;
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        if (column == DELETE_COLUMN) return Boolean.class; // Checkbox column
+        if (column == AMOUNT_COLUMN) return Double.class;  // Amount column
+        return String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return true;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return getValue(rows[checkRow(row)], column);
+    }
+
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+        int id = rows[checkRow(row)];
+        if (column == DELETE_COLUMN) {
+            checked.set(id, Boolean.TRUE.equals(value));
+        } else {
+            Object[] record = getRecord(id);
+            if (record == null) {
+                record = new Object[]{table.getDateString(id), table.getDescription(id),
+                        table.getCategory(id), table.getAmount(id)};
+                edits.put(id, record);
+            }
+            record[column] = value;
+            if (column == CATEGORY_COLUMN) {
+                confirmed.set(id);
+            }
+        }
+        fireTableCellUpdated(row, column);
+    }
+
+    /**
+     * Reads one cell of a source row.
+     *
+     * @param id the source id
+     * @param column the column
+     * @return the cell value
+     */
+    private Object getValue(int id, int column) {
+        if (column == DELETE_COLUMN) {
+            return checked.get(id);
+        }
+        Object[] record = getRecord(id);
+        if (record != null) {
+            return record[column];
+        }
+        switch (column) {
+            case DATE_COLUMN:
+                return table.getDateString(id);
+            case DESCRIPTION_COLUMN:
+                return table.getDescription(id);
+            case CATEGORY_COLUMN:
+                return table.getCategory(id);
+            default:
+                return table.getAmount(id);
+        }
+    }
+
+    /**
+     * Gets the overlay record of a source row.
+     *
+     * @param id the source id
+     * @return the edited or added record, or null if the snapshot row is untouched
+     */
+    private Object[] getRecord(int id) {
+        if (id >= table.size()) {
+            return addedRows.get(id - table.size());
+        }
+        return edits.isEmpty() ? null : edits.get(id);
+    }
+
+    /**
+     * Stores an added record in the overlay.
+     *
+     * @param transaction the record {date, description, category, amount}
+     * @return the source id of the record
+     */
+    private int addRecord(Object[] transaction) {
+        Object amount = transaction[AMOUNT_COLUMN];
+        if (!(amount instanceof Double)) {
+            try {
+                amount = Double.parseDouble(String.valueOf(amount));
+            } catch (NumberFormatException e) {
+                amount = 0.0;
+            }
+        }
+        addedRows.add(new Object[]{String.valueOf(transaction[DATE_COLUMN]), String.valueOf(transaction[DESCRIPTION_COLUMN]),
+                String.valueOf(transaction[CATEGORY_COLUMN]), amount});
+        return table.size() + addedRows.size() - 1;
+    }
+
+    /**
+     * Grows the row order array.
+     *
+     * @param capacity the minimum number of rows
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > rows.length) {
+            rows = Arrays.copyOf(rows, Math.max(capacity, rows.length + (rows.length >> 1) + 16));
+        }
+    }
+
+    /**
+     * Validates a model row index.
+     *
+     * @param row the row index
+     * @return the same index
+     */
+    private int checkRow(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for size " + rowCount);
+        }
+        return row;
+    }
+}
@@ -1,13 +1,12 @@
 package com.example.app.ui.pages;
 
+import com.example.app.model.TransactionTable;
 import com.example.app.ui.dialogs.CSVImportDialog;
 import com.example.app.viewmodel.TransactionsViewModel;
 import com.example.app.viewmodel.TransactionsViewModel.TransactionChangeListener;
 
 import javax.swing.*;
 import javax.swing.event.TableModelEvent;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -42,8 +41,10 @@ public class TransactionsPanel extends JPanel implements TransactionChangeListen
 
     /** Table displaying transactions */
     private JTable transactionsTable;
-    /** Table model for transactions */
-    private DefaultTableModel tableModel;
+    /** Table model reading transactions lazily from the ViewModel snapshot */
+    private TransactionTableModel tableModel;
+    /** Sorter and filter view over the table model */
+    private TransactionRowSorter sorter;
     /** Search field for filtering transactions */
     private JTextField searchField;
     /** Category filter combo box */
@@ -136,23 +137,8 @@ public class TransactionsPanel extends JPanel implements TransactionChangeListen
      * Creates and configures the transactions table.
      */
     private void createTransactionsTable() {
-        // Define table columns
-        String[] columns = {"Date", "Description", "Category", "Amount", "Delete"};
-
         // Create table model that supports boolean for checkbox column
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public Class<?> getColumnClass(int column) {
-                if (column == 4) return Boolean.class; // Checkbox column
-                if (column == 3) return Double.class;  // Amount column
-                return String.class;
-            }
-
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return column != 4 || tableModel.getValueAt(row, 4) instanceof Boolean; // Make all columns editable except checkbox column
-            }
-        };
+        tableModel = new TransactionTableModel();
 
         // Create and configure table
         transactionsTable = new JTable(tableModel);
@@ -161,9 +147,9 @@ public class TransactionsPanel extends JPanel implements TransactionChangeListen
         transactionsTable.setShowGrid(true);
         transactionsTable.setGridColor(Color.LIGHT_GRAY);
 
-        // Add table cell edit listener to track changes
+        // Add table cell edit listener to track changes; whole-table updates are reloads
         tableModel.addTableModelListener(e -> {
-            if (e.getType() == TableModelEvent.UPDATE) {
+            if (e.getType() == TableModelEvent.UPDATE && e.getLastRow() != Integer.MAX_VALUE) {
                 setHasUnsavedChanges(true);
             }
         });
@@ -176,7 +162,7 @@ public class TransactionsPanel extends JPanel implements TransactionChangeListen
         transactionsTable.getColumnModel().getColumn(4).setPreferredWidth(60);  // Delete checkbox
 
         // Make the table sortable
-        TableRowSorter<DefaultTableModel> sorter = new TableRowSorter<>(tableModel);
+        sorter = new TransactionRowSorter(tableModel);
         transactionsTable.setRowSorter(sorter);
     }
 
@@ -236,48 +222,36 @@ public class TransactionsPanel extends JPanel implements TransactionChangeListen
         String searchText = searchField.getText().trim();
         String selectedCategory = (String) categoryFilterComboBox.getSelectedItem();
 
-        TableRowSorter<DefaultTableModel> sorter = (TableRowSorter<DefaultTableModel>) transactionsTable.getRowSorter();
-
-        // Use ViewModel to filter transactions
-        List<Object[]> filteredData = viewModel.filterTransactions(searchText, selectedCategory);
-
-        if (filteredData.size() == viewModel.getTransactions().size()) {
-            // If filter returns all transactions, just clear the filter
+        if (searchText.isEmpty() && (selectedCategory == null || selectedCategory.isEmpty())) {
+            // No criteria, just clear the filter
             sorter.setRowFilter(null);
+        } else if (tableModel.mirrorsTable() && tableModel.getTable() == viewModel.getTable()) {
+            // Table rows mirror the ViewModel snapshot, so its matched row ids apply directly
+            BitSet matches = viewModel.searchRows(searchText, selectedCategory);
+            sorter.setRowFilter(matches.cardinality() == tableModel.getRowCount() ? null : matches::get);
         } else {
-            // Otherwise create a row filter based on our filtered data
-            RowFilter<DefaultTableModel, Integer> filter = new RowFilter<DefaultTableModel, Integer>() {
-                @Override
-                public boolean include(Entry<? extends DefaultTableModel, ? extends Integer> entry) {
-                    int row = entry.getIdentifier();
-
-                    // Check category filter if selected
-                    if (selectedCategory != null && !selectedCategory.isEmpty()) {
-                        String rowCategory = (String) entry.getModel().getValueAt(row, 2);
-                        if (!selectedCategory.equals(rowCategory)) {
-                            return false;
-                        }
-                    }
+            // Otherwise check the edited table contents directly
+            String searchLower = searchText.toLowerCase();
+            sorter.setRowFilter(row -> {
+                // Check category filter if selected
+                if (selectedCategory != null && !selectedCategory.isEmpty()
+                        && !selectedCategory.equals(tableModel.getValueAt(row, TransactionTableModel.CATEGORY_COLUMN))) {
+                    return false;
+                }
 
-                    // Check search text if not empty
-                    if (!searchText.isEmpty()) {
-                        boolean matchFound = false;
-                        // Check columns 0, 1, 2 (Date, Description, Category)
-                        for (int i = 0; i < 3; i++) {
-                            String value = entry.getModel().getValueAt(row, i).toString().toLowerCase();
-                            if (value.contains(searchText.toLowerCase())) {
-                                matchFound = true;
-                                break;
-                            }
+                // Check search text if not empty
+                if (!searchLower.isEmpty()) {
+                    // Check columns 0, 1, 2 (Date, Description, Category)
+                    for (int i = 0; i < 3; i++) {
+                        if (tableModel.getValueAt(row, i).toString().toLowerCase().contains(searchLower)) {
+                            return true;
                         }
-                        return matchFound;
                     }
-
-                    return true;
+                    return false;
                 }
-            };
 
-            sorter.setRowFilter(filter);
+                return true;
+            });
         }
     }
 
@@ -300,11 +274,10 @@ public class TransactionsPanel extends JPanel implements TransactionChangeListen
         }
 
         // Add to UI table
-        for (Object[] transaction : importedTransactions) {
-            tableModel.addRow(transaction);
-        }
+        tableModel.addRows(importedTransactions);
 
         setHasUnsavedChanges(true);
+        applyFilters();
     }
 
     /**
@@ -320,29 +293,17 @@ public class TransactionsPanel extends JPanel implements TransactionChangeListen
         tableModel.insertRow(0, rowData);
 
         setHasUnsavedChanges(true);
+        applyFilters();
     }
 
     /**
      * Deletes selected transactions (checked rows) from the table.
      */
     private void deleteSelectedTransactions() {
-        // Collect indices of rows to remove (in reverse order to avoid index shifting problems)
-        List<Integer> rowsToRemove = new ArrayList<>();
-
-        for (int i = tableModel.getRowCount() - 1; i >= 0; i--) {
-            Boolean isChecked = (Boolean) tableModel.getValueAt(i, 4);
-            if (isChecked != null && isChecked) {
-                rowsToRemove.add(i);
-            }
-        }
-
-        // Remove the rows
-        for (int row : rowsToRemove) {
-            tableModel.removeRow(row);
-        }
-
-        if (!rowsToRemove.isEmpty()) {
+        // Remove all checked rows in one pass
+        if (tableModel.removeCheckedRows() > 0) {
             setHasUnsavedChanges(true);
+            applyFilters();
         }
     }
 
@@ -361,25 +322,20 @@ public class TransactionsPanel extends JPanel implements TransactionChangeListen
     private void saveChanges() {
         try {
             // Collect all table data to save
-            List<Object[]> transactionsToSave = new ArrayList<>();
-
-            for (int i = 0; i < tableModel.getRowCount(); i++) {
-                String date = tableModel.getValueAt(i, 0).toString();
-                String description = tableModel.getValueAt(i, 1).toString();
-                String category = tableModel.getValueAt(i, 2).toString();
-                Double amount = (Double) tableModel.getValueAt(i, 3);
-
-                // Create transaction data array (matches CSV format)
-                Object[] transactionData = {date, description, category, amount, false};
-                transactionsToSave.add(transactionData);
-            }
+            // Create transaction data arrays (matches CSV format)
+            List<Object[]> transactionsToSave = tableModel.getRecords();
+            // Taken before saving, since the saved snapshot resets the model
+            List<Object[]> newlyConfirmed = tableModel.getNewlyConfirmedRecords();
 
             // Save transactions through ViewModel
             boolean success = viewModel.saveTransactions(transactionsToSave);
 
             if (success) {
                 // Store as original data for cancellation
-                originalTransactions = new ArrayList<>(transactionsToSave);
+                originalTransactions = transactionsToSave;
+
+                // Categories the user set are confirmed; learn them for future imports
+                viewModel.learnConfirmedCategories(newlyConfirmed);
 
                 // Show success message
                 JOptionPane.showMessageDialog(this,
@@ -419,6 +375,15 @@ public class TransactionsPanel extends JPanel implements TransactionChangeListen
         cancelButton.setEnabled(hasChanges);
     }
 
+    /**
+     * Gets the user whose transactions are shown.
+     *
+     * @return the username
+     */
+    public String getUsername() {
+        return viewModel.getUsername();
+    }
+
     /**
      * Called when transactions data changes in the ViewModel.
      * Updates the table and category filter.
@@ -426,16 +391,16 @@ public class TransactionsPanel extends JPanel implements TransactionChangeListen
     @Override
     public void onTransactionsChanged() {
         SwingUtilities.invokeLater(() -> {
-            List<Object[]> currentTransactions = viewModel.getTransactions();
+            TransactionTable currentTransactions = viewModel.getTable();
             LOGGER.log(Level.INFO, "Updating UI with {0} transactions", currentTransactions.size());
 
             // Store for cancellation
-            originalTransactions = new ArrayList<>(currentTransactions);
+            originalTransactions = currentTransactions.asRows();
 
-            // Clear and rebuild the table
-            tableModel.setRowCount(0);
+            // Show the new snapshot with a single table event
+            tableModel.setTable(currentTransactions);
 
-            // Rebuild category filter
+            // Rebuild category filter, which reapplies the filters to the new rows
             categoryFilterComboBox.removeAllItems();
             categoryFilterComboBox.addItem(""); // Empty option for "show all"
 
@@ -444,29 +409,6 @@ public class TransactionsPanel extends JPanel implements TransactionChangeListen
                 categoryFilterComboBox.addItem(category);
             }
 
-            // Add transactions to table
-            for (Object[] transaction : currentTransactions) {
-                if (transaction.length >= 4) {
-                    String date = transaction[0].toString();
-                    String description = transaction[1].toString();
-                    String category = transaction[2].toString();
-                    Double amount = 0.0;
-
-                    try {
-                        if (transaction[3] instanceof Double) {
-                            amount = (Double) transaction[3];
-                        } else {
-                            amount = Double.parseDouble(transaction[3].toString());
-                        }
-                    } catch (NumberFormatException e) {
-                        LOGGER.log(Level.WARNING, "Invalid amount format: " + transaction[3], e);
-                    }
-
-                    // Add to table (with checkbox column set to false)
-                    tableModel.addRow(new Object[] {date, description, category, amount, false});
-                }
-            }
-
             // Reset unsaved changes flag
             setHasUnsavedChanges(false);
         });
@@ -15,6 +15,7 @@ import org.jfree.data.general.DefaultPieDataset;
 import javax.swing.*;
 import java.awt.*;
 import java.text.DecimalFormat;
+import java.time.LocalDate;
 import java.util.Map;
 
 
@@ -97,13 +98,14 @@ public class CategoryBreakdownPanel extends JPanel implements CurrencyChangeList
     }
 
     /**
-     * Creates the dataset for the pie chart using category expenses.
+     * Creates the dataset for the pie chart using category expenses in the selected time range.
      *
      * @return the DefaultPieDataset for the chart
      */
     private DefaultPieDataset createDataset() {
         DefaultPieDataset dataset = new DefaultPieDataset();
-        Map<String, Double> categoryExpenses = viewModel.getCategoryExpenses();
+        Map<String, Double> categoryExpenses = viewModel.getCategoryExpensesBetween(
+                getStartDateFromRange(timeRange), LocalDate.now());
         for (Map.Entry<String, Double> entry : categoryExpenses.entrySet()) {
             dataset.setValue(entry.getKey(), entry.getValue());
         }
@@ -147,6 +149,25 @@ public class CategoryBreakdownPanel extends JPanel implements CurrencyChangeList
         chartPanel.repaint();
     }
 
+    /**
+     * Returns the start date based on the selected time range.
+     *
+     * @param range the time range string
+     * @return the start LocalDate
+     */
+    private LocalDate getStartDateFromRange(String range) {
+        LocalDate today = LocalDate.now();
+        switch (range) {
+            case "Last 7 days": return today.minusDays(7);
+            case "Last 30 days": return today.minusDays(30);
+            case "Last 90 days": return today.minusDays(90);
+            case "This month": return today.withDayOfMonth(1);
+            case "Last month": return today.minusMonths(1).withDayOfMonth(1);
+            case "This year": return today.withDayOfYear(1);
+            default: return today.minusDays(30);
+        }
+    }
+
     /**
      * Called when the application currency changes.
      * Refreshes the chart to update currency symbols.
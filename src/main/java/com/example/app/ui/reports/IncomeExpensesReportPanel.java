@@ -10,6 +10,7 @@ import org.jfree.chart.JFreeChart;
 import org.jfree.chart.axis.DateAxis;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
+import org.jfree.chart.title.TextTitle;
 import org.jfree.data.time.*;
 import org.jfree.data.xy.XYDataset;
 
@@ -19,7 +20,6 @@ import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Date;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -90,6 +90,15 @@ public class IncomeExpensesReportPanel extends JPanel implements CurrencyChangeL
         renderer.setSeriesStroke(2, new BasicStroke(2.0f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 1.0f, new float[]{6.0f, 6.0f}, 0.0f));
         DateAxis axis = (DateAxis) plot.getDomainAxis();
         axis.setDateFormatOverride(new SimpleDateFormat("MMM d"));
+
+        // Range totals come from the range index instead of summing the series
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = getStartDateFromRange(timeRange);
+        CurrencyManager currencyManager = CurrencyManager.getInstance();
+        chart.addSubtitle(new TextTitle(String.format("Income: %s    Expenses: %s    Net: %s",
+                currencyManager.formatCurrency(viewModel.getIncomeBetween(startDate, endDate)),
+                currencyManager.formatCurrency(viewModel.getExpensesBetween(startDate, endDate)),
+                currencyManager.formatCurrency(viewModel.getNetBetween(startDate, endDate)))));
         return chart;
     }
 
@@ -103,25 +112,23 @@ public class IncomeExpensesReportPanel extends JPanel implements CurrencyChangeL
         TimeSeries expensesSeries = new TimeSeries("Expenses");
         TimeSeries netSeries = new TimeSeries("Net (Income - Expenses)");
 
-        List<LocalDate> dates = viewModel.getDates();
         Map<LocalDate, Double> incomes = viewModel.getDailyIncomes();
         Map<LocalDate, Double> expenses = viewModel.getDailyExpenses();
 
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = getStartDateFromRange(timeRange);
 
-        for (LocalDate date : dates) {
-            if (date.isAfter(startDate.minusDays(1)) && date.isBefore(endDate.plusDays(1))) {
-                Date utilDate = Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
-                Day day = new Day(utilDate);
+        // Only the dates inside the range are visited
+        for (LocalDate date : viewModel.getDatesBetween(startDate, endDate)) {
+            Date utilDate = Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+            Day day = new Day(utilDate);
 
-                Double income = incomes.get(date);
-                Double expense = expenses.get(date);
+            Double income = incomes.get(date);
+            Double expense = expenses.get(date);
 
-                if (income != null) incomeSeries.add(day, income);
-                if (expense != null) expensesSeries.add(day, expense);
-                if (income != null && expense != null) netSeries.add(day, income - expense);
-            }
+            if (income != null) incomeSeries.add(day, income);
+            if (expense != null) expensesSeries.add(day, expense);
+            if (income != null && expense != null) netSeries.add(day, income - expense);
         }
 
         TimeSeriesCollection dataset = new TimeSeriesCollection();
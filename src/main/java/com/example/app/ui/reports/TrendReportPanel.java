@@ -1,5 +1,6 @@
 package com.example.app.ui.reports;
 
+import com.example.app.model.RollupCube;
 import com.example.app.ui.CurrencyManager;
 import com.example.app.ui.CurrencyManager.CurrencyChangeListener;
 import com.example.app.viewmodel.reports.TrendReportViewModel;
@@ -135,52 +136,28 @@ public class TrendReportPanel extends JPanel implements CurrencyChangeListener,
         TimeSeries expensesSeries = new TimeSeries("Expenses");
         TimeSeries budgetSeries = new TimeSeries("Budget");
 
-        // Get data from the ViewModel
-        List<LocalDate> dates = viewModel.getDates();
-        Map<LocalDate, Double> incomes = viewModel.getDailyIncomes();
-        Map<LocalDate, Double> expenses = viewModel.getDailyExpenses();
-
         // Filter dates based on time range
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = getStartDateFromRange(timeRange);
+        // Open-ended so transactions dated after today's date still refresh the chart tomorrow
+        viewModel.setVisibleRange(startDate, null);
 
-        // Group data based on the selected interval
-        Map<RegularTimePeriod, Double> groupedIncomes = new HashMap<>();
-        Map<RegularTimePeriod, Double> groupedExpenses = new HashMap<>();
-
-        for (LocalDate date : dates) {
-            if (date.isAfter(startDate.minusDays(1)) && date.isBefore(endDate.plusDays(1))) {
-                Date utilDate = Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
-                RegularTimePeriod period = getTimePeriod(utilDate);
-
-                Double income = incomes.get(date);
-                Double expense = expenses.get(date);
-
-                if (income != null) {
-                    groupedIncomes.put(period, groupedIncomes.getOrDefault(period, 0.0) + income);
-                }
+        // Totals come pre-grouped by the selected interval, one entry per period
+        for (RollupCube.PeriodTotal total : viewModel.getPeriodTotals(getGranularity(), startDate, endDate)) {
+            Date utilDate = Date.from(total.getStart().atStartOfDay(ZoneId.systemDefault()).toInstant());
+            RegularTimePeriod period = getTimePeriod(utilDate);
 
-                if (expense != null) {
-                    groupedExpenses.put(period, groupedExpenses.getOrDefault(period, 0.0) + expense);
-                }
+            if (total.hasIncome()) {
+                incomeSeries.addOrUpdate(period, total.getIncome());
             }
-        }
 
-        // Add data to series
-        for (RegularTimePeriod period : getSortedPeriods(groupedIncomes.keySet())) {
-            if (groupedIncomes.containsKey(period)) {
-                incomeSeries.add(period, groupedIncomes.get(period));
-            }
-        }
+            if (total.hasExpenses()) {
+                expensesSeries.addOrUpdate(period, total.getExpenses());
 
-        for (RegularTimePeriod period : getSortedPeriods(groupedExpenses.keySet())) {
-            if (groupedExpenses.containsKey(period)) {
-                expensesSeries.add(period, groupedExpenses.get(period));
+                // Add budget line based on interval
+                double budget = calculateBudgetForPeriod(period);
+                budgetSeries.addOrUpdate(period, budget);
             }
-
-            // Add budget line based on interval
-            double budget = calculateBudgetForPeriod(period);
-            budgetSeries.add(period, budget);
         }
 
         TimeSeriesCollection dataset = new TimeSeriesCollection();
@@ -192,15 +169,25 @@ public class TrendReportPanel extends JPanel implements CurrencyChangeListener,
     }
 
     /**
-     * Returns a sorted list of RegularTimePeriod objects.
+     * Returns the rollup granularity matching the selected interval.
      *
-     * @param periods the set of periods to sort
-     * @return the sorted list of periods
+     * @return the granularity to group totals by
      */
-    private List<RegularTimePeriod> getSortedPeriods(Set<RegularTimePeriod> periods) {
-        List<RegularTimePeriod> sortedPeriods = new ArrayList<>(periods);
-        Collections.sort(sortedPeriods);
-        return sortedPeriods;
+    private RollupCube.Granularity getGranularity() {
+        switch (interval) {
+            case "Weekly":
+                return RollupCube.Granularity.WEEK;
+            case "Fortnightly":
+                return RollupCube.Granularity.FORTNIGHT;
+            case "Monthly":
+                return RollupCube.Granularity.MONTH;
+            case "Quarterly":
+                return RollupCube.Granularity.QUARTER;
+            case "Yearly":
+                return RollupCube.Granularity.YEAR;
+            default:
+                return RollupCube.Granularity.DAY;
+        }
     }
 
     /**
@@ -0,0 +1,445 @@
+package com.example.app.user_data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads the rows of a bill CSV file by tokenizing its bytes in place.
+ * <p>
+ * Lines are split into fields without building a line string, amounts are parsed straight
+ * from the bytes and ISO dates and categories are decoded once and shared between rows, so
+ * only descriptions are decoded for every row. Lines that contain a quote are decoded and
+ * split with {@link UserBillStorage#parseCSVLine(String)}, which keeps quoted commas.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Memory-maps large files; small ones are read into a heap buffer so that no mapping
+ *       keeps the file locked on Windows</li>
+ *   <li>Exact fast path for plain decimal amounts, falling back to {@link Double#parseDouble(String)}</li>
+ *   <li>Same rules as the line-based reader: header skipped, blank lines ignored,
+ *       at least five fields, extra fields ignored</li>
+ *   <li>Decodes text in the platform charset the bill file is written with</li>
+ * </ul>
+ */
+final class BillFileReader {
+    private static final Logger LOGGER = Logger.getLogger(BillFileReader.class.getName());
+
+    /** Largest region mapped at once; a mapping cannot exceed the int range */
+    private static final long MAX_WINDOW = Integer.MAX_VALUE;
+
+    /** Files smaller than this are read into memory instead of being mapped */
+    private static final long MAP_THRESHOLD = 16L * 1024 * 1024;
+
+    /** Number of fields of a bill row: date, description, category, amount, confirmed */
+    private static final int FIELDS = 5;
+
+    /** Powers of ten that are exactly representable as doubles */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Receives the rows of a bill file.
+     */
+    @FunctionalInterface
+    interface RowHandler {
+        /**
+         * Handles one row.
+         *
+         * @param date the date as written in the file
+         * @param description the description
+         * @param category the category
+         * @param amount the amount, negative for expenses
+         * @param confirmed whether the user confirmed the category
+         */
+        void accept(String date, String description, String category, double amount, boolean confirmed);
+    }
+
+    private final RowHandler handler;
+    private final Charset charset;
+
+    /** Decoded ISO dates keyed by yyyymmdd */
+    private final Map<Integer, String> dates = new HashMap<>();
+    /** Decoded categories, compared on their bytes */
+    private final BytePool categories = new BytePool();
+    /** Reusable copy buffer for decoding fields */
+    private byte[] scratch = new byte[256];
+
+    /** Start and end offsets of the fields of the current line */
+    private final int[] starts = new int[FIELDS];
+    private final int[] ends = new int[FIELDS];
+
+    /**
+     * Creates a reader.
+     *
+     * @param handler receives every valid row
+     * @param charset the charset of the file
+     */
+    private BillFileReader(RowHandler handler, Charset charset) {
+        this.handler = handler;
+        this.charset = charset;
+    }
+
+    /**
+     * Reads every row of a bill file after its header line.
+     * Rows that cannot be parsed are logged and skipped.
+     *
+     * @param file the bill file
+     * @param handler receives every valid row in file order
+     * @throws IOException if the file cannot be read
+     */
+    static void read(File file, RowHandler handler) throws IOException {
+        BillFileReader reader = new BillFileReader(handler, Charset.defaultCharset());
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            boolean skipHeader = true;
+
+            while (position < size) {
+                long length = Math.min(size - position, MAX_WINDOW);
+                boolean lastWindow = position + length == size;
+                ByteBuffer buffer;
+                if (size < MAP_THRESHOLD) {
+                    buffer = ByteBuffer.allocate((int) length);
+                    while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) >= 0) {
+                        // Keep reading until the buffer is full
+                    }
+                } else {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                }
+
+                int consumed = reader.readLines(buffer, (int) length, skipHeader, lastWindow);
+                skipHeader = false;
+                // A line cut by the window end is read again at the start of the next window
+                position += consumed > 0 ? consumed : length;
+            }
+        }
+    }
+
+    /**
+     * Reads every complete line in the buffer. Lines end at {@code \n} or {@code \r},
+     * as with {@link java.io.BufferedReader#readLine()}.
+     *
+     * @param buffer the file bytes
+     * @param limit number of valid bytes in the buffer
+     * @param skipHeader whether the first line is a header
+     * @param lastWindow whether the buffer reaches the end of the file
+     * @return number of bytes consumed; a trailing partial line is left unconsumed
+     */
+    private int readLines(ByteBuffer buffer, int limit, boolean skipHeader, boolean lastWindow) {
+        int lineStart = 0;
+        for (int i = 0; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n' || b == '\r') {
+                if (skipHeader) {
+                    skipHeader = false;
+                    if (b == '\r' && i + 1 < limit && buffer.get(i + 1) == '\n') {
+                        i++;
+                    }
+                } else {
+                    readLine(buffer, lineStart, i);
+                }
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < limit && (lastWindow || lineStart == 0)) {
+            if (!skipHeader) {
+                readLine(buffer, lineStart, limit);
+            }
+            return limit;
+        }
+        return lineStart;
+    }
+
+    /**
+     * Parses one line between {@code from} (inclusive) and {@code to} (exclusive).
+     *
+     * @param buffer the file bytes
+     * @param from the first byte of the line
+     * @param to the end of the line
+     */
+    private void readLine(ByteBuffer buffer, int from, int to) {
+        if (from == to) {
+            return;
+        }
+
+        int fields = 0;
+        int fieldStart = from;
+        for (int i = from; i <= to && fields < FIELDS; i++) {
+            if (i == to) {
+                starts[fields] = fieldStart;
+                ends[fields++] = i;
+            } else {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    readQuotedLine(buffer, from, to);
+                    return;
+                }
+                if (b == ',') {
+                    starts[fields] = fieldStart;
+                    ends[fields++] = i;
+                    fieldStart = i + 1;
+                }
+            }
+        }
+        if (fields < FIELDS) {
+            LOGGER.log(Level.WARNING, "Error parsing transaction: {0}", decode(buffer, from, to));
+            return;
+        }
+
+        double amount;
+        try {
+            amount = parseAmount(buffer, starts[3], ends[3]);
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Error parsing transaction: {0}", decode(buffer, from, to));
+            return;
+        }
+        handler.accept(decodeDate(buffer, starts[0], ends[0]),
+                decode(buffer, starts[1], ends[1]),
+                categories.intern(buffer, starts[2], ends[2], this),
+                amount,
+                isTrue(buffer, starts[4], ends[4]));
+    }
+
+    /**
+     * Parses a line containing quotes on its decoded text.
+     *
+     * @param buffer the file bytes
+     * @param from the first byte of the line
+     * @param to the end of the line
+     */
+    private void readQuotedLine(ByteBuffer buffer, int from, int to) {
+        String line = decode(buffer, from, to);
+        String[] parts = UserBillStorage.parseCSVLine(line);
+        if (parts.length < FIELDS) {
+            LOGGER.log(Level.WARNING, "Error parsing transaction: {0}", line);
+            return;
+        }
+        try {
+            handler.accept(parts[0], parts[1], parts[2],
+                    Double.parseDouble(parts[3]), Boolean.parseBoolean(parts[4]));
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Error parsing transaction: {0}", line);
+        }
+    }
+
+    /**
+     * Decodes a date field, sharing one string per distinct ISO {@code yyyy-MM-dd} date.
+     *
+     * @param buffer the file bytes
+     * @param start the first byte of the field
+     * @param end the end of the field
+     * @return the date text
+     */
+    private String decodeDate(ByteBuffer buffer, int start, int end) {
+        if (end - start == 10 && buffer.get(start + 4) == '-' && buffer.get(start + 7) == '-') {
+            int year = digits(buffer, start, 4);
+            int month = digits(buffer, start + 5, 2);
+            int day = digits(buffer, start + 8, 2);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return dates.computeIfAbsent(year * 10000 + month * 100 + day,
+                        key -> decode(buffer, start, end));
+            }
+        }
+        return decode(buffer, start, end);
+    }
+
+    /**
+     * Decodes a byte range into a string.
+     *
+     * @param buffer the file bytes
+     * @param start the first byte
+     * @param end the end of the range
+     * @return the decoded text
+     */
+    private String decode(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, charset);
+    }
+
+    /**
+     * Parses a decimal amount straight from bytes.
+     * Plain {@code [+-]digits[.digits]} values with at most 15 significant digits take an
+     * exact fast path; anything else falls back to {@link Double#parseDouble(String)}.
+     *
+     * @param buffer the file bytes
+     * @param start the first byte of the field
+     * @param end the end of the field
+     * @return the amount
+     * @throws NumberFormatException if the field is not a number
+     */
+    private double parseAmount(ByteBuffer buffer, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digitCount = 0;
+        int fractionDigits = 0;
+        boolean seenDot = false;
+        boolean simple = i < end;
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digitCount++;
+                if (seenDot) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                simple = false;
+                break;
+            }
+        }
+
+        if (simple && digitCount > 0 && digitCount <= 15) {
+            double value = mantissa / POWERS_OF_TEN[fractionDigits];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(decode(buffer, start, end));
+    }
+
+    /**
+     * Checks a field the same way {@link Boolean#parseBoolean(String)} does.
+     *
+     * @param buffer the file bytes
+     * @param start the first byte of the field
+     * @param end the end of the field
+     * @return true if the field is "true", ignoring case
+     */
+    private static boolean isTrue(ByteBuffer buffer, int start, int end) {
+        return end - start == 4
+                && (buffer.get(start) | 0x20) == 't'
+                && (buffer.get(start + 1) | 0x20) == 'r'
+                && (buffer.get(start + 2) | 0x20) == 'u'
+                && (buffer.get(start + 3) | 0x20) == 'e';
+    }
+
+    /**
+     * Reads a fixed number of ASCII digits.
+     *
+     * @param buffer the file bytes
+     * @param start the first digit
+     * @param count the number of digits
+     * @return the value, or -1 if a non-digit is found
+     */
+    private static int digits(ByteBuffer buffer, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Small open-addressing pool that maps byte ranges to shared decoded strings.
+     * Used for low-cardinality columns such as the category.
+     */
+    private static final class BytePool {
+        private byte[][] keys = new byte[64][];
+        private String[] values = new String[64];
+        private int size;
+
+        /**
+         * Returns the shared string for a byte range, decoding it the first time it is seen.
+         *
+         * @param buffer the file bytes
+         * @param start the first byte
+         * @param end the end of the range
+         * @param reader the reader used to decode new values
+         * @return the shared string
+         */
+        String intern(ByteBuffer buffer, int start, int end, BillFileReader reader) {
+            int hash = 1;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + buffer.get(i);
+            }
+            int mask = keys.length - 1;
+            int slot = hash & mask;
+            while (keys[slot] != null) {
+                if (matches(keys[slot], buffer, start, end)) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            String value = reader.decode(buffer, start, end);
+            byte[] key = new byte[end - start];
+            buffer.get(start, key, 0, key.length);
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return value;
+        }
+
+        /**
+         * Compares a stored key with a byte range.
+         *
+         * @param key the stored key
+         * @param buffer the file bytes
+         * @param start the first byte
+         * @param end the end of the range
+         * @return true if the bytes are equal
+         */
+        private static boolean matches(byte[] key, ByteBuffer buffer, int start, int end) {
+            if (key.length != end - start) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (key[i] != buffer.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Doubles the table and reinserts every key.
+         */
+        private void grow() {
+            byte[][] oldKeys = keys;
+            String[] oldValues = values;
+            keys = new byte[oldKeys.length * 2][];
+            values = new String[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    int hash = 1;
+                    for (byte b : oldKeys[i]) {
+                        hash = 31 * hash + b;
+                    }
+                    int slot = hash & mask;
+                    while (keys[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+}
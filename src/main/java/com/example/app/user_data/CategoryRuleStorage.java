@@ -0,0 +1,145 @@
+package com.example.app.user_data;
+
+import com.example.app.model.CSVRowMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Handles storage of a user's categorization rules.
+ * Each rule maps a keyword found in transaction descriptions to a category.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Loads and saves rules to a user-specific CSV file in priority order</li>
+ *   <li>Provides default rules for common merchants until the user saves their own</li>
+ *   <li>Takes the username with every call, so it can be used from import threads</li>
+ * </ul>
+ */
+public class CategoryRuleStorage {
+
+    /** Private constructor to prevent instantiation */
+    private CategoryRuleStorage() {
+        // Prevent instantiation
+    }
+    private static final Logger LOGGER = Logger.getLogger(CategoryRuleStorage.class.getName());
+    private static final String RULES_FILENAME = "category_rules.csv";
+
+    // CSV format definitions
+    private static final String CSV_HEADER = "Keyword,Category";
+
+    /** Rules used while a user has no rules file, mapping to the default budget categories */
+    private static final String[][] DEFAULT_RULES = {
+        {"restaurant", "Food"}, {"cafe", "Food"}, {"coffee", "Food"}, {"grocery", "Food"},
+        {"supermarket", "Food"}, {"餐厅", "Food"}, {"餐饮", "Food"}, {"美团", "Food"},
+        {"饿了么", "Food"}, {"超市", "Food"}, {"咖啡", "Food"},
+        {"uber", "Transportation"}, {"taxi", "Transportation"}, {"metro", "Transportation"},
+        {"fuel", "Transportation"}, {"滴滴", "Transportation"}, {"地铁", "Transportation"},
+        {"公交", "Transportation"}, {"加油", "Transportation"}, {"铁路", "Transportation"},
+        {"rent", "Housing"}, {"mortgage", "Housing"}, {"房租", "Housing"}, {"物业", "Housing"},
+        {"electricity", "Service"}, {"water bill", "Service"}, {"internet", "Service"},
+        {"电费", "Service"}, {"水费", "Service"}, {"燃气", "Service"}, {"话费", "Service"},
+        {"cinema", "Entertainment"}, {"netflix", "Entertainment"}, {"spotify", "Entertainment"},
+        {"电影", "Entertainment"}, {"游戏", "Entertainment"},
+        {"pharmacy", "Service"}, {"hospital", "Service"}, {"clinic", "Service"},
+        {"药房", "Service"}, {"医院", "Service"}
+    };
+
+    /**
+     * Gets the rules file of a user.
+     * @param username The user's username
+     * @return The user's rules file
+     */
+    public static File getRulesFile(String username) {
+        return new File(".\\user_data\\" + username, RULES_FILENAME);
+    }
+
+    /**
+     * Gets the default rules.
+     * @return Categories by keyword, in priority order
+     */
+    public static Map<String, String> getDefaultRules() {
+        Map<String, String> rules = new LinkedHashMap<>();
+        for (String[] rule : DEFAULT_RULES) {
+            rules.put(rule[0], rule[1]);
+        }
+        return rules;
+    }
+
+    /**
+     * Loads a user's rules, or the default rules if the user has no rules file.
+     * @param username The user's username
+     * @return Categories by keyword, in priority order
+     */
+    public static Map<String, String> loadRules(String username) {
+        File file = getRulesFile(username);
+        if (!file.exists()) {
+            return getDefaultRules();
+        }
+
+        Map<String, String> rules = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            reader.readLine(); // Skip header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                List<String> parts = CSVRowMapper.parseLine(line);
+                if (parts.size() >= 2 && !parts.get(0).isEmpty() && !parts.get(1).isEmpty()) {
+                    rules.putIfAbsent(parts.get(0), parts.get(1));
+                }
+            }
+            LOGGER.log(Level.INFO, "Loaded {0} category rules from: {1}",
+                    new Object[]{rules.size(), file.getAbsolutePath()});
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error loading category rules from file: " + e.getMessage(), e);
+        }
+        return rules;
+    }
+
+    /**
+     * Saves a user's rules, replacing the rules file.
+     * @param username The user's username
+     * @param rules Categories by keyword, in priority order
+     * @return true if successful, false otherwise
+     */
+    public static boolean saveRules(String username, Map<String, String> rules) {
+        File file = getRulesFile(username);
+        File directory = file.getParentFile();
+        if (!directory.exists() && !directory.mkdirs()) {
+            LOGGER.log(Level.SEVERE, "Could not create rules directory at: {0}", directory.getAbsolutePath());
+            return false;
+        }
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file, StandardCharsets.UTF_8))) {
+            writer.println(CSV_HEADER);
+            for (Map.Entry<String, String> rule : rules.entrySet()) {
+                writer.println(escapeCSV(rule.getKey()) + "," + escapeCSV(rule.getValue()));
+            }
+            LOGGER.log(Level.INFO, "Successfully saved {0} category rules to: {1}",
+                    new Object[]{rules.size(), file.getAbsolutePath()});
+            return true;
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error saving category rules to file: " + e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Escapes special characters in a CSV field.
+     * @param field The field to escape
+     * @return Escaped field
+     */
+    private static String escapeCSV(String field) {
+        if (field == null) {
+            return "";
+        }
+
+        // Keywords are matched as written, so a field with a comma is quoted; quotes are dropped
+        if (field.contains(",")) {
+            return "\"" + field.replace("\"", "") + "\"";
+        }
+        return field.replace("\"", "");
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.app.user_data;
 
+import com.example.app.model.UserDataWarmup;
+
 import java.io.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -102,17 +104,38 @@ public class FinancialAdviceStorage {
     }
 
     /**
-     * Loads financial advice from file.
+     * Gets the advice file of a user without changing the current user or creating anything.
+     * @param username The user's username
+     * @return The user's advice file
+     */
+    public static File getAdviceFile(String username) {
+        return new File(".\\user_data\\" + username, ADVICE_FILENAME);
+    }
+
+    /**
+     * Loads financial advice from file, or takes it from the login warm-up if it already
+     * read the unchanged file.
      * @return Object array containing [advice text, generation time] or null if loading failed
      */
     public static Object[] loadAdvice() {
+        Object[] warmed = UserDataWarmup.getAdvice(username);
+        return warmed != null ? warmed : readAdvice(adviceFile);
+    }
+
+    /**
+     * Reads financial advice from an advice file. Does not use or change the current user,
+     * so it can run on any thread.
+     * @param file The advice file
+     * @return Object array containing [advice text, generation time] or null if loading failed
+     */
+    public static Object[] readAdvice(File file) {
         // Confirm file exists
-        if (!adviceFile.exists()) {
-            LOGGER.log(Level.WARNING, "Advice file does not exist: {0}", adviceFile.getAbsolutePath());
+        if (!file.exists()) {
+            LOGGER.log(Level.WARNING, "Advice file does not exist: {0}", file.getAbsolutePath());
             return null;
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(adviceFile))) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String dateStr = reader.readLine(); // First line is the date
             if (dateStr == null) {
                 LOGGER.log(Level.WARNING, "Empty advice file");
@@ -135,7 +158,7 @@ public class FinancialAdviceStorage {
 
             String adviceText = adviceBuilder.toString();
 
-            LOGGER.log(Level.INFO, "Successfully loaded advice from: {0}", adviceFile.getAbsolutePath());
+            LOGGER.log(Level.INFO, "Successfully loaded advice from: {0}", file.getAbsolutePath());
             return new Object[]{adviceText, generationTime};
 
         } catch (IOException | java.time.format.DateTimeParseException e) {
@@ -151,6 +174,7 @@ public class FinancialAdviceStorage {
      * @return true if successful, false otherwise
      */
     public static boolean saveAdvice(String advice, LocalDateTime generationTime) {
+        UserDataWarmup.invalidate();
         try (PrintWriter writer = new PrintWriter(new FileWriter(adviceFile))) {
             writer.println(generationTime.format(DATE_FORMATTER));
             writer.println(advice);
@@ -1,9 +1,14 @@
 package com.example.app.user_data;
 
+import com.example.app.model.TransactionTable;
 import com.example.app.ui.pages.AI.classification;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.time.LocalDate;
@@ -17,9 +22,15 @@ import java.time.format.DateTimeFormatter;
  * <ul>
  *   <li>Loads and saves transactions to a user-specific CSV file</li>
  *   <li>Initializes storage with headers if needed</li>
+ *   <li>Records added, edited and deleted rows in an append-only journal</li>
+ *   <li>Folds the journal back into the CSV file on a background thread</li>
  *   <li>Supports batch classification of transactions using AI</li>
  *   <li>Handles CSV escaping and parsing</li>
  * </ul>
+ * <p>
+ * The journal ({@code user_bill.journal}) sits next to {@code user_bill.csv}. Each line is one
+ * operation: {@code A,<row>} appends a row, {@code U,<index>,<row>} replaces the row at an index
+ * and {@code D,<index>} removes it. Loading reads the CSV file and replays the journal on top.
  
  */
 public class UserBillStorage {
@@ -29,9 +40,35 @@ public class UserBillStorage {
     }
     private static final Logger LOGGER = Logger.getLogger(UserBillStorage.class.getName());
     private static final String BILL_FILENAME = "user_bill.csv";
+    private static final String JOURNAL_FILENAME = "user_bill.journal";
     private static File billFile;
+    private static File journalFile;
     private static String username;
 
+    /** Incremented on every write so in-memory caches can detect stale data */
+    private static volatile long modificationCount = 0;
+
+    /** Number of operations in the current user's journal */
+    private static int journalEntries = 0;
+
+    /** Journals with a compaction scheduled and not yet run, so each is queued at most once */
+    private static final Set<File> pendingCompactions = new HashSet<>();
+
+    /** Journal size at which a background compaction is scheduled */
+    private static final int COMPACTION_THRESHOLD = 200;
+
+    /** Single daemon thread that folds journals into their CSV files */
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bill-journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Journal operation codes
+    private static final String OP_ADD = "A";
+    private static final String OP_UPDATE = "U";
+    private static final String OP_DELETE = "D";
+
     // CSV format definitions
     private static final String CSV_HEADER = "Date,Description,Category,Amount,Confirmed";
     private static final String CSV_FORMAT = "%s,%s,%s,%.2f,%b";
@@ -41,14 +78,16 @@ public class UserBillStorage {
      * Sets the current username and updates the file path.
      * @param username The current user's username
      */
-    public static void setUsername(String username) {
+    public static synchronized void setUsername(String username) {
         UserBillStorage.username = username;
         // Update file path to user-specific path
         String packagePath = ".\\user_data\\" + username;
         billFile = new File(packagePath, BILL_FILENAME);
+        journalFile = new File(packagePath, JOURNAL_FILENAME);
 
         // Ensure file exists
         initializeStorage();
+        journalEntries = countJournalEntries(journalFile);
     }
 
     /**
@@ -100,54 +139,206 @@ public class UserBillStorage {
     }
 
     /**
-     * Loads transactions from the CSV file.
-     * @return List of transaction records
+     * Gets the path to the journal file that accompanies the bill file.
+     * @return The path to the journal file
      */
-    public static List<Object[]> loadTransactions() {
-        List<Object[]> transactions = new ArrayList<>();
+    public static String getJournalFilePath() {
+        return journalFile.getAbsolutePath();
+    }
 
+    /**
+     * Gets the number of writes made through this storage since startup.
+     * Callers caching the loaded transactions compare this value to decide whether to reload.
+     * @return The current modification count
+     */
+    public static long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Loads transactions from the CSV file and replays any pending journal operations.
+     * @return List of transaction records
+     */
+    public static synchronized List<Object[]> loadTransactions() {
         // Confirm file exists
         if (!billFile.exists()) {
             LOGGER.log(Level.WARNING, "Bill file does not exist: {0}", billFile.getAbsolutePath());
-            return transactions;
+            return new ArrayList<>();
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(billFile))) {
-            String line;
-            boolean isFirstLine = true;
+        List<Object[]> transactions = readTransactions(billFile, journalFile);
+        LOGGER.log(Level.INFO, "Successfully loaded transactions from: {0}", billFile.getAbsolutePath());
+        LOGGER.log(Level.INFO, "Loaded {0} transactions", transactions.size());
+        return transactions;
+    }
+
+    /**
+     * Loads transactions into a column-oriented table.
+     * When the journal is empty the CSV rows are tokenized by {@link BillFileReader} and
+     * added to the table as they are read, so no line strings or intermediate list of
+     * records are built.
+     * @return The transactions of the current user
+     */
+    public static synchronized TransactionTable loadTable() {
+        return loadTable(billFile, journalFile);
+    }
+
+    /**
+     * Loads the transactions of the given user into a column-oriented table without
+     * changing the current user, so a background load cannot redirect the reads and
+     * writes of another thread to this user's files.
+     * @param username The user whose bill file is read
+     * @return The transactions of the given user
+     */
+    public static synchronized TransactionTable loadTable(String username) {
+        String packagePath = ".\\user_data\\" + username;
+        return loadTable(new File(packagePath, BILL_FILENAME), new File(packagePath, JOURNAL_FILENAME));
+    }
 
+    /**
+     * Loads the given bill file and journal into a column-oriented table.
+     * @param bill The CSV bill file
+     * @param journal The journal file, which may not exist
+     * @return The transactions read
+     */
+    private static TransactionTable loadTable(File bill, File journal) {
+        if (!bill.exists()) {
+            LOGGER.log(Level.WARNING, "Bill file does not exist: {0}", bill.getAbsolutePath());
+            return TransactionTable.empty();
+        }
+        if (journal.exists()) {
+            List<Object[]> transactions = readTransactions(bill, journal);
+            LOGGER.log(Level.INFO, "Loaded {0} transactions", transactions.size());
+            return TransactionTable.fromRows(transactions);
+        }
+
+        TransactionTable.Builder builder = new TransactionTable.Builder();
+        try {
+            BillFileReader.read(bill, builder::add);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error loading transactions from file: " + e.getMessage(), e);
+        }
+        LOGGER.log(Level.INFO, "Loaded {0} transactions", builder.size());
+        return builder.build();
+    }
+
+    /**
+     * Reads the given bill file and applies the given journal on top of it.
+     * @param bill The CSV bill file
+     * @param journal The journal file, which may not exist
+     * @return List of transaction records
+     */
+    private static List<Object[]> readTransactions(File bill, File journal) {
+        List<Object[]> transactions = new ArrayList<>();
+
+        try {
+            BillFileReader.read(bill, (date, description, category, amount, confirmed) ->
+                    transactions.add(new Object[]{date, description, category, amount, confirmed}));
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error loading transactions from file: " + e.getMessage(), e);
+        }
+
+        replayJournal(journal, transactions);
+        return transactions;
+    }
+
+    /**
+     * Applies every operation recorded in the journal to the given list.
+     * @param journal The journal file, which may not exist
+     * @param transactions The transactions read from the bill file
+     */
+    private static void replayJournal(File journal, List<Object[]> transactions) {
+        if (journal == null || !journal.exists()) {
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(journal))) {
+            String line;
             while ((line = reader.readLine()) != null) {
-                // Skip header line
-                if (isFirstLine) {
-                    isFirstLine = false;
+                if (line.isEmpty()) {
                     continue;
                 }
-
-                // Parse CSV line, handling quoted fields
                 String[] parts = parseCSVLine(line);
-                if (parts.length >= 5) {
-                    try {
-                        String dateStr = parts[0];
-                        String description = parts[1];
-                        String category = parts[2];
-                        double amount = Double.parseDouble(parts[3]);
-                        boolean confirmed = Boolean.parseBoolean(parts[4]);
-
-                        Object[] transaction = {dateStr, description, category, amount, confirmed};
-                        transactions.add(transaction);
-                    } catch (NumberFormatException e) {
-                        LOGGER.log(Level.WARNING, "Error parsing transaction: " + line, e);
+                try {
+                    switch (parts[0]) {
+                        case OP_ADD: {
+                            Object[] transaction = parseTransaction(parts, 1);
+                            if (transaction != null) {
+                                transactions.add(transaction);
+                            }
+                            break;
+                        }
+                        case OP_UPDATE: {
+                            int index = Integer.parseInt(parts[1]);
+                            Object[] transaction = parseTransaction(parts, 2);
+                            if (transaction != null && index >= 0 && index < transactions.size()) {
+                                transactions.set(index, transaction);
+                            }
+                            break;
+                        }
+                        case OP_DELETE: {
+                            int index = Integer.parseInt(parts[1]);
+                            if (index >= 0 && index < transactions.size()) {
+                                transactions.remove(index);
+                            }
+                            break;
+                        }
+                        default:
+                            LOGGER.log(Level.WARNING, "Unknown journal entry: {0}", line);
                     }
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    LOGGER.log(Level.WARNING, "Error replaying journal entry: " + line, e);
                 }
             }
-
-            LOGGER.log(Level.INFO, "Successfully loaded transactions from: {0}", billFile.getAbsolutePath());
-            LOGGER.log(Level.INFO, "Loaded {0} transactions", transactions.size());
         } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Error loading transactions from file: " + e.getMessage(), e);
+            LOGGER.log(Level.SEVERE, "Error reading bill journal: " + e.getMessage(), e);
         }
+    }
 
-        return transactions;
+    /**
+     * Builds a transaction record from parsed CSV fields.
+     * @param parts The parsed fields
+     * @param offset Index of the date field within {@code parts}
+     * @return The transaction record, or null if the fields are incomplete or invalid
+     */
+    private static Object[] parseTransaction(String[] parts, int offset) {
+        if (parts.length < offset + 5) {
+            return null;
+        }
+        try {
+            String dateStr = parts[offset];
+            String description = parts[offset + 1];
+            String category = parts[offset + 2];
+            double amount = Double.parseDouble(parts[offset + 3]);
+            boolean confirmed = Boolean.parseBoolean(parts[offset + 4]);
+
+            return new Object[]{dateStr, description, category, amount, confirmed};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Counts the operations recorded in a journal file.
+     * @param journal The journal file
+     * @return Number of non-empty lines, or 0 if the file does not exist
+     */
+    private static int countJournalEntries(File journal) {
+        if (!journal.exists()) {
+            return 0;
+        }
+        int count = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(journal))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    count++;
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error reading bill journal: " + e.getMessage(), e);
+        }
+        return count;
     }
 
     /**
@@ -155,7 +346,7 @@ public class UserBillStorage {
      * @param line The CSV line
      * @return Array of fields
      */
-    private static String[] parseCSVLine(String line) {
+    static String[] parseCSVLine(String line) {
         List<String> result = new ArrayList<>();
         StringBuilder current = new StringBuilder();
         boolean inQuotes = false;
@@ -180,34 +371,42 @@ public class UserBillStorage {
     }
 
     /**
-     * Saves the given transactions to the CSV file.
+     * Saves the given transactions to the CSV file, replacing its content and clearing the journal.
      * @param transactions List of transactions to save
      * @return true if successful, false otherwise
      */
-    public static boolean saveTransactions(List<Object[]> transactions) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(billFile))) {
+    public static synchronized boolean saveTransactions(List<Object[]> transactions) {
+        if (!writeTransactions(billFile, transactions)) {
+            return false;
+        }
+        clearJournal(journalFile);
+        journalEntries = 0;
+        modificationCount++;
+
+        if (transactions.isEmpty()) {
+            LOGGER.log(Level.INFO, "No transactions to save");
+        } else {
+            LOGGER.log(Level.INFO, "Successfully saved {0} transactions to: {1}",
+                    new Object[]{transactions.size(), billFile.getAbsolutePath()});
+        }
+        return true;
+    }
+
+    /**
+     * Writes the header and all transactions to the given file.
+     * @param target The file to write
+     * @param transactions List of transactions to write
+     * @return true if successful, false otherwise
+     */
+    private static boolean writeTransactions(File target, List<Object[]> transactions) {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(target))) {
             // Write CSV header
             writer.println(CSV_HEADER);
 
-            // If no transactions, return immediately
-            if (transactions.isEmpty()) {
-                LOGGER.log(Level.INFO, "No transactions to save");
-                return true;
-            }
-
             // Write each transaction with its original category
             for (Object[] transaction : transactions) {
-                String dateStr = (String) transaction[0];
-                String description = escapeCSV((String) transaction[1]);
-                String category = escapeCSV((String) transaction[2]);
-                double amount = (Double) transaction[3];
-                boolean confirmed = transaction.length > 4 ? (Boolean) transaction[4] : false;
-
-                writer.println(String.format(CSV_FORMAT, dateStr, description, category, amount, confirmed));
+                writer.println(formatTransaction(transaction));
             }
-
-            LOGGER.log(Level.INFO, "Successfully saved {0} transactions to: {1}",
-                    new Object[]{transactions.size(), billFile.getAbsolutePath()});
             return true;
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Error saving transactions to file: " + e.getMessage(), e);
@@ -215,6 +414,21 @@ public class UserBillStorage {
         }
     }
 
+    /**
+     * Formats a transaction record as a CSV row.
+     * @param transaction The transaction record
+     * @return The CSV row without a line terminator
+     */
+    private static String formatTransaction(Object[] transaction) {
+        String dateStr = (String) transaction[0];
+        String description = escapeCSV((String) transaction[1]);
+        String category = escapeCSV((String) transaction[2]);
+        double amount = (Double) transaction[3];
+        boolean confirmed = transaction.length > 4 ? (Boolean) transaction[4] : false;
+
+        return String.format(CSV_FORMAT, dateStr, description, category, amount, confirmed);
+    }
+
     /**
      * Escapes special characters in a CSV field.
      * @param field The field to escape
@@ -234,17 +448,131 @@ public class UserBillStorage {
 
     /**
      * Adds new transactions to the existing records.
+     * The rows are appended to the journal, so the cost does not depend on the size of the bill.
      * @param newTransactions List of new transactions to add
      * @return true if successful, false otherwise
      */
-    public static boolean addTransactions(List<Object[]> newTransactions) {
-        // Load existing transactions
-        List<Object[]> existingTransactions = loadTransactions();
+    public static synchronized boolean addTransactions(List<Object[]> newTransactions) {
+        List<String> entries = new ArrayList<>(newTransactions.size());
+        for (Object[] transaction : newTransactions) {
+            entries.add(OP_ADD + "," + formatTransaction(transaction));
+        }
+        return appendToJournal(entries);
+    }
+
+    /**
+     * Replaces the transaction at the given position.
+     * The change is appended to the journal.
+     * @param index Position of the transaction in the loaded list
+     * @param transaction The new transaction record
+     * @return true if successful, false otherwise
+     */
+    public static synchronized boolean updateTransaction(int index, Object[] transaction) {
+        return appendToJournal(Collections.singletonList(
+                OP_UPDATE + "," + index + "," + formatTransaction(transaction)));
+    }
+
+    /**
+     * Removes the transactions at the given positions.
+     * The removals are appended to the journal, highest index first so that
+     * every index still refers to the list as it was before the call.
+     * @param indices Positions of the transactions in the loaded list
+     * @return true if successful, false otherwise
+     */
+    public static synchronized boolean deleteTransactions(Collection<Integer> indices) {
+        List<Integer> sorted = new ArrayList<>(new TreeSet<>(indices));
+        Collections.reverse(sorted);
+
+        List<String> entries = new ArrayList<>(sorted.size());
+        for (int index : sorted) {
+            entries.add(OP_DELETE + "," + index);
+        }
+        return appendToJournal(entries);
+    }
+
+    /**
+     * Appends operations to the current journal and schedules a compaction if it has grown large.
+     * @param entries Journal lines to append
+     * @return true if successful, false otherwise
+     */
+    private static boolean appendToJournal(List<String> entries) {
+        if (entries.isEmpty()) {
+            return true;
+        }
 
-        // Add new transactions
-        existingTransactions.addAll(newTransactions);
+        try (PrintWriter writer = new PrintWriter(new FileWriter(journalFile, true))) {
+            for (String entry : entries) {
+                writer.println(entry);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error appending to bill journal: " + e.getMessage(), e);
+            return false;
+        }
+
+        journalEntries += entries.size();
+        modificationCount++;
+        LOGGER.log(Level.FINE, "Appended {0} entries to: {1}",
+                new Object[]{entries.size(), journalFile.getAbsolutePath()});
 
-        // Save updated transactions
-        return saveTransactions(existingTransactions);
+        if (journalEntries >= COMPACTION_THRESHOLD && pendingCompactions.add(journalFile)) {
+            File bill = billFile;
+            File journal = journalFile;
+            COMPACTOR.execute(() -> compact(bill, journal));
+        }
+        return true;
+    }
+
+    /**
+     * Folds the current user's journal into the bill file immediately.
+     * @return true if successful or there was nothing to fold, false otherwise
+     */
+    public static synchronized boolean compactJournal() {
+        return compact(billFile, journalFile);
+    }
+
+    /**
+     * Rewrites the bill file with the journal applied and removes the journal.
+     * The new content is written to a temporary file first and moved into place,
+     * so a failure never leaves a partially written bill file behind.
+     * @param bill The bill file
+     * @param journal The journal file
+     * @return true if successful or there was nothing to fold, false otherwise
+     */
+    private static synchronized boolean compact(File bill, File journal) {
+        // Cleared for this journal even if the user changed since it was scheduled
+        pendingCompactions.remove(journal);
+        if (!journal.exists() || !bill.exists()) {
+            return true;
+        }
+
+        List<Object[]> transactions = readTransactions(bill, journal);
+        File temp = new File(bill.getParentFile(), BILL_FILENAME + ".tmp");
+        if (!writeTransactions(temp, transactions)) {
+            return false;
+        }
+        try {
+            Files.move(temp.toPath(), bill.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error replacing bill file during compaction: " + e.getMessage(), e);
+            temp.delete();
+            return false;
+        }
+        clearJournal(journal);
+
+        if (journal.equals(journalFile)) {
+            journalEntries = 0;
+        }
+        LOGGER.log(Level.INFO, "Compacted bill journal into: {0}", bill.getAbsolutePath());
+        return true;
+    }
+
+    /**
+     * Deletes a journal file if it exists.
+     * @param journal The journal file
+     */
+    private static void clearJournal(File journal) {
+        if (journal.exists() && !journal.delete()) {
+            LOGGER.log(Level.WARNING, "Could not delete bill journal: {0}", journal.getAbsolutePath());
+        }
     }
-}
\ No newline at end of file
+}
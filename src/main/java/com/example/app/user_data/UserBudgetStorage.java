@@ -1,5 +1,7 @@
 package com.example.app.user_data;
 
+import com.example.app.model.UserDataWarmup;
+
 import java.io.*;
 import java.util.*;
 import java.util.logging.Level;
@@ -155,12 +157,25 @@ public class UserBudgetStorage {
         return budgets;
     }
 
+    /**
+     * Gets the categories of the current user's budgets.
+     * @return Category names in file order
+     */
+    public static Set<String> loadCategories() {
+        Set<String> categories = new LinkedHashSet<>();
+        for (Object[] budget : loadBudgets()) {
+            categories.add((String) budget[0]);
+        }
+        return categories;
+    }
+
     /**
      * Saves budgets to the CSV file.
      * @param budgets List of budget entries
      * @return true if successful, false otherwise
      */
     public static boolean saveBudgets(List<Object[]> budgets) {
+        UserDataWarmup.invalidate();
         try (PrintWriter writer = new PrintWriter(new FileWriter(budgetFile))) {
             // Write CSV header
             writer.println(CSV_HEADER);
@@ -1,5 +1,7 @@
 package com.example.app.user_data;
 
+import com.example.app.model.UserDataWarmup;
+
 import java.io.*;
 import java.util.Properties;
 import java.util.logging.Level;
@@ -107,21 +109,42 @@ public class UserSettingsStorage {
     }
 
     /**
-     * Loads settings from the file.
+     * Gets the settings file of a user without changing the current user or creating anything.
+     * @param username The user's username
+     * @return The user's settings file
+     */
+    public static File getSettingsFile(String username) {
+        return new File(".\\user_data\\" + username, SETTINGS_FILENAME);
+    }
+
+    /**
+     * Loads settings from the file, or takes them from the login warm-up if it already
+     * read the unchanged file.
      * @return Properties object with loaded settings or null if loading failed
      */
     public static Properties loadSettings() {
+        Properties warmed = UserDataWarmup.getSettings(username);
+        return warmed != null ? warmed : readSettings(settingsFile);
+    }
+
+    /**
+     * Reads settings from a settings file. Does not use or change the current user,
+     * so it can run on any thread.
+     * @param file The settings file
+     * @return Properties object with loaded settings or null if loading failed
+     */
+    public static Properties readSettings(File file) {
         Properties properties = new Properties();
 
         // Confirm file exists
-        if (!settingsFile.exists()) {
-            LOGGER.log(Level.WARNING, "Settings file does not exist: {0}", settingsFile.getAbsolutePath());
+        if (!file.exists()) {
+            LOGGER.log(Level.WARNING, "Settings file does not exist: {0}", file.getAbsolutePath());
             return null;
         }
 
-        try (FileInputStream fis = new FileInputStream(settingsFile)) {
+        try (FileInputStream fis = new FileInputStream(file)) {
             properties.load(fis);
-            LOGGER.log(Level.INFO, "Successfully loaded settings from: {0}", settingsFile.getAbsolutePath());
+            LOGGER.log(Level.INFO, "Successfully loaded settings from: {0}", file.getAbsolutePath());
             LOGGER.log(Level.INFO, "Loaded {0} settings", properties.size());
             return properties;
         } catch (IOException e) {
@@ -136,6 +159,7 @@ public class UserSettingsStorage {
      * @return true if successful, false otherwise
      */
     public static boolean saveSettings(Properties properties) {
+        UserDataWarmup.invalidate();
         try (FileOutputStream fos = new FileOutputStream(settingsFile)) {
             properties.store(fos, "Financial App User Settings");
             LOGGER.log(Level.INFO, "Successfully saved settings to: {0}", settingsFile.getAbsolutePath());
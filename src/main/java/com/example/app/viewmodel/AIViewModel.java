@@ -2,11 +2,14 @@ package com.example.app.viewmodel;
 
 import com.example.app.model.FinancialAdvice;
 import com.example.app.ui.dashboard.OverviewPanel;
+import com.example.app.ui.pages.AI.AIRequestScheduler;
 import com.example.app.ui.pages.AI.getRes;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * ViewModel for the AI Panel following the MVVM pattern.
@@ -15,6 +18,8 @@ import java.util.List;
  * Features:
  * <ul>
  *   <li>Manages chat history and AI responses</li>
+ *   <li>Streams AI replies to listeners as they are generated</li>
+ *   <li>Queues AI requests on the shared {@link AIRequestScheduler}, in order</li>
  *   <li>Provides access to financial advice</li>
  *   <li>Notifies listeners about chat and advice updates</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
@@ -33,12 +38,16 @@ public class AIViewModel {
     // Listeners for UI updates
     private final List<AIDataChangeListener> listeners;
 
+    // Chat replies still queued or streaming, cancelled on cleanup
+    private final List<CompletableFuture<String>> pendingReplies = new CopyOnWriteArrayList<>();
+
     /**
      * Represents a chat message with content and sender information.
      */
     public static class ChatMessage {
         private final String content;
         private final boolean isFromUser;
+        private final boolean streamed;
 
         /**
          * Constructs a ChatMessage.
@@ -46,8 +55,19 @@ public class AIViewModel {
          * @param isFromUser true if sent by user, false if sent by AI
          */
         public ChatMessage(String content, boolean isFromUser) {
+            this(content, isFromUser, false);
+        }
+
+        /**
+         * Constructs a ChatMessage.
+         * @param content the message content
+         * @param isFromUser true if sent by user, false if sent by AI
+         * @param streamed true if the content was already delivered to listeners piece by piece
+         */
+        public ChatMessage(String content, boolean isFromUser, boolean streamed) {
             this.content = content;
             this.isFromUser = isFromUser;
+            this.streamed = streamed;
         }
 
         /**
@@ -66,6 +86,15 @@ public class AIViewModel {
             return isFromUser;
         }
 
+        /**
+         * Checks if the message content was streamed through
+         * {@link AIDataChangeListener#onMessageDelta(String)} before the message was added.
+         * @return true if streamed, false otherwise
+         */
+        public boolean isStreamed() {
+            return streamed;
+        }
+
         /**
          * Gets the formatted message with sender prefix.
          * @return formatted message string
@@ -85,6 +114,16 @@ public class AIViewModel {
          */
         void onMessageAdded(ChatMessage message);
 
+        /**
+         * Called with each piece of an AI reply while it is being generated.
+         * Once the reply is complete it is added as a streamed message.
+         * Called on a background thread.
+         * @param delta the next piece of the reply text
+         */
+        default void onMessageDelta(String delta) {
+            // Listeners that only show complete messages ignore the pieces
+        }
+
         /**
          * Called when an error occurs during AI interaction.
          * @param errorMessage the error message
@@ -103,8 +142,17 @@ public class AIViewModel {
      * @param username the username for which to manage AI interactions
      */
     public AIViewModel(String username) {
+        this(username, new getRes());
+    }
+
+    /**
+     * Constructs an AIViewModel that sends chat messages through the given AI service.
+     * @param username the username for which to manage AI interactions
+     * @param aiService the AI service
+     */
+    AIViewModel(String username, getRes aiService) {
         this.username = username;
-        this.aiService = new getRes();
+        this.aiService = aiService;
         this.apiKey = "sk-fdf26a37926f46ab8d4884c2cd533db8";
         this.messages = new ArrayList<>();
         this.listeners = new ArrayList<>();
@@ -135,7 +183,9 @@ public class AIViewModel {
     }
 
     /**
-     * Sends a user message to the AI and gets a response.
+     * Sends a user message to the AI and streams the response.
+     * Messages are answered one at a time in the order they were sent. Listeners receive the
+     * reply piece by piece as it is generated, then the complete message.
      * @param userInput the user's input message
      */
     public void sendMessage(String userInput) {
@@ -146,36 +196,55 @@ public class AIViewModel {
         // Add user message to history
         addUserMessage(userInput);
 
-        // Create a new thread to avoid blocking the UI
-        new Thread(() -> {
-            try {
-                // Call the AI service
-                String response = aiService.getResponse(apiKey, userInput);
-                String parsedResponse = aiService.parseAIResponse(response);
-
+        // Queue the request to avoid blocking the UI, showing the reply while it is generated
+        boolean[] streamed = {false};
+        CompletableFuture<String> reply = AIRequestScheduler.getInstance().submit(username, null,
+                () -> aiService.getStreamingResponse(apiKey, userInput, delta -> {
+                    // A cancelled request is interrupted; drop what still arrives
+                    if (!Thread.currentThread().isInterrupted()) {
+                        streamed[0] = true;
+                        notifyMessageDelta(delta);
+                    }
+                }));
+        pendingReplies.add(reply);
+        reply.whenComplete((response, error) -> {
+            pendingReplies.remove(reply);
+            if (error == null) {
                 // Add AI response to history
-                addAIMessage(parsedResponse);
-            } catch (IOException e) {
+                addMessage(new ChatMessage(response, false, streamed[0]));
+            } else if (!(error instanceof CancellationException)) {
                 // Notify listeners of error
-                notifyError("Error communicating with AI: " + e.getMessage());
+                notifyError("Error communicating with AI: " + error.getMessage());
             }
-        }).start();
+        });
     }
 
     /**
-     * Regenerates financial advice using the AI.
+     * Regenerates financial advice using the AI in the background.
+     * Clicking again while a regeneration is pending replaces it.
      */
     public void regenerateAdvice() {
+        addAIMessage("Regenerating financial advice...");
+
         // Access shared advice instance and regenerate
-        OverviewPanel.sharedAdvice.regenerate();
+        OverviewPanel.sharedAdvice.requestRegeneration().whenComplete((ignored, error) -> {
+            if (error instanceof CancellationException) {
+                // Superseded by a newer request, which reports instead
+                return;
+            }
+            if (error != null) {
+                notifyError("Error regenerating advice: " + error.getMessage());
+                return;
+            }
 
-        // Add system message to chat
-        addAIMessage("Financial advice has been updated with new AI insights.");
+            // Add system message to chat
+            addAIMessage("Financial advice has been updated with new AI insights.");
 
-        // Notify listeners specifically about advice update
-        for (AIDataChangeListener listener : new ArrayList<>(listeners)) {
-            listener.onAdviceUpdated();
-        }
+            // Notify listeners specifically about advice update
+            for (AIDataChangeListener listener : new ArrayList<>(listeners)) {
+                listener.onAdviceUpdated();
+            }
+        });
     }
 
     /**
@@ -203,11 +272,20 @@ public class AIViewModel {
     }
 
     private void addAIMessage(String content) {
-        ChatMessage message = new ChatMessage(content, false);
+        addMessage(new ChatMessage(content, false));
+    }
+
+    private void addMessage(ChatMessage message) {
         messages.add(message);
         notifyMessageAdded(message);
     }
 
+    private void notifyMessageDelta(String delta) {
+        for (AIDataChangeListener listener : new ArrayList<>(listeners)) {
+            listener.onMessageDelta(delta);
+        }
+    }
+
     private void notifyMessageAdded(ChatMessage message) {
         for (AIDataChangeListener listener : new ArrayList<>(listeners)) {
             listener.onMessageAdded(message);
@@ -221,9 +299,12 @@ public class AIViewModel {
     }
 
     /**
-     * Cleans up resources and listeners.
+     * Cleans up resources and listeners, cancelling chat replies that are still pending.
      */
     public void cleanup() {
         listeners.clear();
+        for (CompletableFuture<String> reply : pendingReplies) {
+            reply.cancel(true);
+        }
     }
 }
\ No newline at end of file
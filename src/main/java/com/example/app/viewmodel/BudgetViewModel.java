@@ -1,7 +1,11 @@
 package com.example.app.viewmodel;
 
+import com.example.app.model.DataChangeEvent;
 import com.example.app.model.DataRefreshListener;
 import com.example.app.model.DataRefreshManager;
+import com.example.app.model.TransactionRepository;
+import com.example.app.model.TransactionTable;
+import com.example.app.ui.pages.AI.AIRequestScheduler;
 import com.example.app.ui.pages.AI.getRes;
 import com.example.app.user_data.UserBillStorage;
 import com.example.app.user_data.UserBudgetStorage;
@@ -10,6 +14,7 @@ import org.json.JSONObject;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * ViewModel for the Budget functionality, following the MVVM pattern.
@@ -20,17 +25,43 @@ import java.util.*;
  *   <li>Loads and saves budgets and expenses from user storage</li>
  *   <li>Provides category budget and expense data for the view</li>
  *   <li>Listens for data refresh events and notifies listeners</li>
+ *   <li>Reloads data through the {@link RefreshScheduler}, off the Event Dispatch Thread</li>
  *   <li>Supports registration and removal of budget change listeners</li>
- *   <li>Handles AI-based budget suggestions</li>
+ *   <li>Handles AI-based budget suggestions, generated in the background</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
  * </ul>
  
  */
 public class BudgetViewModel implements DataRefreshListener {
+    /** Key of budget suggestion requests; a new request supersedes a pending one */
+    private static final String SUGGESTION_REQUEST_KEY = "budget-suggestions";
+
     private final String username;
     private final List<BudgetChangeListener> listeners = new ArrayList<>();
     private Map<String, Double> categoryBudgets = new HashMap<>();
     private Map<String, Double> categoryExpenses = new HashMap<>();
+    private final RefreshScheduler.Lane<Reload> refreshLane;
+
+    /**
+     * Data read for one refresh before it replaces the current maps.
+     */
+    private static final class Reload {
+        /** Expenses by category, or null if transactions are unchanged */
+        private final Map<String, Double> expenses;
+        /** Budgets by category, or null if budgets are unchanged */
+        private final Map<String, Double> budgets;
+
+        /**
+         * Creates a reload result.
+         *
+         * @param expenses the expenses by category, or null
+         * @param budgets the budgets by category, or null
+         */
+        private Reload(Map<String, Double> expenses, Map<String, Double> budgets) {
+            this.expenses = expenses;
+            this.budgets = budgets;
+        }
+    }
 
     /**
      * Listener interface for components that need to be notified of budget changes.
@@ -52,6 +83,7 @@ public class BudgetViewModel implements DataRefreshListener {
         this.username = username;
 
         // Register for data refresh events
+        this.refreshLane = RefreshScheduler.getInstance().createLane("budgets", this::reload, this::publish);
         DataRefreshManager.getInstance().addListener(this);
 
         // Initialize storage with username
@@ -94,7 +126,7 @@ public class BudgetViewModel implements DataRefreshListener {
 
     /**
      * Handles data refresh events from the DataRefreshManager.
-     * Reloads data and notifies listeners if relevant data has changed.
+     * Schedules a reload and notification if relevant data has changed.
      *
      * @param type the type of data refresh event
      */
@@ -103,27 +135,55 @@ public class BudgetViewModel implements DataRefreshListener {
         if (type == DataRefreshManager.RefreshType.BUDGETS ||
             type == DataRefreshManager.RefreshType.TRANSACTIONS ||
             type == DataRefreshManager.RefreshType.ALL) {
+            refreshLane.request(type);
+        }
+    }
 
-            // Reload data if needed
-            if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
-                type == DataRefreshManager.RefreshType.ALL) {
-                loadTransactionData();
-            }
-
-            if (type == DataRefreshManager.RefreshType.BUDGETS ||
-                type == DataRefreshManager.RefreshType.ALL) {
-                loadBudgetData();
-            }
+    /**
+     * Reads the changed data for a refresh, without touching the current maps.
+     *
+     * @param types the types of data that changed
+     * @return the data to publish
+     */
+    private Reload reload(Set<DataRefreshManager.RefreshType> types) {
+        boolean all = types.contains(DataRefreshManager.RefreshType.ALL);
+        Map<String, Double> expenses = all || types.contains(DataRefreshManager.RefreshType.TRANSACTIONS)
+            ? readCategoryExpenses() : null;
+        Map<String, Double> budgets = all || types.contains(DataRefreshManager.RefreshType.BUDGETS)
+            ? readBudgets() : null;
+        return new Reload(expenses, budgets);
+    }
 
-            // Notify view model listeners
-            notifyBudgetDataChanged();
+    /**
+     * Replaces the current maps with reloaded ones and notifies listeners.
+     *
+     * @param reload the data read for the refresh
+     */
+    private void publish(Reload reload) {
+        if (reload.expenses != null) {
+            this.categoryExpenses = reload.expenses;
         }
+        if (reload.budgets != null) {
+            this.categoryBudgets = reload.budgets;
+        }
+
+        // Notify view model listeners
+        notifyBudgetDataChanged();
     }
 
     /**
      * Loads budget data from storage.
      */
     private void loadBudgetData() {
+        this.categoryBudgets = readBudgets();
+    }
+
+    /**
+     * Reads budgets from storage.
+     *
+     * @return budgets by category
+     */
+    private Map<String, Double> readBudgets() {
         List<Object[]> budgets = UserBudgetStorage.loadBudgets();
         Map<String, Double> newBudgets = new HashMap<>();
 
@@ -133,28 +193,43 @@ public class BudgetViewModel implements DataRefreshListener {
             newBudgets.put(category, amount);
         }
 
-        this.categoryBudgets = newBudgets;
+        return newBudgets;
     }
 
     /**
      * Loads transaction data and calculates expenses by category.
      */
     private void loadTransactionData() {
-        List<Object[]> transactions = UserBillStorage.loadTransactions();
-        Map<String, Double> expenses = new HashMap<>();
-
-        for (Object[] transaction : transactions) {
-            String category = (String) transaction[2];
-            double amount = (Double) transaction[3];
+        this.categoryExpenses = readCategoryExpenses();
+    }
 
+    /**
+     * Sums expenses per category from the shared transaction snapshot.
+     *
+     * @return expenses by category
+     */
+    private Map<String, Double> readCategoryExpenses() {
+        TransactionTable table = TransactionRepository.getInstance(username).getTable();
+
+        // Sum expense cents per category id, then resolve the names once
+        long[] expenseCents = new long[table.getCategoryCount()];
+        boolean[] hasExpense = new boolean[expenseCents.length];
+        for (int i = 0; i < table.size(); i++) {
+            long amount = table.getAmountCents(i);
             if (amount < 0) { // Only count expenses (negative amounts)
-                // Convert to positive for expense tracking
-                double expenseAmount = Math.abs(amount);
-                expenses.put(category, expenses.getOrDefault(category, 0.0) + expenseAmount);
+                int categoryId = table.getCategoryId(i);
+                expenseCents[categoryId] -= amount;
+                hasExpense[categoryId] = true;
             }
         }
 
-        this.categoryExpenses = expenses;
+        Map<String, Double> expenses = new HashMap<>();
+        for (int id = 0; id < expenseCents.length; id++) {
+            if (hasExpense[id]) {
+                expenses.put(table.getCategoryName(id), expenseCents[id] / 100.0);
+            }
+        }
+        return expenses;
     }
 
     /**
@@ -221,7 +296,8 @@ public class BudgetViewModel implements DataRefreshListener {
         saveBudgetsToStorage();
 
         // Notify data refresh
-        DataRefreshManager.getInstance().notifyRefresh(DataRefreshManager.RefreshType.BUDGETS);
+        DataRefreshManager.getInstance().notifyChange(
+            DataChangeEvent.forCategories(DataRefreshManager.RefreshType.BUDGETS, Collections.singleton(category)));
     }
 
     /**
@@ -242,7 +318,8 @@ public class BudgetViewModel implements DataRefreshListener {
         saveBudgetsToStorage();
 
         // Notify data refresh
-        DataRefreshManager.getInstance().notifyRefresh(DataRefreshManager.RefreshType.BUDGETS);
+        DataRefreshManager.getInstance().notifyChange(
+            DataChangeEvent.forCategories(DataRefreshManager.RefreshType.BUDGETS, Collections.singleton(category)));
         return true;
     }
 
@@ -260,12 +337,35 @@ public class BudgetViewModel implements DataRefreshListener {
     }
 
     /**
-     * Generates AI-based suggested budgets based on current budgets.
+     * Generates AI-based suggested budgets in the background through the shared
+     * {@link AIRequestScheduler}. The current budgets are read on the calling thread.
+     * A request made while an earlier one is still pending cancels the earlier one.
+     *
+     * @return a future map of suggested budgets by category, cancelled if it was superseded
+     */
+    public CompletableFuture<Map<String, Double>> requestSuggestedBudgets() {
+        Map<String, Double> currentBudgets = new LinkedHashMap<>(categoryBudgets);
+        return AIRequestScheduler.getInstance().submit(username, SUGGESTION_REQUEST_KEY,
+                () -> suggestBudgets(currentBudgets));
+    }
+
+    /**
+     * Generates AI-based suggested budgets based on current budgets, blocking until the reply arrives.
      * Calls the AI service and parses the JSON response.
      *
      * @return a map of suggested budgets by category
      */
     public Map<String, Double> generateSuggestedBudgets() {
+        return suggestBudgets(new LinkedHashMap<>(categoryBudgets));
+    }
+
+    /**
+     * Asks the AI service to redistribute budgets and parses the JSON response.
+     *
+     * @param categoryBudgets the current budgets by category
+     * @return a map of suggested budgets by category, or the current budgets if the request fails
+     */
+    private Map<String, Double> suggestBudgets(Map<String, Double> categoryBudgets) {
         Map<String, Double> suggestedBudgets = new LinkedHashMap<>();
         double totalBudget = categoryBudgets.values().stream().mapToDouble(Double::doubleValue).sum();
 
@@ -293,8 +393,9 @@ public class BudgetViewModel implements DataRefreshListener {
 
         try {
             String API_KEY = "sk-fdf26a37926f46ab8d4884c2cd533db8";
-            String response = new getRes().getResponse(API_KEY, aiPrompt);
-            String res = new getRes().parseAIResponse(response);
+            getRes aiService = new getRes();
+            String response = aiService.getResponse(API_KEY, aiPrompt);
+            String res = aiService.parseAIResponse(response);
 
             // Clean up and parse response
             res = cleanupJsonResponse(res);
@@ -334,7 +435,8 @@ public class BudgetViewModel implements DataRefreshListener {
         saveBudgetsToStorage();
 
         // Notify data refresh
-        DataRefreshManager.getInstance().notifyRefresh(DataRefreshManager.RefreshType.BUDGETS);
+        DataRefreshManager.getInstance().notifyChange(
+            DataChangeEvent.forCategories(DataRefreshManager.RefreshType.BUDGETS, suggestedBudgets.keySet()));
     }
 
     /**
@@ -380,6 +482,7 @@ public class BudgetViewModel implements DataRefreshListener {
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
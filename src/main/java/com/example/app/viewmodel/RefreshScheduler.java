@@ -0,0 +1,306 @@
+package com.example.app.viewmodel;
+
+import com.example.app.model.DataRefreshManager;
+
+import javax.swing.SwingWorker;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs view model refreshes as a load stage off the Event Dispatch Thread followed by a
+ * publish stage on it.
+ * <p>
+ * Each view model owns a {@link Lane}. A refresh request adds its {@link DataRefreshManager.RefreshType}
+ * to the lane and schedules a {@link SwingWorker} on the shared refresh worker. The worker
+ * takes all types requested so far and runs the lane's load function, which reads storage and
+ * aggregates into an immutable result. The result is then handed to the publish function on the
+ * Event Dispatch Thread, which swaps it into the view model and notifies the panels.
+ * <p>
+ * Every request gets a generation number. A load is skipped if a newer request for the same lane
+ * is already queued, since that one will see the same types, and a result is dropped if a newer
+ * one was published or the lane was cancelled. Loads run one at a time in request order, so a view
+ * model that shares a {@link com.example.app.model.FinanceData} with the one that updates it is
+ * published after it.
+ * <p>
+ * Features:
+ * <ul>
+ *   <li>Direct mode running both stages on the calling thread, the default</li>
+ *   <li>Background mode with a single daemon refresh worker and EDT publication</li>
+ *   <li>Request types merged per lane until the load runs</li>
+ *   <li>Generation numbers discarding superseded loads and stale results</li>
+ * </ul>
+ */
+public final class RefreshScheduler {
+    private static final Logger LOGGER = Logger.getLogger(RefreshScheduler.class.getName());
+    private static RefreshScheduler instance;
+
+    private volatile Mode mode = Mode.DIRECT;
+
+    /** Refresh worker, created when background mode is first used */
+    private ExecutorService worker;
+
+    /**
+     * Where the stages of a refresh run
+     */
+    public enum Mode {
+        /**
+         * Load and publish run on the thread that requests the refresh
+         */
+        DIRECT,
+
+        /**
+         * Load runs on the refresh worker and publish on the Event Dispatch Thread
+         */
+        BACKGROUND
+    }
+
+    /**
+     * Private constructor to enforce singleton pattern.
+     */
+    private RefreshScheduler() {
+    }
+
+    /**
+     * Returns the singleton instance of the RefreshScheduler.
+     *
+     * @return the shared scheduler
+     */
+    public static synchronized RefreshScheduler getInstance() {
+        if (instance == null) {
+            instance = new RefreshScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * Sets where the stages of a refresh run.
+     *
+     * @param mode the scheduling mode
+     */
+    public void setMode(Mode mode) {
+        this.mode = mode;
+        LOGGER.log(Level.INFO, "Refresh scheduling mode set to {0}", mode);
+    }
+
+    /**
+     * Gets where the stages of a refresh run.
+     *
+     * @return the scheduling mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Creates a refresh lane for one view model.
+     *
+     * @param name the lane name used in log messages
+     * @param load builds the immutable result for the requested types; must not touch Swing
+     *             or state read by the panels
+     * @param publish applies the result and notifies the panels, on the Event Dispatch Thread
+     *                in background mode
+     * @param <T> the type of the load result
+     * @return the lane
+     */
+    public <T> Lane<T> createLane(String name, Function<Set<DataRefreshManager.RefreshType>, T> load,
+                                  Consumer<T> publish) {
+        return new Lane<>(name, load, publish);
+    }
+
+    /**
+     * Gets the refresh worker, creating it on first use.
+     *
+     * @return the worker executor
+     */
+    private synchronized ExecutorService getWorker() {
+        if (worker == null) {
+            worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "view-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+        return worker;
+    }
+
+    /**
+     * The refresh pipeline of one view model.
+     *
+     * @param <T> the type of the load result
+     */
+    public final class Lane<T> {
+        private final String name;
+        private final Function<Set<DataRefreshManager.RefreshType>, T> load;
+        private final Consumer<T> publish;
+
+        /** Types requested since the last load started */
+        private final Set<DataRefreshManager.RefreshType> requested = EnumSet.noneOf(DataRefreshManager.RefreshType.class);
+
+        /** Generation of the newest request */
+        private final AtomicLong generation = new AtomicLong();
+
+        /** Generation of the newest published result, only used on the publishing thread */
+        private long publishedGeneration;
+
+        private volatile boolean cancelled;
+
+        /**
+         * Creates a lane.
+         *
+         * @param name the lane name
+         * @param load the load stage
+         * @param publish the publish stage
+         */
+        private Lane(String name, Function<Set<DataRefreshManager.RefreshType>, T> load, Consumer<T> publish) {
+            this.name = name;
+            this.load = load;
+            this.publish = publish;
+        }
+
+        /**
+         * Requests a refresh for one type of data.
+         *
+         * @param type the type of data that changed
+         */
+        public void request(DataRefreshManager.RefreshType type) {
+            if (cancelled) {
+                return;
+            }
+            synchronized (requested) {
+                requested.add(type);
+            }
+            long requestGeneration = generation.incrementAndGet();
+            if (mode == Mode.DIRECT) {
+                run(requestGeneration);
+            } else {
+                getWorker().execute(new RefreshWorker(requestGeneration));
+            }
+        }
+
+        /**
+         * Gets the generation of the newest request.
+         *
+         * @return the generation number
+         */
+        public long getGeneration() {
+            return generation.get();
+        }
+
+        /**
+         * Drops pending and in-flight refreshes and ignores further requests.
+         * Called when the owning view model is cleaned up.
+         */
+        public void cancel() {
+            cancelled = true;
+            generation.incrementAndGet();
+        }
+
+        /**
+         * Runs both stages on the current thread.
+         *
+         * @param requestGeneration the generation of the request
+         */
+        private void run(long requestGeneration) {
+            Set<DataRefreshManager.RefreshType> types = takeRequested(requestGeneration);
+            if (types != null) {
+                deliver(requestGeneration, load.apply(types));
+            }
+        }
+
+        /**
+         * Takes the requested types for a load, unless a newer request is queued that will
+         * load them instead.
+         *
+         * @param requestGeneration the generation of the request
+         * @return the types to load, or null if the load is skipped
+         */
+        private Set<DataRefreshManager.RefreshType> takeRequested(long requestGeneration) {
+            synchronized (requested) {
+                if (cancelled || requestGeneration != generation.get() || requested.isEmpty()) {
+                    return null;
+                }
+                Set<DataRefreshManager.RefreshType> types = EnumSet.copyOf(requested);
+                requested.clear();
+                return types;
+            }
+        }
+
+        /**
+         * Runs the publish stage unless the result is stale.
+         *
+         * @param requestGeneration the generation of the request
+         * @param result the load result
+         */
+        private void deliver(long requestGeneration, T result) {
+            if (cancelled || requestGeneration <= publishedGeneration) {
+                LOGGER.log(Level.FINE, "Dropping stale refresh {0} of {1}", new Object[]{requestGeneration, name});
+                return;
+            }
+            publishedGeneration = requestGeneration;
+            publish.accept(result);
+        }
+
+        /**
+         * Background execution of one request.
+         */
+        private final class RefreshWorker extends SwingWorker<T, Void> {
+            private final long requestGeneration;
+            private boolean skipped;
+
+            /**
+             * Creates a worker for a request.
+             *
+             * @param requestGeneration the generation of the request
+             */
+            RefreshWorker(long requestGeneration) {
+                this.requestGeneration = requestGeneration;
+            }
+
+            @Override
+            protected T doInBackground() {
+                Set<DataRefreshManager.RefreshType> types = takeRequested(requestGeneration);
+                skipped = types == null;
+                return skipped ? null : load.apply(types);
+            }
+
+            @Override
+            protected void done() {
+                if (skipped) {
+                    return;
+                }
+                try {
+                    deliver(requestGeneration, get());
+                } catch (ExecutionException e) {
+                    LOGGER.log(Level.WARNING, "Refresh of " + name + " failed", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Publishing refresh of " + name + " failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resets the singleton instance of RefreshScheduler.
+     * <p>
+     * <b>For testing purposes only.</b>
+     */
+    static synchronized void _resetForTests() {
+        if (instance != null && instance.worker != null) {
+            instance.worker.shutdownNow();
+        }
+        instance = null;
+    }
+}
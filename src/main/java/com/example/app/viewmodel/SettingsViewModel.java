@@ -5,11 +5,15 @@ import com.example.app.model.DataRefreshManager;
 import com.example.app.model.UserSettings;
 import com.example.app.ui.CurrencyManager;
 import com.example.app.ui.ThemeManager;
+import com.example.app.user_data.CategoryRuleStorage;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -21,7 +25,8 @@ import java.util.logging.Logger;
  * <ul>
  *   <li>Loads and manages user settings</li>
  *   <li>Provides access to profile, currency, theme, notification, and security settings</li>
- *   <li>Listens for data refresh events and notifies listeners</li>
+ *   <li>Loads and saves the keyword rules used to categorize imported transactions</li>
+ *   <li>Listens for data refresh events and notifies listeners on the Event Dispatch Thread</li>
  *   <li>Supports registration and removal of settings change listeners</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
  * </ul>
@@ -31,6 +36,7 @@ public class SettingsViewModel implements DataRefreshListener {
     private static final Logger LOGGER = Logger.getLogger(SettingsViewModel.class.getName());
     private final UserSettings userSettings;
     private final List<SettingsChangeListener> listeners = new ArrayList<>();
+    private final RefreshScheduler.Lane<Set<DataRefreshManager.RefreshType>> refreshLane;
     private String username;
 
     /**
@@ -58,6 +64,8 @@ public class SettingsViewModel implements DataRefreshListener {
         NOTIFICATIONS,
         /** Security settings changed */
         SECURITY,
+        /** Category rules changed */
+        CATEGORY_RULES,
         /** All settings changed */
         ALL
     }
@@ -73,6 +81,8 @@ public class SettingsViewModel implements DataRefreshListener {
         this.userSettings = UserSettings.getInstance();
 
         // Register for data refresh events
+        this.refreshLane = RefreshScheduler.getInstance().createLane("settings", types -> types,
+            types -> notifySettingsChanged(SettingsChangeType.ALL));
         DataRefreshManager.getInstance().addListener(this);
     }
 
@@ -250,6 +260,49 @@ public class SettingsViewModel implements DataRefreshListener {
         notifySettingsChanged(SettingsChangeType.NOTIFICATIONS);
     }
 
+    // Category rule methods
+
+    /**
+     * Gets the keyword rules used to categorize imported transactions.
+     * @return categories by keyword, in priority order; the default rules if none were saved
+     */
+    public Map<String, String> getCategoryRules() {
+        return CategoryRuleStorage.loadRules(username);
+    }
+
+    /**
+     * Gets the built-in keyword rules.
+     * @return categories by keyword, in priority order
+     */
+    public Map<String, String> getDefaultCategoryRules() {
+        return CategoryRuleStorage.getDefaultRules();
+    }
+
+    /**
+     * Saves the keyword rules used to categorize imported transactions.
+     * Keywords and categories are trimmed and rules with a blank keyword or category are
+     * dropped; a repeated keyword keeps its first category.
+     * @param rules categories by keyword, in priority order
+     * @return true if the rules were saved, false otherwise
+     */
+    public boolean updateCategoryRules(Map<String, String> rules) {
+        Map<String, String> cleaned = new LinkedHashMap<>();
+        for (Map.Entry<String, String> rule : rules.entrySet()) {
+            String keyword = rule.getKey() == null ? "" : rule.getKey().trim();
+            String category = rule.getValue() == null ? "" : rule.getValue().trim();
+            if (!keyword.isEmpty() && !category.isEmpty()) {
+                cleaned.putIfAbsent(keyword, category);
+            }
+        }
+        if (!CategoryRuleStorage.saveRules(username, cleaned)) {
+            return false;
+        }
+
+        LOGGER.log(Level.INFO, "Category rules updated - {0} rules", cleaned.size());
+        notifySettingsChanged(SettingsChangeType.CATEGORY_RULES);
+        return true;
+    }
+
     // Security settings methods
 
     /**
@@ -343,7 +396,7 @@ public class SettingsViewModel implements DataRefreshListener {
 
     /**
      * Handles data refresh events from the DataRefreshManager.
-     * Notifies listeners if relevant data has changed.
+     * Schedules a listener notification if relevant data has changed.
      *
      * @param type the type of data refresh event
      */
@@ -351,8 +404,7 @@ public class SettingsViewModel implements DataRefreshListener {
     public void onDataRefresh(DataRefreshManager.RefreshType type) {
         if (type == DataRefreshManager.RefreshType.SETTINGS ||
             type == DataRefreshManager.RefreshType.ALL) {
-            // Notify listeners about settings changes
-            notifySettingsChanged(SettingsChangeType.ALL);
+            refreshLane.request(type);
         }
     }
 
@@ -362,6 +414,7 @@ public class SettingsViewModel implements DataRefreshListener {
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
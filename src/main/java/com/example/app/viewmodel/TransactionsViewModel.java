@@ -1,7 +1,13 @@
 package com.example.app.viewmodel;
 
+import com.example.app.model.ClassificationCache;
+import com.example.app.model.DataChangeEvent;
 import com.example.app.model.DataRefreshListener;
 import com.example.app.model.DataRefreshManager;
+import com.example.app.model.NaiveBayesCategorizer;
+import com.example.app.model.TransactionRepository;
+import com.example.app.model.TransactionSearchIndex;
+import com.example.app.model.TransactionTable;
 import com.example.app.user_data.UserBillStorage;
 
 import java.time.LocalDate;
@@ -18,8 +24,11 @@ import java.util.logging.Logger;
  *   <li>Loads and manages transactions from user storage</li>
  *   <li>Provides access to transaction and category data for the view</li>
  *   <li>Listens for data refresh events and notifies listeners</li>
+ *   <li>Reloads data through the {@link RefreshScheduler}, off the Event Dispatch Thread</li>
  *   <li>Supports registration and removal of transaction change listeners</li>
  *   <li>Handles filtering, adding, deleting, and saving transactions</li>
+ *   <li>Trains the user's category model with confirmed categories</li>
+ *   <li>Keeps a trigram search index in step with the loaded transactions</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
  * </ul>
  
@@ -27,9 +36,12 @@ import java.util.logging.Logger;
 public class TransactionsViewModel implements DataRefreshListener {
     private static final Logger LOGGER = Logger.getLogger(TransactionsViewModel.class.getName());
     private final String username;
+    private final TransactionRepository repository;
     private final List<TransactionChangeListener> listeners = new ArrayList<>();
-    private List<Object[]> transactions = new ArrayList<>();
+    private TransactionTable table = TransactionTable.empty();
+    private final TransactionSearchIndex searchIndex = new TransactionSearchIndex();
     private Set<String> categories = new HashSet<>();
+    private final RefreshScheduler.Lane<TransactionTable> refreshLane;
 
     /**
      * Interface for components that need to be notified of transaction changes.
@@ -49,8 +61,11 @@ public class TransactionsViewModel implements DataRefreshListener {
      */
     public TransactionsViewModel(String username) {
         this.username = username;
+        this.repository = TransactionRepository.getInstance(username);
 
         // Register for data refresh events
+        this.refreshLane = RefreshScheduler.getInstance().createLane("transactions",
+            types -> repository.getTable(), this::publish);
         DataRefreshManager.getInstance().addListener(this);
 
         // Initialize storage with username
@@ -90,26 +105,38 @@ public class TransactionsViewModel implements DataRefreshListener {
     }
 
     /**
-     * Loads transactions from storage and updates categories.
+     * Loads transactions from the shared repository and updates categories.
      */
     public void loadTransactions() {
-        transactions = UserBillStorage.loadTransactions();
+        publish(repository.getTable());
+    }
+
+    /**
+     * Shows a transaction snapshot and notifies listeners.
+     *
+     * @param loaded the snapshot read from the repository
+     */
+    private void publish(TransactionTable loaded) {
+        table = loaded;
         updateCategorySet();
         notifyTransactionsChanged();
-        LOGGER.log(Level.INFO, "Loaded {0} transactions", transactions.size());
+        LOGGER.log(Level.INFO, "Loaded {0} transactions", table.size());
     }
 
     /**
-     * Updates the set of categories from current transactions.
+     * Updates the set of categories and the search index from current transactions.
      */
     private void updateCategorySet() {
+        searchIndex.update(table);
         categories.clear();
-        for (Object[] transaction : transactions) {
-            if (transaction.length >= 3 && transaction[2] != null) {
-                String category = (String) transaction[2];
-                if (!category.isEmpty()) {
-                    categories.add(category);
-                }
+        boolean[] used = new boolean[table.getCategoryCount()];
+        for (int i = 0; i < table.size(); i++) {
+            used[table.getCategoryId(i)] = true;
+        }
+        for (int id = 0; id < used.length; id++) {
+            String category = table.getCategoryName(id);
+            if (used[id] && !category.isEmpty()) {
+                categories.add(category);
             }
         }
     }
@@ -120,7 +147,25 @@ public class TransactionsViewModel implements DataRefreshListener {
      * @return a list of all transactions
      */
     public List<Object[]> getTransactions() {
-        return new ArrayList<>(transactions);
+        return new ArrayList<>(table.asRows());
+    }
+
+    /**
+     * Gets the user whose transactions are managed.
+     *
+     * @return the username
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Gets the current transaction snapshot in column form.
+     *
+     * @return the immutable transaction table
+     */
+    public TransactionTable getTable() {
+        return table;
     }
 
     /**
@@ -139,22 +184,31 @@ public class TransactionsViewModel implements DataRefreshListener {
      * @return true if saved successfully, false otherwise
      */
     public boolean saveTransactions(List<Object[]> transactions) {
-        UserBillStorage.setUsername(username);
-        boolean success = UserBillStorage.saveTransactions(transactions);
-
-        if (success) {
-            this.transactions = new ArrayList<>(transactions);
-            updateCategorySet();
-
-            // Notify system-wide refresh
-            DataRefreshManager.getInstance().refreshTransactions();
+        long version = repository.getVersion();
+        return commitChange(repository.saveTransactions(transactions), version);
+    }
 
-            LOGGER.log(Level.INFO, "Saved {0} transactions", transactions.size());
-        } else {
-            LOGGER.log(Level.SEVERE, "Failed to save transactions");
+    /**
+     * Trains the user's category model with the saved records the user confirmed, and stores
+     * their categories as the cached answers for their descriptions.
+     * Called after a successful save with the records confirmed in that save, so only
+     * categories that were persisted are learned, and each confirmation only once.
+     *
+     * @param transactions saved records [date, description, category, amount, confirmed]
+     * @return the number of transactions learned
+     */
+    public int learnConfirmedCategories(List<Object[]> transactions) {
+        List<Object[]> confirmed = new ArrayList<>();
+        for (Object[] transaction : transactions) {
+            if (transaction.length > 4 && Boolean.TRUE.equals(transaction[4])) {
+                confirmed.add(transaction);
+            }
         }
-
-        return success;
+        if (confirmed.isEmpty()) {
+            return 0;
+        }
+        ClassificationCache.getInstance(username).confirm(confirmed);
+        return NaiveBayesCategorizer.getInstance(username).learn(confirmed);
     }
 
     /**
@@ -168,10 +222,8 @@ public class TransactionsViewModel implements DataRefreshListener {
             return false;
         }
 
-        List<Object[]> updatedTransactions = new ArrayList<>(transactions);
-        updatedTransactions.addAll(newTransactions);
-
-        return saveTransactions(updatedTransactions);
+        long version = repository.getVersion();
+        return commitChange(repository.addTransactions(newTransactions), version);
     }
 
     /**
@@ -197,18 +249,37 @@ public class TransactionsViewModel implements DataRefreshListener {
             return false;
         }
 
-        List<Object[]> updatedTransactions = new ArrayList<>(transactions);
+        long version = repository.getVersion();
+        return commitChange(repository.deleteTransactions(indices), version);
+    }
 
-        // Sort indices in descending order to avoid index shifting problems
-        indices.sort(Collections.reverseOrder());
+    /**
+     * Picks up the repository snapshot after an edit and broadcasts the change.
+     * The broadcast carries the added and removed rows when the repository still has
+     * them, and falls back to a plain transaction refresh otherwise.
+     *
+     * @param success whether the repository persisted the edit
+     * @param versionBefore the repository version before the edit
+     * @return the given success flag
+     */
+    private boolean commitChange(boolean success, long versionBefore) {
+        if (success) {
+            this.table = repository.getTable();
+            updateCategorySet();
 
-        for (int index : indices) {
-            if (index >= 0 && index < updatedTransactions.size()) {
-                updatedTransactions.remove(index);
+            // Notify system-wide refresh
+            List<TransactionRepository.Change> changes = repository.getChangesSince(versionBefore);
+            if (changes == null) {
+                DataRefreshManager.getInstance().refreshTransactions();
+            } else {
+                DataRefreshManager.getInstance().notifyChange(DataChangeEvent.forTransactionChanges(changes));
             }
-        }
 
-        return saveTransactions(updatedTransactions);
+            LOGGER.log(Level.INFO, "Saved {0} transactions", table.size());
+        } else {
+            LOGGER.log(Level.SEVERE, "Failed to save transactions");
+        }
+        return success;
     }
 
     /**
@@ -224,47 +295,37 @@ public class TransactionsViewModel implements DataRefreshListener {
             return getTransactions();
         }
 
-        List<Object[]> filteredTransactions = new ArrayList<>();
-        String searchLower = searchText != null ? searchText.toLowerCase() : "";
-
-        for (Object[] transaction : transactions) {
-            // Category filter
-            if (category != null && !category.isEmpty()) {
-                String transactionCategory = (String) transaction[2];
-                if (!category.equals(transactionCategory)) {
-                    continue;
-                }
-            }
+        BitSet matches = searchRows(searchText, category);
+        List<Object[]> filteredTransactions = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            filteredTransactions.add(table.toRow(i));
+        }
+        return filteredTransactions;
+    }
 
-            // Text search
-            if (!searchLower.isEmpty()) {
-                boolean matchFound = false;
-
-                // Check first 3 columns (date, description, category)
-                for (int i = 0; i < 3 && i < transaction.length; i++) {
-                    if (transaction[i] != null) {
-                        String value = transaction[i].toString().toLowerCase();
-                        if (value.contains(searchLower)) {
-                            matchFound = true;
-                            break;
-                        }
-                    }
-                }
-
-                if (!matchFound) {
-                    continue;
-                }
+    /**
+     * Finds the rows of the current table matching search text and category.
+     * The date, description and category of a row are searched, ignoring case.
+     *
+     * @param searchText the text to search for (can be null or empty)
+     * @param category the category to filter by (can be null or empty)
+     * @return bitmap of matching row indices in {@link #getTable()}
+     */
+    public BitSet searchRows(String searchText, String category) {
+        // Category filter, resolved to a dictionary id once
+        int categoryId = -1;
+        if (category != null && !category.isEmpty()) {
+            categoryId = table.findCategoryId(category);
+            if (categoryId < 0) {
+                return new BitSet();
             }
-
-            filteredTransactions.add(transaction);
         }
-
-        return filteredTransactions;
+        return searchIndex.search(searchText, categoryId);
     }
 
     /**
      * Handles data refresh events from the DataRefreshManager.
-     * Reloads data if relevant data has changed.
+     * Schedules a reload if relevant data has changed.
      *
      * @param type the type of data refresh event
      */
@@ -274,7 +335,7 @@ public class TransactionsViewModel implements DataRefreshListener {
             type == DataRefreshManager.RefreshType.ALL) {
 
             // Reload transaction data
-            loadTransactions();
+            refreshLane.request(type);
         }
     }
 
@@ -284,6 +345,7 @@ public class TransactionsViewModel implements DataRefreshListener {
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.example.app.viewmodel.dashboard;
 
+import com.example.app.model.DataChangeEvent;
 import com.example.app.model.DataRefreshListener;
 import com.example.app.model.DataRefreshManager;
+import com.example.app.model.TransactionRepository;
+import com.example.app.model.TransactionTable;
 import com.example.app.user_data.UserBillStorage;
 import com.example.app.user_data.UserBudgetStorage;
+import com.example.app.viewmodel.RefreshScheduler;
 
 import java.util.*;
 import java.util.logging.Level;
@@ -18,6 +22,7 @@ import java.util.logging.Logger;
  *   <li>Loads and saves budgets and expenses from user storage</li>
  *   <li>Provides category budget and expense data for the view</li>
  *   <li>Listens for data refresh events and notifies listeners</li>
+ *   <li>Reloads data through the {@link RefreshScheduler}, off the Event Dispatch Thread</li>
  *   <li>Supports registration and removal of budget change listeners</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
  * </ul>
@@ -29,6 +34,28 @@ public class DashboardBudgetsViewModel implements DataRefreshListener {
     private final List<BudgetChangeListener> listeners = new ArrayList<>();
     private Map<String, Double> categoryBudgets = new HashMap<>();
     private Map<String, Double> categoryExpenses = new HashMap<>();
+    private final RefreshScheduler.Lane<Reload> refreshLane;
+
+    /**
+     * Data read for one refresh before it replaces the current maps.
+     */
+    private static final class Reload {
+        /** Expenses by category, or null if transactions are unchanged */
+        private final Map<String, Double> expenses;
+        /** Budgets by category, or null if budgets are unchanged */
+        private final Map<String, Double> budgets;
+
+        /**
+         * Creates a reload result.
+         *
+         * @param expenses the expenses by category, or null
+         * @param budgets the budgets by category, or null
+         */
+        private Reload(Map<String, Double> expenses, Map<String, Double> budgets) {
+            this.expenses = expenses;
+            this.budgets = budgets;
+        }
+    }
 
     /**
      * Listener interface for components that need to be notified of budget changes.
@@ -54,6 +81,7 @@ public class DashboardBudgetsViewModel implements DataRefreshListener {
         UserBudgetStorage.setUsername(username);
 
         // Register for data refresh events
+        this.refreshLane = RefreshScheduler.getInstance().createLane("dashboard-budgets", this::reload, this::publish);
         DataRefreshManager.getInstance().addListener(this);
 
         // Load initial data
@@ -94,6 +122,15 @@ public class DashboardBudgetsViewModel implements DataRefreshListener {
      * Loads budget data from storage.
      */
     private void loadBudgetData() {
+        this.categoryBudgets = readBudgets();
+    }
+
+    /**
+     * Reads budgets from storage.
+     *
+     * @return budgets by category
+     */
+    private Map<String, Double> readBudgets() {
         List<Object[]> budgets = UserBudgetStorage.loadBudgets();
         Map<String, Double> newBudgets = new HashMap<>();
         for (Object[] budget : budgets) {
@@ -101,48 +138,90 @@ public class DashboardBudgetsViewModel implements DataRefreshListener {
             double amount = (Double) budget[1];
             newBudgets.put(category, amount);
         }
-        this.categoryBudgets = newBudgets;
+        return newBudgets;
     }
 
     /**
      * Loads transaction data and calculates expenses by category.
      */
     private void loadTransactionData() {
-        List<Object[]> transactions = UserBillStorage.loadTransactions();
-        Map<String, Double> expenses = new HashMap<>();
-        for (Object[] transaction : transactions) {
-            String category = (String) transaction[2];
-            double amount = (Double) transaction[3];
+        this.categoryExpenses = readCategoryExpenses();
+    }
+
+    /**
+     * Sums expenses per category from the shared transaction snapshot.
+     *
+     * @return expenses by category
+     */
+    private Map<String, Double> readCategoryExpenses() {
+        TransactionTable table = TransactionRepository.getInstance(username).getTable();
+
+        // Sum expense cents per category id, then resolve the names once
+        long[] expenseCents = new long[table.getCategoryCount()];
+        boolean[] hasExpense = new boolean[expenseCents.length];
+        for (int i = 0; i < table.size(); i++) {
+            long amount = table.getAmountCents(i);
             if (amount < 0) { // Only count expenses (negative amounts)
-                double expenseAmount = Math.abs(amount);
-                expenses.put(category, expenses.getOrDefault(category, 0.0) + expenseAmount);
+                int categoryId = table.getCategoryId(i);
+                expenseCents[categoryId] -= amount;
+                hasExpense[categoryId] = true;
+            }
+        }
+
+        Map<String, Double> expenses = new HashMap<>();
+        for (int id = 0; id < expenseCents.length; id++) {
+            if (hasExpense[id]) {
+                expenses.put(table.getCategoryName(id), expenseCents[id] / 100.0);
             }
         }
-        this.categoryExpenses = expenses;
+        return expenses;
     }
 
     /**
      * Handles data refresh events from the DataRefreshManager.
-     * Reloads data and notifies listeners if relevant data has changed.
+     * Schedules a reload and notification if relevant data has changed.
      *
      * @param type the type of data refresh event
      */
     @Override
     public void onDataRefresh(DataRefreshManager.RefreshType type) {
-        if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
-            type == DataRefreshManager.RefreshType.BUDGETS ||
+        if (type == DataRefreshManager.RefreshType.BUDGETS ||
+            type == DataRefreshManager.RefreshType.TRANSACTIONS ||
             type == DataRefreshManager.RefreshType.ALL) {
+            refreshLane.request(type);
+        }
+    }
 
-            if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
-                type == DataRefreshManager.RefreshType.ALL) {
-                loadTransactionData();
-            }
-            if (type == DataRefreshManager.RefreshType.BUDGETS ||
-                type == DataRefreshManager.RefreshType.ALL) {
-                loadBudgetData();
-            }
-            notifyBudgetDataChanged();
+    /**
+     * Reads the changed data for a refresh, without touching the current maps.
+     *
+     * @param types the types of data that changed
+     * @return the data to publish
+     */
+    private Reload reload(Set<DataRefreshManager.RefreshType> types) {
+        boolean all = types.contains(DataRefreshManager.RefreshType.ALL);
+        Map<String, Double> expenses = all || types.contains(DataRefreshManager.RefreshType.TRANSACTIONS)
+            ? readCategoryExpenses() : null;
+        Map<String, Double> budgets = all || types.contains(DataRefreshManager.RefreshType.BUDGETS)
+            ? readBudgets() : null;
+        return new Reload(expenses, budgets);
+    }
+
+    /**
+     * Replaces the current maps with reloaded ones and notifies listeners.
+     *
+     * @param reload the data read for the refresh
+     */
+    private void publish(Reload reload) {
+        if (reload.expenses != null) {
+            this.categoryExpenses = reload.expenses;
         }
+        if (reload.budgets != null) {
+            this.categoryBudgets = reload.budgets;
+        }
+
+        // Notify view model listeners
+        notifyBudgetDataChanged();
     }
 
     /**
@@ -193,7 +272,8 @@ public class DashboardBudgetsViewModel implements DataRefreshListener {
     public void updateCategoryBudget(String category, double budget) {
         categoryBudgets.put(category, budget);
         saveBudgetsToStorage();
-        DataRefreshManager.getInstance().notifyRefresh(DataRefreshManager.RefreshType.BUDGETS);
+        DataRefreshManager.getInstance().notifyChange(
+            DataChangeEvent.forCategories(DataRefreshManager.RefreshType.BUDGETS, Collections.singleton(category)));
     }
 
     /**
@@ -208,7 +288,8 @@ public class DashboardBudgetsViewModel implements DataRefreshListener {
         }
         categoryBudgets.remove(category);
         saveBudgetsToStorage();
-        DataRefreshManager.getInstance().notifyRefresh(DataRefreshManager.RefreshType.BUDGETS);
+        DataRefreshManager.getInstance().notifyChange(
+            DataChangeEvent.forCategories(DataRefreshManager.RefreshType.BUDGETS, Collections.singleton(category)));
         return true;
     }
 
@@ -229,6 +310,7 @@ public class DashboardBudgetsViewModel implements DataRefreshListener {
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
@@ -1,12 +1,14 @@
 package com.example.app.viewmodel.dashboard;
 
-import com.example.app.model.CSVDataImporter;
 import com.example.app.model.DataRefreshListener;
 import com.example.app.model.DataRefreshManager;
 import com.example.app.model.FinanceData;
+import com.example.app.model.TransactionRepository;
+import com.example.app.viewmodel.RefreshScheduler;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -19,6 +21,7 @@ import java.util.logging.Logger;
  *   <li>Loads and manages report data for the dashboard</li>
  *   <li>Notifies listeners when report data changes</li>
  *   <li>Handles data refresh events and reloads data as needed</li>
+ *   <li>Reads storage through the {@link RefreshScheduler}, off the Event Dispatch Thread</li>
  *   <li>Provides access to the FinanceData model for charts</li>
  * </ul>
  
@@ -26,6 +29,10 @@ import java.util.logging.Logger;
 public class DashboardReportsViewModel implements DataRefreshListener {
     private static final Logger LOGGER = Logger.getLogger(DashboardReportsViewModel.class.getName());
     private final FinanceData financeData;
+
+    /** Repository version reflected by {@link #financeData}, or -1 before the first load */
+    private volatile long syncedVersion = -1;
+    private final RefreshScheduler.Lane<TransactionRepository.Update> refreshLane;
     private final String username;
     private final List<ReportDataChangeListener> listeners = new ArrayList<>();
 
@@ -54,6 +61,7 @@ public class DashboardReportsViewModel implements DataRefreshListener {
         financeData.setDataDirectory(dataDirectory);
 
         // Register for data refresh events
+        this.refreshLane = RefreshScheduler.getInstance().createLane("dashboard-reports", this::prepareUpdate, this::publish);
         DataRefreshManager.getInstance().addListener(this);
 
         // Load initial data
@@ -90,17 +98,17 @@ public class DashboardReportsViewModel implements DataRefreshListener {
     }
 
     /**
-     * Loads transaction data from the user's CSV file and imports it into the FinanceData model.
+     * Brings the FinanceData model up to date with the shared user repository.
+     * Only the transactions added or removed since the last load are applied.
      */
     private void loadTransactionData() {
-        String csvFilePath = ".\\user_data\\" + username + "\\user_bill.csv";
-        List<Object[]> transactions = CSVDataImporter.importTransactionsFromCSV(csvFilePath);
+        TransactionRepository repository = TransactionRepository.getInstance(username);
+        syncedVersion = repository.syncFinanceData(financeData, syncedVersion);
 
-        if (!transactions.isEmpty()) {
-            financeData.importTransactions(transactions);
-            LOGGER.log(Level.INFO, "Successfully loaded {0} transactions", transactions.size());
+        if (!repository.getTable().isEmpty()) {
+            LOGGER.log(Level.INFO, "Synchronized {0} transactions", repository.getTable().size());
         } else {
-            LOGGER.log(Level.WARNING, "No transactions loaded from {0}", csvFilePath);
+            LOGGER.log(Level.WARNING, "No transactions found for {0}", username);
         }
     }
 
@@ -115,7 +123,7 @@ public class DashboardReportsViewModel implements DataRefreshListener {
 
     /**
      * Handles data refresh events from the DataRefreshManager.
-     * Reloads data and notifies listeners if relevant data has changed.
+     * Schedules a reload and notification if relevant data has changed.
      *
      * @param type the type of data refresh event
      */
@@ -124,16 +132,37 @@ public class DashboardReportsViewModel implements DataRefreshListener {
         if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
             type == DataRefreshManager.RefreshType.BUDGETS ||
             type == DataRefreshManager.RefreshType.ALL) {
+            refreshLane.request(type);
+        }
+    }
 
-            // Reload transaction data if needed
-            if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
-                type == DataRefreshManager.RefreshType.ALL) {
-                loadTransactionData();
-            }
+    /**
+     * Collects the transaction changes since the last load, without touching the model.
+     *
+     * @param types the types of data that changed
+     * @return the pending update, or null if transactions are unchanged
+     */
+    private TransactionRepository.Update prepareUpdate(Set<DataRefreshManager.RefreshType> types) {
+        if (!types.contains(DataRefreshManager.RefreshType.TRANSACTIONS) &&
+            !types.contains(DataRefreshManager.RefreshType.ALL)) {
+            return null;
+        }
+        return TransactionRepository.getInstance(username).prepareUpdate(syncedVersion);
+    }
 
-            // Notify listeners about data change
-            notifyReportDataChanged();
+    /**
+     * Applies a transaction update to the model and notifies listeners.
+     *
+     * @param update the pending update, or null if transactions are unchanged
+     */
+    private void publish(TransactionRepository.Update update) {
+        // Apply transaction changes if needed
+        if (update != null) {
+            syncedVersion = update.applyTo(financeData, syncedVersion);
         }
+
+        // Notify listeners about data change
+        notifyReportDataChanged();
     }
 
     /**
@@ -142,6 +171,7 @@ public class DashboardReportsViewModel implements DataRefreshListener {
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
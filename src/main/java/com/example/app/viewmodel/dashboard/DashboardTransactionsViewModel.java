@@ -2,14 +2,15 @@ package com.example.app.viewmodel.dashboard;
 
 import com.example.app.model.DataRefreshListener;
 import com.example.app.model.DataRefreshManager;
+import com.example.app.model.TransactionRepository;
+import com.example.app.model.TransactionTable;
 import com.example.app.user_data.UserBillStorage;
+import com.example.app.viewmodel.RefreshScheduler;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 /**
  * ViewModel for DashboardTransactionsPanel following the MVVM pattern.
@@ -20,6 +21,7 @@ import java.util.stream.Collectors;
  *   <li>Loads and manages recent transactions from user storage</li>
  *   <li>Provides recent transaction data for the view</li>
  *   <li>Listens for data refresh events and notifies listeners</li>
+ *   <li>Reloads data through the {@link RefreshScheduler}, off the Event Dispatch Thread</li>
  *   <li>Supports registration and removal of transaction change listeners</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
  * </ul>
@@ -32,6 +34,7 @@ public class DashboardTransactionsViewModel implements DataRefreshListener {
     private static final int MAX_TRANSACTIONS = 20; // Maximum number of transactions to display
 
     private List<TransactionEntry> recentTransactions = new ArrayList<>();
+    private final RefreshScheduler.Lane<List<TransactionEntry>> refreshLane;
 
     /**
      * Listener interface for components that need to be notified of transaction data changes.
@@ -107,6 +110,8 @@ public class DashboardTransactionsViewModel implements DataRefreshListener {
         UserBillStorage.setUsername(username);
 
         // Register for data refresh events
+        this.refreshLane = RefreshScheduler.getInstance().createLane("dashboard-transactions",
+            types -> readRecentTransactions(), this::publish);
         DataRefreshManager.getInstance().addListener(this);
 
         // Load initial data
@@ -143,33 +148,50 @@ public class DashboardTransactionsViewModel implements DataRefreshListener {
     }
 
     /**
-     * Loads transaction data from UserBillStorage.
+     * Loads the most recent transactions from the shared user repository.
+     * Only the rows that are displayed are turned into entries.
      */
     private void loadTransactionData() {
-        List<Object[]> transactions = UserBillStorage.loadTransactions();
-        List<TransactionEntry> entries = new ArrayList<>();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
-        for (Object[] transaction : transactions) {
-            try {
-                String dateStr = transaction[0].toString();
-                String description = transaction[1].toString();
-                String category = transaction[2].toString();
-                double amount = (transaction[3] instanceof Double)
-                        ? (Double) transaction[3]
-                        : Double.parseDouble(transaction[3].toString());
-                LocalDate date = LocalDate.parse(dateStr.substring(0, 10)); // Support "yyyy-MM-dd" or "yyyy-MM-dd HH:mm"
-                entries.add(new TransactionEntry(date, description, category, amount));
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING, "Failed to parse transaction: " + Arrays.toString(transaction), e);
+        this.recentTransactions = readRecentTransactions();
+    }
+
+    /**
+     * Picks the newest transactions from the shared transaction snapshot.
+     *
+     * @return the newest entries, newest first
+     */
+    private List<TransactionEntry> readRecentTransactions() {
+        TransactionTable table = TransactionRepository.getInstance(username).getTable();
+
+        // Keep the newest rows by date; rows of the same day stay in file order
+        int[] newest = new int[MAX_TRANSACTIONS];
+        int count = 0;
+        for (int i = 0; i < table.size(); i++) {
+            if (!table.hasDate(i)) {
+                LOGGER.log(Level.WARNING, "Failed to parse transaction date: {0}", table.getDateString(i));
+                continue;
+            }
+            int day = table.getEpochDay(i);
+            int position = count;
+            while (position > 0 && table.getEpochDay(newest[position - 1]) < day) {
+                position--;
+            }
+            if (position >= MAX_TRANSACTIONS) {
+                continue;
             }
+            int end = Math.min(count, MAX_TRANSACTIONS - 1);
+            System.arraycopy(newest, position, newest, position + 1, end - position);
+            newest[position] = i;
+            count = end + 1;
         }
 
-        // Sort by date descending and limit
-        this.recentTransactions = entries.stream()
-                .sorted(Comparator.comparing(TransactionEntry::getDate).reversed())
-                .limit(MAX_TRANSACTIONS)
-                .collect(Collectors.toList());
+        List<TransactionEntry> entries = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            int row = newest[n];
+            entries.add(new TransactionEntry(table.getDate(row), table.getDescription(row),
+                    table.getCategory(row), table.getAmount(row)));
+        }
+        return Collections.unmodifiableList(entries);
     }
 
     /**
@@ -183,7 +205,7 @@ public class DashboardTransactionsViewModel implements DataRefreshListener {
 
     /**
      * Handles data refresh events from the DataRefreshManager.
-     * Reloads data and notifies listeners if relevant data has changed.
+     * Schedules a reload and notification if relevant data has changed.
      *
      * @param type the type of data refresh event
      */
@@ -191,19 +213,28 @@ public class DashboardTransactionsViewModel implements DataRefreshListener {
     public void onDataRefresh(DataRefreshManager.RefreshType type) {
         if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
             type == DataRefreshManager.RefreshType.ALL) {
-            // Reload data
-            loadTransactionData();
-            // Notify view model listeners
-            notifyTransactionsChanged();
+            refreshLane.request(type);
         }
     }
 
+    /**
+     * Replaces the recent transactions with reloaded ones and notifies listeners.
+     *
+     * @param entries the newest entries
+     */
+    private void publish(List<TransactionEntry> entries) {
+        this.recentTransactions = entries;
+        // Notify view model listeners
+        notifyTransactionsChanged();
+    }
+
     /**
      * Cleans up listeners and unregisters from the DataRefreshManager.
      * Should be called when this ViewModel is no longer needed.
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
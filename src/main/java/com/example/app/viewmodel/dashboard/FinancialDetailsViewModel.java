@@ -4,10 +4,12 @@ import com.example.app.model.FinanceData;
 import com.example.app.model.FinancialAdvice;
 import com.example.app.model.DataRefreshListener;
 import com.example.app.model.DataRefreshManager;
+import com.example.app.viewmodel.RefreshScheduler;
 
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Set;
 
 /**
  * ViewModel for FinancialDetailsPanel following the MVVM pattern.
@@ -16,7 +18,7 @@ import java.util.ArrayList;
  * Features:
  * <ul>
  *   <li>Provides access to financial summary and advice data for the view</li>
- *   <li>Listens for data refresh events and notifies listeners</li>
+ *   <li>Listens for data refresh events and notifies listeners on the Event Dispatch Thread</li>
  *   <li>Supports registration and removal of change listeners</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
  * </ul>
@@ -26,6 +28,7 @@ public class FinancialDetailsViewModel implements DataRefreshListener {
     private final FinanceData financeData;
     private final FinancialAdvice financialAdvice;
     private final List<FinancialDetailsChangeListener> listeners = new ArrayList<>();
+    private final RefreshScheduler.Lane<Set<DataRefreshManager.RefreshType>> refreshLane;
 
     /**
      * Listener interface for components that need to be notified of financial details changes.
@@ -54,6 +57,8 @@ public class FinancialDetailsViewModel implements DataRefreshListener {
         this.financialAdvice = financialAdvice;
 
         // Register for data refresh events
+        this.refreshLane = RefreshScheduler.getInstance().createLane("financial-details", types -> types,
+            this::publish);
         DataRefreshManager.getInstance().addListener(this);
     }
 
@@ -98,12 +103,26 @@ public class FinancialDetailsViewModel implements DataRefreshListener {
     // Implement DataRefreshListener method
     @Override
     public void onDataRefresh(DataRefreshManager.RefreshType type) {
-        if (type == DataRefreshManager.RefreshType.ADVICE) {
+        if (type == DataRefreshManager.RefreshType.ADVICE ||
+            type == DataRefreshManager.RefreshType.TRANSACTIONS ||
+            type == DataRefreshManager.RefreshType.BUDGETS ||
+            type == DataRefreshManager.RefreshType.ALL) {
+            refreshLane.request(type);
+        }
+    }
+
+    /**
+     * Notifies the listeners about the changes in a batch of refresh requests.
+     *
+     * @param types the requested refresh types
+     */
+    private void publish(Set<DataRefreshManager.RefreshType> types) {
+        if (types.contains(DataRefreshManager.RefreshType.ADVICE)) {
             notifyAdviceChanged();
         }
-        if (type == DataRefreshManager.RefreshType.TRANSACTIONS || 
-            type == DataRefreshManager.RefreshType.BUDGETS || 
-            type == DataRefreshManager.RefreshType.ALL) {
+        if (types.contains(DataRefreshManager.RefreshType.TRANSACTIONS) ||
+            types.contains(DataRefreshManager.RefreshType.BUDGETS) ||
+            types.contains(DataRefreshManager.RefreshType.ALL)) {
             notifyFinancialDataChanged();
         }
     }
@@ -185,6 +204,7 @@ public class FinancialDetailsViewModel implements DataRefreshListener {
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
@@ -1,14 +1,16 @@
 package com.example.app.viewmodel.dashboard;
 
-import com.example.app.model.CSVDataImporter;
 import com.example.app.model.DataRefreshListener;
 import com.example.app.model.DataRefreshManager;
 import com.example.app.model.FinanceData;
 import com.example.app.model.FinancialAdvice;
+import com.example.app.model.TransactionRepository;
+import com.example.app.viewmodel.RefreshScheduler;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -21,6 +23,7 @@ import java.util.logging.Logger;
  *   <li>Loads and manages transactions and budgets from user storage</li>
  *   <li>Provides access to financial data and advice for the view</li>
  *   <li>Listens for data refresh events and notifies listeners</li>
+ *   <li>Reloads data through the {@link RefreshScheduler}, off the Event Dispatch Thread</li>
  *   <li>Supports registration and removal of overview change listeners</li>
  *   <li>Detects and notifies about budget warnings</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
@@ -30,6 +33,10 @@ import java.util.logging.Logger;
 public class OverviewViewModel implements DataRefreshListener {
     private static final Logger LOGGER = Logger.getLogger(OverviewViewModel.class.getName());
     private final FinanceData financeData;
+
+    /** Repository version reflected by {@link #financeData}, or -1 before the first load */
+    private volatile long syncedVersion = -1;
+    private final RefreshScheduler.Lane<Reload> refreshLane;
     private final FinancialAdvice financialAdvice;
     private final String username;
     private final List<OverviewChangeListener> listeners = new ArrayList<>();
@@ -37,6 +44,27 @@ public class OverviewViewModel implements DataRefreshListener {
     /** Budget warning threshold (percent) */
     private static final double BUDGET_WARNING_THRESHOLD = 90.0;
 
+    /**
+     * Data read for one refresh before it is applied to the model.
+     */
+    private static final class Reload {
+        /** Transaction update, or null if transactions are unchanged */
+        private final TransactionRepository.Update update;
+        /** Budgets read from storage, or null if budgets are unchanged */
+        private final Map<String, Double> budgets;
+
+        /**
+         * Creates a reload result.
+         *
+         * @param update the transaction update, or null
+         * @param budgets the budgets read from storage, or null
+         */
+        private Reload(TransactionRepository.Update update, Map<String, Double> budgets) {
+            this.update = update;
+            this.budgets = budgets;
+        }
+    }
+
     /**
      * Listener interface for components that need to be notified of overview data changes.
      */
@@ -74,6 +102,7 @@ public class OverviewViewModel implements DataRefreshListener {
         financialAdvice.initialize(username);
 
         // Register for data refresh events
+        this.refreshLane = RefreshScheduler.getInstance().createLane("overview", this::reload, this::publish);
         DataRefreshManager.getInstance().addListener(this);
 
         // Load initial data
@@ -125,17 +154,17 @@ public class OverviewViewModel implements DataRefreshListener {
     }
 
     /**
-     * Loads transaction data from the user's CSV file and imports it into the FinanceData model.
+     * Brings the FinanceData model up to date with the shared user repository.
+     * Only the transactions added or removed since the last load are applied.
      */
     private void loadTransactionData() {
-        String csvFilePath = ".\\user_data\\" + username + "\\user_bill.csv";
-        List<Object[]> transactions = CSVDataImporter.importTransactionsFromCSV(csvFilePath);
+        TransactionRepository repository = TransactionRepository.getInstance(username);
+        syncedVersion = repository.syncFinanceData(financeData, syncedVersion);
 
-        if (transactions != null && !transactions.isEmpty()) {
-            financeData.importTransactions(transactions);
-            LOGGER.log(Level.INFO, "OverviewViewModel: Successfully loaded {0} transactions", transactions.size());
+        if (!repository.getTable().isEmpty()) {
+            LOGGER.log(Level.INFO, "OverviewViewModel: Synchronized {0} transactions", repository.getTable().size());
         } else {
-            LOGGER.log(Level.WARNING, "OverviewViewModel: No transactions loaded from {0}", csvFilePath);
+            LOGGER.log(Level.WARNING, "OverviewViewModel: No transactions found for {0}", username);
         }
     }
 
@@ -197,7 +226,7 @@ public class OverviewViewModel implements DataRefreshListener {
 
     /**
      * Handles data refresh events from the DataRefreshManager.
-     * Reloads data and notifies listeners if relevant data has changed.
+     * Schedules a reload and notification if relevant data has changed.
      *
      * @param type the type of data refresh event
      */
@@ -206,24 +235,46 @@ public class OverviewViewModel implements DataRefreshListener {
         if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
             type == DataRefreshManager.RefreshType.BUDGETS ||
             type == DataRefreshManager.RefreshType.ALL) {
+            refreshLane.request(type);
+        }
+    }
 
-            // Reload transaction data if needed
-            if (type == DataRefreshManager.RefreshType.TRANSACTIONS) {
-                loadTransactionData();
-            }
-
-            // Reload budget data if needed
-            if (type == DataRefreshManager.RefreshType.BUDGETS) {
-                financeData.loadBudgets();
-                LOGGER.log(Level.INFO, "OverviewViewModel: Reloaded budget data after budget refresh notification");
-            }
+    /**
+     * Reads the changed data for a refresh, without touching the model.
+     *
+     * @param types the types of data that changed
+     * @return the data to apply
+     */
+    private Reload reload(Set<DataRefreshManager.RefreshType> types) {
+        TransactionRepository.Update update = types.contains(DataRefreshManager.RefreshType.TRANSACTIONS)
+            ? TransactionRepository.getInstance(username).prepareUpdate(syncedVersion) : null;
+        Map<String, Double> budgets = types.contains(DataRefreshManager.RefreshType.BUDGETS)
+            ? financeData.readBudgetFile() : null;
+        return new Reload(update, budgets);
+    }
 
-            // Notify listeners about data change
-            notifyFinancialDataChanged();
+    /**
+     * Applies reloaded data to the model and notifies listeners.
+     *
+     * @param reload the data read for the refresh
+     */
+    private void publish(Reload reload) {
+        // Apply transaction changes if needed
+        if (reload.update != null) {
+            syncedVersion = reload.update.applyTo(financeData, syncedVersion);
+        }
 
-            // Check for budget warnings after data refresh
-            checkBudgetWarnings();
+        // Apply budget data if needed
+        if (reload.budgets != null) {
+            financeData.replaceBudgets(reload.budgets);
+            LOGGER.log(Level.INFO, "OverviewViewModel: Reloaded budget data after budget refresh notification");
         }
+
+        // Notify listeners about data change
+        notifyFinancialDataChanged();
+
+        // Check for budget warnings after data refresh
+        checkBudgetWarnings();
     }
 
     /**
@@ -232,6 +283,7 @@ public class OverviewViewModel implements DataRefreshListener {
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
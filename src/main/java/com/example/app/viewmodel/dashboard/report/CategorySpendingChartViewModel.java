@@ -1,12 +1,15 @@
 package com.example.app.viewmodel.dashboard.report;
 
+import com.example.app.model.DataChangeFilter;
 import com.example.app.model.DataRefreshListener;
 import com.example.app.model.DataRefreshManager;
 import com.example.app.model.FinanceData;
+import com.example.app.viewmodel.RefreshScheduler;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 /**
@@ -16,7 +19,9 @@ import java.util.logging.Logger;
  * Features:
  * <ul>
  *   <li>Provides category budget and expense data for chart visualization</li>
- *   <li>Listens for data refresh events and notifies chart listeners</li>
+ *   <li>Listens for data refresh events and notifies chart listeners on the Event Dispatch Thread</li>
+ *   <li>Ignores transaction changes that do not touch a charted category, counting unbudgeted
+ *       categories under "Other" like {@link FinanceData} does</li>
  *   <li>Supports registration and removal of chart data change listeners</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
  * </ul>
@@ -24,8 +29,15 @@ import java.util.logging.Logger;
  */
 public class CategorySpendingChartViewModel implements DataRefreshListener {
     private static final Logger LOGGER = Logger.getLogger(CategorySpendingChartViewModel.class.getName());
+
+    /** Category FinanceData books unbudgeted expenses under */
+    private static final String OTHER_CATEGORY = "Other";
     private final FinanceData financeData;
     private final List<ChartDataChangeListener> listeners = new ArrayList<>();
+    private final RefreshScheduler.Lane<Set<DataRefreshManager.RefreshType>> refreshLane;
+
+    /** Budgeted categories as of the last publication, read by the event filter on any thread */
+    private volatile Set<String> budgetedCategories;
 
     /**
      * Listener interface for components that need to be notified of chart data changes.
@@ -39,14 +51,37 @@ public class CategorySpendingChartViewModel implements DataRefreshListener {
 
     /**
      * Constructs a CategorySpendingChartViewModel with the given FinanceData.
-     * Registers for data refresh events.
+     * Registers for data refresh events of the budgeted categories.
      *
      * @param financeData the finance data model
      */
     public CategorySpendingChartViewModel(FinanceData financeData) {
         this.financeData = financeData;
-        // Register for data refresh events
-        DataRefreshManager.getInstance().addListener(this);
+        this.budgetedCategories = Set.copyOf(financeData.getCategoryBudgets().keySet());
+        // Register for data refresh events; only budgeted categories are charted
+        this.refreshLane = RefreshScheduler.getInstance().createLane("category-spending-chart", types -> types,
+            types -> publish());
+        DataRefreshManager.getInstance().addListener(this,
+            DataChangeFilter.forCategories(() -> budgetedCategories, this::foldCategory));
+    }
+
+    /**
+     * Maps a transaction category to the category it is charted under. FinanceData counts
+     * expenses in categories without a budget under "Other".
+     *
+     * @param category the category of a changed transaction
+     * @return the category itself if it has a budget, "Other" otherwise
+     */
+    private String foldCategory(String category) {
+        return budgetedCategories.contains(category) ? category : OTHER_CATEGORY;
+    }
+
+    /**
+     * Takes a new snapshot of the budgeted categories and notifies the chart listeners.
+     */
+    private void publish() {
+        budgetedCategories = Set.copyOf(financeData.getCategoryBudgets().keySet());
+        notifyChartDataChanged();
     }
 
     /**
@@ -98,7 +133,7 @@ public class CategorySpendingChartViewModel implements DataRefreshListener {
 
     /**
      * Called when data is refreshed in the data model.
-     * Notifies listeners if relevant data has changed.
+     * Schedules a listener notification if relevant data has changed.
      *
      * @param type the type of data refresh event
      */
@@ -107,8 +142,7 @@ public class CategorySpendingChartViewModel implements DataRefreshListener {
         if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
             type == DataRefreshManager.RefreshType.BUDGETS ||
             type == DataRefreshManager.RefreshType.ALL) {
-            // Notify listeners about data change
-            notifyChartDataChanged();
+            refreshLane.request(type);
         }
     }
 
@@ -118,6 +152,7 @@ public class CategorySpendingChartViewModel implements DataRefreshListener {
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
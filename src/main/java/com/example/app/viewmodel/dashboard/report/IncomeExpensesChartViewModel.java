@@ -3,11 +3,13 @@ package com.example.app.viewmodel.dashboard.report;
 import com.example.app.model.DataRefreshListener;
 import com.example.app.model.DataRefreshManager;
 import com.example.app.model.FinanceData;
+import com.example.app.viewmodel.RefreshScheduler;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Logger;
 
 /**
@@ -17,7 +19,7 @@ import java.util.logging.Logger;
  * Features:
  * <ul>
  *   <li>Provides daily income and expense data for chart visualization</li>
- *   <li>Listens for data refresh events and notifies chart listeners</li>
+ *   <li>Listens for data refresh events and notifies chart listeners on the Event Dispatch Thread</li>
  *   <li>Supports registration and removal of chart data change listeners</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
  * </ul>
@@ -27,6 +29,7 @@ public class IncomeExpensesChartViewModel implements DataRefreshListener {
     private static final Logger LOGGER = Logger.getLogger(IncomeExpensesChartViewModel.class.getName());
     private final FinanceData financeData;
     private final List<ChartDataChangeListener> listeners = new ArrayList<>();
+    private final RefreshScheduler.Lane<Set<DataRefreshManager.RefreshType>> refreshLane;
 
     /**
      * Listener interface for components that need to be notified of chart data changes.
@@ -46,6 +49,8 @@ public class IncomeExpensesChartViewModel implements DataRefreshListener {
      */
     public IncomeExpensesChartViewModel(FinanceData financeData) {
         this.financeData = financeData;
+        this.refreshLane = RefreshScheduler.getInstance().createLane("income-expenses-chart", types -> types,
+            types -> notifyChartDataChanged());
         // Register for data refresh events
         DataRefreshManager.getInstance().addListener(this);
     }
@@ -105,7 +110,7 @@ public class IncomeExpensesChartViewModel implements DataRefreshListener {
 
     /**
      * Called when data is refreshed in the data model.
-     * Notifies listeners if relevant data has changed.
+     * Schedules a listener notification if relevant data has changed.
      *
      * @param type the type of data refresh event
      */
@@ -113,8 +118,7 @@ public class IncomeExpensesChartViewModel implements DataRefreshListener {
     public void onDataRefresh(DataRefreshManager.RefreshType type) {
         if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
             type == DataRefreshManager.RefreshType.ALL) {
-            // Notify listeners about data change
-            notifyChartDataChanged();
+            refreshLane.request(type);
         }
     }
 
@@ -124,6 +128,7 @@ public class IncomeExpensesChartViewModel implements DataRefreshListener {
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
@@ -1,12 +1,14 @@
 package com.example.app.viewmodel.pages;
 
-import com.example.app.model.CSVDataImporter;
 import com.example.app.model.DataRefreshListener;
 import com.example.app.model.DataRefreshManager;
 import com.example.app.model.FinanceData;
+import com.example.app.model.TransactionRepository;
+import com.example.app.viewmodel.RefreshScheduler;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -20,6 +22,7 @@ import java.util.logging.Logger;
  *   <li>Provides access to financial data for summary panels</li>
  *   <li>Tracks and notifies about the active dashboard panel</li>
  *   <li>Listens for data refresh events and notifies listeners</li>
+ *   <li>Reads storage through the {@link RefreshScheduler}, off the Event Dispatch Thread</li>
  *   <li>Supports registration and removal of dashboard change listeners</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
  * </ul>
@@ -28,6 +31,10 @@ import java.util.logging.Logger;
 public class DashboardViewModel implements DataRefreshListener {
     private static final Logger LOGGER = Logger.getLogger(DashboardViewModel.class.getName());
     private final FinanceData financeData;
+
+    /** Repository version reflected by {@link #financeData}, or -1 before the first load */
+    private volatile long syncedVersion = -1;
+    private final RefreshScheduler.Lane<TransactionRepository.Update> refreshLane;
     private final String username;
     private final List<DashboardChangeListener> listeners = new ArrayList<>();
 
@@ -74,6 +81,7 @@ public class DashboardViewModel implements DataRefreshListener {
         financeData.setDataDirectory(dataDirectory);
 
         // Register for data refresh events
+        this.refreshLane = RefreshScheduler.getInstance().createLane("dashboard", this::prepareUpdate, this::publish);
         DataRefreshManager.getInstance().addListener(this);
 
         // Load initial data
@@ -135,17 +143,17 @@ public class DashboardViewModel implements DataRefreshListener {
     }
 
     /**
-     * Loads transaction data from the user's CSV file and imports it into the FinanceData model.
+     * Brings the FinanceData model up to date with the shared user repository.
+     * Only the transactions added or removed since the last load are applied.
      */
     private void loadTransactionData() {
-        String csvFilePath = ".\\user_data\\" + username + "\\user_bill.csv";
-        List<Object[]> transactions = CSVDataImporter.importTransactionsFromCSV(csvFilePath);
+        TransactionRepository repository = TransactionRepository.getInstance(username);
+        syncedVersion = repository.syncFinanceData(financeData, syncedVersion);
 
-        if (transactions != null && !transactions.isEmpty()) {
-            financeData.importTransactions(transactions);
-            LOGGER.log(Level.INFO, "DashboardViewModel: Successfully loaded {0} transactions", transactions.size());
+        if (!repository.getTable().isEmpty()) {
+            LOGGER.log(Level.INFO, "DashboardViewModel: Synchronized {0} transactions", repository.getTable().size());
         } else {
-            LOGGER.log(Level.WARNING, "DashboardViewModel: No transactions loaded from {0}", csvFilePath);
+            LOGGER.log(Level.WARNING, "DashboardViewModel: No transactions found for {0}", username);
         }
     }
 
@@ -196,7 +204,7 @@ public class DashboardViewModel implements DataRefreshListener {
 
     /**
      * Handles data refresh events from the DataRefreshManager.
-     * Reloads data and notifies listeners if relevant data has changed.
+     * Schedules a reload and notification if relevant data has changed.
      *
      * @param type the type of data refresh event
      */
@@ -205,16 +213,37 @@ public class DashboardViewModel implements DataRefreshListener {
         if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
             type == DataRefreshManager.RefreshType.BUDGETS ||
             type == DataRefreshManager.RefreshType.ALL) {
+            refreshLane.request(type);
+        }
+    }
 
-            // Reload transaction data if needed
-            if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
-                type == DataRefreshManager.RefreshType.ALL) {
-                loadTransactionData();
-            }
+    /**
+     * Collects the transaction changes since the last load, without touching the model.
+     *
+     * @param types the types of data that changed
+     * @return the pending update, or null if transactions are unchanged
+     */
+    private TransactionRepository.Update prepareUpdate(Set<DataRefreshManager.RefreshType> types) {
+        if (!types.contains(DataRefreshManager.RefreshType.TRANSACTIONS) &&
+            !types.contains(DataRefreshManager.RefreshType.ALL)) {
+            return null;
+        }
+        return TransactionRepository.getInstance(username).prepareUpdate(syncedVersion);
+    }
 
-            // Notify listeners about data change
-            notifySummaryDataChanged();
+    /**
+     * Applies a transaction update to the model and notifies listeners.
+     *
+     * @param update the pending update, or null if transactions are unchanged
+     */
+    private void publish(TransactionRepository.Update update) {
+        // Apply transaction changes if needed
+        if (update != null) {
+            syncedVersion = update.applyTo(financeData, syncedVersion);
         }
+
+        // Notify listeners about data change
+        notifySummaryDataChanged();
     }
 
     /**
@@ -232,6 +261,7 @@ public class DashboardViewModel implements DataRefreshListener {
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
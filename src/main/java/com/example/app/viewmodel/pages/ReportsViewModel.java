@@ -1,12 +1,14 @@
 package com.example.app.viewmodel.pages;
 
-import com.example.app.model.CSVDataImporter;
 import com.example.app.model.DataRefreshListener;
 import com.example.app.model.DataRefreshManager;
 import com.example.app.model.FinanceData;
+import com.example.app.model.TransactionRepository;
+import com.example.app.viewmodel.RefreshScheduler;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -19,6 +21,7 @@ import java.util.logging.Logger;
  *   <li>Loads and manages report data for the reports panel</li>
  *   <li>Notifies listeners when report data changes</li>
  *   <li>Handles data refresh events and reloads data as needed</li>
+ *   <li>Reads storage through the {@link RefreshScheduler}, off the Event Dispatch Thread</li>
  *   <li>Provides access to the FinanceData model for charts and reports</li>
  *   <li>Supports registration and removal of report data change listeners</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
@@ -28,6 +31,10 @@ import java.util.logging.Logger;
 public class ReportsViewModel implements DataRefreshListener {
     private static final Logger LOGGER = Logger.getLogger(ReportsViewModel.class.getName());
     private final FinanceData financeData;
+
+    /** Repository version reflected by {@link #financeData}, or -1 before the first load */
+    private volatile long syncedVersion = -1;
+    private final RefreshScheduler.Lane<TransactionRepository.Update> refreshLane;
     private final String username;
     private final List<ReportsChangeListener> listeners = new ArrayList<>();
 
@@ -53,6 +60,7 @@ public class ReportsViewModel implements DataRefreshListener {
         String dataDirectory = ".\\user_data\\" + username;
         financeData.setDataDirectory(dataDirectory);
 
+        this.refreshLane = RefreshScheduler.getInstance().createLane("reports", this::prepareUpdate, this::publish);
         DataRefreshManager.getInstance().addListener(this);
         loadTransactionData();
     }
@@ -85,16 +93,17 @@ public class ReportsViewModel implements DataRefreshListener {
     }
 
     /**
-     * Loads transaction data from the user's CSV file and imports it into the FinanceData model.
+     * Brings the FinanceData model up to date with the shared user repository.
+     * Only the transactions added or removed since the last load are applied.
      */
     public void loadTransactionData() {
-        String csvFilePath = ".\\user_data\\" + username + "\\user_bill.csv";
-        List<Object[]> transactions = CSVDataImporter.importTransactionsFromCSV(csvFilePath);
-        if (!transactions.isEmpty()) {
-            financeData.importTransactions(transactions);
-            LOGGER.log(Level.INFO, "Loaded {0} transactions", transactions.size());
+        TransactionRepository repository = TransactionRepository.getInstance(username);
+        syncedVersion = repository.syncFinanceData(financeData, syncedVersion);
+
+        if (!repository.getTable().isEmpty()) {
+            LOGGER.log(Level.INFO, "Synchronized {0} transactions", repository.getTable().size());
         } else {
-            LOGGER.log(Level.WARNING, "No transactions loaded from {0}", csvFilePath);
+            LOGGER.log(Level.WARNING, "No transactions found for {0}", username);
         }
     }
 
@@ -109,7 +118,7 @@ public class ReportsViewModel implements DataRefreshListener {
 
     /**
      * Handles data refresh events from the DataRefreshManager.
-     * Reloads data and notifies listeners if relevant data has changed.
+     * Schedules a reload and notification if relevant data has changed.
      *
      * @param type the type of data refresh event
      */
@@ -117,17 +126,37 @@ public class ReportsViewModel implements DataRefreshListener {
     public void onDataRefresh(DataRefreshManager.RefreshType type) {
         if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
             type == DataRefreshManager.RefreshType.ALL) {
-            loadTransactionData();
-            notifyReportsDataChanged();
+            refreshLane.request(type);
         }
     }
 
+    /**
+     * Collects the transaction changes since the last load, without touching the model.
+     *
+     * @param types the types of data that changed
+     * @return the pending update
+     */
+    private TransactionRepository.Update prepareUpdate(Set<DataRefreshManager.RefreshType> types) {
+        return TransactionRepository.getInstance(username).prepareUpdate(syncedVersion);
+    }
+
+    /**
+     * Applies a transaction update to the model and notifies listeners.
+     *
+     * @param update the pending update
+     */
+    private void publish(TransactionRepository.Update update) {
+        syncedVersion = update.applyTo(financeData, syncedVersion);
+        notifyReportsDataChanged();
+    }
+
     /**
      * Cleans up listeners and unregisters from the DataRefreshManager.
      * Should be called when this ViewModel is no longer needed.
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
@@ -3,10 +3,13 @@ package com.example.app.viewmodel.reports;
 import com.example.app.model.DataRefreshListener;
 import com.example.app.model.DataRefreshManager;
 import com.example.app.model.FinanceData;
+import com.example.app.viewmodel.RefreshScheduler;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * ViewModel for the CategoryBreakdownPanel following the MVVM pattern.
@@ -15,7 +18,7 @@ import java.util.Map;
  * Features:
  * <ul>
  *   <li>Provides category budget and expense data for chart visualization</li>
- *   <li>Listens for data refresh events and notifies chart listeners</li>
+ *   <li>Listens for data refresh events and notifies chart listeners on the Event Dispatch Thread</li>
  *   <li>Supports registration and removal of chart data change listeners</li>
  *   <li>Provides access to the list of transactions</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
@@ -25,6 +28,7 @@ import java.util.Map;
 public class CategoryBreakdownViewModel implements DataRefreshListener {
     private final FinanceData financeData;
     private final List<ChartDataChangeListener> listeners = new ArrayList<>();
+    private final RefreshScheduler.Lane<Set<DataRefreshManager.RefreshType>> refreshLane;
 
     /**
      * Listener interface for components that need to be notified of chart data changes.
@@ -44,6 +48,8 @@ public class CategoryBreakdownViewModel implements DataRefreshListener {
      */
     public CategoryBreakdownViewModel(FinanceData financeData) {
         this.financeData = financeData;
+        this.refreshLane = RefreshScheduler.getInstance().createLane("category-breakdown", types -> types,
+            types -> notifyChartDataChanged());
         DataRefreshManager.getInstance().addListener(this);
     }
 
@@ -83,6 +89,17 @@ public class CategoryBreakdownViewModel implements DataRefreshListener {
         return financeData.getCategoryExpenses();
     }
 
+    /**
+     * Gets the expenses of every category in a date range.
+     *
+     * @param from the first date, inclusive
+     * @param to the last date, inclusive
+     * @return a map of category names to expense amounts in the range
+     */
+    public Map<String, Double> getCategoryExpensesBetween(LocalDate from, LocalDate to) {
+        return financeData.getCategoryExpensesBetween(from, to);
+    }
+
     /**
      * Gets the map of category budgets.
      *
@@ -103,7 +120,7 @@ public class CategoryBreakdownViewModel implements DataRefreshListener {
 
     /**
      * Handles data refresh events from the DataRefreshManager.
-     * Notifies listeners if relevant data has changed.
+     * Schedules a listener notification if relevant data has changed.
      *
      * @param type the type of data refresh event
      */
@@ -112,7 +129,7 @@ public class CategoryBreakdownViewModel implements DataRefreshListener {
         if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
             type == DataRefreshManager.RefreshType.BUDGETS ||
             type == DataRefreshManager.RefreshType.ALL) {
-            notifyChartDataChanged();
+            refreshLane.request(type);
         }
     }
 
@@ -122,6 +139,7 @@ public class CategoryBreakdownViewModel implements DataRefreshListener {
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
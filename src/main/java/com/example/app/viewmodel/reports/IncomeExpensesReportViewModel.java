@@ -3,11 +3,13 @@ package com.example.app.viewmodel.reports;
 import com.example.app.model.DataRefreshListener;
 import com.example.app.model.DataRefreshManager;
 import com.example.app.model.FinanceData;
+import com.example.app.viewmodel.RefreshScheduler;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * ViewModel for the IncomeExpensesReportPanel following the MVVM pattern.
@@ -16,7 +18,7 @@ import java.util.Map;
  * Features:
  * <ul>
  *   <li>Provides daily income and expense data for chart visualization</li>
- *   <li>Listens for data refresh events and notifies chart listeners</li>
+ *   <li>Listens for data refresh events and notifies chart listeners on the Event Dispatch Thread</li>
  *   <li>Supports registration and removal of chart data change listeners</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
  * </ul>
@@ -25,6 +27,7 @@ import java.util.Map;
 public class IncomeExpensesReportViewModel implements DataRefreshListener {
     private final FinanceData financeData;
     private final List<ChartDataChangeListener> listeners = new ArrayList<>();
+    private final RefreshScheduler.Lane<Set<DataRefreshManager.RefreshType>> refreshLane;
 
     /**
      * Listener interface for components that need to be notified of chart data changes.
@@ -44,6 +47,8 @@ public class IncomeExpensesReportViewModel implements DataRefreshListener {
      */
     public IncomeExpensesReportViewModel(FinanceData financeData) {
         this.financeData = financeData;
+        this.refreshLane = RefreshScheduler.getInstance().createLane("income-expenses-report", types -> types,
+            types -> notifyChartDataChanged());
         DataRefreshManager.getInstance().addListener(this);
     }
 
@@ -98,9 +103,49 @@ public class IncomeExpensesReportViewModel implements DataRefreshListener {
         return financeData.getDailyExpenses();
     }
 
+    /**
+     * Gets the dates with transactions in a date range.
+     * @param from the first date, inclusive
+     * @param to the last date, inclusive
+     * @return List of dates in chronological order
+     */
+    public List<LocalDate> getDatesBetween(LocalDate from, LocalDate to) {
+        return financeData.getDatesBetween(from, to);
+    }
+
+    /**
+     * Gets the total income in a date range.
+     * @param from the first date, inclusive
+     * @param to the last date, inclusive
+     * @return the income in the range
+     */
+    public double getIncomeBetween(LocalDate from, LocalDate to) {
+        return financeData.getIncomeBetween(from, to);
+    }
+
+    /**
+     * Gets the total expenses in a date range.
+     * @param from the first date, inclusive
+     * @param to the last date, inclusive
+     * @return the expenses in the range
+     */
+    public double getExpensesBetween(LocalDate from, LocalDate to) {
+        return financeData.getExpensesBetween(from, to);
+    }
+
+    /**
+     * Gets income minus expenses in a date range.
+     * @param from the first date, inclusive
+     * @param to the last date, inclusive
+     * @return the net amount in the range
+     */
+    public double getNetBetween(LocalDate from, LocalDate to) {
+        return financeData.getNetBetween(from, to);
+    }
+
     /**
      * Handles data refresh events from the DataRefreshManager.
-     * Notifies listeners if relevant data has changed.
+     * Schedules a listener notification if relevant data has changed.
      *
      * @param type the type of data refresh event
      */
@@ -108,7 +153,7 @@ public class IncomeExpensesReportViewModel implements DataRefreshListener {
     public void onDataRefresh(DataRefreshManager.RefreshType type) {
         if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
             type == DataRefreshManager.RefreshType.ALL) {
-            notifyChartDataChanged();
+            refreshLane.request(type);
         }
     }
 
@@ -118,6 +163,7 @@ public class IncomeExpensesReportViewModel implements DataRefreshListener {
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
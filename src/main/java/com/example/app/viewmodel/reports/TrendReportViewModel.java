@@ -1,13 +1,17 @@
 package com.example.app.viewmodel.reports;
 
+import com.example.app.model.DataChangeFilter;
 import com.example.app.model.DataRefreshListener;
 import com.example.app.model.DataRefreshManager;
 import com.example.app.model.FinanceData;
+import com.example.app.viewmodel.RefreshScheduler;
+import com.example.app.model.RollupCube;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * ViewModel for the TrendReportPanel following the MVVM pattern.
@@ -16,8 +20,10 @@ import java.util.Map;
  * Features:
  * <ul>
  *   <li>Provides daily income and expense data for trend chart visualization</li>
+ *   <li>Provides pre-aggregated totals per day, week, fortnight, month, quarter or year</li>
  *   <li>Provides monthly and daily budget data</li>
- *   <li>Listens for data refresh events and notifies chart listeners</li>
+ *   <li>Listens for data refresh events and notifies chart listeners on the Event Dispatch Thread</li>
+ *   <li>Ignores transaction changes dated outside the range the chart shows</li>
  *   <li>Supports registration and removal of chart data change listeners</li>
  *   <li>Handles cleanup of listeners when no longer needed</li>
  * </ul>
@@ -26,6 +32,9 @@ import java.util.Map;
 public class TrendReportViewModel implements DataRefreshListener {
     private final FinanceData financeData;
     private final List<ChartDataChangeListener> listeners = new ArrayList<>();
+    private final RefreshScheduler.Lane<Set<DataRefreshManager.RefreshType>> refreshLane;
+    private volatile LocalDate visibleFrom;
+    private volatile LocalDate visibleTo;
 
     /**
      * Listener interface for components that need to be notified of chart data changes.
@@ -39,13 +48,28 @@ public class TrendReportViewModel implements DataRefreshListener {
 
     /**
      * Constructs a TrendReportViewModel with the given FinanceData.
-     * Registers for data refresh events.
+     * Registers for data refresh events within the visible date range.
      *
      * @param financeData the finance data model
      */
     public TrendReportViewModel(FinanceData financeData) {
         this.financeData = financeData;
-        DataRefreshManager.getInstance().addListener(this);
+        this.refreshLane = RefreshScheduler.getInstance().createLane("trend-report", types -> types,
+            types -> notifyChartDataChanged());
+        DataRefreshManager.getInstance().addListener(this,
+            DataChangeFilter.forDateWindow(() -> visibleFrom, () -> visibleTo));
+    }
+
+    /**
+     * Sets the date range the chart currently shows.
+     * Transaction changes outside it do not trigger a chart refresh.
+     *
+     * @param from the first shown date, inclusive, or null for no lower bound
+     * @param to the last shown date, inclusive, or null for no upper bound
+     */
+    public void setVisibleRange(LocalDate from, LocalDate to) {
+        this.visibleFrom = from;
+        this.visibleTo = to;
     }
 
     /**
@@ -99,6 +123,28 @@ public class TrendReportViewModel implements DataRefreshListener {
         return financeData.getDailyExpenses();
     }
 
+    /**
+     * Gets the dates with transactions in a date range.
+     * @param from the first date, inclusive
+     * @param to the last date, inclusive
+     * @return List of dates in chronological order
+     */
+    public List<LocalDate> getDatesBetween(LocalDate from, LocalDate to) {
+        return financeData.getDatesBetween(from, to);
+    }
+
+    /**
+     * Gets income and expense totals per period in a date range.
+     * @param granularity the period length
+     * @param from the first date, inclusive
+     * @param to the last date, inclusive
+     * @return period totals in chronological order
+     */
+    public List<RollupCube.PeriodTotal> getPeriodTotals(RollupCube.Granularity granularity,
+                                                        LocalDate from, LocalDate to) {
+        return financeData.getPeriodTotals(granularity, from, to);
+    }
+
     /**
      * Gets the monthly budget value.
      * @return the monthly budget
@@ -117,7 +163,7 @@ public class TrendReportViewModel implements DataRefreshListener {
 
     /**
      * Handles data refresh events from the DataRefreshManager.
-     * Notifies listeners if relevant data has changed.
+     * Schedules a listener notification if relevant data has changed.
      *
      * @param type the type of data refresh event
      */
@@ -126,7 +172,7 @@ public class TrendReportViewModel implements DataRefreshListener {
         if (type == DataRefreshManager.RefreshType.TRANSACTIONS ||
             type == DataRefreshManager.RefreshType.BUDGETS ||
             type == DataRefreshManager.RefreshType.ALL) {
-            notifyChartDataChanged();
+            refreshLane.request(type);
         }
     }
 
@@ -136,6 +182,7 @@ public class TrendReportViewModel implements DataRefreshListener {
      */
     public void cleanup() {
         DataRefreshManager.getInstance().removeListener(this);
+        refreshLane.cancel();
         listeners.clear();
     }
 }
\ No newline at end of file
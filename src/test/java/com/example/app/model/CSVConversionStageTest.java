@@ -0,0 +1,80 @@
+package com.example.app.model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CSVConversionStage class.
+ * Verifies that chunked parallel conversion keeps the row order of transactions and errors.
+ */
+class CSVConversionStageTest {
+    private static ForkJoinPool pool;
+
+    private final CSVRowMapper mapper = new CSVRowMapper(0, 1, -1, 2, -1, false,
+            Set.of(), Set.of(), "yyyy-MM-dd");
+
+    @BeforeAll
+    static void setUpPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void tearDownPool() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Creates rows where every seventh row has an invalid amount.
+     *
+     * @param count the number of rows
+     * @return the rows [date, description, amount]
+     */
+    private static List<List<String>> rows(int count) {
+        List<List<String>> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(List.of("2025-03-01", "Item " + i, i % 7 == 0 ? "n/a" : "-" + i));
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Should merge chunk results and errors in row order")
+    void testOrderedMerge() {
+        List<List<String>> rows = rows(1000);
+        CSVConversionStage.Result parallel = new CSVConversionStage(mapper, pool, 16).convert(rows, 1);
+
+        List<String> expectedErrors = new ArrayList<>();
+        List<Object[]> expected = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] transaction = mapper.map(rows.get(i), i + 1, expectedErrors);
+            if (transaction != null) {
+                expected.add(transaction);
+            }
+        }
+
+        assertEquals(expected.size(), parallel.getTransactions().size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), parallel.getTransactions().get(i));
+        }
+        assertEquals(expectedErrors, parallel.getErrors());
+        assertEquals(143, parallel.getSkippedRows());
+        assertEquals("Row 1: Empty amount field", parallel.getErrors().get(0));
+        assertEquals("Row 8: Empty amount field", parallel.getErrors().get(1));
+    }
+
+    @Test
+    @DisplayName("Should continue row numbers across batches and convert small batches directly")
+    void testBatches() {
+        CSVConversionStage stage = new CSVConversionStage(mapper);
+        CSVConversionStage.Result result = stage.convert(rows(3), 8193);
+
+        assertEquals(2, result.getTransactions().size());
+        assertEquals(List.of("Row 8193: Empty amount field"), result.getErrors());
+        assertEquals(0, stage.convert(List.of(), 1).getTransactions().size());
+        assertThrows(IllegalArgumentException.class, () -> new CSVConversionStage(mapper, pool, 0));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.app.model;
+
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CSVDateParser class.
+ * Verifies format detection, the hand-written fast paths and fallback parsing.
+ */
+class CSVDateParserTest {
+
+    @Test
+    @DisplayName("Should keep a fitting format and detect the format of other columns")
+    void testDetectFormat() {
+        assertEquals("yyyy-MM-dd", CSVDateParser.detectFormat(
+                List.of("2025-03-01", "2025-03-02"), "yyyy-MM-dd"));
+        assertEquals("yyyy/M/d HH:mm", CSVDateParser.detectFormat(
+                List.of("2025/4/14 12:19", "", "2025/12/1 08:05"), "yyyy-MM-dd"));
+        assertEquals("dd.MM.yyyy", CSVDateParser.detectFormat(
+                List.of("14.04.2025", "01.12.2025"), "yyyy-MM-dd"));
+        assertEquals("MM/dd/yyyy", CSVDateParser.detectFormat(
+                List.of("not a date"), "MM/dd/yyyy"), "The chosen format is kept if nothing parses");
+    }
+
+    @Test
+    @DisplayName("Should parse the fast-path formats the same way as the formatter")
+    void testFastPaths() {
+        assertEquals(LocalDate.of(2025, 3, 1), CSVDateParser.parseIsoDate("2025-03-01"));
+        assertEquals(LocalDate.of(2025, 2, 28), CSVDateParser.parseIsoDate("2025-02-30"));
+        assertNull(CSVDateParser.parseIsoDate("2025-13-01"));
+        assertNull(CSVDateParser.parseIsoDate("2025-3-01"));
+        assertNull(CSVDateParser.parseIsoDate("2025-03-01 10:00"));
+
+        assertEquals(LocalDate.of(2025, 4, 14), CSVDateParser.parseSlashDateTime("2025/4/14 12:19"));
+        assertEquals(LocalDate.of(2025, 12, 1), CSVDateParser.parseSlashDateTime("2025/12/01 08:05"));
+        assertNull(CSVDateParser.parseSlashDateTime("2025/4/14 12:60"));
+        assertNull(CSVDateParser.parseSlashDateTime("2025/4/14"));
+        assertEquals(LocalDate.of(2025, 4, 15), CSVDateParser.parseSlashDateTime("2025/4/14 24:00"),
+                "Midnight at the end of the day resolves like the formatter does");
+    }
+
+    @Test
+    @DisplayName("Should fall back to other formats and fail when none fits")
+    void testParse() {
+        assertEquals("2025-04-14", CSVDateParser.parse("2025/4/14 12:19", "yyyy-MM-dd"));
+        assertEquals("2025-04-14", CSVDateParser.parse("14/04/2025", "yyyy-MM-dd"));
+        assertEquals("2025-04-14", CSVDateParser.parse("2025.04.14", "yyyy-MM-dd"));
+        assertEquals("", CSVDateParser.parse("", "yyyy-MM-dd"));
+
+        DateTimeParseException e = assertThrows(DateTimeParseException.class,
+                () -> CSVDateParser.parse("yesterday", "yyyy-MM-dd"));
+        assertTrue(e.getMessage().contains("yesterday"));
+    }
+}
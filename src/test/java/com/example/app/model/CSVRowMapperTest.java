@@ -0,0 +1,102 @@
+package com.example.app.model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CSVRowMapper class.
+ * Verifies field parsing, date and amount conversion, type columns and row errors.
+ */
+class CSVRowMapperTest {
+
+    /**
+     * Creates a mapper for rows of [date, description, amount, type].
+     *
+     * @param useTypeColumn whether the type column gives the sign
+     * @param dateFormat the date pattern
+     * @return the mapper
+     */
+    private static CSVRowMapper mapper(boolean useTypeColumn, String dateFormat) {
+        return new CSVRowMapper(0, 1, -1, 2, 3, useTypeColumn,
+                Set.of("income"), Set.of("expense"), dateFormat);
+    }
+
+    @Test
+    @DisplayName("Should split quoted fields and trim values")
+    void testParseLine() {
+        assertEquals(List.of("2025/4/14 12:19", "Coffee, large", "¥12.00", "Expense"),
+                CSVRowMapper.parseLine("2025/4/14 12:19,\"Coffee, large\", ¥12.00 ,Expense"));
+        assertEquals(List.of(""), CSVRowMapper.parseLine(""));
+        assertEquals(Set.of("income", "revenue"), CSVRowMapper.parseIdentifiers(" Income, Revenue ,"));
+    }
+
+    @Test
+    @DisplayName("Should convert dates with the chosen format or a fallback")
+    void testDates() {
+        List<String> errors = new ArrayList<>();
+        Object[] row = mapper(false, "yyyy/M/d HH:mm")
+                .map(List.of("2025/4/14 12:19", "Coffee", "-12.5", ""), 1, errors);
+        assertEquals("2025-04-14", row[0]);
+        assertEquals("Coffee", row[1]);
+        assertEquals(CSVRowMapper.DEFAULT_CATEGORY, row[2]);
+        assertEquals(-12.5, (Double) row[3], 0.001);
+        assertEquals(false, row[4]);
+
+        assertEquals("2025-03-01", CSVRowMapper.parseDate("2025-03-01", "MM/dd/yyyy"));
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should take the sign from the type column")
+    void testTypeColumn() {
+        List<String> errors = new ArrayList<>();
+        CSVRowMapper mapper = mapper(true, "yyyy-MM-dd");
+
+        assertEquals(-30.0, (Double) mapper.map(List.of("2025-03-01", "Lunch", "¥30.00", "Expense"), 1, errors)[3], 0.001);
+        assertEquals(500.0, (Double) mapper.map(List.of("2025-03-02", "Pay", "500", "Income"), 2, errors)[3], 0.001);
+        assertTrue(errors.isEmpty());
+
+        Object[] unknown = mapper.map(List.of("2025-03-03", "Refund", "8", "Neutral"), 3, errors);
+        assertEquals(8.0, (Double) unknown[3], 0.001, "Rows of an unknown type are kept as they are");
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).startsWith("Row 3: Could not determine transaction type"));
+    }
+
+    @Test
+    @DisplayName("Should reject rows with bad dates or amounts but preview them leniently")
+    void testRejectedRows() {
+        CSVRowMapper mapper = mapper(false, "yyyy-MM-dd");
+        List<String> errors = new ArrayList<>();
+
+        assertNull(mapper.map(List.of("", "A", "1", ""), 1, errors));
+        assertNull(mapper.map(List.of("not a date", "B", "1", ""), 2, errors));
+        assertNull(mapper.map(List.of("2025-03-01", "C", "n/a", ""), 3, errors));
+        assertNull(mapper.map(List.of("2025-03-01", "D", "1.2.3", ""), 4, errors));
+        assertEquals(4, errors.size());
+        assertEquals("Row 1: Empty date field", errors.get(0));
+        assertEquals("Row 3: Empty amount field", errors.get(2));
+
+        Object[] preview = mapper.preview(List.of("not a date", "B", "n/a", ""));
+        assertEquals("not a date", preview[0]);
+        assertEquals(0.0, (Double) preview[3], 0.001);
+    }
+
+    @Test
+    @DisplayName("Should categorize rows without a category by the keyword rules")
+    void testRules() {
+        RuleCategorizer rules = new RuleCategorizer(Map.of("coffee", "Food"));
+        CSVRowMapper mapper = new CSVRowMapper(0, 1, 4, 2, -1, false,
+                Set.of(), Set.of(), "yyyy-MM-dd").withRules(rules);
+        List<String> errors = new ArrayList<>();
+
+        assertEquals("Food", mapper.map(List.of("2025-03-01", "Coffee shop", "-4", "", ""), 1, errors)[2]);
+        assertEquals("Shopping", mapper.map(List.of("2025-03-01", "Coffee beans", "-9", "", "Shopping"), 2, errors)[2],
+                "A category from the file is kept");
+        assertEquals(CSVRowMapper.DEFAULT_CATEGORY, mapper.map(List.of("2025-03-01", "Books", "-9", "", ""), 3, errors)[2]);
+        assertEquals("Food", mapper.preview(List.of("2025-03-01", "Iced coffee", "-4", "", ""))[2]);
+        assertTrue(errors.isEmpty());
+    }
+}
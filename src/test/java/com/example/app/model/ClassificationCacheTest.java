@@ -0,0 +1,107 @@
+package com.example.app.model;
+
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ClassificationCache class.
+ * Verifies key normalization, least recently used eviction, confirmations and persistence.
+ */
+class ClassificationCacheTest {
+    private static final String TEST_USERNAME = "testuser_classification_cache";
+    private static final File DIRECTORY = new File(".\\user_data\\" + TEST_USERNAME);
+
+    @BeforeEach
+    void setUp() {
+        ClassificationCache._resetForTests();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ClassificationCache._resetForTests();
+        if (DIRECTORY.exists()) {
+            for (File file : DIRECTORY.listFiles()) file.delete();
+            DIRECTORY.delete();
+        }
+    }
+
+    @Test
+    @DisplayName("Should match descriptions ignoring case and spacing, but not the amount sign")
+    void testKeys() {
+        ClassificationCache cache = new ClassificationCache(null, 10);
+        cache.put("  Starbucks   Coffee ", false, "Food");
+
+        assertEquals("Food", cache.get("starbucks coffee", false));
+        assertNull(cache.get("starbucks coffee", true), "A refund is cached separately");
+        assertNull(cache.get("   ", false));
+        assertEquals("-starbucks coffee", ClassificationCache.key("Starbucks\tCoffee", false));
+        assertNull(ClassificationCache.key(" ", true));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry")
+    void testEviction() {
+        ClassificationCache cache = new ClassificationCache(null, 2);
+        cache.put("A", false, "Food");
+        cache.put("B", false, "Food");
+        cache.get("A", false);
+        cache.put("C", false, "Food");
+
+        assertEquals(2, cache.size());
+        assertEquals("Food", cache.get("A", false));
+        assertNull(cache.get("B", false), "The entry not used since A was read is evicted");
+        assertEquals("Food", cache.get("C", false));
+    }
+
+    @Test
+    @DisplayName("Should keep confirmed entries and replace corrected ones")
+    void testConfirm() {
+        ClassificationCache cache = new ClassificationCache(null, 10);
+        cache.put("Didi", false, "Food");
+        cache.put("Didi", true, "Other");
+        cache.put("Metro", false, "Transportation");
+        List<Object[]> confirmed = new ArrayList<>();
+        confirmed.add(new Object[]{"2025-03-01", "DIDI", "Transportation", -12.0, true});
+        confirmed.add(new Object[]{"2025-03-01", "Unknown", "Food", -5.0, true});
+        confirmed.add(new Object[]{"2025-03-01", "metro", "Transportation", -3.0, true});
+
+        assertEquals(2, cache.confirm(confirmed), "Only the corrected and the new entry change");
+        assertEquals("Transportation", cache.get("Didi", false));
+        assertEquals("Food", cache.get("Unknown", false));
+        assertEquals("Transportation", cache.get("Metro", false), "A confirmed answer stays cached");
+        assertEquals("Other", cache.get("Didi", true));
+        assertEquals(0, cache.confirm(confirmed));
+    }
+
+    @Test
+    @DisplayName("Should save and reload entries in recency order")
+    void testPersistence() {
+        ClassificationCache cache = ClassificationCache.getInstance(TEST_USERNAME);
+        assertSame(cache, ClassificationCache.getInstance(TEST_USERNAME));
+        cache.put("微信转账", false, "Other");
+        cache.put("美团外卖", false, "Food");
+        cache.get("微信转账", false);
+        cache.save();
+
+        ClassificationCache._resetForTests();
+        ClassificationCache reloaded = ClassificationCache.getInstance(TEST_USERNAME);
+        assertNotSame(cache, reloaded);
+        assertEquals(2, reloaded.size());
+        assertEquals("Food", reloaded.get("美团外卖", false));
+        assertEquals("Other", reloaded.get("微信转账", false));
+
+        File file = new File(DIRECTORY, "category_cache.tsv");
+        assertTrue(file.delete());
+        reloaded.confirm(Collections.singletonList(new Object[]{"2025-03-01", "美团外卖", "Food", -30.0, true}));
+        assertFalse(file.exists(), "An unchanged confirmation is not saved");
+
+        reloaded.confirm(Collections.singletonList(new Object[]{"2025-03-01", "美团外卖", "Shopping", -30.0, true}));
+        ClassificationCache._resetForTests();
+        assertEquals("Shopping", ClassificationCache.getInstance(TEST_USERNAME).get("美团外卖", false),
+                "A corrected confirmation is saved");
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.app.model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DailyRangeIndex class.
+ * Verifies range sums against a brute-force reference, growth of the covered
+ * range in both directions, per-category series and removal of amounts.
+ */
+class DailyRangeIndexTest {
+    private DailyRangeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DailyRangeIndex();
+    }
+
+    @Test
+    @DisplayName("Range sums should match a brute-force sum while the range grows")
+    void testMatchesBruteForce() {
+        Random random = new Random(42);
+        Map<Integer, Long> incomes = new HashMap<>();
+        Map<Integer, Long> expenses = new HashMap<>();
+        for (int n = 0; n < 500; n++) {
+            int day = 19000 + random.nextInt(2000) - 1000;
+            long cents = random.nextInt(20000) - 10000;
+            index.add(day, "Food", cents, 1);
+            if (cents >= 0) {
+                incomes.merge(day, cents, Long::sum);
+            } else {
+                expenses.merge(day, -cents, Long::sum);
+            }
+        }
+
+        for (int n = 0; n < 200; n++) {
+            int from = 17900 + random.nextInt(2200);
+            int to = from + random.nextInt(400);
+            assertEquals(sum(incomes, from, to), index.incomeBetween(from, to));
+            assertEquals(sum(expenses, from, to), index.expenseBetween(from, to));
+            assertEquals(sum(expenses, from, to), index.categoryExpenseBetween("Food", from, to));
+        }
+    }
+
+    @Test
+    @DisplayName("Removing an amount should undo adding it")
+    void testRemove() {
+        index.add(100, "Food", -500, 1);
+        index.add(105, "Salary", 10000, 1);
+        index.add(100, "Food", -500, -1);
+
+        assertEquals(0, index.expenseBetween(0, 1000));
+        assertEquals(10000, index.incomeBetween(105, 105));
+        assertEquals(10000, index.categoryIncomeBetween("Salary", 0, 1000));
+        assertEquals(0, index.categoryIncomeBetween("Food", 0, 1000));
+    }
+
+    @Test
+    @DisplayName("Empty or out-of-range queries should return zero")
+    void testEmptyRanges() {
+        assertEquals(0, index.incomeBetween(0, 100));
+        index.add(50, "Food", -100, 1);
+        assertEquals(0, index.expenseBetween(60, 40));
+        assertEquals(0, index.expenseBetween(Integer.MIN_VALUE + 1, 49));
+        assertEquals(100, index.expenseBetween(Integer.MIN_VALUE + 1, Integer.MAX_VALUE - 1));
+        assertEquals(Collections.singleton("Food"), index.getExpenseCategories());
+    }
+
+    private static long sum(Map<Integer, Long> values, int from, int to) {
+        long total = 0;
+        for (Map.Entry<Integer, Long> entry : values.entrySet()) {
+            if (entry.getKey() >= from && entry.getKey() <= to) {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.app.model;
+
+import com.example.app.user_data.UserBillStorage;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DataChangeEvent and DataChangeFilter classes.
+ * Verifies the scope collected from repository edits, merging and filtering.
+ */
+class DataChangeEventTest {
+    private static final String TEST_USERNAME = "testuser_data_change_event";
+    private TransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        TransactionRepository._resetForTests();
+        UserBillStorage.setUsername(TEST_USERNAME);
+        UserBillStorage.saveTransactions(new ArrayList<>());
+        repository = TransactionRepository.getInstance(TEST_USERNAME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        File dir = new File(UserBillStorage.getBillFilePath()).getParentFile();
+        if (dir.exists()) {
+            for (File file : dir.listFiles()) file.delete();
+            dir.delete();
+        }
+        TransactionRepository._resetForTests();
+    }
+
+    /**
+     * Applies edits to the repository and builds the event for them.
+     *
+     * @param edit the edits to apply
+     * @return the transaction event
+     */
+    private DataChangeEvent eventFor(Runnable edit) {
+        long version = repository.getVersion();
+        edit.run();
+        return DataChangeEvent.forTransactionChanges(repository.getChangesSince(version));
+    }
+
+    @Test
+    @DisplayName("Should collect categories and dates of added and removed rows")
+    void testScopeFromChanges() {
+        repository.addTransactions(Collections.singletonList(new Object[]{"2025-03-10", "Rent", "Housing", -900.0, true}));
+        DataChangeEvent event = eventFor(() -> {
+            repository.addTransactions(Arrays.asList(
+                    new Object[]{"2025-05-02", "Lunch", "Food", -12.0, false},
+                    new Object[]{"2025-05-20 18:30", "Cinema", "Entertainment", -15.0, false}));
+            repository.deleteTransactions(Collections.singletonList(0));
+        });
+
+        assertEquals(DataRefreshManager.RefreshType.TRANSACTIONS, event.getType());
+        assertTrue(event.isScoped());
+        assertEquals(Set.of("Food", "Entertainment", "Housing"), event.getCategories());
+        assertEquals(LocalDate.of(2025, 3, 10), event.getFirstDate());
+        assertEquals(LocalDate.of(2025, 5, 20), event.getLastDate());
+        assertEquals(2, event.getChanges().size());
+        assertEquals(2, event.getChanges().get(0).getAdded().size());
+        assertEquals(1, event.getChanges().get(1).getRemoved().size());
+    }
+
+    @Test
+    @DisplayName("Should check category and date overlap")
+    void testOverlap() {
+        DataChangeEvent event = eventFor(() -> repository.addTransactions(Collections.singletonList(
+                new Object[]{"2025-05-02", "Lunch", "Food", -12.0, false})));
+
+        assertTrue(event.touchesCategories(Set.of("Food", "Housing")));
+        assertFalse(event.touchesCategories(Set.of("Housing")));
+        assertTrue(event.touchesDates(LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 31)));
+        assertTrue(event.touchesDates(LocalDate.of(2025, 5, 2), null));
+        assertFalse(event.touchesDates(LocalDate.of(2025, 5, 3), null));
+        assertFalse(event.touchesDates(null, LocalDate.of(2025, 5, 1)));
+
+        DataChangeEvent unscoped = DataChangeEvent.of(DataRefreshManager.RefreshType.TRANSACTIONS);
+        assertTrue(unscoped.touchesCategories(Set.of("Housing")));
+        assertTrue(unscoped.touchesDates(LocalDate.of(2030, 1, 1), null));
+    }
+
+    @Test
+    @DisplayName("Should merge scopes and fall back to unscoped")
+    void testMerge() {
+        DataChangeEvent first = DataChangeEvent.forCategories(DataRefreshManager.RefreshType.BUDGETS, List.of("Food"));
+        DataChangeEvent second = DataChangeEvent.forCategories(DataRefreshManager.RefreshType.BUDGETS, List.of("Housing"));
+
+        DataChangeEvent merged = first.merge(second);
+        assertTrue(merged.isScoped());
+        assertEquals(Set.of("Food", "Housing"), merged.getCategories());
+
+        assertFalse(merged.merge(DataChangeEvent.of(DataRefreshManager.RefreshType.BUDGETS)).isScoped());
+        assertThrows(IllegalArgumentException.class,
+                () -> first.merge(DataChangeEvent.of(DataRefreshManager.RefreshType.TRANSACTIONS)));
+    }
+
+    @Test
+    @DisplayName("Should filter only scoped transaction changes")
+    void testFilter() {
+        DataChangeEvent food = eventFor(() -> repository.addTransactions(Collections.singletonList(
+                new Object[]{"2025-05-02", "Lunch", "Food", -12.0, false})));
+        Set<String> watched = new HashSet<>(Set.of("Housing"));
+        DataChangeFilter filter = DataChangeFilter.forCategories(() -> watched);
+
+        assertFalse(filter.accepts(food));
+        watched.add("Food");
+        assertTrue(filter.accepts(food), "Categories should be read when the event is checked");
+        assertTrue(DataChangeFilter.forCategories(() -> Set.of("Other"), category -> "Other").accepts(food),
+                "Changed categories should be mapped before they are matched");
+        assertTrue(DataChangeFilter.forCategories(() -> Set.of("Housing"))
+                .accepts(DataChangeEvent.of(DataRefreshManager.RefreshType.TRANSACTIONS)));
+        assertTrue(DataChangeFilter.forCategories(() -> Set.of("Housing"))
+                .accepts(DataChangeEvent.forCategories(DataRefreshManager.RefreshType.BUDGETS, List.of("Food"))));
+
+        assertTrue(DataChangeFilter.forDateWindow(() -> LocalDate.of(2025, 5, 1), () -> null).accepts(food));
+        assertFalse(DataChangeFilter.forDateWindow(() -> LocalDate.of(2025, 6, 1), () -> null).accepts(food));
+        assertTrue(DataChangeFilter.forDateWindow(() -> null, () -> null).accepts(food));
+    }
+}
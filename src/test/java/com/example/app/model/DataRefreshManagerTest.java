@@ -443,6 +443,179 @@ class DataRefreshManagerTest {
         }
     }
     
+    /**
+     * Tests that verify queueing of reentrant notifications and asynchronous coalescing.
+     */
+    @Nested
+    @DisplayName("Dispatch Tests")
+    class DispatchTests {
+        
+        /**
+         * Tests that a different type raised by a listener is delivered after the current event.
+         */
+        @Test
+        @DisplayName("Should queue reentrant refresh calls of another type")
+        void shouldQueueReentrantRefreshOfAnotherType() {
+            List<DataRefreshManager.RefreshType> received = Collections.synchronizedList(new ArrayList<>());
+            DataRefreshListener listener = type -> {
+                received.add(type);
+                if (type == DataRefreshManager.RefreshType.TRANSACTIONS) {
+                    refreshManager.refreshBudgets();
+                    refreshManager.refreshTransactions();
+                }
+            };
+            refreshManager.addListener(listener);
+            try {
+                refreshManager.refreshTransactions();
+                assertEquals(List.of(DataRefreshManager.RefreshType.TRANSACTIONS,
+                        DataRefreshManager.RefreshType.BUDGETS), received);
+            } finally {
+                refreshManager.removeListener(listener);
+            }
+        }
+        
+        /**
+         * Tests that a burst of asynchronous notifications results in one delivery per type.
+         * 
+         * @throws InterruptedException If waiting for the worker is interrupted
+         */
+        @Test
+        @DisplayName("Should merge bursts of notifications in asynchronous mode")
+        void shouldMergeBurstsInAsynchronousMode() throws InterruptedException {
+            List<DataRefreshManager.RefreshType> received = Collections.synchronizedList(new ArrayList<>());
+            List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch delivered = new CountDownLatch(2);
+            DataRefreshListener listener = type -> {
+                received.add(type);
+                threads.add(Thread.currentThread());
+                delivered.countDown();
+            };
+            refreshManager.addListener(listener);
+            refreshManager.setDispatchMode(DataRefreshManager.DispatchMode.ASYNCHRONOUS);
+            refreshManager.setCoalesceWindow(200, TimeUnit.MILLISECONDS);
+            try {
+                for (int i = 0; i < 20; i++) {
+                    refreshManager.refreshTransactions();
+                    refreshManager.refreshBudgets();
+                }
+                assertTrue(received.isEmpty(), "Notifications should not be delivered on the caller's thread");
+                assertTrue(delivered.await(5, TimeUnit.SECONDS), "Merged notifications should be delivered");
+                Thread.sleep(300);
+                
+                assertEquals(2, received.size());
+                assertTrue(received.contains(DataRefreshManager.RefreshType.TRANSACTIONS));
+                assertTrue(received.contains(DataRefreshManager.RefreshType.BUDGETS));
+                assertNotSame(Thread.currentThread(), threads.get(0));
+            } finally {
+                refreshManager.removeListener(listener);
+            }
+        }
+        
+        /**
+         * Tests that ALL supersedes other queued notifications.
+         */
+        @Test
+        @DisplayName("Should deliver only ALL when it is queued with other types")
+        void shouldLetAllSupersedeOtherTypes() {
+            List<DataRefreshManager.RefreshType> received = new ArrayList<>();
+            DataRefreshListener listener = type -> {
+                received.add(type);
+                if (type == DataRefreshManager.RefreshType.CURRENCY) {
+                    refreshManager.refreshBudgets();
+                    refreshManager.refreshAll();
+                }
+            };
+            refreshManager.addListener(listener);
+            try {
+                refreshManager.notifyRefresh(DataRefreshManager.RefreshType.CURRENCY);
+                assertEquals(List.of(DataRefreshManager.RefreshType.CURRENCY,
+                        DataRefreshManager.RefreshType.ALL), received);
+            } finally {
+                refreshManager.removeListener(listener);
+            }
+        }
+
+        /**
+         * Tests that filtered listeners only receive the changes their filter accepts.
+         */
+        @Test
+        @DisplayName("Should skip filtered listeners for changes outside their categories")
+        void shouldSkipFilteredListeners() {
+            List<DataChangeEvent> filtered = new ArrayList<>();
+            List<DataChangeEvent> unfiltered = new ArrayList<>();
+            DataRefreshListener filteredListener = new DataRefreshListener() {
+                @Override
+                public void onDataRefresh(DataRefreshManager.RefreshType type) {
+                    fail("Should receive change events");
+                }
+
+                @Override
+                public void onDataChanged(DataChangeEvent event) {
+                    filtered.add(event);
+                }
+            };
+            DataRefreshListener unfilteredListener = new DataRefreshListener() {
+                @Override
+                public void onDataRefresh(DataRefreshManager.RefreshType type) {
+                    fail("Should receive change events");
+                }
+
+                @Override
+                public void onDataChanged(DataChangeEvent event) {
+                    unfiltered.add(event);
+                }
+            };
+            refreshManager.addListener(filteredListener, DataChangeFilter.forCategories(() -> List.of("Food")));
+            refreshManager.addListener(unfilteredListener);
+            try {
+                refreshManager.notifyChange(DataChangeEvent.forCategories(
+                        DataRefreshManager.RefreshType.TRANSACTIONS, List.of("Housing")));
+                refreshManager.refreshTransactions();
+                refreshManager.notifyChange(DataChangeEvent.forCategories(
+                        DataRefreshManager.RefreshType.BUDGETS, List.of("Housing")));
+
+                assertEquals(3, unfiltered.size());
+                assertEquals(2, filtered.size());
+                assertFalse(filtered.get(0).isScoped());
+                assertEquals(DataRefreshManager.RefreshType.BUDGETS, filtered.get(1).getType());
+            } finally {
+                refreshManager.removeListener(filteredListener);
+                refreshManager.removeListener(unfilteredListener);
+            }
+        }
+
+        /**
+         * Tests that a scoped transaction event does not swallow a wider one raised during its delivery.
+         */
+        @Test
+        @DisplayName("Should deliver an unscoped refresh raised during a scoped event")
+        void shouldDeliverWiderEventRaisedDuringScopedEvent() {
+            List<DataChangeEvent> received = new ArrayList<>();
+            DataRefreshListener listener = new DataRefreshListener() {
+                @Override
+                public void onDataRefresh(DataRefreshManager.RefreshType type) {
+                }
+
+                @Override
+                public void onDataChanged(DataChangeEvent event) {
+                    received.add(event);
+                    if (event.isScoped()) {
+                        refreshManager.refreshTransactions();
+                    }
+                }
+            };
+            refreshManager.addListener(listener);
+            try {
+                refreshManager.notifyChange(DataChangeEvent.forCategories(
+                        DataRefreshManager.RefreshType.TRANSACTIONS, List.of("Food")));
+                assertEquals(2, received.size());
+                assertFalse(received.get(1).isScoped());
+            } finally {
+                refreshManager.removeListener(listener);
+            }
+        }
+    }
+    
     /**
      * Tests that verify the concurrency safety of DataRefreshManager operations.
      */
@@ -173,4 +173,162 @@ class FinanceDataTest {
         assertEquals(LocalDate.parse("2024-06-01"), dates.get(0));
         assertEquals(LocalDate.parse("2024-06-02"), dates.get(1));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that daily totals are summed per day and that the derived views
+     * are reused until the data changes.
+     */
+    @Test
+    @DisplayName("Daily totals are aggregated per day and views are cached")
+    void testDailyTotalsAndCachedViews() {
+        List<Object[]> transactions = new ArrayList<>();
+        transactions.add(new Object[]{"2024-06-10", "Lunch", "Food", -12.5});
+        transactions.add(new Object[]{"2024-06-10", "Dinner", "Food", -20.25});
+        transactions.add(new Object[]{"2024-06-05", "Refund", "Other", 10.0});
+        financeData.importTransactions(transactions);
+
+        LocalDate june10 = LocalDate.parse("2024-06-10");
+        assertEquals(32.75, financeData.getDailyExpense(june10), 0.001);
+        assertEquals(0.0, financeData.getDailyIncome(june10), 0.001);
+        assertEquals(10.0, financeData.getDailyIncome(LocalDate.parse("2024-06-05")), 0.001);
+        assertEquals(0.0, financeData.getDailyExpense(LocalDate.parse("2030-01-01")), 0.001);
+        assertEquals(32.75, financeData.getTotalExpenses(), 0.001);
+
+        assertEquals(1, financeData.getDailyExpenses().size());
+        assertSame(financeData.getDates(), financeData.getDates());
+        assertSame(financeData.getDailyIncomes(), financeData.getDailyIncomes());
+
+        List<LocalDate> before = financeData.getDates();
+        transactions.add(new Object[]{"2024-05-30", "Bonus", "Other", 50.0});
+        financeData.importTransactions(transactions);
+        assertNotSame(before, financeData.getDates());
+        assertEquals(LocalDate.parse("2024-05-30"), financeData.getDates().get(0));
+        assertEquals(60.0, financeData.getTotalIncome(), 0.001);
+    }
+
+    /**
+     * Tests that applying a delta gives the same aggregates as importing the result.
+     */
+    @Test
+    @DisplayName("applyDelta updates aggregates without a full import")
+    void testApplyDelta() {
+        List<Object[]> transactions = new ArrayList<>();
+        transactions.add(new Object[]{"2024-06-01", "Salary", "Income", 5000.0});
+        transactions.add(new Object[]{"2024-06-02", "Groceries", "Food", -200.0});
+        financeData.importTransactions(transactions);
+        Map<String, Double> budgets = new HashMap<>(financeData.getCategoryBudgets());
+
+        List<Object[]> added = new ArrayList<>();
+        added.add(new Object[]{"2024-06-05", "Dinner", "Food", -50.0});
+        List<Object[]> removed = new ArrayList<>();
+        removed.add(new Object[]{"2024-06-02", "Groceries", "Food", -200.0});
+        financeData.applyDelta(added, removed);
+
+        assertEquals(2, financeData.getTransactions().size());
+        assertEquals(50.0, financeData.getTotalExpenses(), 0.01);
+        assertEquals(50.0, financeData.getCategoryExpense("Food"), 0.01);
+        assertEquals(Arrays.asList(LocalDate.parse("2024-06-01"), LocalDate.parse("2024-06-05")),
+                financeData.getDates());
+        assertEquals("Dinner", financeData.getExpenseDescription(LocalDate.parse("2024-06-05")));
+        assertEquals("Unknown expense", financeData.getExpenseDescription(LocalDate.parse("2024-06-02")));
+        assertEquals(budgets, financeData.getCategoryBudgets());
+        assertEquals(50.0 / financeData.getCategoryBudget("Food") * 100,
+                financeData.getCategoryPercentage("Food"), 0.01);
+    }
+
+    /**
+     * Tests that removing a row matches its category and leaves the day as importing
+     * the remaining rows would.
+     */
+    @Test
+    @DisplayName("applyDelta removes the matching category and refreshes the day's description")
+    void testApplyDeltaRemovesMatchingRow() {
+        List<Object[]> transactions = new ArrayList<>();
+        transactions.add(new Object[]{"2024-06-02", "Metro card", "Transportation", -20.0});
+        transactions.add(new Object[]{"2024-06-02", "Shared order", "Food", -30.0});
+        transactions.add(new Object[]{"2024-06-02", "Shared order", "Shopping", -30.0});
+        financeData.importTransactions(transactions);
+
+        financeData.applyDelta(Collections.emptyList(),
+                Collections.singletonList(new Object[]{"2024-06-02", "Shared order", "Food", -30.0}));
+        assertEquals(0.0, financeData.getCategoryExpense("Food"), 0.01);
+        assertEquals(30.0, financeData.getCategoryExpense("Shopping"), 0.01);
+        assertEquals("Shared order", financeData.getExpenseDescription(LocalDate.parse("2024-06-02")));
+        assertEquals("Shopping", financeData.getExpenseCategory(LocalDate.parse("2024-06-02")));
+
+        financeData.applyDelta(Collections.emptyList(),
+                Collections.singletonList(new Object[]{"2024-06-02", "Shared order", "Shopping", -30.0}));
+        FinanceData imported = new FinanceData();
+        imported.importTransactions(Collections.singletonList(
+                new Object[]{"2024-06-02", "Metro card", "Transportation", -20.0}));
+        LocalDate day = LocalDate.parse("2024-06-02");
+        assertEquals(imported.getExpenseDescription(day), financeData.getExpenseDescription(day));
+        assertEquals(imported.getExpenseCategory(day), financeData.getExpenseCategory(day));
+        assertEquals(imported.getCategoryExpenses(), financeData.getCategoryExpenses());
+        assertEquals(1, financeData.getTransactions().size());
+        assertEquals("Metro card", financeData.getTransactions().get(0).getDescription());
+    }
+
+    /**
+     * Tests range queries for totals, categories and dates.
+     */
+    @Test
+    @DisplayName("Range queries return totals for the selected dates only")
+    void testRangeQueries() {
+        List<Object[]> transactions = new ArrayList<>();
+        transactions.add(new Object[]{"2023-12-31", "Rent", "Housing", -1000.0});
+        transactions.add(new Object[]{"2024-01-15", "Salary", "Income", 3000.0});
+        transactions.add(new Object[]{"2024-01-20", "Groceries", "Food", -120.0});
+        transactions.add(new Object[]{"2024-02-01", "Groceries", "Food", -80.0});
+        financeData.importTransactions(transactions);
+
+        LocalDate from = LocalDate.parse("2024-01-01");
+        LocalDate to = LocalDate.parse("2024-01-31");
+        assertEquals(3000.0, financeData.getIncomeBetween(from, to), 0.001);
+        assertEquals(120.0, financeData.getExpensesBetween(from, to), 0.001);
+        assertEquals(2880.0, financeData.getNetBetween(from, to), 0.001);
+        assertEquals(120.0, financeData.getCategoryExpenseBetween("Food", from, to), 0.001);
+        assertEquals(Collections.singletonMap("Food", 120.0), financeData.getCategoryExpensesBetween(from, to));
+        assertEquals(Arrays.asList(LocalDate.parse("2024-01-15"), LocalDate.parse("2024-01-20")),
+                financeData.getDatesBetween(from, to));
+
+        financeData.applyDelta(Collections.singletonList(new Object[]{"2024-01-25", "Dinner", "Food", -30.0}),
+                Collections.emptyList());
+        assertEquals(150.0, financeData.getExpensesBetween(from, to), 0.001);
+        assertEquals(1230.0, financeData.getExpensesBetween(LocalDate.MIN, LocalDate.MAX), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should group totals by period and clip periods at the range ends")
+    void testPeriodTotals() {
+        List<Object[]> transactions = new ArrayList<>();
+        transactions.add(new Object[]{"2024-01-05", "Groceries", "Food", -50.0});
+        transactions.add(new Object[]{"2024-01-15", "Salary", "Income", 3000.0});
+        transactions.add(new Object[]{"2024-01-20", "Groceries", "Food", -120.0});
+        transactions.add(new Object[]{"2024-02-01", "Groceries", "Food", -80.0});
+        transactions.add(new Object[]{"2024-02-20", "Cinema", "Entertainment", -25.0});
+        financeData.importTransactions(transactions);
+
+        List<RollupCube.PeriodTotal> months = financeData.getPeriodTotals(RollupCube.Granularity.MONTH,
+                LocalDate.parse("2024-01-10"), LocalDate.parse("2024-02-10"));
+        assertEquals(2, months.size());
+        assertEquals(LocalDate.parse("2024-01-10"), months.get(0).getStart());
+        assertEquals(3000.0, months.get(0).getIncome(), 0.001);
+        assertEquals(120.0, months.get(0).getExpenses(), 0.001);
+        assertEquals(120.0, months.get(0).getCategoryExpense("Food"), 0.001);
+        assertEquals(LocalDate.parse("2024-02-10"), months.get(1).getEnd());
+        assertEquals(80.0, months.get(1).getExpenses(), 0.001);
+        assertFalse(months.get(1).hasIncome());
+
+        assertTrue(financeData.getPeriodTotals(RollupCube.Granularity.MONTH,
+                LocalDate.parse("2024-01-21"), LocalDate.parse("2024-01-31")).isEmpty());
+
+        financeData.applyDelta(Collections.emptyList(),
+                Collections.singletonList(new Object[]{"2024-01-15", "Salary", "Income", 3000.0}));
+        List<RollupCube.PeriodTotal> year = financeData.getPeriodTotals(RollupCube.Granularity.YEAR,
+                LocalDate.parse("2024-01-01"), LocalDate.parse("2024-12-31"));
+        assertEquals(1, year.size());
+        assertEquals(0.0, year.get(0).getIncome(), 0.001);
+        assertEquals(275.0, year.get(0).getExpenses(), 0.001);
+    }
+}
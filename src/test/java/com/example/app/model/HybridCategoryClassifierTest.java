@@ -0,0 +1,168 @@
+package com.example.app.model;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the HybridCategoryClassifier class.
+ * Verifies the local stages, bounded batches and validation of remote replies.
+ */
+class HybridCategoryClassifierTest {
+    private static final List<String> CATEGORIES = List.of("Food", "Transportation", "Shopping");
+
+    private final List<JSONArray> sentBatches = new ArrayList<>();
+
+    /**
+     * Creates an uncategorised expense record.
+     *
+     * @param description the description
+     * @return the record
+     */
+    private static Object[] row(String description) {
+        return new Object[]{"2025-03-01", description, CSVRowMapper.DEFAULT_CATEGORY, -10.0, false};
+    }
+
+    /**
+     * Reads the rows sent in a prompt.
+     *
+     * @param prompt the prompt
+     * @return the rows
+     */
+    private JSONArray rowsOf(String prompt) {
+        JSONArray rows = new JSONArray(prompt.substring(prompt.indexOf("Transactions: ") + 14));
+        sentBatches.add(rows);
+        return rows;
+    }
+
+    /**
+     * A remote model answering every row with a fixed category.
+     *
+     * @param category the category
+     * @return the remote model
+     */
+    private HybridCategoryClassifier.RemoteClassifier answering(String category) {
+        return prompt -> {
+            JSONArray reply = new JSONArray();
+            for (Object row : rowsOf(prompt)) {
+                reply.put(new JSONObject().put("id", ((JSONObject) row).getInt("id")).put("category", category));
+            }
+            return reply.toString();
+        };
+    }
+
+    @Test
+    @DisplayName("Should use rules and confident model predictions before the remote model")
+    void testStages() {
+        NaiveBayesCategorizer model = new NaiveBayesCategorizer(null);
+        model.learn("Didi ride", "Transportation");
+        model.learn("Didi ride home", "Transportation");
+        RuleCategorizer rules = new RuleCategorizer(Map.of("coffee", "Food", "casino", "Gambling"));
+        List<Object[]> rows = List.of(row("Coffee bar"), row("Didi ride"), row("Bookshop"),
+                new Object[]{"2025-03-02", "Lunch", "Food", -8.0, false});
+
+        HybridCategoryClassifier.Result result = new HybridCategoryClassifier(CATEGORIES, rules, null, model,
+                answering("shopping"), 0.5, 10, 1000).classify(rows, () -> false);
+
+        assertEquals("Food", rows.get(0)[2]);
+        assertEquals("Transportation", rows.get(1)[2]);
+        assertEquals("Shopping", rows.get(2)[2], "Remote categories take the allowed spelling");
+        assertEquals("Food", rows.get(3)[2]);
+        assertEquals(1, result.getByRules());
+        assertEquals(1, result.getByModel());
+        assertEquals(1, result.getByRemote());
+        assertEquals(1, result.getRemoteRequests());
+        assertEquals(1, sentBatches.get(0).length(), "Only the uncertain row is sent");
+    }
+
+    @Test
+    @DisplayName("Should send distinct descriptions once in bounded batches")
+    void testBatches() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rows.add(row("Shop " + i));
+        }
+        rows.add(row("shop 0"));
+        rows.add(new Object[]{"2025-03-01", "Shop 0", "", 10.0, false});
+
+        HybridCategoryClassifier.Result result = new HybridCategoryClassifier(CATEGORIES, null, null, null,
+                answering("Shopping"), 0.8, 2, 1000).classify(rows, () -> false);
+
+        assertEquals(3, result.getRemoteRequests());
+        assertEquals(6, sentBatches.stream().mapToInt(JSONArray::length).sum(),
+                "The repeated expense is sent once, the income with the same text separately");
+        assertEquals(7, result.getByRemote());
+        assertEquals(0, result.getUnresolved());
+        assertEquals("income", sentBatches.get(2).getJSONObject(1).getString("type"));
+    }
+
+    @Test
+    @DisplayName("Should apply replies by id and ignore unknown ids and categories")
+    void testReplyValidation() {
+        List<Object[]> rows = List.of(row("A"), row("B"), row("C"), row("D"));
+        HybridCategoryClassifier.RemoteClassifier remote = prompt -> {
+            rowsOf(prompt);
+            return "```json\n{\"results\": [{\"id\": 3, \"category\": \"Food\"}, {\"id\": 1, \"category\": \"Rent\"},"
+                    + " {\"id\": 9, \"category\": \"Food\"}, {\"id\": 2, \"category\": \"other\"}]}\n```";
+        };
+
+        HybridCategoryClassifier.Result result = new HybridCategoryClassifier(CATEGORIES, null, null, null, remote)
+                .classify(rows, () -> false);
+
+        assertEquals(CSVRowMapper.DEFAULT_CATEGORY, rows.get(0)[2], "A category outside the set is ignored");
+        assertEquals("Other", rows.get(1)[2]);
+        assertEquals("Food", rows.get(2)[2]);
+        assertEquals(CSVRowMapper.DEFAULT_CATEGORY, rows.get(3)[2], "A row left out keeps its category");
+        assertEquals(2, result.getByRemote());
+        assertEquals(2, result.getUnresolved());
+    }
+
+    @Test
+    @DisplayName("Should stop sending batches after a failure or cancellation")
+    void testFailureAndCancel() {
+        List<Object[]> rows = List.of(row("A"), row("B"), row("C"));
+        HybridCategoryClassifier.RemoteClassifier failing = prompt -> {
+            rowsOf(prompt);
+            throw new IOException("offline");
+        };
+        HybridCategoryClassifier.Result failed = new HybridCategoryClassifier(CATEGORIES, null, null, null,
+                failing, 0.8, 1, 1000).classify(rows, () -> false);
+        assertEquals(1, failed.getRemoteRequests());
+        assertEquals(3, failed.getUnresolved());
+
+        HybridCategoryClassifier.Result cancelled = new HybridCategoryClassifier(CATEGORIES, null, null, null,
+                answering("Food"), 0.8, 1, 1000).classify(rows, () -> true);
+        assertEquals(0, cancelled.getRemoteRequests());
+        assertEquals(CSVRowMapper.DEFAULT_CATEGORY, rows.get(0)[2]);
+    }
+
+    @Test
+    @DisplayName("Should reuse cached remote answers and ask only about unseen descriptions")
+    void testCache() {
+        ClassificationCache cache = new ClassificationCache(null, 100);
+        cache.put("微信转账", false, "Other");
+        cache.put("Bookshop", false, "Books");
+        List<Object[]> rows = List.of(row(" 微信转账 "), row("Bookshop"), row("Cinema"));
+
+        HybridCategoryClassifier.Result result = new HybridCategoryClassifier(CATEGORIES, null, cache, null,
+                answering("Food")).classify(rows, () -> false);
+
+        assertEquals("Other", rows.get(0)[2]);
+        assertEquals("Food", rows.get(1)[2], "A cached category outside the set is not used");
+        assertEquals(1, result.getByCache());
+        assertEquals(2, result.getByRemote());
+        assertEquals(2, sentBatches.get(0).length());
+        assertEquals("Food", cache.get("cinema", false), "Remote answers are cached");
+
+        List<Object[]> again = Collections.singletonList(row("CINEMA"));
+        HybridCategoryClassifier.Result second = new HybridCategoryClassifier(CATEGORIES, null, cache, null,
+                answering("Shopping")).classify(again, () -> false);
+        assertEquals("Food", again.get(0)[2]);
+        assertEquals(0, second.getRemoteRequests());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.app.model;
+
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the NaiveBayesCategorizer class.
+ * Verifies online learning, confidence scores and persistence of the count tables.
+ */
+class NaiveBayesCategorizerTest {
+    private static final String TEST_USERNAME = "testuser_naive_bayes";
+    private static final File DIRECTORY = new File(".\\user_data\\" + TEST_USERNAME);
+
+    @BeforeEach
+    void setUp() {
+        NaiveBayesCategorizer._resetForTests();
+    }
+
+    @AfterEach
+    void tearDown() {
+        NaiveBayesCategorizer._resetForTests();
+        if (DIRECTORY.exists()) {
+            for (File file : DIRECTORY.listFiles()) file.delete();
+            DIRECTORY.delete();
+        }
+    }
+
+    /**
+     * Creates a model trained on a few confirmed transactions.
+     *
+     * @return the model
+     */
+    private static NaiveBayesCategorizer trained() {
+        NaiveBayesCategorizer model = new NaiveBayesCategorizer(null);
+        model.learn("Starbucks coffee", "Food");
+        model.learn("Luckin coffee", "Food");
+        model.learn("肯德基 餐厅", "Food");
+        model.learn("Didi ride", "Transportation");
+        model.learn("滴滴出行", "Transportation");
+        model.learn("Metro card top-up", "Transportation");
+        return model;
+    }
+
+    @Test
+    @DisplayName("Should predict learned categories with a confidence score")
+    void testPredict() {
+        NaiveBayesCategorizer model = trained();
+
+        NaiveBayesCategorizer.Prediction coffee = model.predict("Costa coffee");
+        assertEquals("Food", coffee.getCategory());
+        assertTrue(coffee.getConfidence() > 0.5 && coffee.getConfidence() <= 1.0);
+        assertEquals("Transportation", model.predict("滴滴快车").getCategory());
+        assertEquals("Transportation", model.predict("DIDI RIDE").getCategory());
+        assertTrue(model.predict("Didi ride").getConfidence() > model.predict("ride").getConfidence());
+
+        assertNull(model.predict("  "));
+        assertNull(new NaiveBayesCategorizer(null).predict("coffee"), "An empty model makes no prediction");
+    }
+
+    @Test
+    @DisplayName("Should learn confirmed records and skip uncategorised ones")
+    void testLearnRecords() {
+        NaiveBayesCategorizer model = new NaiveBayesCategorizer(null);
+        int learned = model.learn(Arrays.asList(
+                new Object[]{"2025-03-01", "Bookshop", "Shopping", -20.0, true},
+                new Object[]{"2025-03-02", "Bookshop", CSVRowMapper.DEFAULT_CATEGORY, -5.0, true},
+                new Object[]{"2025-03-03", "", "Shopping", -5.0, true},
+                new Object[]{"2025-03-04", "Gym", "", -5.0, true}));
+
+        assertEquals(1, learned);
+        assertEquals(1, model.getLearnedCount());
+        assertEquals(1.0, model.predict("Bookshop").getConfidence(), 1e-9, "A single category is certain");
+    }
+
+    @Test
+    @DisplayName("Should write and read the count tables")
+    void testPersistence() throws IOException {
+        NaiveBayesCategorizer model = trained();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        model.write(new DataOutputStream(bytes));
+
+        NaiveBayesCategorizer copy = new NaiveBayesCategorizer(null);
+        copy.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(model.getLearnedCount(), copy.getLearnedCount());
+        assertEquals(model.predict("Costa coffee").getConfidence(), copy.predict("Costa coffee").getConfidence(), 1e-12);
+
+        assertThrows(IOException.class, () -> copy.read(new DataInputStream(new ByteArrayInputStream(new byte[8]))));
+    }
+
+    @Test
+    @DisplayName("Should keep a model per user in the user's data directory")
+    void testUserModel() {
+        NaiveBayesCategorizer model = NaiveBayesCategorizer.getInstance(TEST_USERNAME);
+        assertSame(model, NaiveBayesCategorizer.getInstance(TEST_USERNAME));
+        model.learn(Collections.singletonList(new Object[]{"2025-03-01", "Rent April", "Housing", -900.0, true}));
+
+        NaiveBayesCategorizer._resetForTests();
+        NaiveBayesCategorizer reloaded = NaiveBayesCategorizer.getInstance(TEST_USERNAME);
+        assertNotSame(model, reloaded);
+        assertEquals(1, reloaded.getLearnedCount());
+        assertEquals("Housing", reloaded.predict("Rent May").getCategory());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.app.model;
+
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RollupCube class.
+ * Verifies period boundaries of every granularity, per-period and per-category
+ * totals, and removal of transactions from the cube.
+ */
+class RollupCubeTest {
+    private RollupCube cube;
+
+    @BeforeEach
+    void setUp() {
+        cube = new RollupCube();
+        cube.add(LocalDate.parse("2024-01-15"), "Income", 300000, 1);
+        cube.add(LocalDate.parse("2024-01-20"), "Food", -12000, 1);
+        cube.add(LocalDate.parse("2024-02-01"), "Food", -8000, 1);
+        cube.add(LocalDate.parse("2024-05-03"), "Housing", -100000, 1);
+    }
+
+    @Test
+    @DisplayName("Every date should fall inside the period that contains it")
+    void testPeriodBoundaries() {
+        LocalDate date = LocalDate.parse("2023-12-01");
+        for (int n = 0; n < 800; n++, date = date.plusDays(1)) {
+            for (RollupCube.Granularity granularity : RollupCube.Granularity.values()) {
+                LocalDate start = granularity.periodStart(date);
+                LocalDate end = granularity.periodEnd(start);
+                assertFalse(date.isBefore(start), granularity + " " + date);
+                assertFalse(date.isAfter(end), granularity + " " + date);
+                assertEquals(start, granularity.periodStart(end), granularity + " " + date);
+                assertNotEquals(start, granularity.periodStart(end.plusDays(1)));
+            }
+        }
+        assertEquals(LocalDate.parse("2024-04-01"), RollupCube.Granularity.QUARTER.periodStart(LocalDate.parse("2024-05-03")));
+        assertEquals(LocalDate.parse("2024-06-30"), RollupCube.Granularity.QUARTER.periodEnd(LocalDate.parse("2024-04-01")));
+    }
+
+    @Test
+    @DisplayName("Should aggregate totals per period and category")
+    void testPeriodTotals() {
+        List<RollupCube.PeriodTotal> months = cube.getPeriods(RollupCube.Granularity.MONTH,
+                LocalDate.parse("2024-01-01"), LocalDate.parse("2024-12-01"));
+        assertEquals(3, months.size());
+        assertEquals(LocalDate.parse("2024-01-01"), months.get(0).getStart());
+        assertEquals(LocalDate.parse("2024-01-31"), months.get(0).getEnd());
+        assertEquals(3000.0, months.get(0).getIncome(), 0.001);
+        assertEquals(120.0, months.get(0).getExpenses(), 0.001);
+        assertEquals(120.0, months.get(0).getCategoryExpense("Food"), 0.001);
+        assertTrue(months.get(0).hasIncome());
+        assertFalse(months.get(1).hasIncome());
+        assertEquals(Collections.singleton("Housing"), months.get(2).getExpenseCategories());
+
+        List<RollupCube.PeriodTotal> years = cube.getPeriods(RollupCube.Granularity.YEAR,
+                LocalDate.parse("2024-01-01"), LocalDate.parse("2024-01-01"));
+        assertEquals(1, years.size());
+        assertEquals(1200.0, years.get(0).getExpenses(), 0.001);
+        assertEquals(4, cube.getPeriods(RollupCube.Granularity.DAY,
+                LocalDate.parse("2024-01-01"), LocalDate.parse("2024-12-31")).size());
+    }
+
+    @Test
+    @DisplayName("Should drop periods once their transactions are removed")
+    void testRemove() {
+        cube.add(LocalDate.parse("2024-05-03"), "Housing", -100000, -1);
+        cube.add(LocalDate.parse("2024-02-01"), "Food", -8000, -1);
+
+        List<RollupCube.PeriodTotal> quarters = cube.getPeriods(RollupCube.Granularity.QUARTER,
+                LocalDate.parse("2024-01-01"), LocalDate.parse("2024-12-31"));
+        assertEquals(1, quarters.size());
+        assertEquals(120.0, quarters.get(0).getExpenses(), 0.001);
+
+        cube.clear();
+        assertTrue(cube.getPeriods(RollupCube.Granularity.WEEK,
+                LocalDate.parse("2024-01-01"), LocalDate.parse("2024-12-31")).isEmpty());
+    }
+}
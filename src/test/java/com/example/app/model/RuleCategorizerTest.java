@@ -0,0 +1,104 @@
+package com.example.app.model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RuleCategorizer class.
+ * Verifies keyword matching, word boundaries, overlapping keywords and rule priority.
+ */
+class RuleCategorizerTest {
+
+    /**
+     * Creates a categorizer from keyword and category pairs.
+     *
+     * @param pairs keyword, category, keyword, category, ...
+     * @return the categorizer
+     */
+    private static RuleCategorizer categorizer(String... pairs) {
+        Map<String, String> rules = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            rules.put(pairs[i], pairs[i + 1]);
+        }
+        return new RuleCategorizer(rules);
+    }
+
+    @Test
+    @DisplayName("Should match keywords anywhere in a description ignoring case")
+    void testMatching() {
+        RuleCategorizer rules = categorizer("coffee", "Food", "滴滴", "Transportation", "rent", "Housing");
+
+        assertEquals("Food", rules.categorize("Morning COFFEE bar"));
+        assertEquals("Transportation", rules.categorize("滴滴出行-快车"));
+        assertEquals("Housing", rules.categorize("April rent"));
+        assertNull(rules.categorize("Bookshop"));
+        assertNull(rules.categorize(null));
+        assertEquals(3, rules.size());
+    }
+
+    @Test
+    @DisplayName("Should match Latin keywords only as whole words")
+    void testWordBoundaries() {
+        RuleCategorizer rules = categorizer("rent", "Housing", "uber", "Transportation",
+                "metro", "Transportation", "water bill", "Utilities", "7", "Other");
+
+        assertNull(rules.categorize("Current account fee"));
+        assertNull(rules.categorize("Parent-teacher torrent"));
+        assertNull(rules.categorize("Hubert's bakery"));
+        assertNull(rules.categorize("Metropolitan museum"));
+        assertNull(rules.categorize("Order 1742"));
+        assertEquals("Housing", rules.categorize("RENT-June"));
+        assertEquals("Transportation", rules.categorize("UBER *TRIP"));
+        assertEquals("Transportation", rules.categorize("Uber打车"), "Chinese text does not continue a Latin word");
+        assertEquals("Transportation", rules.categorize("Metro, line 2"));
+        assertEquals("Utilities", rules.categorize("Water bill Q2"));
+        assertEquals("Other", rules.categorize("Gate 7"));
+    }
+
+    @Test
+    @DisplayName("Should find keywords that end inside other keywords")
+    void testOverlappingKeywords() {
+        RuleCategorizer rules = categorizer("she", "Shopping", "he", "Gift", "hers", "Service", "his", "Other",
+                "外卖", "Food", "团外", "Gift", "美团外卖", "Shopping");
+
+        assertEquals("Shopping", rules.categorize("u she"));
+        assertEquals("Gift", rules.categorize("s-he"));
+        assertNull(rules.categorize("ushers"), "Keywords inside a Latin word do not match");
+        assertEquals("Other", rules.categorize("a his"));
+        assertEquals("Food", rules.categorize("饿了么外卖"));
+        assertEquals("Gift", rules.categorize("集团外包"));
+        assertEquals("Shopping", rules.categorize("美团外卖订单"));
+    }
+
+    @Test
+    @DisplayName("Should prefer the longest keyword, then the rule listed first")
+    void testPriority() {
+        RuleCategorizer rules = categorizer("restaurant", "Food", "hotel", "Housing",
+                "hotel restaurant", "Entertainment", "HOTEL", "Other", "motel", "Travel", " ", "Blank");
+
+        assertEquals("Entertainment", rules.categorize("Grand Hotel Restaurant"));
+        assertEquals("Food", rules.categorize("Restaurant at the hotel"));
+        assertEquals("Housing", rules.categorize("hotel motel"), "Equally long keywords go to the first rule");
+        assertEquals(4, rules.size(), "Repeated and blank keywords are ignored");
+        assertNull(new RuleCategorizer(Map.of()).categorize("anything"));
+    }
+
+    @Test
+    @DisplayName("Should drop rules for categories that are not allowed")
+    void testAllowedCategories() {
+        Map<String, String> rules = new LinkedHashMap<>();
+        rules.put("electricity", "Utilities");
+        rules.put("coffee", "food");
+        rules.put("电费", "Service");
+        RuleCategorizer restricted = new RuleCategorizer(rules, List.of("Food", "Service", "Other"));
+
+        assertNull(restricted.categorize("Electricity June"), "A rule for an unbudgeted category is left to other stages");
+        assertEquals("Food", restricted.categorize("Coffee shop"), "The allowed spelling is used");
+        assertEquals("Service", restricted.categorize("国家电网电费"));
+        assertEquals(2, restricted.size());
+        assertEquals("Utilities", new RuleCategorizer(rules).categorize("Electricity June"));
+    }
+}
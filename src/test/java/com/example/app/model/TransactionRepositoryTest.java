@@ -0,0 +1,131 @@
+package com.example.app.model;
+
+import com.example.app.user_data.UserBillStorage;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TransactionRepository class.
+ * Verifies per-user sharing, snapshot immutability, in-memory edits and
+ * reloading after external writes to the bill file.
+ */
+class TransactionRepositoryTest {
+    private static final String TEST_USERNAME = "testuser_transaction_repo";
+    private TransactionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        TransactionRepository._resetForTests();
+        UserBillStorage.setUsername(TEST_USERNAME);
+        UserBillStorage.saveTransactions(new ArrayList<>());
+        repository = TransactionRepository.getInstance(TEST_USERNAME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        File dir = new File(UserBillStorage.getBillFilePath()).getParentFile();
+        if (dir.exists()) {
+            for (File file : dir.listFiles()) file.delete();
+            dir.delete();
+        }
+        TransactionRepository._resetForTests();
+    }
+
+    @Test
+    @DisplayName("Should share one repository per user")
+    void testSingleInstancePerUser() {
+        assertSame(repository, TransactionRepository.getInstance(TEST_USERNAME));
+        assertNotSame(repository, TransactionRepository.getInstance(TEST_USERNAME + "_other"));
+    }
+
+    @Test
+    @DisplayName("Should return read-only snapshots")
+    void testSnapshotIsReadOnly() {
+        List<Object[]> snapshot = repository.getTransactions();
+        assertThrows(UnsupportedOperationException.class,
+                () -> snapshot.add(new Object[]{"2025-01-01", "X", "Y", 1.0, false}));
+    }
+
+    @Test
+    @DisplayName("Should apply edits in memory and persist them")
+    void testAddAndDelete() {
+        assertTrue(repository.addTransactions(Arrays.asList(
+                new Object[]{"2025-01-01", "Lunch", "Food", -10.0, false},
+                new Object[]{"2025-01-02", "Salary", "Income", 100.0, true})));
+        assertEquals(2, repository.getTransactions().size());
+        assertEquals(2, UserBillStorage.loadTransactions().size());
+
+        assertTrue(repository.deleteTransactions(Collections.singletonList(0)));
+        List<Object[]> remaining = repository.getTransactions();
+        assertEquals(1, remaining.size());
+        assertEquals("Salary", remaining.get(0)[1]);
+    }
+
+    @Test
+    @DisplayName("Should reuse the snapshot until the bill file is written elsewhere")
+    void testReloadAfterExternalWrite() {
+        List<Object[]> first = repository.getTransactions();
+        assertSame(first, repository.getTransactions());
+
+        List<Object[]> external = new ArrayList<>();
+        external.add(new Object[]{"2025-02-01", "Bus", "Transportation", -2.0, false});
+        UserBillStorage.saveTransactions(external);
+
+        List<Object[]> reloaded = repository.getTransactions();
+        assertNotSame(first, reloaded);
+        assertEquals(1, reloaded.size());
+        assertEquals("Bus", reloaded.get(0)[1]);
+    }
+
+    @Test
+    @DisplayName("Should log edits so finance models can apply deltas")
+    void testChangesSinceAndSync() {
+        FinanceData financeData = new FinanceData();
+        long version = repository.syncFinanceData(financeData, -1);
+        assertEquals(0, financeData.getTransactions().size());
+
+        repository.addTransactions(Arrays.asList(
+                new Object[]{"2025-03-01", "Lunch", "Food", -10.0, false},
+                new Object[]{"2025-03-02", "Salary", "Other", 500.0, true}));
+        repository.updateTransaction(0, new Object[]{"2025-03-01", "Dinner", "Food", -25.0, false});
+
+        List<TransactionRepository.Change> changes = repository.getChangesSince(version);
+        assertEquals(2, changes.size());
+        assertEquals(2, changes.get(0).getAdded().size());
+        assertEquals("Lunch", changes.get(1).getRemoved().getDescription(0));
+
+        version = repository.syncFinanceData(financeData, version);
+        assertEquals(repository.getVersion(), version);
+        assertEquals(500.0, financeData.getTotalIncome(), 0.001);
+        assertEquals(25.0, financeData.getTotalExpenses(), 0.001);
+        assertTrue(repository.getChangesSince(version).isEmpty());
+
+        UserBillStorage.saveTransactions(new ArrayList<>());
+        assertNull(repository.getChangesSince(version));
+    }
+
+    @Test
+    @DisplayName("Should load a user's bill without switching the storage to that user")
+    void testReloadKeepsStorageUser() {
+        repository.addTransactions(Collections.singletonList(
+                new Object[]{"2025-04-01", "Lunch", "Food", -10.0, false}));
+        String other = TEST_USERNAME + "_other";
+        UserBillStorage.setUsername(other);
+        String otherPath = UserBillStorage.getBillFilePath();
+        try {
+            repository.reload();
+            assertEquals(1, repository.getTransactions().size());
+            assertEquals(otherPath, UserBillStorage.getBillFilePath(), "Loading must not switch the storage user");
+            assertTrue(UserBillStorage.loadTransactions().isEmpty());
+        } finally {
+            File dir = new File(otherPath).getParentFile();
+            for (File file : dir.listFiles()) file.delete();
+            dir.delete();
+            UserBillStorage.setUsername(TEST_USERNAME);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.app.model;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TransactionSearchIndex class.
+ * Verifies substring matches over descriptions, categories and dates, CJK text,
+ * category restriction and incremental updates against a brute-force scan.
+ */
+class TransactionSearchIndexTest {
+    private TransactionSearchIndex index;
+    private TransactionTable table;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"2025-05-24", "Starbucks Coffee", "Food", -4.5, true});
+        rows.add(new Object[]{"2025-05-24 09:05", "Salary May", "Income", 3000.0, false});
+        rows.add(new Object[]{"2025-06-01", "美团外卖订单", "Food", -32.0, false});
+        rows.add(new Object[]{"2025-06-02", "滴滴出行", "Transport", -18.0, false});
+        rows.add(new Object[]{"not a date", "Coffee beans", "Groceries", -12.0, false});
+        table = TransactionTable.fromRows(rows);
+        index = new TransactionSearchIndex();
+        index.update(table);
+    }
+
+    @Test
+    @DisplayName("Should match descriptions, categories and dates ignoring case")
+    void testSearch() {
+        assertEquals(rows(0, 4), index.search("COFFEE", -1));
+        assertEquals(rows(0, 2), index.search("foo", -1));
+        assertEquals(rows(2, 3), index.search("2025-06", -1));
+        assertEquals(rows(1), index.search("09:05", -1));
+        assertEquals(rows(4), index.search("not a", -1));
+        assertEquals(rows(), index.search("tea", -1));
+        assertEquals(rows(0, 1, 2, 3, 4), index.search("", -1));
+    }
+
+    @Test
+    @DisplayName("Should match CJK merchant names, including queries shorter than a trigram")
+    void testCjkSearch() {
+        assertEquals(rows(2), index.search("外卖订", -1));
+        assertEquals(rows(2), index.search("美团", -1));
+        assertEquals(rows(3), index.search("滴", -1));
+        assertEquals(rows(), index.search("外订卖", -1));
+    }
+
+    @Test
+    @DisplayName("Should resolve two-character non-ASCII queries and timed dates")
+    void testBigramsAndTimes() {
+        table = table.append(Arrays.asList(
+                new Object[]{"2025-06-02 09:05", "超市", "Food", -50.0, false},
+                new Object[]{"2025-06-02 18:30", "Uber 滴滴", "Transport", -20.0, false},
+                new Object[]{"2025-06-03 09:05", "超市便利", "Food", -8.0, false}));
+        index.update(table);
+
+        assertEquals(rows(5, 7), index.search("超市", -1));
+        assertEquals(rows(3, 6), index.search("滴滴", -1));
+        assertEquals(rows(6), index.search(" 滴", -1));
+        assertEquals(rows(), index.search("市超", -1));
+        assertEquals(rows(1, 5, 7), index.search("09:05", -1));
+        assertEquals(rows(5), index.search("06-02 09", -1));
+        assertEquals(rows(3, 5, 6), index.search("2025-06-02", -1));
+    }
+
+    @Test
+    @DisplayName("Should restrict matches to a category")
+    void testCategoryRestriction() {
+        int food = table.findCategoryId("Food");
+        assertEquals(rows(0), index.search("coffee", food));
+        assertEquals(rows(0, 2), index.search(null, food));
+    }
+
+    @Test
+    @DisplayName("Should follow edited tables and agree with a brute-force scan")
+    void testIncrementalUpdates() {
+        TransactionTable edited = table
+                .append(Collections.singletonList(new Object[]{"2025-07-01", "Blue Bottle Coffee", "Food", -6.0, false}))
+                .without(Collections.singletonList(0));
+        index.update(edited);
+        assertEquals(rows(3, 4), index.search("coffee", -1));
+
+        index.update(TransactionTable.fromRows(Collections.singletonList(
+                new Object[]{"2025-08-01", "Tea House", "Food", -5.0, false})));
+        assertEquals(rows(0), index.search("tea", -1));
+        assertEquals(rows(), index.search("coffee", -1));
+
+        Random random = new Random(7);
+        String[] words = {"coffee", "market", "外卖", "taxi", "rent", "咖啡店"};
+        List<Object[]> generated = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            generated.add(new Object[]{"2025-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10),
+                    words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + i % 7,
+                    words[random.nextInt(words.length)], -1.0, false});
+        }
+        TransactionTable large = TransactionTable.fromRows(generated);
+        index.update(large);
+        for (String query : new String[]{"ee", "coffee m", "外卖", "啡店", "ket3", "-03-1", "e t", "zzz"}) {
+            BitSet expected = new BitSet();
+            for (int i = 0; i < large.size(); i++) {
+                if (large.getDescription(i).toLowerCase().contains(query)
+                        || large.getCategory(i).toLowerCase().contains(query)
+                        || large.getDateString(i).contains(query)) {
+                    expected.set(i);
+                }
+            }
+            assertEquals(expected, index.search(query, -1), query);
+        }
+    }
+
+    /**
+     * Creates a bitmap of row indices.
+     *
+     * @param indices the set rows
+     * @return the bitmap
+     */
+    private static BitSet rows(int... indices) {
+        BitSet bits = new BitSet();
+        for (int index : indices) {
+            bits.set(index);
+        }
+        return bits;
+    }
+}
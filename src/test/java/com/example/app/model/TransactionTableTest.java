@@ -0,0 +1,91 @@
+package com.example.app.model;
+
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TransactionTable class.
+ * Verifies column encoding, round-tripping to records, dictionary sharing
+ * and the copy-on-write edit operations.
+ */
+class TransactionTableTest {
+    private TransactionTable table;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"2025-05-24", "Coffee", "Food", -4.5, true});
+        rows.add(new Object[]{"2025-05-24 09:05", "Salary", "Income", 3000.0, false});
+        rows.add(new Object[]{"not a date", "Coffee", "Food", -3.25, false});
+        table = TransactionTable.fromRows(rows);
+    }
+
+    @Test
+    @DisplayName("Should encode dates, amounts and flags into columns")
+    void testColumns() {
+        assertEquals(3, table.size());
+        assertEquals(LocalDate.of(2025, 5, 24), table.getDate(0));
+        assertEquals(LocalDate.of(2025, 5, 24).toEpochDay(), table.getEpochDay(1));
+        assertEquals(TransactionTable.NO_TIME, table.getMinuteOfDay(0));
+        assertEquals(9 * 60 + 5, table.getMinuteOfDay(1));
+        assertFalse(table.hasDate(2));
+        assertNull(table.getDate(2));
+        assertEquals(-450, table.getAmountCents(0));
+        assertEquals(3000.0, table.getAmount(1), 0.001);
+        assertTrue(table.isConfirmed(0));
+        assertFalse(table.isConfirmed(1));
+    }
+
+    @Test
+    @DisplayName("Should pool repeated categories and descriptions")
+    void testDictionaries() {
+        assertEquals(2, table.getCategoryCount());
+        assertEquals(table.getCategoryId(0), table.getCategoryId(2));
+        assertEquals(table.getDescriptionId(0), table.getDescriptionId(2));
+        assertEquals("Income", table.getCategoryName(table.findCategoryId("Income")));
+        assertEquals(-1, table.findCategoryId("Travel"));
+    }
+
+    @Test
+    @DisplayName("Should round-trip records through the row view")
+    void testRowView() {
+        List<Object[]> rows = table.asRows();
+        assertArrayEquals(new Object[]{"2025-05-24", "Coffee", "Food", -4.5, true}, rows.get(0));
+        assertArrayEquals(new Object[]{"2025-05-24 09:05", "Salary", "Income", 3000.0, false}, rows.get(1));
+        assertEquals("not a date", rows.get(2)[0]);
+        assertSame(rows, table.asRows());
+        assertThrows(UnsupportedOperationException.class, () -> rows.remove(0));
+    }
+
+    @Test
+    @DisplayName("Should create edited copies without changing the original")
+    void testCopyOnWrite() {
+        TransactionTable appended = table.append(
+                Collections.singletonList(new Object[]{"2025-06-01", "Bus", "Transport", -2.0, false}));
+        TransactionTable replaced = appended.withRow(0, new Object[]{"2025-05-25", "Tea", "Food", -3.0, true});
+        TransactionTable removed = replaced.without(Arrays.asList(1, 2, 99));
+
+        assertEquals(3, table.size());
+        assertEquals(4, appended.size());
+        assertEquals("Bus", appended.getDescription(3));
+        assertEquals("Tea", replaced.getDescription(0));
+        assertEquals("Coffee", appended.getDescription(0));
+
+        assertEquals(2, removed.size());
+        assertEquals("Tea", removed.getDescription(0));
+        assertEquals("Bus", removed.getDescription(1));
+        assertEquals(table.getCategoryId(0), removed.getCategoryId(0));
+    }
+
+    @Test
+    @DisplayName("Should keep unparseable dates when rows are copied")
+    void testRawDateSurvivesCopy() {
+        TransactionTable copy = table.without(Collections.singletonList(0));
+        assertEquals("not a date", copy.getDateString(1));
+        assertEquals(-325, copy.getAmountCents(1));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.app.model;
+
+import com.example.app.user_data.FinancialAdviceStorage;
+import com.example.app.user_data.UserBillStorage;
+import com.example.app.user_data.UserSettingsStorage;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the UserDataWarmup class.
+ * Verifies parallel reading of a user's files, reuse of the results and their invalidation.
+ */
+class UserDataWarmupTest {
+    private static final String TEST_USERNAME = "testuser_data_warmup";
+    private static final String DIRECTORY = ".\\user_data\\" + TEST_USERNAME;
+
+    @BeforeEach
+    void setUp() {
+        UserDataWarmup._resetForTests();
+        TransactionRepository._resetForTests();
+        UserBillStorage.setUsername(TEST_USERNAME);
+        UserBillStorage.saveTransactions(Collections.singletonList(
+                new Object[]{"2025-03-01", "Lunch", "Food", -10.0, true}));
+        UserSettingsStorage.setUsername(TEST_USERNAME);
+        FinancialAdviceStorage.setUsername(TEST_USERNAME);
+        Map<String, Double> budgets = new LinkedHashMap<>();
+        budgets.put("Food", 300.0);
+        BudgetManager.saveBudgetsToCSV(budgets, DIRECTORY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserDataWarmup._resetForTests();
+        TransactionRepository._resetForTests();
+        File dir = new File(DIRECTORY);
+        if (dir.exists()) {
+            for (File file : dir.listFiles()) file.delete();
+            dir.delete();
+        }
+    }
+
+    @Test
+    @DisplayName("Should read all user files and hand them to the loaders")
+    void testWarmupResults() {
+        assertNotNull(UserDataWarmup.start(TEST_USERNAME));
+        assertTrue(UserDataWarmup.awaitReady(TEST_USERNAME, 5, TimeUnit.SECONDS));
+
+        assertEquals(Map.of("Food", 300.0), UserDataWarmup.getBudgets(DIRECTORY));
+        assertNotNull(UserDataWarmup.getSettings(TEST_USERNAME));
+        assertNotNull(UserDataWarmup.getAdvice(TEST_USERNAME));
+        assertEquals(1, TransactionRepository.getInstance(TEST_USERNAME).getTable().size());
+
+        FinanceData financeData = new FinanceData();
+        financeData.setDataDirectory(DIRECTORY);
+        assertEquals(Map.of("Food", 300.0), financeData.readBudgetFile());
+    }
+
+    @Test
+    @DisplayName("Should drop results when a file is written")
+    void testInvalidateOnWrite() {
+        UserDataWarmup.start(TEST_USERNAME);
+        assertTrue(UserDataWarmup.awaitReady(TEST_USERNAME, 5, TimeUnit.SECONDS));
+
+        BudgetManager.saveBudgetsToCSV(Map.of("Food", 450.0), DIRECTORY);
+
+        assertNull(UserDataWarmup.getBudgets(DIRECTORY));
+        assertNull(UserDataWarmup.getSettings(TEST_USERNAME));
+        FinanceData financeData = new FinanceData();
+        financeData.setDataDirectory(DIRECTORY);
+        assertEquals(450.0, financeData.readBudgetFile().get("Food"), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should skip unknown users and replace the warm-up of another user")
+    void testUsers() {
+        assertNull(UserDataWarmup.start("testuser_data_warmup_missing"));
+        assertNull(UserDataWarmup.start("  "));
+
+        UserDataWarmup.start(TEST_USERNAME);
+        assertTrue(UserDataWarmup.awaitReady(TEST_USERNAME, 5, TimeUnit.SECONDS));
+        assertNull(UserDataWarmup.getSettings("someone_else"));
+
+        UserDataWarmup.discard(TEST_USERNAME);
+        assertFalse(UserDataWarmup.awaitReady(TEST_USERNAME, 0, TimeUnit.SECONDS));
+        assertNull(UserDataWarmup.getAdvice(TEST_USERNAME));
+    }
+}
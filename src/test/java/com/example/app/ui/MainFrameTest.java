@@ -67,6 +67,23 @@ class MainFrameTest {
         });
     }
 
+    @Test
+    @DisplayName("Should build pages only when navigated to")
+    void testPagesBuiltLazily() throws Exception {
+        Assumptions.assumeFalse(GraphicsEnvironment.isHeadless(), "Frames need a display");
+        SwingUtilities.invokeAndWait(() -> {
+            frame = new MainFrame(TEST_USER);
+            assertTrue(frame.isPageBuilt("DASHBOARD"));
+            assertFalse(frame.isPageBuilt("BUDGETS"));
+            assertFalse(frame.isPageBuilt("SETTINGS"));
+            assertEquals("TRANSACTIONS", frame.getPrefetchCandidate());
+
+            findButtonByText(frame.getContentPane(), "Budgets").doClick();
+            assertTrue(frame.isPageBuilt("BUDGETS"));
+            assertEquals("REPORTS", frame.getPrefetchCandidate());
+        });
+    }
+
     // --- Utility methods ---
     private JButton findButtonByText(Container parent, String text) {
         for (Component comp : parent.getComponents()) {
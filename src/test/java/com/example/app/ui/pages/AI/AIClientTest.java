@@ -0,0 +1,196 @@
+package com.example.app.ui.pages.AI;
+
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONObject;
+import org.junit.jupiter.api.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AIClient class.
+ * Runs the client against a local stub server to verify the requests it sends,
+ * connection reuse, error statuses, timeouts and streamed replies.
+ */
+class AIClientTest {
+    private static final String REPLY = "{\"choices\":[{\"message\":{\"content\":\"Hello\"}}]}";
+
+    private HttpServer server;
+    private final List<JSONObject> requests = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> authorizations = Collections.synchronizedList(new ArrayList<>());
+    private final Set<Integer> clientPorts = Collections.synchronizedSet(new HashSet<>());
+    private volatile int status = 200;
+    private volatile long delayMillis;
+    /** Events sent as a stream, or null to send the plain JSON reply */
+    private volatile List<String> events;
+    private final CountDownLatch firstDeltaSeen = new CountDownLatch(1);
+    private volatile boolean firstDeltaBeforeRest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext(AIClient.CHAT_PATH, exchange -> {
+            requests.add(new JSONObject(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+            authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (events != null) {
+                exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+                exchange.sendResponseHeaders(200, 0);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    for (int i = 0; i < events.size(); i++) {
+                        out.write(events.get(i).getBytes(StandardCharsets.UTF_8));
+                        out.flush();
+                        if (i == 0) {
+                            // Hold the rest back until the client has shown the first piece
+                            try {
+                                firstDeltaBeforeRest = firstDeltaSeen.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                    }
+                }
+                return;
+            }
+            byte[] body = REPLY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        AIClient._resetForTests();
+        System.clearProperty(AIClient.BASE_URL_PROPERTY);
+        System.clearProperty(AIClient.READ_TIMEOUT_PROPERTY);
+    }
+
+    /**
+     * Gets the base URL of the stub server.
+     *
+     * @return the base URL
+     */
+    private String stubUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    @Test
+    @DisplayName("Should send chat requests to the base URL and reuse the connection")
+    void testChat() throws IOException {
+        AIClient client = new AIClient(stubUrl(), Duration.ofSeconds(5), Duration.ofSeconds(5));
+        getRes service = new getRes(client);
+
+        assertEquals("Hello", service.parseAIResponse(service.getResponse("key", "First")));
+        assertEquals("Hello", service.parseAIResponse(client.chat("key", "Second")));
+
+        assertEquals(2, requests.size());
+        JSONObject request = requests.get(0);
+        assertEquals(AIClient.MODEL, request.getString("model"));
+        assertEquals("user", request.getJSONArray("messages").getJSONObject(0).getString("role"));
+        assertEquals("First", request.getJSONArray("messages").getJSONObject(0).getString("content"));
+        assertEquals("Bearer key", authorizations.get(0));
+        assertFalse(request.has("stream"), "A complete reply is requested by default");
+        assertEquals(1, clientPorts.size(), "Both requests use one kept-alive connection");
+    }
+
+    @Test
+    @DisplayName("Should report error statuses and timeouts as IOException")
+    void testErrors() {
+        AIClient client = new AIClient(stubUrl(), Duration.ofSeconds(5), Duration.ofMillis(200));
+        status = 500;
+        assertThrows(IOException.class, () -> client.chat("key", "Hi"));
+
+        status = 200;
+        delayMillis = 1000;
+        assertThrows(IOException.class, () -> client.chat("key", "Hi"), "A slow reply times out");
+    }
+
+    @Test
+    @DisplayName("Should configure the shared client from system properties")
+    void testSharedInstance() throws IOException {
+        System.setProperty(AIClient.BASE_URL_PROPERTY, stubUrl());
+        System.setProperty(AIClient.READ_TIMEOUT_PROPERTY, "not a number");
+        AIClient._resetForTests();
+
+        AIClient client = AIClient.getInstance();
+        assertSame(client, AIClient.getInstance());
+        assertEquals(stubUrl().substring(0, stubUrl().length() - 1), client.getBaseUrl());
+        assertEquals("Hello", new classification().complete("Classify"));
+        assertEquals("Classify", requests.get(0).getJSONArray("messages").getJSONObject(0).getString("content"));
+    }
+
+    /**
+     * Builds the event of a completion chunk.
+     *
+     * @param content the content of the chunk
+     * @return the event
+     */
+    private static String chunk(String content) {
+        return "data: {\"choices\":[{\"index\":0,\"delta\":{\"content\":" + JSONObject.quote(content) + "}}]}\n\n";
+    }
+
+    @Test
+    @DisplayName("Should pass streamed pieces on before the reply is complete")
+    void testChatStream() throws IOException {
+        events = List.of(chunk("Spend"), ": keep-alive\n\n",
+                "data: {\"choices\":[{\"index\":0,\"delta\":{\"role\":\"assistant\",\"content\":null}}]}\n\n",
+                chunk(" less"), chunk(" on 咖啡."), "data: [DONE]\n\n", chunk("ignored"));
+        AIClient client = new AIClient(stubUrl(), Duration.ofSeconds(5), Duration.ofSeconds(5));
+        List<String> deltas = new ArrayList<>();
+
+        String text = new getRes(client).getStreamingResponse("key", "Advice?", delta -> {
+            deltas.add(delta);
+            firstDeltaSeen.countDown();
+        });
+
+        assertTrue(firstDeltaBeforeRest, "The first piece arrives while the stream is still open");
+        assertEquals(List.of("Spend", " less", " on 咖啡."), deltas);
+        assertEquals("Spend less on 咖啡.", text);
+        assertTrue(requests.get(0).getBoolean("stream"));
+    }
+
+    @Test
+    @DisplayName("Should accept a complete reply to a streaming request")
+    void testChatStreamFallback() throws IOException {
+        AIClient client = new AIClient(stubUrl(), Duration.ofSeconds(5), Duration.ofSeconds(5));
+        List<String> deltas = new ArrayList<>();
+
+        assertEquals("Hello", client.chatStream("key", "Hi", deltas::add));
+        assertEquals(List.of("Hello"), deltas);
+    }
+
+    @Test
+    @DisplayName("Should parse multi-line events and reject malformed ones")
+    void testReadStream() throws IOException {
+        List<String> deltas = new ArrayList<>();
+        String stream = "data: {\"choices\":[{\"delta\":\n"
+                + "data: {\"content\":\"A\"}}]}\n\n"
+                + "event: ping\n\n"
+                + "data:{\"choices\":[{\"delta\":{\"content\":\"B\"}}]}";
+
+        assertEquals("AB", AIClient.readStream(new BufferedReader(new StringReader(stream)), deltas::add));
+        assertEquals(List.of("A", "B"), deltas);
+        assertThrows(IOException.class, () -> AIClient.readStream(
+                new BufferedReader(new StringReader("data: not json\n\n")), deltas::add));
+    }
+}
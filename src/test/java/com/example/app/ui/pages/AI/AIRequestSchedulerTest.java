@@ -0,0 +1,180 @@
+package com.example.app.ui.pages.AI;
+
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AIRequestScheduler class.
+ * Verifies per-user ordering, the concurrency cap, superseding, cancellation and timeouts.
+ */
+class AIRequestSchedulerTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        AIRequestScheduler._resetForTests();
+    }
+
+    /**
+     * A task that waits for the test to release it and records how many tasks run at once.
+     *
+     * @param result the result of the task
+     * @param interrupted counted down if the task is interrupted, or null
+     * @return the task
+     */
+    private Callable<String> blocking(String result, CountDownLatch interrupted) {
+        return () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                release.await();
+                return result;
+            } catch (InterruptedException e) {
+                if (interrupted != null) {
+                    interrupted.countDown();
+                }
+                throw e;
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Waits until a number of tasks are running.
+     *
+     * @param count the number of tasks
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private void awaitRunning(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && running.get() < count; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(count, running.get());
+    }
+
+    @Test
+    @DisplayName("Should run a user's requests one at a time in order")
+    void testPerUserOrder() throws Exception {
+        AIRequestScheduler scheduler = new AIRequestScheduler(4, 8, Duration.ofSeconds(10));
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        futures.add(scheduler.submit("alice", null, blocking("first", null)));
+        for (int i = 2; i <= 4; i++) {
+            int index = i;
+            futures.add(scheduler.submit("alice", null, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                order.add(index);
+                running.decrementAndGet();
+                return "reply " + index;
+            }));
+        }
+        awaitRunning(1);
+        assertEquals(4, scheduler.getRequestCount("alice"));
+
+        release.countDown();
+        assertEquals("reply 4", futures.get(3).get(5, TimeUnit.SECONDS));
+        assertEquals("first", futures.get(0).get());
+        assertEquals(List.of(2, 3, 4), order);
+        assertEquals(1, maxRunning.get());
+        // The queue is released just after the last result is delivered
+        for (int i = 0; i < 100 && scheduler.getRequestCount("alice") > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, scheduler.getRequestCount("alice"));
+    }
+
+    @Test
+    @DisplayName("Should cap the number of requests running across users")
+    void testConcurrencyCap() throws Exception {
+        AIRequestScheduler scheduler = new AIRequestScheduler(2, 8, Duration.ofSeconds(10));
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (String user : List.of("a", "b", "c", "d")) {
+            futures.add(scheduler.submit(user, null, blocking(user, null)));
+        }
+        awaitRunning(2);
+        Thread.sleep(100);
+        assertEquals(2, running.get(), "Other users wait for a free thread");
+
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    @DisplayName("Should cancel a running request superseded by one with the same key")
+    void testSupersede() throws Exception {
+        AIRequestScheduler scheduler = new AIRequestScheduler(4, 8, Duration.ofSeconds(10));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<String> first = scheduler.submit("alice", "advice", blocking("old", interrupted));
+        awaitRunning(1);
+        CompletableFuture<String> other = scheduler.submit("alice", "budgets", () -> "budgets");
+        CompletableFuture<String> second = scheduler.submit("alice", "advice", () -> "new");
+
+        assertTrue(first.isCancelled());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "The superseded request is interrupted");
+        assertEquals("budgets", other.get(5, TimeUnit.SECONDS), "Requests with other keys are kept");
+        assertEquals("new", second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should drop cancelled requests from the queue and reject a full queue")
+    void testCancelAndQueueBound() throws Exception {
+        AIRequestScheduler scheduler = new AIRequestScheduler(4, 2, Duration.ofSeconds(10));
+        CompletableFuture<String> first = scheduler.submit("alice", null, blocking("first", null));
+        awaitRunning(1);
+        AtomicInteger ran = new AtomicInteger();
+        CompletableFuture<String> queued = scheduler.submit("alice", null, () -> "queued " + ran.incrementAndGet());
+        CompletableFuture<String> last = scheduler.submit("alice", null, () -> "last");
+
+        CompletableFuture<String> rejected = scheduler.submit("alice", null, () -> "rejected");
+        ExecutionException error = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+
+        assertTrue(queued.cancel(true));
+        assertEquals(2, scheduler.getRequestCount("alice"));
+        release.countDown();
+        assertEquals("last", last.get(5, TimeUnit.SECONDS));
+        assertEquals("first", first.get());
+        assertEquals(0, ran.get(), "A request cancelled while queued never runs");
+
+        CountDownLatch never = new CountDownLatch(1);
+        CompletableFuture<String> blocked = scheduler.submit("bob", null, () -> {
+            never.await();
+            return "bob";
+        });
+        CompletableFuture<String> waiting = scheduler.submit("bob", null, () -> "waiting");
+        assertEquals(2, scheduler.cancelAll("bob"));
+        assertTrue(blocked.isCancelled());
+        assertTrue(waiting.isCancelled());
+    }
+
+    @Test
+    @DisplayName("Should time out and interrupt a request that runs too long")
+    void testTimeout() throws Exception {
+        AIRequestScheduler scheduler = new AIRequestScheduler(4, 8, Duration.ofSeconds(10));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<String> slow = scheduler.submit("alice", null, blocking("slow", interrupted),
+                Duration.ofMillis(100));
+        CompletableFuture<String> next = scheduler.submit("alice", null, () -> "next");
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> slow.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals("next", next.get(5, TimeUnit.SECONDS), "The queue moves on after a timeout");
+    }
+
+    @Test
+    @DisplayName("Should share one scheduler")
+    void testSharedInstance() {
+        assertSame(AIRequestScheduler.getInstance(), AIRequestScheduler.getInstance());
+    }
+}
@@ -71,6 +71,57 @@ class AIPanelTest {
         // }
     }
 
+    @Test
+    @DisplayName("Should keep a streamed reply on one line while other messages are added")
+    void testStreamedReplyKeepsItsLine() throws Exception {
+        // Let the panel created in setUp finish building
+        SwingUtilities.invokeAndWait(() -> { });
+        JTextArea chatArea = (JTextArea) TestUtils.getChildNamed(aiPanel, "chatArea");
+        assertNotNull(chatArea);
+        String before = chatArea.getText();
+
+        aiPanel.onMessageDelta("Spend ");
+        aiPanel.onMessageAdded(new AIViewModel.ChatMessage("Next question", true));
+        aiPanel.onMessageDelta("less.");
+        aiPanel.onMessageAdded(new AIViewModel.ChatMessage("Spend less.", false, true));
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(before + "AI: Spend less.\nYou: Next question\n", chatArea.getText());
+    }
+
+    @Test
+    @DisplayName("Should start a new line for the reply after a failed stream")
+    void testReplyAfterFailedStream() throws Exception {
+        SwingUtilities.invokeAndWait(() -> { });
+        JTextArea chatArea = (JTextArea) TestUtils.getChildNamed(aiPanel, "chatArea");
+        assertNotNull(chatArea);
+        String before = chatArea.getText();
+
+        aiPanel.onMessageDelta("Spend ");
+        aiPanel.onErrorOccurred("Connection reset");
+        // Close the error dialog, which keeps the event queue running while it is open
+        for (int i = 0; i < 50 && !GraphicsEnvironment.isHeadless(); i++) {
+            Thread.sleep(100);
+            Window dialog = null;
+            for (Window window : Window.getWindows()) {
+                if (window instanceof Dialog && window.isShowing()) {
+                    dialog = window;
+                }
+            }
+            if (dialog != null) {
+                SwingUtilities.invokeAndWait(dialog::dispose);
+                break;
+            }
+        }
+        SwingUtilities.invokeAndWait(() -> { });
+
+        aiPanel.onMessageDelta("Save more.");
+        aiPanel.onMessageAdded(new AIViewModel.ChatMessage("Save more.", false, true));
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(before + "AI: Spend \nError: Connection reset\nAI: Save more.\n", chatArea.getText());
+    }
+
     @Test
     @DisplayName("Should send user message and add to chat")
     void testSendMessageAddsToChat() throws Exception {
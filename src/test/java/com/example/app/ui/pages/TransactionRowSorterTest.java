@@ -0,0 +1,86 @@
+package com.example.app.ui.pages;
+
+import com.example.app.model.TransactionTable;
+import org.junit.jupiter.api.*;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TransactionRowSorter class.
+ * Verifies stable sorting, filtering, the combination of both and the
+ * identity mapping when neither is active.
+ */
+class TransactionRowSorterTest {
+    private TransactionTableModel model;
+    private TransactionRowSorter sorter;
+
+    @BeforeEach
+    void setUp() {
+        model = new TransactionTableModel();
+        model.setTable(TransactionTable.fromRows(Arrays.asList(
+                new Object[]{"2025-05-26", "Bus", "Transport", -2.0, false},
+                new Object[]{"2025-05-24", "Coffee", "Food", -4.5, false},
+                new Object[]{"2025-05-25", "Salary", "Income", 3000.0, false},
+                new Object[]{"2025-05-24", "Lunch", "Food", -12.0, false})));
+        sorter = new TransactionRowSorter(model);
+    }
+
+    @Test
+    @DisplayName("Should map rows one to one without sort or filter")
+    void testIdentity() {
+        assertEquals(4, sorter.getViewRowCount());
+        assertEquals(2, sorter.convertRowIndexToModel(2));
+        assertEquals(3, sorter.convertRowIndexToView(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> sorter.convertRowIndexToModel(4));
+    }
+
+    @Test
+    @DisplayName("Should sort stably and toggle the direction")
+    void testSort() {
+        sorter.toggleSortOrder(TransactionTableModel.DATE_COLUMN);
+        assertEquals(Arrays.asList(1, 3, 2, 0), viewOrder());
+        assertEquals(SortOrder.ASCENDING, sorter.getSortKeys().get(0).getSortOrder());
+
+        sorter.toggleSortOrder(TransactionTableModel.DATE_COLUMN);
+        assertEquals(Arrays.asList(0, 2, 1, 3), viewOrder());
+
+        sorter.setSortKeys(Collections.singletonList(
+                new RowSorter.SortKey(TransactionTableModel.AMOUNT_COLUMN, SortOrder.ASCENDING)));
+        assertEquals(Arrays.asList(3, 1, 0, 2), viewOrder());
+        assertEquals(0, sorter.convertRowIndexToView(3));
+    }
+
+    @Test
+    @DisplayName("Should filter the sorted order and follow model changes")
+    void testFilter() {
+        sorter.toggleSortOrder(TransactionTableModel.AMOUNT_COLUMN);
+        sorter.setRowFilter(row -> "Food".equals(model.getValueAt(row, TransactionTableModel.CATEGORY_COLUMN)));
+        assertEquals(Arrays.asList(3, 1), viewOrder());
+        assertEquals(-1, sorter.convertRowIndexToView(0));
+
+        model.addRows(Collections.singletonList(new Object[]{"2025-05-27", "Dinner", "Food", -20.0}));
+        sorter.rowsInserted(4, 4);
+        assertEquals(Arrays.asList(4, 3, 1), viewOrder());
+
+        sorter.setRowFilter(null);
+        sorter.setSortKeys(null);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), viewOrder());
+    }
+
+    /**
+     * Lists the model rows in view order.
+     *
+     * @return the model row of each view row
+     */
+    private List<Integer> viewOrder() {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < sorter.getViewRowCount(); i++) {
+            order.add(sorter.convertRowIndexToModel(i));
+        }
+        return order;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.app.ui.pages;
+
+import com.example.app.model.TransactionTable;
+import org.junit.jupiter.api.*;
+
+import javax.swing.event.TableModelEvent;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TransactionTableModel class.
+ * Verifies lazy cell access, the edit overlay, checkbox deletion and the
+ * coarse-grained change events.
+ */
+class TransactionTableModelTest {
+    private TransactionTableModel model;
+    private TransactionTable table;
+    private List<TableModelEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        table = TransactionTable.fromRows(Arrays.asList(
+                new Object[]{"2025-05-24", "Coffee", "Food", -4.5, true},
+                new Object[]{"2025-05-25", "Salary", "Income", 3000.0, false},
+                new Object[]{"2025-05-26", "Bus", "Transport", -2.0, false}));
+        model = new TransactionTableModel();
+        events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+        model.setTable(table);
+    }
+
+    @Test
+    @DisplayName("Should read cells from the snapshot with a single change event")
+    void testSetTable() {
+        assertEquals(1, events.size());
+        assertEquals(3, model.getRowCount());
+        assertEquals("2025-05-25", model.getValueAt(1, TransactionTableModel.DATE_COLUMN));
+        assertEquals("Salary", model.getValueAt(1, TransactionTableModel.DESCRIPTION_COLUMN));
+        assertEquals(-2.0, (Double) model.getValueAt(2, TransactionTableModel.AMOUNT_COLUMN), 0.001);
+        assertEquals(Boolean.FALSE, model.getValueAt(0, TransactionTableModel.DELETE_COLUMN));
+        assertTrue(model.mirrorsTable());
+    }
+
+    @Test
+    @DisplayName("Should keep edits and added rows in the overlay")
+    void testEditsAndAddedRows() {
+        model.setValueAt("Tea", 0, TransactionTableModel.DESCRIPTION_COLUMN);
+        model.insertRow(0, new Object[]{"2025-06-01", "", "", 0.0, false});
+        model.addRows(Arrays.asList(new Object[]{"2025-06-02", "Rent", "Housing", "-900"},
+                new Object[]{"2025-06-03", "Gift", "Income", 50.0}));
+
+        assertFalse(model.mirrorsTable());
+        assertEquals(6, model.getRowCount());
+        assertEquals("Tea", model.getValueAt(1, TransactionTableModel.DESCRIPTION_COLUMN));
+        assertEquals("Coffee", table.getDescription(0));
+        assertEquals(-900.0, (Double) model.getValueAt(4, TransactionTableModel.AMOUNT_COLUMN), 0.001);
+
+        List<Object[]> records = model.getRecords();
+        assertArrayEquals(new Object[]{"2025-05-24", "Tea", "Food", -4.5, true}, records.get(1),
+                "The snapshot row was confirmed before");
+        assertArrayEquals(new Object[]{"2025-06-03", "Gift", "Income", 50.0, false}, records.get(5));
+        assertEquals(TableModelEvent.INSERT, events.get(events.size() - 1).getType());
+    }
+
+    @Test
+    @DisplayName("Should remove checked rows at once")
+    void testRemoveCheckedRows() {
+        model.setValueAt(true, 0, TransactionTableModel.DELETE_COLUMN);
+        model.setValueAt(true, 2, TransactionTableModel.DELETE_COLUMN);
+        int before = events.size();
+
+        assertEquals(2, model.removeCheckedRows());
+        assertEquals(before + 1, events.size());
+        assertEquals(1, model.getRowCount());
+        assertEquals("Salary", model.getValueAt(0, TransactionTableModel.DESCRIPTION_COLUMN));
+        assertEquals(Boolean.FALSE, model.getValueAt(0, TransactionTableModel.DELETE_COLUMN));
+        assertEquals(0, model.removeCheckedRows());
+    }
+
+    @Test
+    @DisplayName("Should compute ordered sort keys for every column")
+    void testSortKeys() {
+        model.addRows(Collections.singletonList(new Object[]{"2025-05-20", "apple store", "Shopping", -10.0}));
+        long[] dates = model.getSortKeys(TransactionTableModel.DATE_COLUMN);
+        assertTrue(dates[3] < dates[0] && dates[0] < dates[1] && dates[1] < dates[2]);
+        long[] descriptions = model.getSortKeys(TransactionTableModel.DESCRIPTION_COLUMN);
+        assertTrue(descriptions[3] < descriptions[2] && descriptions[2] < descriptions[0]);
+        long[] amounts = model.getSortKeys(TransactionTableModel.AMOUNT_COLUMN);
+        assertArrayEquals(new long[]{-450, 300000, -200, -1000}, amounts);
+    }
+
+    @Test
+    @DisplayName("Should mark rows whose category the user set as confirmed")
+    void testConfirmedCategories() {
+        model.setValueAt("Drinks", 0, TransactionTableModel.CATEGORY_COLUMN);
+        model.addRows(Collections.singletonList(new Object[]{"2025-06-02", "Rent", "", -900.0}));
+        model.setValueAt("Housing", 3, TransactionTableModel.CATEGORY_COLUMN);
+
+        List<Object[]> records = model.getRecords();
+        assertArrayEquals(new Object[]{"2025-05-24", "Coffee", "Drinks", -4.5, true}, records.get(0));
+        assertEquals(false, records.get(1)[4]);
+        assertArrayEquals(new Object[]{"2025-06-02", "Rent", "Housing", -900.0, true}, records.get(3));
+        List<Object[]> newlyConfirmed = model.getNewlyConfirmedRecords();
+        assertEquals(2, newlyConfirmed.size());
+        assertEquals("Rent", newlyConfirmed.get(1)[1]);
+
+        model.setTable(table);
+        assertTrue(model.getNewlyConfirmedRecords().isEmpty());
+        assertTrue(model.mirrorsTable());
+    }
+
+    @Test
+    @DisplayName("Should keep confirmations of the snapshot when saving again")
+    void testConfirmedSurvivesSave() {
+        model.setValueAt("Bonus", 1, TransactionTableModel.CATEGORY_COLUMN);
+        model.setTable(TransactionTable.fromRows(model.getRecords()));
+
+        List<Object[]> records = model.getRecords();
+        assertEquals(true, records.get(0)[4], "Confirmed in an earlier session");
+        assertEquals(true, records.get(1)[4], "Confirmed in the previous save");
+        assertEquals(false, records.get(2)[4]);
+        assertTrue(model.getNewlyConfirmedRecords().isEmpty(), "Nothing is learned twice");
+    }
+}
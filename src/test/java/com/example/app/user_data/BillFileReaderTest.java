@@ -0,0 +1,114 @@
+package com.example.app.user_data;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BillFileReader class.
+ * Verifies byte-level tokenizing of bill files: line endings, quoted fields, charset
+ * decoding, amount parsing and skipping of invalid rows.
+ */
+class BillFileReaderTest {
+
+    /**
+     * Temporary file used as the bill file.
+     */
+    private Path tempFile;
+
+    /**
+     * Creates a temporary bill file before each test.
+     *
+     * @throws IOException If the temporary file cannot be created
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        tempFile = Files.createTempFile("user_bill", ".csv");
+    }
+
+    /**
+     * Deletes the temporary file after each test.
+     *
+     * @throws IOException If the temporary file cannot be deleted
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(tempFile);
+    }
+
+    /**
+     * Writes the given content to the bill file and reads it back.
+     *
+     * @param content the file content
+     * @return the rows as [date, description, category, amount, confirmed]
+     * @throws IOException If the file cannot be written or read
+     */
+    private List<Object[]> read(String content) throws IOException {
+        Files.write(tempFile, content.getBytes(Charset.defaultCharset()));
+        List<Object[]> rows = new ArrayList<>();
+        BillFileReader.read(tempFile.toFile(), (date, description, category, amount, confirmed) ->
+                rows.add(new Object[]{date, description, category, amount, confirmed}));
+        return rows;
+    }
+
+    /**
+     * Tests that line endings, quoted fields, text and amounts are read like the line-based reader.
+     *
+     * @throws IOException If there is an error writing or reading the file
+     */
+    @Test
+    @DisplayName("Should tokenize rows with CRLF, quotes and non-ASCII text")
+    void testTokenizing() throws IOException {
+        List<Object[]> rows = read("Date,Description,Category,Amount,Confirmed\r\n"
+                + "2025-03-14 09:30,物美便利店,Food,-12.00,true\r\n"
+                + "\r\n"
+                + "2025-03-14,\"Taxi, airport\",Transportation,-7.5e1,TRUE\n"
+                + "2025-03-14,Salary,Income,+1234.56,false,extra\n"
+                + "2025-03-14,Refund,Food,5,false");
+
+        assertEquals(4, rows.size());
+        assertArrayEquals(new Object[]{"2025-03-14 09:30", "物美便利店", "Food", -12.0, true},
+                rows.get(0));
+        assertArrayEquals(new Object[]{"2025-03-14", "Taxi, airport", "Transportation", -75.0, true}, rows.get(1));
+        assertArrayEquals(new Object[]{"2025-03-14", "Salary", "Income", 1234.56, false}, rows.get(2));
+        assertSame(rows.get(2)[0], rows.get(3)[0], "Equal ISO dates should share one string");
+    }
+
+    /**
+     * Tests that short rows and rows with invalid amounts are skipped.
+     *
+     * @throws IOException If there is an error writing or reading the file
+     */
+    @Test
+    @DisplayName("Should skip rows with missing fields or invalid amounts")
+    void testInvalidRows() throws IOException {
+        List<Object[]> rows = read("Date,Description,Category,Amount,Confirmed\n"
+                + "2025-03-14,Short line,Food\n"
+                + "2025-03-15,Bad amount,Food,abc,false\n"
+                + "2025-03-15,\"Quoted bad\",Food,,false\n"
+                + "2025-03-16,Valid,Food,0.1,yes\n");
+
+        assertEquals(1, rows.size());
+        assertEquals("Valid", rows.get(0)[1]);
+        assertEquals(0.1, (Double) rows.get(0)[3], 0.0);
+        assertEquals(false, rows.get(0)[4]);
+    }
+
+    /**
+     * Tests that a file with only a header, or an empty file, yields no rows.
+     *
+     * @throws IOException If there is an error writing or reading the file
+     */
+    @Test
+    @DisplayName("Should read no rows from a header-only or empty file")
+    void testEmptyFile() throws IOException {
+        assertTrue(read("Date,Description,Category,Amount,Confirmed\n").isEmpty());
+        assertTrue(read("Date,Description,Category,Amount,Confirmed").isEmpty());
+        assertTrue(read("").isEmpty());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.app.user_data;
+
+import com.example.app.model.FinanceData;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CategoryRuleStorage class.
+ * Verifies default rules and saving and loading rules in order.
+ */
+class CategoryRuleStorageTest {
+    private static final String TEST_USERNAME = "testuser_category_rules";
+
+    @AfterEach
+    void tearDown() {
+        File file = CategoryRuleStorage.getRulesFile(TEST_USERNAME);
+        file.delete();
+        file.getParentFile().delete();
+    }
+
+    @Test
+    @DisplayName("Should provide default rules when the user has none")
+    void testDefaultRules() {
+        Map<String, String> rules = CategoryRuleStorage.loadRules(TEST_USERNAME);
+
+        assertEquals(CategoryRuleStorage.getDefaultRules(), rules);
+        assertEquals("Food", rules.get("restaurant"));
+        assertFalse(CategoryRuleStorage.getRulesFile(TEST_USERNAME).exists());
+        assertTrue(FinanceData.getDefaultBudgetCategories().containsAll(rules.values()),
+                "Default rules should only use the default budget categories");
+    }
+
+    @Test
+    @DisplayName("Should save and load rules in priority order")
+    void testSaveAndLoad() {
+        Map<String, String> rules = new LinkedHashMap<>();
+        rules.put("Starbucks", "Food");
+        rules.put("Fitness, Gym", "Healthcare");
+        rules.put("地铁", "Transportation");
+
+        assertTrue(CategoryRuleStorage.saveRules(TEST_USERNAME, rules));
+        Map<String, String> loaded = CategoryRuleStorage.loadRules(TEST_USERNAME);
+
+        assertEquals(new ArrayList<>(rules.keySet()), new ArrayList<>(loaded.keySet()));
+        assertEquals(rules, loaded);
+    }
+}
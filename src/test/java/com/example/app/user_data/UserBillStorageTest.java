@@ -144,4 +144,57 @@ class UserBillStorageTest {
         List<String> lines = java.nio.file.Files.readAllLines(BILL_FILE.toPath());
         assertTrue(lines.stream().anyMatch(line -> line.contains("Persisted")));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that adding transactions appends to the journal instead of rewriting the bill file.
+     * Verifies that the appended rows are visible when loading and that the bill file is untouched.
+     *
+     * @throws Exception If there is an error reading the file
+     */
+    @Test
+    @DisplayName("Should append added transactions to the journal")
+    void testAddTransactionsAppendsToJournal() throws Exception {
+        List<Object[]> transactions = new ArrayList<>();
+        transactions.add(new Object[]{"2024-06-01 12:00", "Lunch", "Food", -20.0, true});
+        assertTrue(UserBillStorage.saveTransactions(transactions));
+        File billFile = new File(UserBillStorage.getBillFilePath());
+        List<String> billBefore = java.nio.file.Files.readAllLines(billFile.toPath());
+
+        List<Object[]> added = new ArrayList<>();
+        added.add(new Object[]{"2024-06-02 08:30", "Bus", "Transportation", -2.5, false});
+        assertTrue(UserBillStorage.addTransactions(added));
+
+        assertEquals(billBefore, java.nio.file.Files.readAllLines(billFile.toPath()));
+        assertTrue(new File(UserBillStorage.getJournalFilePath()).exists());
+
+        List<Object[]> loaded = UserBillStorage.loadTransactions();
+        assertEquals(2, loaded.size());
+        assertEquals("Bus", loaded.get(1)[1]);
+    }
+
+    /**
+     * Tests that journaled edits and deletions are replayed in order and survive compaction.
+     */
+    @Test
+    @DisplayName("Should replay journaled edits and deletions and compact them")
+    void testJournalReplayAndCompaction() {
+        List<Object[]> transactions = new ArrayList<>();
+        transactions.add(new Object[]{"2024-06-01 12:00", "Lunch", "Food", -20.0, true});
+        transactions.add(new Object[]{"2024-06-02 08:30", "Bus", "Transportation", -2.5, false});
+        transactions.add(new Object[]{"2024-06-03 09:00", "Salary", "Income", 1000.0, true});
+        assertTrue(UserBillStorage.saveTransactions(transactions));
+
+        assertTrue(UserBillStorage.updateTransaction(0, new Object[]{"2024-06-01 12:00", "Dinner", "Food", -30.0, true}));
+        assertTrue(UserBillStorage.deleteTransactions(java.util.Arrays.asList(1, 2)));
+
+        List<Object[]> loaded = UserBillStorage.loadTransactions();
+        assertEquals(1, loaded.size());
+        assertEquals("Dinner", loaded.get(0)[1]);
+
+        assertTrue(UserBillStorage.compactJournal());
+        assertFalse(new File(UserBillStorage.getJournalFilePath()).exists());
+        List<Object[]> compacted = UserBillStorage.loadTransactions();
+        assertEquals(1, compacted.size());
+        assertEquals(-30.0, (Double) compacted.get(0)[3], 0.01);
+    }
+}
@@ -2,8 +2,21 @@ package com.example.app.viewmodel;
 
 import org.junit.jupiter.api.*;
 
+import com.example.app.ui.pages.AI.AIClient;
+import com.example.app.ui.pages.AI.getRes;
+import com.sun.net.httpserver.HttpServer;
+
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -52,4 +65,64 @@ class AIViewModelTest {
         int after = viewModel.getMessages().size();
         assertTrue(after > before);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSendMessageStreamsReply() throws IOException, InterruptedException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (String piece : new String[]{"Save", " more"}) {
+                    out.write(("data: {\"choices\":[{\"delta\":{\"content\":\"" + piece + "\"}}]}\n\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+                out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.start();
+        try {
+            AIClient client = new AIClient("http://127.0.0.1:" + server.getAddress().getPort(),
+                    Duration.ofSeconds(5), Duration.ofSeconds(5));
+            AIViewModel streaming = new AIViewModel(TEST_USERNAME, new getRes(client));
+            List<String> deltas = Collections.synchronizedList(new ArrayList<>());
+            List<AIViewModel.ChatMessage> added = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch replied = new CountDownLatch(1);
+            streaming.addListener(new AIViewModel.AIDataChangeListener() {
+                @Override
+                public void onMessageAdded(AIViewModel.ChatMessage message) {
+                    added.add(message);
+                    if (!message.isFromUser()) {
+                        replied.countDown();
+                    }
+                }
+
+                @Override
+                public void onMessageDelta(String delta) {
+                    deltas.add(delta);
+                }
+
+                @Override
+                public void onErrorOccurred(String errorMessage) {
+                    fail(errorMessage);
+                }
+
+                @Override
+                public void onAdviceUpdated() {
+                }
+            });
+
+            streaming.sendMessage("How can I save?");
+
+            assertTrue(replied.await(10, TimeUnit.SECONDS));
+            assertEquals(List.of("Save", " more"), deltas);
+            AIViewModel.ChatMessage reply = added.get(added.size() - 1);
+            assertEquals("Save more", reply.getContent());
+            assertTrue(reply.isStreamed());
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.app.viewmodel;
+
+import com.example.app.model.DataRefreshManager.RefreshType;
+import org.junit.jupiter.api.*;
+
+import javax.swing.SwingUtilities;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RefreshScheduler class.
+ * Verifies direct and background execution, merging of superseded requests and cancellation.
+ */
+class RefreshSchedulerTest {
+    private RefreshScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        RefreshScheduler._resetForTests();
+        scheduler = RefreshScheduler.getInstance();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RefreshScheduler._resetForTests();
+    }
+
+    @Test
+    @DisplayName("Should load and publish on the calling thread in direct mode")
+    void testDirectMode() {
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = new ArrayList<>();
+        List<Set<RefreshType>> published = new ArrayList<>();
+        RefreshScheduler.Lane<Set<RefreshType>> lane = scheduler.createLane("direct",
+                types -> { threads.add(Thread.currentThread()); return types; },
+                types -> { threads.add(Thread.currentThread()); published.add(types); });
+
+        lane.request(RefreshType.BUDGETS);
+
+        assertEquals(List.of(caller, caller), threads);
+        assertEquals(List.of(EnumSet.of(RefreshType.BUDGETS)), published);
+        assertEquals(1, lane.getGeneration());
+    }
+
+    @Test
+    @DisplayName("Should load off the EDT and publish on the EDT in background mode")
+    void testBackgroundMode() throws Exception {
+        scheduler.setMode(RefreshScheduler.Mode.BACKGROUND);
+        CountDownLatch published = new CountDownLatch(1);
+        List<Boolean> onEdt = new CopyOnWriteArrayList<>();
+        RefreshScheduler.Lane<String> lane = scheduler.createLane("background",
+                types -> { onEdt.add(SwingUtilities.isEventDispatchThread()); return "loaded"; },
+                result -> { onEdt.add(SwingUtilities.isEventDispatchThread()); published.countDown(); });
+
+        lane.request(RefreshType.TRANSACTIONS);
+
+        assertTrue(published.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(false, true), onEdt);
+    }
+
+    @Test
+    @DisplayName("Should skip superseded loads and merge their requested types")
+    void testSupersededRequests() throws Exception {
+        scheduler.setMode(RefreshScheduler.Mode.BACKGROUND);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch published = new CountDownLatch(2);
+        List<Set<RefreshType>> loads = new CopyOnWriteArrayList<>();
+        RefreshScheduler.Lane<Set<RefreshType>> lane = scheduler.createLane("superseded",
+                types -> {
+                    loads.add(types);
+                    if (loads.size() == 1) {
+                        loading.countDown();
+                        awaitQuietly(release);
+                    }
+                    return types;
+                },
+                types -> published.countDown());
+
+        lane.request(RefreshType.SETTINGS);
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        lane.request(RefreshType.TRANSACTIONS);
+        lane.request(RefreshType.BUDGETS);
+        release.countDown();
+
+        assertTrue(published.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(EnumSet.of(RefreshType.SETTINGS),
+                EnumSet.of(RefreshType.TRANSACTIONS, RefreshType.BUDGETS)), loads);
+    }
+
+    @Test
+    @DisplayName("Should drop results of a cancelled lane")
+    void testCancel() throws Exception {
+        scheduler.setMode(RefreshScheduler.Mode.BACKGROUND);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> published = new CopyOnWriteArrayList<>();
+        RefreshScheduler.Lane<String> cancelled = scheduler.createLane("cancelled",
+                types -> { loading.countDown(); awaitQuietly(release); return "cancelled"; },
+                published::add);
+        CountDownLatch marker = new CountDownLatch(1);
+        RefreshScheduler.Lane<String> later = scheduler.createLane("later",
+                types -> "later", result -> { published.add(result); marker.countDown(); });
+
+        cancelled.request(RefreshType.ALL);
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cancelled.cancel();
+        later.request(RefreshType.ALL);
+        release.countDown();
+
+        assertTrue(marker.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("later"), published);
+        cancelled.request(RefreshType.ALL);
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(List.of("later"), published, "A cancelled lane should ignore new requests");
+    }
+
+    /**
+     * Waits for a latch, restoring the interrupt flag if interrupted.
+     *
+     * @param latch the latch to wait for
+     */
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
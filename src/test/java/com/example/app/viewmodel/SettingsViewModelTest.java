@@ -52,6 +52,23 @@ class SettingsViewModelTest {
         assertFalse(viewModel.isTransactionAlertsEnabled());
     }
 
+    @Test
+    void testCategoryRules() {
+        assertEquals(viewModel.getDefaultCategoryRules(), viewModel.getCategoryRules());
+
+        java.util.Map<String, String> rules = new java.util.LinkedHashMap<>();
+        rules.put(" gym ", "Entertainment");
+        rules.put("", "Other");
+        rules.put("房租", " ");
+        rules.put("rent", "Housing");
+        assertTrue(viewModel.updateCategoryRules(rules));
+
+        java.util.Map<String, String> expected = new java.util.LinkedHashMap<>();
+        expected.put("gym", "Entertainment");
+        expected.put("rent", "Housing");
+        assertEquals(expected, viewModel.getCategoryRules());
+    }
+
     @Test
     void testPasswordValidationAndUpdate() {
         assertTrue(viewModel.validateCurrentPassword(""));
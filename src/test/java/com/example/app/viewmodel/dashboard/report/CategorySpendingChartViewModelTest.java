@@ -1,5 +1,6 @@
 package com.example.app.viewmodel.dashboard.report;
 
+import com.example.app.model.DataChangeEvent;
 import com.example.app.model.FinanceData;
 import com.example.app.model.DataRefreshManager;
 import org.junit.jupiter.api.*;
@@ -70,6 +71,23 @@ class CategorySpendingChartViewModelTest {
         assertFalse(notified[0]);
     }
 
+    @Test
+    void testUnbudgetedCategoryChangesOther() {
+        final boolean[] notified = {false};
+        viewModel.addChangeListener(() -> notified[0] = true);
+        DataChangeEvent coffee = DataChangeEvent.forCategories(DataRefreshManager.RefreshType.TRANSACTIONS,
+            List.of("Coffee"));
+
+        DataRefreshManager.getInstance().notifyChange(coffee);
+        assertFalse(notified[0], "Without an Other budget the change is not charted");
+
+        financeData.getCategoryBudgets().put("Other", 50.0);
+        viewModel.onDataRefresh(DataRefreshManager.RefreshType.BUDGETS);
+        notified[0] = false;
+        DataRefreshManager.getInstance().notifyChange(coffee);
+        assertTrue(notified[0], "An unbudgeted category is charted under Other");
+    }
+
     @Test
     void testCleanupRemovesListeners() {
         final boolean[] notified = {false};